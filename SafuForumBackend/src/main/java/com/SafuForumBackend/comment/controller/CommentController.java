@@ -35,20 +35,29 @@ public class CommentController {
     }
 
     @GetMapping("/post/{postId}")
-    public ResponseEntity<List<CommentResponse>> getCommentsForPost(@PathVariable Long postId) {
-        List<CommentResponse> comments = commentService.getCommentsForPost(postId);
+    public ResponseEntity<List<CommentResponse>> getCommentsForPost(
+            @PathVariable Long postId,
+            @AuthenticationPrincipal User currentUser) {
+
+        List<CommentResponse> comments = commentService.getCommentsForPost(postId, currentUser);
         return ResponseEntity.ok(comments);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CommentResponse> getComment(@PathVariable Long id) {
-        CommentResponse comment = commentService.getCommentById(id);
+    public ResponseEntity<CommentResponse> getComment(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+
+        CommentResponse comment = commentService.getCommentById(id, currentUser);
         return ResponseEntity.ok(comment);
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<CommentResponse>> getUserComments(@PathVariable Long userId) {
-        List<CommentResponse> comments = commentService.getUserComments(userId);
+    public ResponseEntity<List<CommentResponse>> getUserComments(
+            @PathVariable Long userId,
+            @AuthenticationPrincipal User currentUser) {
+
+        List<CommentResponse> comments = commentService.getUserComments(userId, currentUser);
         return ResponseEntity.ok(comments);
     }
 
@@ -25,4 +25,6 @@ public class CommentResponse {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
     private Boolean isDeleted;
+    private Integer voteScore;
+    private Short userVote; // null if anonymous or not voted, 1 or -1 otherwise
 }
\ No newline at end of file
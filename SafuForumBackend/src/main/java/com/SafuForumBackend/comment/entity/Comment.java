@@ -1,9 +1,13 @@
 package com.SafuForumBackend.comment.entity;
 
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
 import com.SafuForumBackend.post.entity.Post;
 import com.SafuForumBackend.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
 
 @Entity
@@ -34,6 +38,16 @@ public class Comment {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String content;
 
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(nullable = false, columnDefinition = "moderation_status")
+    @Builder.Default
+    private ModerationStatus status = ModerationStatus.pending;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer version = 1;
+
     @Builder.Default
     @Column(name = "is_deleted", nullable = false)
     private Boolean isDeleted = false;
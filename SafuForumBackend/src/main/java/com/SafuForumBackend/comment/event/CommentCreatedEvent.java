@@ -0,0 +1,11 @@
+package com.SafuForumBackend.comment.event;
+
+import java.time.LocalDateTime;
+
+public record CommentCreatedEvent(
+        Long commentId,
+        Long postId,
+        Long parentCommentId,
+        Long authorId,
+        LocalDateTime createdAt
+) {}
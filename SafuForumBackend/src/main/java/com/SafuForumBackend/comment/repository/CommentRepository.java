@@ -2,9 +2,12 @@ package com.SafuForumBackend.comment.repository;
 
 import com.SafuForumBackend.comment.entity.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
 
 @Repository
@@ -17,4 +20,144 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     long countByPostIdAndIsDeletedFalse(Long postId);
 
     List<Comment> findByAuthorIdAndIsDeletedFalseOrderByCreatedAtDesc(Long authorId);
-}
\ No newline at end of file
+
+    /**
+     * Locks the given comment versions (parallel arrays) that are still
+     * pending, in id order, so concurrent completions settle them one at a time.
+     *
+     * @return the ids of the locked comments
+     */
+    @Transactional
+    @Query(value = """
+            SELECT c.id FROM comments c
+            JOIN unnest(CAST(:commentIds AS bigint[]), CAST(:versions AS integer[])) AS t(comment_id, version)
+                ON t.comment_id = c.id AND t.version = c.version
+            WHERE c.status = 'pending'
+            ORDER BY c.id
+            FOR UPDATE OF c
+            """, nativeQuery = true)
+    List<Long> lockPendingVersions(
+            @Param("commentIds") Long[] commentIds,
+            @Param("versions") Integer[] versions);
+
+    /**
+     * Rolls the statuses of each given comment version's moderation jobs up
+     * into the comment's status, for versions that are still current and
+     * pending and have no pending jobs left. A failed job fails the version,
+     * otherwise a rejected one rejects it.
+     *
+     * @return the comments that were settled
+     */
+    @Transactional
+    @Query(value = """
+            WITH targets AS (
+                SELECT * FROM unnest(CAST(:commentIds AS bigint[]), CAST(:versions AS integer[]))
+                    AS t(comment_id, version)
+            ), outcomes AS (
+                SELECT mj.comment_id,
+                       mj.comment_version,
+                       CASE WHEN bool_or(mj.status = 'pending') THEN 'pending'
+                            WHEN bool_or(mj.status = 'failed') THEN 'failed'
+                            WHEN bool_or(mj.status = 'rejected') THEN 'rejected'
+                            ELSE 'approved' END AS status
+                FROM moderation_jobs mj
+                JOIN targets t ON t.comment_id = mj.comment_id AND t.version = mj.comment_version
+                GROUP BY mj.comment_id, mj.comment_version
+            )
+            UPDATE comments c
+            SET status = CAST(o.status AS moderation_status)
+            FROM outcomes o
+            WHERE c.id = o.comment_id
+              AND c.version = o.comment_version
+              AND c.status = 'pending'
+              AND o.status <> 'pending'
+            RETURNING c.id AS commentId,
+                      c.version AS commentVersion,
+                      CAST(c.status AS text) AS status
+            """, nativeQuery = true)
+    List<SettledCommentView> settlePendingVersions(
+            @Param("commentIds") Long[] commentIds,
+            @Param("versions") Integer[] versions);
+
+    /**
+     * Rolls the statuses of each given comment version's moderation jobs up
+     * into the comment's status again after a re-threshold pass, for versions
+     * that are still current and were approved or rejected. Rows are locked in
+     * id order so concurrent passes cannot deadlock.
+     *
+     * @return the comments whose status changed
+     */
+    @Transactional
+    @Query(value = """
+            WITH targets AS (
+                SELECT * FROM unnest(CAST(:commentIds AS bigint[]), CAST(:versions AS integer[]))
+                    AS t(comment_id, version)
+            ), locked AS (
+                SELECT c.id FROM comments c
+                JOIN targets t ON t.comment_id = c.id AND t.version = c.version
+                WHERE c.status IN ('approved', 'rejected')
+                ORDER BY c.id
+                FOR UPDATE OF c
+            ), outcomes AS (
+                SELECT mj.comment_id,
+                       mj.comment_version,
+                       CASE WHEN bool_or(mj.status = 'pending') THEN 'pending'
+                            WHEN bool_or(mj.status = 'failed') THEN 'failed'
+                            WHEN bool_or(mj.status = 'rejected') THEN 'rejected'
+                            ELSE 'approved' END AS status
+                FROM moderation_jobs mj
+                JOIN targets t ON t.comment_id = mj.comment_id AND t.version = mj.comment_version
+                GROUP BY mj.comment_id, mj.comment_version
+            )
+            UPDATE comments c
+            SET status = CAST(o.status AS moderation_status)
+            FROM outcomes o, locked l
+            WHERE c.id = o.comment_id
+              AND c.version = o.comment_version
+              AND l.id = c.id
+              AND c.status IN ('approved', 'rejected')
+              AND o.status IN ('approved', 'rejected')
+              AND CAST(c.status AS text) <> o.status
+            RETURNING c.id AS commentId,
+                      c.version AS commentVersion,
+                      CAST(c.status AS text) AS status
+            """, nativeQuery = true)
+    List<SettledCommentView> resettleVersions(
+            @Param("commentIds") Long[] commentIds,
+            @Param("versions") Integer[] versions);
+
+    /**
+     * Fails the given comment versions (parallel arrays) that are still
+     * pending at that version. Rows are locked in id order so concurrent sweeps
+     * cannot deadlock.
+     */
+    @Modifying
+    @Query(value = """
+            WITH targets AS (
+                SELECT * FROM unnest(CAST(:commentIds AS bigint[]), CAST(:versions AS integer[]))
+                    AS t(comment_id, version)
+            ), locked AS (
+                SELECT c.id FROM comments c
+                JOIN targets t ON t.comment_id = c.id AND t.version = c.version
+                WHERE c.status = 'pending'
+                ORDER BY c.id
+                FOR UPDATE OF c
+            )
+            UPDATE comments c
+            SET status = 'failed'
+            FROM locked l
+            WHERE c.id = l.id
+              AND c.status = 'pending'
+            """, nativeQuery = true)
+    int failPendingVersions(
+            @Param("commentIds") Long[] commentIds,
+            @Param("versions") Integer[] versions);
+
+    interface SettledCommentView {
+        Long getCommentId();
+
+        Integer getCommentVersion();
+
+        String getStatus();
+    }
+}
@@ -4,20 +4,31 @@ import com.SafuForumBackend.comment.dto.CommentResponse;
 import com.SafuForumBackend.comment.dto.CreateCommentRequest;
 import com.SafuForumBackend.comment.dto.UpdateCommentRequest;
 import com.SafuForumBackend.comment.entity.Comment;
+import com.SafuForumBackend.comment.event.CommentCreatedEvent;
 import com.SafuForumBackend.comment.repository.CommentRepository;
+import com.SafuForumBackend.config.RabbitMQConfig;
 import com.SafuForumBackend.image.dto.ImageResponse;
 import com.SafuForumBackend.image.entity.Image;
 import com.SafuForumBackend.image.repository.ImageRepository;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.service.ModerationOrchestratorService;
+import com.SafuForumBackend.moderation.service.NearDuplicateDetector;
+import com.SafuForumBackend.outbox.service.OutboxService;
 import com.SafuForumBackend.post.entity.Post;
 import com.SafuForumBackend.post.repository.PostRepository;
 import com.SafuForumBackend.user.dto.UserSummaryResponse;
 import com.SafuForumBackend.user.entity.User;
+import com.SafuForumBackend.vote.enums.EntityType;
+import com.SafuForumBackend.vote.service.VoteCounterService;
+import com.SafuForumBackend.vote.service.VoteService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -27,6 +38,11 @@ public class CommentService {
     private final CommentRepository commentRepository;
     private final PostRepository postRepository;
     private final ImageRepository imageRepository;  // ADDED
+    private final VoteService voteService;
+    private final VoteCounterService voteCounterService;
+    private final OutboxService outboxService;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final ModerationOrchestratorService moderationOrchestratorService;
 
     @Transactional
     public CommentResponse createComment(CreateCommentRequest request, User currentUser) {
@@ -59,24 +75,35 @@ public class CommentService {
         }
 
         Comment savedComment = commentRepository.save(comment);
+        nearDuplicateDetector.recordComment(savedComment);
+        moderationOrchestratorService.enqueueModerationForComment(savedComment, null);
 
         if (request.getImageIds() != null && !request.getImageIds().isEmpty()) {
             attachImagesToComment(request.getImageIds(), savedComment, currentUser);
         }
 
-        return convertToResponse(savedComment);
+        outboxService.enqueue(RabbitMQConfig.EVENT_EXCHANGE, RabbitMQConfig.COMMENT_CREATED_ROUTING_KEY,
+                new CommentCreatedEvent(
+                        savedComment.getId(),
+                        post.getId(),
+                        comment.getParentComment() != null ? comment.getParentComment().getId() : null,
+                        currentUser.getId(),
+                        savedComment.getCreatedAt()));
+
+        return attachVotes(convertToResponse(savedComment), currentUser);
     }
 
-    public List<CommentResponse> getCommentsForPost(Long postId) {
+    public List<CommentResponse> getCommentsForPost(Long postId, User currentUser) {
         List<Comment> topLevelComments = commentRepository
                 .findByPostIdAndParentCommentIsNullAndIsDeletedFalseOrderByCreatedAtAsc(postId);
 
-        return topLevelComments.stream()
+        List<CommentResponse> responses = topLevelComments.stream()
                 .map(this::convertToResponseWithReplies)
                 .collect(Collectors.toList());
+        return attachVotes(responses, currentUser);
     }
 
-    public CommentResponse getCommentById(Long id) {
+    public CommentResponse getCommentById(Long id, User currentUser) {
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
 
@@ -84,14 +111,15 @@ public class CommentService {
             throw new RuntimeException("Comment has been deleted");
         }
 
-        return convertToResponseWithReplies(comment);
+        return attachVotes(convertToResponseWithReplies(comment), currentUser);
     }
 
-    public List<CommentResponse> getUserComments(Long userId) {
+    public List<CommentResponse> getUserComments(Long userId, User currentUser) {
         List<Comment> comments = commentRepository.findByAuthorIdAndIsDeletedFalseOrderByCreatedAtDesc(userId);
-        return comments.stream()
+        List<CommentResponse> responses = comments.stream()
                 .map(this::convertToResponse)
                 .collect(Collectors.toList());
+        return attachVotes(responses, currentUser);
     }
 
     @Transactional
@@ -103,8 +131,11 @@ public class CommentService {
             throw new RuntimeException("You don't have permission to edit this comment");
         }
 
+        Integer previousVersion = comment.getVersion();
         comment.setContent(request.getContent());
         comment.setUpdatedAt(LocalDateTime.now());
+        comment.setStatus(ModerationStatus.pending);
+        comment.setVersion(previousVersion + 1);
 
         // Handle image updates
         if (request.getImageIds() != null) {
@@ -112,7 +143,9 @@ public class CommentService {
         }
 
         Comment updatedComment = commentRepository.save(comment);
-        return convertToResponse(updatedComment);
+        nearDuplicateDetector.recordComment(updatedComment);
+        moderationOrchestratorService.enqueueModerationForComment(updatedComment, previousVersion);
+        return attachVotes(convertToResponse(updatedComment), currentUser);
     }
 
     @Transactional
@@ -126,6 +159,7 @@ public class CommentService {
 
         comment.setIsDeleted(true);
         commentRepository.save(comment);
+        voteCounterService.remove(EntityType.COMMENT, id);
     }
 
     // ============ IMAGE HANDLING METHODS ============
@@ -229,6 +263,49 @@ public class CommentService {
     }
 
 
+    // ============ VOTE HANDLING METHODS ============
+
+    private CommentResponse attachVotes(CommentResponse response, User currentUser) {
+        attachVotes(List.of(response), currentUser);
+        return response;
+    }
+
+    /**
+     * Fill in vote scores and the current user's votes for a whole comment tree
+     * with one score query and one user vote query, regardless of its size.
+     */
+    private List<CommentResponse> attachVotes(List<CommentResponse> responses, User currentUser) {
+        List<Long> commentIds = new ArrayList<>();
+        collectCommentIds(responses, commentIds);
+        if (commentIds.isEmpty()) {
+            return responses;
+        }
+
+        Map<Long, Integer> scores = voteCounterService.getScores(EntityType.COMMENT, commentIds);
+        Map<Long, Short> userVotes = voteService.getUserCommentVotes(commentIds, currentUser);
+        applyVotes(responses, scores, userVotes);
+        return responses;
+    }
+
+    private void collectCommentIds(List<CommentResponse> responses, List<Long> commentIds) {
+        for (CommentResponse response : responses) {
+            commentIds.add(response.getId());
+            if (response.getReplies() != null) {
+                collectCommentIds(response.getReplies(), commentIds);
+            }
+        }
+    }
+
+    private void applyVotes(List<CommentResponse> responses, Map<Long, Integer> scores, Map<Long, Short> userVotes) {
+        for (CommentResponse response : responses) {
+            response.setVoteScore(scores.getOrDefault(response.getId(), 0));
+            response.setUserVote(userVotes.get(response.getId()));
+            if (response.getReplies() != null) {
+                applyVotes(response.getReplies(), scores, userVotes);
+            }
+        }
+    }
+
     private CommentResponse convertToResponse(Comment comment) {
         UserSummaryResponse author = new UserSummaryResponse(
                 comment.getAuthor().getId(),
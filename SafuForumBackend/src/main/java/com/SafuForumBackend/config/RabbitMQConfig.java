@@ -1,8 +1,13 @@
 package com.SafuForumBackend.config;
 
+import com.SafuForumBackend.reputation.config.ReputationConsumerProperties;
+import com.SafuForumBackend.vote.enums.EntityType;
 import org.springframework.amqp.core.Binding;
 import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.amqp.support.converter.DefaultJacksonJavaTypeMapper;
@@ -10,14 +15,22 @@ import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
     public static final String EVENT_EXCHANGE = "safu.event.exchange";
 
+    // Pre-partitioning queue; no longer bound, kept only so leftover messages drain
     public static final String VOTE_REPUTATION_QUEUE = "vote.reputation.queue";
 
-    public static final String VOTE_ROUTING_KEY = "vote.*";
+    public static final String VOTE_REPUTATION_PARTITION_QUEUE_PREFIX = "vote.reputation.queue.";
+
+    public static final String REPUTATION_CHANGED_ROUTING_KEY = "reputation.changed";
+
+    public static final String COMMENT_CREATED_ROUTING_KEY = "comment.created";
 
     @Bean
     public TopicExchange eventExchange() {
@@ -29,11 +42,49 @@ public class RabbitMQConfig {
         return new Queue(VOTE_REPUTATION_QUEUE, true);
     }
 
+    /**
+     * One queue per reputation partition, each bound to vote.*.<partition>.
+     * Single active consumer keeps each partition processed in order by one
+     * consumer across all nodes, so an author's updates never run concurrently.
+     */
     @Bean
-    public Binding voteReputationBinding(Queue voteReputationQueue, TopicExchange eventExchange) {
-        return BindingBuilder.bind(voteReputationQueue)
-                .to(eventExchange)
-                .with(VOTE_ROUTING_KEY);
+    public Declarables voteReputationPartitions(TopicExchange eventExchange,
+            ReputationConsumerProperties reputationConsumerProperties) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (int partition = 0; partition < reputationConsumerProperties.getPartitions(); partition++) {
+            Queue queue = QueueBuilder.durable(voteReputationPartitionQueue(partition))
+                    .singleActiveConsumer()
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue)
+                    .to(eventExchange)
+                    .with("vote.*." + partition));
+        }
+        return new Declarables(declarables);
+    }
+
+    public static String voteReputationPartitionQueue(int partition) {
+        return VOTE_REPUTATION_PARTITION_QUEUE_PREFIX + partition;
+    }
+
+    // Routing key vote.<entity>.<partition>, partitioned by the author whose reputation changes
+    public static String voteRoutingKey(EntityType entityType, Long authorId, int partitions) {
+        return "vote." + entityType.name().toLowerCase() + "." + jumpConsistentHash(authorId, partitions);
+    }
+
+    /**
+     * Jump consistent hash (Lamping and Veach). Growing the partition count
+     * from K to K+1 moves only about 1/(K+1) of authors to a new partition.
+     */
+    static int jumpConsistentHash(long key, int buckets) {
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
     }
 
     @Bean
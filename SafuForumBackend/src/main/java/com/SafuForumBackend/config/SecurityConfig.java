@@ -2,6 +2,7 @@ package com.SafuForumBackend.config;
 
 import com.SafuForumBackend.auth.OAuth2SuccessHandler;
 import com.SafuForumBackend.auth.filter.JwtAuthenticationFilter;
+import com.SafuForumBackend.ratelimit.filter.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -24,6 +25,7 @@ public class SecurityConfig {
 
     private final OAuth2SuccessHandler oAuth2SuccessHandler;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -68,6 +70,7 @@ public class SecurityConfig {
                 )
 
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
 
                 .oauth2Login(oauth2 -> oauth2
                         .successHandler(oAuth2SuccessHandler)
@@ -1,10 +1,13 @@
 package com.SafuForumBackend.image.entity;
 
 import com.SafuForumBackend.comment.entity.Comment;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
 import com.SafuForumBackend.post.entity.Post;
 import com.SafuForumBackend.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 
@@ -51,6 +54,23 @@ public class Image {
     @Column(name = "mime_type", nullable = false, length = 50)
     private String mimeType;
 
+    // SHA-256 of the uploaded bytes, used to reuse moderation verdicts for re-uploads
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
+    // Verdict of the moderation job dispatched at upload; null for images uploaded before pre-moderation
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "moderation_status", columnDefinition = "moderation_status")
+    private ModerationStatus moderationStatus;
+
+    @Column(name = "moderation_reason")
+    private String moderationReason;
+
+    // Classifier model version the verdict was produced by, so a newer model re-moderates the image
+    @Column(name = "moderation_model_version", length = 64)
+    private String moderationModelVersion;
+
     @Column(name = "upload_status", nullable = false, length = 20)
     @Builder.Default
     private String uploadStatus = "COMPLETED";
@@ -2,6 +2,7 @@ package com.SafuForumBackend.image.repository;
 
 import com.SafuForumBackend.image.entity.Image;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -46,4 +47,107 @@ public interface ImageRepository extends JpaRepository<Image, Long> {
 
     // Find image by SeaweedFS FID
     Image findBySeaweedfsFid(String seaweedfsFid);
+
+    /**
+     * Reads the upload-time moderation state of the given images, share-locking
+     * the rows until the transaction ends so a verdict cannot land in between.
+     */
+    @Query(value = """
+            SELECT i.id AS id,
+                   CAST(i.moderation_status AS text) AS moderationStatus,
+                   i.moderation_reason AS moderationReason,
+                   i.moderation_model_version AS moderationModelVersion,
+                   (SELECT max(mj.id) FROM moderation_jobs mj WHERE mj.image_id = i.id) AS moderationJobId
+            FROM images i
+            WHERE i.id IN (SELECT unnest(CAST(:imageIds AS bigint[])))
+            ORDER BY i.id
+            FOR SHARE OF i
+            """, nativeQuery = true)
+    List<ModerationStateView> lockModerationStates(@Param("imageIds") Long[] imageIds);
+
+    /**
+     * Stores the verdicts (parallel arrays, sorted by image id) of images whose
+     * upload-time moderation is still pending.
+     */
+    @Modifying
+    @Query(value = """
+            WITH verdicts AS (
+                SELECT * FROM unnest(CAST(:imageIds AS bigint[]), CAST(:statuses AS text[]),
+                                     CAST(:reasons AS text[]))
+                    AS v(image_id, status, reason)
+            ), locked AS (
+                SELECT i.id FROM images i
+                JOIN verdicts v ON v.image_id = i.id
+                WHERE i.moderation_status = 'pending'
+                ORDER BY i.id
+                FOR UPDATE OF i
+            )
+            UPDATE images i
+            SET moderation_status = CAST(v.status AS moderation_status),
+                moderation_reason = v.reason
+            FROM verdicts v, locked l
+            WHERE i.id = v.image_id
+              AND l.id = i.id
+            """, nativeQuery = true)
+    int recordModerationVerdicts(
+            @Param("imageIds") Long[] imageIds,
+            @Param("statuses") String[] statuses,
+            @Param("reasons") String[] reasons);
+
+    /**
+     * Fails the upload-time moderation of the given images (sorted by id) that
+     * is still pending, after its job timed out.
+     */
+    @Modifying
+    @Query(value = """
+            UPDATE images i
+            SET moderation_status = 'failed',
+                moderation_reason = 'Timed out waiting for moderation completion'
+            WHERE i.id IN (SELECT unnest(CAST(:imageIds AS bigint[])))
+              AND i.moderation_status = 'pending'
+            """, nativeQuery = true)
+    int failPendingModeration(@Param("imageIds") Long[] imageIds);
+
+    /**
+     * Replaces the upload-time verdicts (parallel arrays, sorted by image id)
+     * of images already approved or rejected, after a re-threshold pass
+     * changed their jobs' status.
+     */
+    @Modifying
+    @Query(value = """
+            WITH verdicts AS (
+                SELECT * FROM unnest(CAST(:imageIds AS bigint[]), CAST(:statuses AS text[]),
+                                     CAST(:reasons AS text[]))
+                    AS v(image_id, status, reason)
+            ), locked AS (
+                SELECT i.id FROM images i
+                JOIN verdicts v ON v.image_id = i.id
+                WHERE i.moderation_status IN ('approved', 'rejected')
+                ORDER BY i.id
+                FOR UPDATE OF i
+            )
+            UPDATE images i
+            SET moderation_status = CAST(v.status AS moderation_status),
+                moderation_reason = v.reason
+            FROM verdicts v, locked l
+            WHERE i.id = v.image_id
+              AND l.id = i.id
+              AND i.moderation_status IN ('approved', 'rejected')
+            """, nativeQuery = true)
+    int replaceModerationVerdicts(
+            @Param("imageIds") Long[] imageIds,
+            @Param("statuses") String[] statuses,
+            @Param("reasons") String[] reasons);
+
+    interface ModerationStateView {
+        Long getId();
+
+        String getModerationStatus();
+
+        String getModerationReason();
+
+        String getModerationModelVersion();
+
+        Long getModerationJobId();
+    }
 }
\ No newline at end of file
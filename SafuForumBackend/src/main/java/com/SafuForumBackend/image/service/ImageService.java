@@ -3,6 +3,8 @@ package com.SafuForumBackend.image.service;
 import com.SafuForumBackend.config.S3Config;
 import com.SafuForumBackend.image.entity.Image;
 import com.SafuForumBackend.image.repository.ImageRepository;
+import com.SafuForumBackend.moderation.service.ContentHashes;
+import com.SafuForumBackend.moderation.service.ModerationOrchestratorService;
 import com.SafuForumBackend.user.entity.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -33,6 +35,7 @@ public class ImageService {
     private final ImageRepository imageRepository;
     private final S3Client s3Client;
     private final S3Config s3Config;
+    private final ModerationOrchestratorService moderationOrchestratorService;
 
     private final AtomicBoolean bucketInitialized = new AtomicBoolean(false);
 
@@ -126,7 +129,8 @@ public class ImageService {
                 .contentLength(file.getSize())
                 .build();
 
-        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
+        byte[] bytes = file.getBytes();
+        s3Client.putObject(putObjectRequest, RequestBody.fromBytes(bytes));
 
         String imageUrl = constructImageUrl(s3Key);
 
@@ -137,11 +141,15 @@ public class ImageService {
                 .originalFilename(originalFilename)
                 .fileSizeBytes(file.getSize())
                 .mimeType(file.getContentType())
+                .contentSha256(ContentHashes.sha256Hex(bytes))
                 .uploadStatus("COMPLETED")
                 .displayOrder(0) // Will be set when attached to post/comment
                 .build();
 
-        return imageRepository.save(image);
+        Image savedImage = imageRepository.save(image);
+        // Moderated right away, so publishing a post using it need not wait for the image classifier
+        moderationOrchestratorService.enqueueModerationForImage(savedImage);
+        return savedImage;
     }
 
     /**
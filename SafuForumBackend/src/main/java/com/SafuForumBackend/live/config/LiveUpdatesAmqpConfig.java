@@ -0,0 +1,33 @@
+package com.SafuForumBackend.live.config;
+
+import com.SafuForumBackend.config.RabbitMQConfig;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LiveUpdatesAmqpConfig {
+
+    // Exclusive per-node queue: every node hears every vote and new comment
+    @Bean
+    public AnonymousQueue liveUpdatesQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding liveUpdatesVoteBinding(AnonymousQueue liveUpdatesQueue, TopicExchange eventExchange) {
+        return BindingBuilder.bind(liveUpdatesQueue)
+                .to(eventExchange)
+                .with("vote.#");
+    }
+
+    @Bean
+    public Binding liveUpdatesCommentBinding(AnonymousQueue liveUpdatesQueue, TopicExchange eventExchange) {
+        return BindingBuilder.bind(liveUpdatesQueue)
+                .to(eventExchange)
+                .with(RabbitMQConfig.COMMENT_CREATED_ROUTING_KEY);
+    }
+}
@@ -0,0 +1,30 @@
+package com.SafuForumBackend.live.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "live")
+public class LiveUpdatesProperties {
+
+    // At most one frame per post is pushed per interval
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    private int maxSubscribers = 2000;
+    private int maxSubscribersPerPost = 500;
+
+    private Duration emitterTimeout = Duration.ofMinutes(30);
+    private Duration heartbeatInterval = Duration.ofSeconds(25);
+
+    // A client whose frames have been backed up for this long is disconnected
+    private Duration slowClientTimeout = Duration.ofSeconds(10);
+
+    // Beyond this many new comments in one frame, clients are told to refetch instead
+    private int maxNewCommentsPerFrame = 50;
+}
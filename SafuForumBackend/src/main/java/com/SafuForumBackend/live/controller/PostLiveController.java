@@ -0,0 +1,33 @@
+package com.SafuForumBackend.live.controller;
+
+import com.SafuForumBackend.live.service.PostLiveHub;
+import com.SafuForumBackend.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/posts")
+@RequiredArgsConstructor
+public class PostLiveController {
+
+    private final PostLiveHub postLiveHub;
+    private final PostRepository postRepository;
+
+    @GetMapping(value = "/{postId}/live", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@PathVariable Long postId) {
+        if (!postRepository.existsById(postId)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        return postLiveHub.subscribe(postId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "5")
+                        .build());
+    }
+}
@@ -0,0 +1,25 @@
+package com.SafuForumBackend.live.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Coalesced changes to one post since the previous frame. Scores are absolute
+ * values; resync tells the client too much changed and it should refetch.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostLiveFrame {
+    private Long postId;
+    private Integer postScore;
+    private Map<Long, Integer> commentScores;
+    private List<Long> newCommentIds;
+    private boolean resync;
+}
@@ -0,0 +1,34 @@
+package com.SafuForumBackend.live.service;
+
+import com.SafuForumBackend.comment.event.CommentCreatedEvent;
+import com.SafuForumBackend.vote.enums.EntityType;
+import com.SafuForumBackend.vote.event.VoteEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.annotation.RabbitHandler;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds the local PostLiveHub from this node's fan-out queue, so subscribers
+ * see votes and comments made through any node.
+ */
+@Component
+@RequiredArgsConstructor
+@RabbitListener(queues = "#{liveUpdatesQueue.name}")
+public class LiveUpdatesListener {
+
+    private final PostLiveHub postLiveHub;
+
+    @RabbitHandler
+    public void handleVoteEvent(VoteEvent event) {
+        Long postId = event.entityType() == EntityType.POST ? event.entityId() : event.postId();
+        if (postId != null) {
+            postLiveHub.markScoreChanged(postId, event.entityType(), event.entityId());
+        }
+    }
+
+    @RabbitHandler
+    public void handleCommentCreated(CommentCreatedEvent event) {
+        postLiveHub.markCommentCreated(event.postId(), event.commentId());
+    }
+}
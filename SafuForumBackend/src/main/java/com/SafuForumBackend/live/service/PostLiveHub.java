@@ -0,0 +1,316 @@
+package com.SafuForumBackend.live.service;
+
+import com.SafuForumBackend.live.config.LiveUpdatesProperties;
+import com.SafuForumBackend.live.dto.PostLiveFrame;
+import com.SafuForumBackend.vote.enums.EntityType;
+import com.SafuForumBackend.vote.service.VoteCounterService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-post hub for live score and comment updates over SSE.
+ *
+ * Vote and comment events only mark a post's channel dirty. A scheduled flush
+ * turns everything marked since the last tick into one frame per post, reading
+ * scores with one bulk query per entity type, so a vote storm on a hot post
+ * still costs one frame per interval.
+ *
+ * Each subscriber has at most one write in flight. Frames produced while it is
+ * busy are merged into a single pending frame. A subscriber whose frames stay
+ * backed up past slowClientTimeout is disconnected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostLiveHub {
+
+    private final VoteCounterService voteCounterService;
+    private final LiveUpdatesProperties properties;
+
+    private final Map<Long, PostChannel> channels = new ConcurrentHashMap<>();
+    private final Set<Long> dirtyPosts = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService sender = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Registers a subscriber for the post, or returns empty if this node is at
+     * its subscriber cap.
+     */
+    public Optional<SseEmitter> subscribe(Long postId) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            return Optional.empty();
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getEmitterTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        AtomicBoolean accepted = new AtomicBoolean();
+
+        channels.compute(postId, (id, channel) -> {
+            PostChannel target = channel != null ? channel : new PostChannel();
+            if (target.subscribers.size() < properties.getMaxSubscribersPerPost()) {
+                target.subscribers.add(subscriber);
+                accepted.set(true);
+            }
+            return target.subscribers.isEmpty() ? null : target;
+        });
+
+        if (!accepted.get()) {
+            subscriberCount.decrementAndGet();
+            return Optional.empty();
+        }
+
+        emitter.onCompletion(() -> unsubscribe(postId, subscriber));
+        emitter.onTimeout(() -> unsubscribe(postId, subscriber));
+        emitter.onError(error -> unsubscribe(postId, subscriber));
+        return Optional.of(emitter);
+    }
+
+    public void markScoreChanged(Long postId, EntityType entityType, Long entityId) {
+        PostChannel channel = channels.get(postId);
+        if (channel == null) {
+            return;
+        }
+        if (entityType == EntityType.POST) {
+            channel.postScoreChanged.set(true);
+        } else {
+            channel.changedCommentScores.add(entityId);
+        }
+        dirtyPosts.add(postId);
+    }
+
+    public void markCommentCreated(Long postId, Long commentId) {
+        PostChannel channel = channels.get(postId);
+        if (channel == null) {
+            return;
+        }
+        channel.newComments.add(commentId);
+        dirtyPosts.add(postId);
+    }
+
+    @Scheduled(fixedDelayString = "#{@liveUpdatesProperties.flushInterval.toMillis()}")
+    public void flush() {
+        Map<Long, PendingChanges> changesByPost = new HashMap<>();
+        for (Long postId : List.copyOf(dirtyPosts)) {
+            dirtyPosts.remove(postId);
+            PostChannel channel = channels.get(postId);
+            if (channel != null) {
+                changesByPost.put(postId, channel.drain());
+            }
+        }
+
+        if (!changesByPost.isEmpty()) {
+            publish(changesByPost);
+        }
+        checkSubscriberHealth();
+    }
+
+    private void publish(Map<Long, PendingChanges> changesByPost) {
+        Set<Long> postIds = new HashSet<>();
+        Set<Long> commentIds = new HashSet<>();
+        changesByPost.forEach((postId, changes) -> {
+            if (changes.postScoreChanged) {
+                postIds.add(postId);
+            }
+            commentIds.addAll(changes.commentIds);
+        });
+
+        Map<Long, Integer> postScores = voteCounterService.getScores(EntityType.POST, postIds);
+        Map<Long, Integer> commentScores = voteCounterService.getScores(EntityType.COMMENT, commentIds);
+
+        changesByPost.forEach((postId, changes) -> {
+            PostChannel channel = channels.get(postId);
+            if (channel == null) {
+                return;
+            }
+
+            Map<Long, Integer> scores = new LinkedHashMap<>();
+            for (Long commentId : changes.commentIds) {
+                scores.put(commentId, commentScores.get(commentId));
+            }
+            boolean resync = changes.newCommentIds.size() > properties.getMaxNewCommentsPerFrame();
+
+            PostLiveFrame frame = PostLiveFrame.builder()
+                    .postId(postId)
+                    .postScore(changes.postScoreChanged ? postScores.get(postId) : null)
+                    .commentScores(scores)
+                    .newCommentIds(resync ? List.of() : List.copyOf(changes.newCommentIds))
+                    .resync(resync)
+                    .build();
+
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.offer(frame);
+            }
+        });
+    }
+
+    private void checkSubscriberHealth() {
+        long now = System.nanoTime();
+        long slowNanos = properties.getSlowClientTimeout().toNanos();
+        long heartbeatNanos = properties.getHeartbeatInterval().toNanos();
+
+        for (PostChannel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                long backedUpSince = subscriber.backedUpSince;
+                if (backedUpSince != 0 && now - backedUpSince > slowNanos) {
+                    log.debug("Disconnecting slow live update subscriber");
+                    subscriber.emitter.complete();
+                } else if (now - subscriber.lastSentAt > heartbeatNanos) {
+                    subscriber.offerHeartbeat();
+                }
+            }
+        }
+    }
+
+    private void unsubscribe(Long postId, Subscriber subscriber) {
+        AtomicBoolean removed = new AtomicBoolean();
+        channels.computeIfPresent(postId, (id, channel) -> {
+            removed.set(channel.subscribers.remove(subscriber));
+            return channel.subscribers.isEmpty() ? null : channel;
+        });
+        if (removed.get()) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (PostChannel channel : channels.values()) {
+            for (Subscriber subscriber : channel.subscribers) {
+                subscriber.emitter.complete();
+            }
+        }
+        sender.shutdownNow();
+    }
+
+    private static PostLiveFrame merge(PostLiveFrame older, PostLiveFrame newer, int maxNewComments) {
+        Map<Long, Integer> scores = new LinkedHashMap<>(older.getCommentScores());
+        scores.putAll(newer.getCommentScores());
+
+        Set<Long> newCommentIds = new LinkedHashSet<>(older.getNewCommentIds());
+        newCommentIds.addAll(newer.getNewCommentIds());
+        boolean resync = older.isResync() || newer.isResync() || newCommentIds.size() > maxNewComments;
+
+        return PostLiveFrame.builder()
+                .postId(newer.getPostId())
+                .postScore(newer.getPostScore() != null ? newer.getPostScore() : older.getPostScore())
+                .commentScores(scores)
+                .newCommentIds(resync ? List.of() : new ArrayList<>(newCommentIds))
+                .resync(resync)
+                .build();
+    }
+
+    private record PendingChanges(boolean postScoreChanged, Set<Long> commentIds, Set<Long> newCommentIds) {}
+
+    private static final class PostChannel {
+
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean postScoreChanged = new AtomicBoolean();
+        private final Set<Long> changedCommentScores = ConcurrentHashMap.newKeySet();
+        private final Set<Long> newComments = ConcurrentHashMap.newKeySet();
+
+        PendingChanges drain() {
+            return new PendingChanges(
+                    postScoreChanged.getAndSet(false),
+                    drainSet(changedCommentScores),
+                    drainSet(newComments));
+        }
+
+        private static Set<Long> drainSet(Set<Long> source) {
+            Set<Long> drained = new LinkedHashSet<>();
+            for (Long id : source) {
+                if (source.remove(id)) {
+                    drained.add(id);
+                }
+            }
+            return drained;
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private PostLiveFrame pending; // guarded by this
+        private boolean heartbeatPending; // guarded by this
+        private volatile long backedUpSince;
+        private volatile long lastSentAt = System.nanoTime();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(PostLiveFrame frame) {
+            synchronized (this) {
+                pending = pending == null ? frame : merge(pending, frame, properties.getMaxNewCommentsPerFrame());
+                if (backedUpSince == 0) {
+                    backedUpSince = System.nanoTime();
+                }
+            }
+            trySend();
+        }
+
+        void offerHeartbeat() {
+            synchronized (this) {
+                heartbeatPending = true;
+            }
+            trySend();
+        }
+
+        // Backpressure: if the previous write is still in flight, the pending frame just keeps merging
+        private void trySend() {
+            if (sending.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    PostLiveFrame frame;
+                    boolean heartbeat;
+                    synchronized (this) {
+                        frame = pending;
+                        heartbeat = heartbeatPending;
+                        pending = null;
+                        heartbeatPending = false;
+                        if (frame == null && !heartbeat) {
+                            backedUpSince = 0;
+                            sending.set(false);
+                            return;
+                        }
+                    }
+
+                    if (frame != null) {
+                        emitter.send(SseEmitter.event().name("update").data(frame));
+                    } else {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    lastSentAt = System.nanoTime();
+                }
+            } catch (Exception e) {
+                emitter.completeWithError(e);
+            }
+        }
+    }
+}
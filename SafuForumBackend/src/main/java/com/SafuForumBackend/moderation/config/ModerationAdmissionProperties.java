@@ -0,0 +1,43 @@
+package com.SafuForumBackend.moderation.config;
+
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "moderation.admission")
+public class ModerationAdmissionProperties {
+
+    private boolean enabled = true;
+
+    // Lane assignment
+    private int trustedReputation = 100;
+    private int lowReputation = 0;
+    // Image jobs cost far more classifier time, so they run one lane below their author's
+    private boolean demoteImages = true;
+
+    // Classifier queues whose summed depth gates dispatch of each content type
+    private List<String> textQueues = new ArrayList<>(List.of("q.moderation.job.text.toxicornotclassifier"));
+    private List<String> imageQueues = new ArrayList<>();
+    private Duration depthCheckInterval = Duration.ofSeconds(2);
+
+    // Queue depth at or above which a lane's dispatch is deferred; the high lane is never deferred
+    private int normalLaneMaxDepth = 5000;
+    private int lowLaneMaxDepth = 500;
+    private Duration deferRetry = Duration.ofSeconds(5);
+
+    public List<String> queuesFor(JobContentType contentType) {
+        return switch (contentType) {
+            case text -> textQueues;
+            case image -> imageQueues;
+        };
+    }
+}
@@ -2,6 +2,9 @@ package com.SafuForumBackend.moderation.config;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -10,6 +13,7 @@ import org.springframework.context.annotation.Configuration;
 public class ModerationAmqpConfig {
 
     private final ModerationAmqpProperties properties;
+    private final ModerationCompletionConsumerProperties completionConsumerProperties;
 
     @Bean
     public TopicExchange moderationIngressExchange() {
@@ -21,9 +25,26 @@ public class ModerationAmqpConfig {
         return new TopicExchange(properties.getEgressExchange(), true, false);
     }
 
+    @Bean
+    public DirectExchange moderationDeadLetterExchange() {
+        return new DirectExchange(properties.getDeadLetterExchange(), true, false);
+    }
+
+    /**
+     * Completions the listener rejects are dead-lettered rather than requeued.
+     * The argument only applies to a newly declared queue; an existing one must
+     * be deleted, or given the dead-letter exchange by a broker policy.
+     */
     @Bean
     public Queue moderationJobCompletedQueue() {
-        return new Queue(properties.getQueues().getJobCompleted(), true);
+        return QueueBuilder.durable(properties.getQueues().getJobCompleted())
+                .deadLetterExchange(properties.getDeadLetterExchange())
+                .build();
+    }
+
+    @Bean
+    public Queue moderationJobCompletedDeadLetterQueue() {
+        return new Queue(properties.getQueues().getJobCompletedDeadLetter(), true);
     }
 
     @Bean
@@ -33,4 +54,33 @@ public class ModerationAmqpConfig {
                 .to(moderationEgressExchange)
                 .with(properties.getRouting().getJobCompleted());
     }
+
+    @Bean
+    public Binding moderationJobCompletedDeadLetterBinding(Queue moderationJobCompletedDeadLetterQueue,
+            DirectExchange moderationDeadLetterExchange) {
+        return BindingBuilder.bind(moderationJobCompletedDeadLetterQueue)
+                .to(moderationDeadLetterExchange)
+                .with(properties.getRouting().getJobCompleted());
+    }
+
+    /**
+     * Container factory that hands the completion listener a whole batch of
+     * messages. The batch is acked once the listener returns; if it throws, the
+     * batch is dead-lettered rather than requeued, unless the listener asks for
+     * a requeue. The listener itself sets poison messages aside one by one.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory moderationCompletionContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setDefaultRequeueRejected(false);
+        factory.setBatchSize(completionConsumerProperties.getBatchSize());
+        factory.setPrefetchCount(completionConsumerProperties.getBatchSize());
+        factory.setReceiveTimeout(completionConsumerProperties.getReceiveTimeout().toMillis());
+        return factory;
+    }
 }
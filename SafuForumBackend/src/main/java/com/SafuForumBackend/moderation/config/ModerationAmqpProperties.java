@@ -1,5 +1,6 @@
 package com.SafuForumBackend.moderation.config;
 
+import com.SafuForumBackend.moderation.enums.JobContentType;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -13,6 +14,8 @@ public class ModerationAmqpProperties {
 
     private String ingressExchange = "x.moderation.ingress";
     private String egressExchange = "x.moderation.egress";
+    // Receives completions that could not be applied
+    private String deadLetterExchange = "x.moderation.dead-letter";
 
     private final Routing routing = new Routing();
     private final Queues queues = new Queues();
@@ -22,12 +25,21 @@ public class ModerationAmqpProperties {
     public static class Routing {
         private String textJob = "moderation.job.text";
         private String imageJob = "moderation.job.image";
+        private String jobCancel = "moderation.job.cancel";
         private String jobCompleted = "moderation.job.completed";
+
+        public String jobFor(JobContentType contentType) {
+            return switch (contentType) {
+                case text -> textJob;
+                case image -> imageJob;
+            };
+        }
     }
 
     @Getter
     @Setter
     public static class Queues {
         private String jobCompleted = "q.moderation.job.completed";
+        private String jobCompletedDeadLetter = "q.moderation.job.completed.dead-letter";
     }
 }
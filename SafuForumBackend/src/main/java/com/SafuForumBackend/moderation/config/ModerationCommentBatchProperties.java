@@ -0,0 +1,20 @@
+package com.SafuForumBackend.moderation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "moderation.comment-batch")
+public class ModerationCommentBatchProperties {
+
+    // How long a comment job may wait for others to share its message; also the flush interval
+    private Duration linger = Duration.ofMillis(50);
+    // Most jobs per message; a flush holding more sends several messages
+    private int maxBatchSize = 64;
+}
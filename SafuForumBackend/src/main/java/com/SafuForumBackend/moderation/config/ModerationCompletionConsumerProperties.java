@@ -0,0 +1,21 @@
+package com.SafuForumBackend.moderation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "moderation.completion-consumer")
+public class ModerationCompletionConsumerProperties {
+
+    /** Maximum number of completion events applied in one transaction. */
+    private int batchSize = 200;
+
+    /** How long to wait for a batch to fill before applying a partial one. */
+    private Duration receiveTimeout = Duration.ofMillis(200);
+}
@@ -0,0 +1,26 @@
+package com.SafuForumBackend.moderation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "moderation.dispatch")
+public class ModerationDispatchProperties {
+
+    // Quiet period after a post's last edit before its jobs are published; zero publishes on commit
+    private Duration debounce = Duration.ofSeconds(5);
+    // Longest a post's jobs may be held back by a run of edits
+    private Duration maxWait = Duration.ofSeconds(30);
+    private Duration flushInterval = Duration.ofMillis(500);
+
+    // Undispatched jobs older than this are assumed to have lost their debouncing node
+    private Duration orphanAge = Duration.ofMinutes(2);
+    private Duration orphanSweepInterval = Duration.ofMinutes(1);
+    private int orphanSweepBatchSize = 500;
+}
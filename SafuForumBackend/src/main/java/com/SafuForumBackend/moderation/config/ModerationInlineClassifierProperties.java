@@ -0,0 +1,34 @@
+package com.SafuForumBackend.moderation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "moderation.inline-classifier")
+public class ModerationInlineClassifierProperties {
+
+    private boolean enabled = false;
+
+    // Files written by ai/toxicornot_textclassifier/export_onnx.py
+    private String modelPath;
+    private String vocabPath;
+    private String stopwordsPath;
+
+    // Must match the text worker's TOXIC_THRESHOLD
+    private double threshold = 0.5;
+
+    // Longer text payloads always go through the classifier queues
+    private int maxPayloadLength = 200;
+
+    private int threads = 2;
+    private int queueCapacity = 64;
+    private int intraOpThreads = 1;
+    // How long post creation waits for inline verdicts before falling back to the queues
+    private Duration timeout = Duration.ofMillis(100);
+}
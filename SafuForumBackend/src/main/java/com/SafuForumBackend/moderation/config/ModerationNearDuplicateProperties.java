@@ -0,0 +1,35 @@
+package com.SafuForumBackend.moderation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "moderation.near-duplicate")
+public class ModerationNearDuplicateProperties {
+
+    private boolean enabled = true;
+
+    // Bodies with fewer words are not signed
+    private int minTokens = 10;
+
+    // SimHash bits two bodies may differ in and still be near-duplicates (1-15)
+    private int maxHammingDistance = 6;
+
+    // Near-duplicate bodies whose tags are at least this similar are rejected outright;
+    // the others are only moved to the high lane
+    private double minTagSimilarity = 0.5;
+    private boolean shortCircuit = true;
+
+    // How long a rejection stays in the in-memory index, and how many are kept
+    private Duration window = Duration.ofDays(7);
+    private int maxEntries = 100_000;
+
+    // How often each node picks up rejections recorded by other nodes
+    private Duration refreshInterval = Duration.ofSeconds(30);
+}
@@ -1,5 +1,6 @@
 package com.SafuForumBackend.moderation.config;
 
+import com.SafuForumBackend.moderation.enums.JobContentType;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -13,6 +14,29 @@ import java.time.Duration;
 @ConfigurationProperties(prefix = "moderation.orchestrator")
 public class ModerationOrchestratorProperties {
 
-    private Duration jobTimeout = Duration.ofMinutes(10);
-    private Duration timeoutCheckInterval = Duration.ofMinutes(1);
+    // Per content type deadlines, tracked in memory from dispatch
+    private Duration textJobTimeout = Duration.ofMinutes(10);
+    private Duration imageJobTimeout = Duration.ofMinutes(20);
+    private Duration deadlineTick = Duration.ofSeconds(1);
+    private int deadlineRehydrateBatchSize = 1000;
+
+    // Database backstop for jobs no node is tracking (e.g. the dispatching node died)
+    private Duration jobTimeout = Duration.ofMinutes(30);
+    // Jobs never dispatched, e.g. deferred by the admission gate, get a longer cap counted from creation
+    private Duration undispatchedJobTimeout = Duration.ofHours(2);
+    private Duration timeoutCheckInterval = Duration.ofMinutes(5);
+
+    // Jobs failed per sweep transaction, and the most transactions one sweep may run
+    private int timeoutSweepBatchSize = 500;
+    private int maxTimeoutSweepBatches = 100;
+
+    // Cancel a post version's pending jobs as soon as one of them is rejected
+    private boolean cancelSiblingsOnRejection = true;
+
+    public Duration timeoutFor(JobContentType contentType) {
+        return switch (contentType) {
+            case text -> textJobTimeout;
+            case image -> imageJobTimeout;
+        };
+    }
 }
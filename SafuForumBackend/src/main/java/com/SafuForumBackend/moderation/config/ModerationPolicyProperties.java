@@ -0,0 +1,16 @@
+package com.SafuForumBackend.moderation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "moderation.policy")
+public class ModerationPolicyProperties {
+
+    // Span of job ids a re-threshold pass re-derives per transaction
+    private int rederiveBatchSize = 5000;
+}
@@ -0,0 +1,23 @@
+package com.SafuForumBackend.moderation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "moderation.prefilter")
+public class ModerationPrefilterProperties {
+
+    private boolean enabled = true;
+
+    // How often each node checks the rule table for changes made on other nodes
+    private Duration reloadInterval = Duration.ofSeconds(30);
+
+    // Time all regex rules together may spend on one payload before it is left to the classifiers
+    private Duration regexTimeout = Duration.ofMillis(50);
+}
@@ -0,0 +1,31 @@
+package com.SafuForumBackend.moderation.config;
+
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "moderation.verdict-cache")
+public class ModerationVerdictCacheProperties {
+
+    private boolean enabled = true;
+    private Duration ttl = Duration.ofDays(30);
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    // Bump when a classifier model is upgraded; entries cached under older versions stop matching
+    private String textModelVersion = "toxicornot-1";
+    private String imageModelVersion = "catornot-1";
+
+    public String modelVersionFor(JobContentType contentType) {
+        return switch (contentType) {
+            case text -> textModelVersion;
+            case image -> imageModelVersion;
+        };
+    }
+}
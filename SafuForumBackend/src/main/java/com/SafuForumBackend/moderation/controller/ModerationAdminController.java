@@ -0,0 +1,166 @@
+package com.SafuForumBackend.moderation.controller;
+
+import com.SafuForumBackend.moderation.dto.CreateFilterRuleRequest;
+import com.SafuForumBackend.moderation.dto.FilterRuleResponse;
+import com.SafuForumBackend.moderation.dto.PolicyThresholdResponse;
+import com.SafuForumBackend.moderation.dto.RethresholdResponse;
+import com.SafuForumBackend.moderation.dto.SetPolicyThresholdRequest;
+import com.SafuForumBackend.moderation.dto.VerdictCacheStatsResponse;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.service.ModerationFilterRuleService;
+import com.SafuForumBackend.moderation.service.ModerationPolicyService;
+import com.SafuForumBackend.moderation.service.ModerationVerdictCache;
+import com.SafuForumBackend.user.entity.User;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/moderation")
+@RequiredArgsConstructor
+public class ModerationAdminController {
+
+    private final ModerationVerdictCache verdictCache;
+    private final ModerationFilterRuleService filterRuleService;
+    private final ModerationPolicyService policyService;
+
+    @GetMapping("/verdict-cache")
+    public ResponseEntity<VerdictCacheStatsResponse> getVerdictCacheStats(
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(verdictCache.getStats());
+    }
+
+    @GetMapping("/filter-rules")
+    public ResponseEntity<List<FilterRuleResponse>> getFilterRules(
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.canModerate()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(filterRuleService.listRules());
+    }
+
+    @PostMapping("/filter-rules")
+    public ResponseEntity<FilterRuleResponse> createFilterRule(
+            @Valid @RequestBody CreateFilterRuleRequest request,
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.canModerate()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        FilterRuleResponse rule = filterRuleService.createRule(request, currentUser);
+        return ResponseEntity.status(HttpStatus.CREATED).body(rule);
+    }
+
+    @DeleteMapping("/filter-rules/{id}")
+    public ResponseEntity<FilterRuleResponse> disableFilterRule(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.canModerate()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(filterRuleService.disableRule(id));
+    }
+
+    @GetMapping("/policy/thresholds")
+    public ResponseEntity<List<PolicyThresholdResponse>> getPolicyThresholds(
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.canModerate()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(policyService.listThresholds());
+    }
+
+    @PutMapping("/policy/thresholds")
+    public ResponseEntity<RethresholdResponse> setPolicyThreshold(
+            @Valid @RequestBody SetPolicyThresholdRequest request,
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        RethresholdResponse report = policyService.setThreshold(request, currentUser);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report);
+    }
+
+    @DeleteMapping("/policy/thresholds/{id}")
+    public ResponseEntity<RethresholdResponse> deletePolicyThreshold(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        RethresholdResponse report = policyService.deleteThreshold(id, currentUser);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report);
+    }
+
+    @PostMapping("/policy/rederive")
+    public ResponseEntity<RethresholdResponse> rederivePolicy(
+            @RequestParam JobContentType contentType,
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        RethresholdResponse report = policyService.rederive(contentType, currentUser);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report);
+    }
+
+    @GetMapping("/policy/rederive")
+    public ResponseEntity<RethresholdResponse> getRederiveReport(
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(policyService.getLatestReport());
+    }
+}
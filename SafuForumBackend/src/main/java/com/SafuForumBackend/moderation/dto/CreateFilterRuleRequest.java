@@ -0,0 +1,25 @@
+package com.SafuForumBackend.moderation.dto;
+
+import com.SafuForumBackend.moderation.enums.FilterRuleAction;
+import com.SafuForumBackend.moderation.enums.FilterRuleMatchType;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class CreateFilterRuleRequest {
+
+    @NotNull(message = "Action is required")
+    private FilterRuleAction action;
+
+    @NotNull(message = "Match type is required")
+    private FilterRuleMatchType matchType;
+
+    @NotBlank(message = "Pattern is required")
+    @Size(max = 1000, message = "Pattern must be at most 1000 characters")
+    private String pattern;
+
+    @Size(max = 500, message = "Description must be at most 500 characters")
+    private String description;
+}
@@ -0,0 +1,26 @@
+package com.SafuForumBackend.moderation.dto;
+
+import com.SafuForumBackend.moderation.enums.FilterRuleAction;
+import com.SafuForumBackend.moderation.enums.FilterRuleMatchType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FilterRuleResponse {
+    private Long id;
+    private FilterRuleAction action;
+    private FilterRuleMatchType matchType;
+    private String pattern;
+    private String description;
+    private boolean enabled;
+    private long hits; // since this node started
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,22 @@
+package com.SafuForumBackend.moderation.dto;
+
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PolicyThresholdResponse {
+    private Long id;
+    private JobContentType contentType;
+    private String label;
+    private double rejectAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
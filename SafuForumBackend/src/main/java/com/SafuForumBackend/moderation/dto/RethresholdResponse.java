@@ -0,0 +1,30 @@
+package com.SafuForumBackend.moderation.dto;
+
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.RethresholdStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RethresholdResponse {
+    private RethresholdStatus status;
+    private JobContentType contentType;
+    private PolicyThresholdResponse threshold; // null when only re-deriving
+    private boolean thresholdDeleted;
+    private Long triggeredBy;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long jobsChanged;
+    private long postsChanged;
+    private long commentsChanged;
+    private long imagesChanged;
+    private long jobsRequeued;
+    private String error;
+}
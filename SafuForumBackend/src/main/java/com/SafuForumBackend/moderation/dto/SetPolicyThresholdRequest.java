@@ -0,0 +1,25 @@
+package com.SafuForumBackend.moderation.dto;
+
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class SetPolicyThresholdRequest {
+
+    @NotNull(message = "Content type is required")
+    private JobContentType contentType;
+
+    @NotBlank(message = "Label is required")
+    @Size(max = 64, message = "Label must be at most 64 characters")
+    private String label;
+
+    @NotNull(message = "Threshold is required")
+    @DecimalMin(value = "0.0", message = "Threshold must be between 0 and 1")
+    @DecimalMax(value = "1.0", message = "Threshold must be between 0 and 1")
+    private Double rejectAt;
+}
@@ -0,0 +1,20 @@
+package com.SafuForumBackend.moderation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerdictCacheStatsResponse {
+    private boolean enabled;
+    private long hits; // since this node started
+    private long misses;
+    private double hitRate;
+    private long entries;
+    private String textModelVersion;
+    private String imageModelVersion;
+}
@@ -0,0 +1,57 @@
+package com.SafuForumBackend.moderation.entity;
+
+import com.SafuForumBackend.moderation.enums.ModerationTargetType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Near-duplicate signatures of the latest version of a post or comment.
+ */
+@Entity
+@Table(name = "content_signatures")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentSignature {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "subject_type", nullable = false, length = 10)
+    private ModerationTargetType subjectType;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    // Null for comments, which are not versioned
+    @Column(name = "subject_version")
+    private Integer subjectVersion;
+
+    @Column(name = "body_simhash", nullable = false)
+    private Long bodySimhash;
+
+    // ContentSignatures.TAG_MINHASH_SLOTS big-endian ints, or empty for no tags
+    @Column(name = "tag_minhash", nullable = false)
+    private byte[] tagMinhash;
+
+    // Set when the version was rejected as a near-duplicate of this signature
+    @Column(name = "near_duplicate_of")
+    private Long nearDuplicateOf;
+
+    @Column(name = "rejected_at")
+    private LocalDateTime rejectedAt;
+
+    @Builder.Default
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Builder.Default
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+}
@@ -1,5 +1,7 @@
 package com.SafuForumBackend.moderation.entity;
 
+import com.SafuForumBackend.comment.entity.Comment;
+import com.SafuForumBackend.image.entity.Image;
 import com.SafuForumBackend.moderation.enums.JobContentType;
 import com.SafuForumBackend.moderation.enums.ModerationStatus;
 import com.SafuForumBackend.post.entity.Post;
@@ -23,13 +25,25 @@ public class ModerationJob {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // A job targets a post version, a comment version or an image being uploaded
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "post_id", nullable = false)
+    @JoinColumn(name = "post_id")
     private Post post;
 
-    @Column(name = "post_version", nullable = false)
+    @Column(name = "post_version")
     private Integer postVersion;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "comment_id")
+    private Comment comment;
+
+    @Column(name = "comment_version")
+    private Integer commentVersion;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "image_id")
+    private Image image;
+
     @Column(name = "source_field", nullable = false, length = 100)
     private String sourceField;
 
@@ -41,6 +55,12 @@ public class ModerationJob {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String payload;
 
+    @Column(name = "content_sha256", length = 64)
+    private String contentSha256;
+
+    @Column(name = "model_version", length = 64)
+    private String modelVersion;
+
     @Enumerated(EnumType.STRING)
     @JdbcTypeCode(SqlTypes.NAMED_ENUM)
     @Column(nullable = false, columnDefinition = "moderation_status")
@@ -50,6 +70,9 @@ public class ModerationJob {
     @Column(name = "error_message", columnDefinition = "TEXT")
     private String errorMessage;
 
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
     @Builder.Default
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -2,8 +2,13 @@ package com.SafuForumBackend.moderation.entity;
 
 import com.SafuForumBackend.moderation.enums.JobContentType;
 
+/**
+ * @param contentSha256 hash identifying the payload's content for the verdict
+ *                      cache, or null when it is unknown
+ */
 public record ModerationJobSpec(
         String sourceField,
         JobContentType contentType,
-        String payload) {
+        String payload,
+        String contentSha256) {
 }
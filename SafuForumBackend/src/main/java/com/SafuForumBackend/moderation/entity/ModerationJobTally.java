@@ -0,0 +1,61 @@
+package com.SafuForumBackend.moderation.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Job counts for one post version. A completion decrements pending and, once
+ * it reaches zero, the post's status follows from the rejected and failed
+ * counts without loading the individual jobs. Cancelled jobs leave pending
+ * without affecting the outcome.
+ */
+@Entity
+@Table(name = "moderation_job_tallies")
+@IdClass(ModerationJobTally.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ModerationJobTally {
+
+    @Id
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Id
+    @Column(name = "post_version", nullable = false)
+    private Integer postVersion;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer total = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer pending = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer rejected = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer failed = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer cancelled = 0;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private Long postId;
+        private Integer postVersion;
+    }
+}
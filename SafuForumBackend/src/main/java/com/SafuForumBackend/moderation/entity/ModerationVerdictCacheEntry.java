@@ -0,0 +1,66 @@
+package com.SafuForumBackend.moderation.entity;
+
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * A final classifier verdict for one payload, keyed by the SHA-256 of its
+ * normalized content and the model version that produced it.
+ */
+@Entity
+@Table(name = "moderation_verdict_cache")
+@IdClass(ModerationVerdictCacheEntry.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ModerationVerdictCacheEntry {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(name = "content_type", nullable = false, columnDefinition = "job_content_type")
+    private JobContentType contentType;
+
+    @Id
+    @Column(name = "content_sha256", nullable = false, length = 64)
+    private String contentSha256;
+
+    @Id
+    @Column(name = "model_version", nullable = false, length = 64)
+    private String modelVersion;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.NAMED_ENUM)
+    @Column(nullable = false, columnDefinition = "moderation_status")
+    private ModerationStatus status;
+
+    @Column(columnDefinition = "TEXT")
+    private String reason;
+
+    @Builder.Default
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private JobContentType contentType;
+        private String contentSha256;
+        private String modelVersion;
+    }
+}
@@ -0,0 +1,12 @@
+package com.SafuForumBackend.moderation.enums;
+
+/**
+ * What a pre-filter rule decides when it matches.
+ * - block: Rejects a payload the rule matches anywhere.
+ * - allow: Approves a payload the rule matches in full, unless a block rule
+ *   also matches.
+ */
+public enum FilterRuleAction {
+    block,
+    allow
+}
@@ -0,0 +1,11 @@
+package com.SafuForumBackend.moderation.enums;
+
+/**
+ * How a pre-filter rule's pattern is matched against normalized text.
+ * - phrase: Literal text, matched through one shared Aho-Corasick automaton.
+ * - regex: A Java regular expression, matched case-insensitively.
+ */
+public enum FilterRuleMatchType {
+    phrase,
+    regex
+}
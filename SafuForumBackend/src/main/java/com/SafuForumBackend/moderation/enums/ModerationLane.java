@@ -0,0 +1,29 @@
+package com.SafuForumBackend.moderation.enums;
+
+/**
+ * Dispatch priority of a moderation job, published as the AMQP message
+ * priority so classifier queues deliver higher lanes first.
+ * - high: Trusted or well-reputed authors; never deferred.
+ * - normal: Ordinary interactive posts.
+ * - low: Low-reputation authors and bulk/recovery dispatch; deferred first
+ *   when classifiers fall behind.
+ */
+public enum ModerationLane {
+    low(0),
+    normal(1),
+    high(2);
+
+    private final int priority;
+
+    ModerationLane(int priority) {
+        this.priority = priority;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public ModerationLane demote() {
+        return this == high ? normal : low;
+    }
+}
@@ -6,10 +6,13 @@ package com.SafuForumBackend.moderation.enums;
  * - approved: The content has been approved by moderation.
  * - rejected: The content has been rejected by moderation.
  * - failed: The moderation process failed due to an error.
+ * - cancelled: The job was dropped because a sibling job had already rejected
+ *   the same post version.
  */
 public enum ModerationStatus {
     pending,
     approved,
     rejected,
-    failed
+    failed,
+    cancelled
 }
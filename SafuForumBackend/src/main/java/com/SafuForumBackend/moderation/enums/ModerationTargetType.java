@@ -0,0 +1,9 @@
+package com.SafuForumBackend.moderation.enums;
+
+/**
+ * The kind of user content a moderation record refers to.
+ */
+public enum ModerationTargetType {
+    post,
+    comment
+}
@@ -0,0 +1,7 @@
+package com.SafuForumBackend.moderation.enums;
+
+public enum RethresholdStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,19 @@
+package com.SafuForumBackend.moderation.event;
+
+import com.SafuForumBackend.moderation.enums.JobContentType;
+
+import java.util.List;
+
+public record ModerationJobBatchRequestedEvent(
+        List<Job> jobs
+) {
+
+    public record Job(
+            Long moderationJobId,
+            Long commentId,
+            Integer commentVersion,
+            String sourceField,
+            JobContentType contentType,
+            String payload
+    ) {}
+}
@@ -2,11 +2,17 @@ package com.SafuForumBackend.moderation.event;
 
 import com.SafuForumBackend.moderation.enums.ModerationStatus;
 
+import java.util.Map;
+
 public record ModerationJobCompletedEvent(
         Long moderationJobId,
         Long postId,
         Integer postVersion,
+        Long commentId,
+        Integer commentVersion,
         ModerationStatus status,
-        String reason
+        String reason,
+        // Per-label probabilities the status was derived from, and the model that produced them
+        Map<String, Double> scores,
+        String modelVersion
 ) {}
-
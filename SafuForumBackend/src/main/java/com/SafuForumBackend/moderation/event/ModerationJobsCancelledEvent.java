@@ -0,0 +1,7 @@
+package com.SafuForumBackend.moderation.event;
+
+import java.util.List;
+
+public record ModerationJobsCancelledEvent(
+        List<Long> moderationJobIds
+) {}
@@ -0,0 +1,114 @@
+package com.SafuForumBackend.moderation.repository;
+
+import com.SafuForumBackend.moderation.entity.ContentSignature;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ContentSignatureRepository extends JpaRepository<ContentSignature, Long> {
+
+  /**
+   * Replaces the subject's signatures with those of its new version, clearing
+   * any rejection of the previous one.
+   */
+  @Modifying
+  @Transactional
+  @Query(value = """
+      INSERT INTO content_signatures AS s
+          (subject_type, subject_id, subject_version, body_simhash, tag_minhash, near_duplicate_of,
+           created_at, updated_at)
+      VALUES (:subjectType, :subjectId, CAST(:subjectVersion AS int), :bodySimhash, :tagMinhash,
+              CAST(:nearDuplicateOf AS bigint), :now, :now)
+      ON CONFLICT (subject_type, subject_id)
+      DO UPDATE SET subject_version = EXCLUDED.subject_version,
+                    body_simhash = EXCLUDED.body_simhash,
+                    tag_minhash = EXCLUDED.tag_minhash,
+                    near_duplicate_of = EXCLUDED.near_duplicate_of,
+                    rejected_at = NULL,
+                    updated_at = EXCLUDED.updated_at
+      """, nativeQuery = true)
+  int upsert(
+      @Param("subjectType") String subjectType,
+      @Param("subjectId") Long subjectId,
+      @Param("subjectVersion") Integer subjectVersion,
+      @Param("bodySimhash") long bodySimhash,
+      @Param("tagMinhash") byte[] tagMinhash,
+      @Param("nearDuplicateOf") Long nearDuplicateOf,
+      @Param("now") LocalDateTime now);
+
+  /**
+   * Drops the subject's signatures, for a new version too short to sign.
+   */
+  @Modifying
+  @Transactional
+  @Query(value = """
+      DELETE FROM content_signatures
+      WHERE subject_type = :subjectType AND subject_id = :subjectId
+      """, nativeQuery = true)
+  int deleteBySubject(@Param("subjectType") String subjectType, @Param("subjectId") Long subjectId);
+
+  /**
+   * Marks the signatures of the given rejected post or comment versions
+   * (parallel arrays). Versions rejected as near-duplicates are skipped, so a
+   * chain of small edits cannot walk the index away from the original content.
+   */
+  @Transactional
+  @Query(value = """
+      UPDATE content_signatures s
+      SET rejected_at = :rejectedAt
+      FROM unnest(CAST(:subjectIds AS bigint[]), CAST(:subjectVersions AS int[])) AS t(subject_id, subject_version)
+      WHERE s.subject_type = :subjectType
+        AND s.subject_id = t.subject_id
+        AND s.subject_version = t.subject_version
+        AND s.rejected_at IS NULL
+        AND s.near_duplicate_of IS NULL
+      RETURNING s.id AS id,
+                s.subject_type AS subjectType,
+                s.subject_id AS subjectId,
+                s.body_simhash AS bodySimhash,
+                s.tag_minhash AS tagMinhash,
+                s.rejected_at AS rejectedAt
+      """, nativeQuery = true)
+  List<RejectedSignatureView> markVersionsRejected(
+      @Param("subjectType") String subjectType,
+      @Param("subjectIds") Long[] subjectIds,
+      @Param("subjectVersions") Integer[] subjectVersions,
+      @Param("rejectedAt") LocalDateTime rejectedAt);
+
+  @Query(value = """
+      SELECT s.id AS id,
+             s.subject_type AS subjectType,
+             s.subject_id AS subjectId,
+             s.body_simhash AS bodySimhash,
+             s.tag_minhash AS tagMinhash,
+             s.rejected_at AS rejectedAt
+      FROM content_signatures s
+      WHERE s.rejected_at >= :since
+      ORDER BY s.rejected_at DESC
+      LIMIT :limit
+      """, nativeQuery = true)
+  List<RejectedSignatureView> findRejectedSince(
+      @Param("since") LocalDateTime since,
+      @Param("limit") int limit);
+
+  interface RejectedSignatureView {
+    Long getId();
+
+    String getSubjectType();
+
+    Long getSubjectId();
+
+    Long getBodySimhash();
+
+    byte[] getTagMinhash();
+
+    LocalDateTime getRejectedAt();
+  }
+}
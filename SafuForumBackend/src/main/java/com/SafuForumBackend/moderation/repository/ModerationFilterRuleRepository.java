@@ -0,0 +1,32 @@
+package com.SafuForumBackend.moderation.repository;
+
+import com.SafuForumBackend.moderation.entity.ModerationFilterRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ModerationFilterRuleRepository extends JpaRepository<ModerationFilterRule, Long> {
+
+  List<ModerationFilterRule> findByEnabledTrueOrderById();
+
+  List<ModerationFilterRule> findAllByOrderByIdDesc();
+
+  /**
+   * Cheap fingerprint of the rule set; any insert, update or delete changes it.
+   */
+  @Query("""
+      SELECT COUNT(r) AS ruleCount, MAX(r.updatedAt) AS lastUpdatedAt
+      FROM ModerationFilterRule r
+      """)
+  RuleSetVersion findRuleSetVersion();
+
+  interface RuleSetVersion {
+    Long getRuleCount();
+
+    LocalDateTime getLastUpdatedAt();
+  }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -16,16 +17,741 @@ public interface ModerationJobRepository extends JpaRepository<ModerationJob, Lo
 
   List<ModerationJob> findByPostIdAndPostVersion(Long postId, Integer postVersion);
 
-  @Query("""
-      SELECT mj
-      FROM ModerationJob mj
-      JOIN FETCH mj.post
-      WHERE mj.status = :status
-        AND mj.createdAt < :cutoff
-      """)
-  List<ModerationJob> findByStatusAndCreatedAtBefore(
-      @Param("status") ModerationStatus status,
-      @Param("cutoff") LocalDateTime cutoff);
+  /**
+   * Fails up to batchSize pending jobs dispatched before the cutoff, or never
+   * dispatched and created before the undispatched cutoff. Jobs held back by
+   * the debounce or the admission gate are not yet waiting on a classifier,
+   * so they get the separate, longer cap. Rows locked by another node's sweep
+   * are skipped, so concurrent sweepers work on disjoint slices.
+   *
+   * @return the failed jobs, flagged with whether their version is still the
+   *         post's or comment's current one (null for image jobs)
+   */
+  @Transactional
+  @Query(value = """
+      WITH expired AS (
+          SELECT mj.id, COALESCE(p.version, cm.version) AS current_version
+          FROM moderation_jobs mj
+          LEFT JOIN posts p ON p.id = mj.post_id
+          LEFT JOIN comments cm ON cm.id = mj.comment_id
+          WHERE mj.status = 'pending'
+            -- Implied by both branches below (a job is dispatched after it is created); keeps the index range scan
+            AND mj.created_at < GREATEST(:cutoff, :undispatchedCutoff)
+            AND (mj.dispatched_at < :cutoff
+                 OR (mj.dispatched_at IS NULL AND mj.created_at < :undispatchedCutoff))
+          ORDER BY mj.created_at
+          LIMIT :batchSize
+          FOR UPDATE OF mj SKIP LOCKED
+      )
+      UPDATE moderation_jobs mj
+      SET status = 'failed',
+          error_message = CASE WHEN (mj.image_id IS NOT NULL
+                                     OR e.current_version = COALESCE(mj.post_version, mj.comment_version))
+                                    AND mj.dispatched_at IS NULL
+                               THEN 'Timed out waiting to be dispatched'
+                               WHEN mj.image_id IS NOT NULL
+                                 OR e.current_version = COALESCE(mj.post_version, mj.comment_version)
+                               THEN 'Timed out waiting for moderation completion'
+                               WHEN mj.post_id IS NOT NULL
+                               THEN 'Superseded by post version ' || e.current_version
+                               ELSE 'Superseded by comment version ' || e.current_version END,
+          updated_at = :updatedAt
+      FROM expired e
+      WHERE mj.id = e.id
+      RETURNING mj.post_id AS postId,
+                mj.post_version AS postVersion,
+                mj.comment_id AS commentId,
+                mj.comment_version AS commentVersion,
+                mj.image_id AS imageId,
+                (e.current_version = COALESCE(mj.post_version, mj.comment_version)) AS currentVersion
+      """, nativeQuery = true)
+  List<TimedOutJobView> failTimedOutJobs(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("undispatchedCutoff") LocalDateTime undispatchedCutoff,
+      @Param("batchSize") int batchSize,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  /**
+   * Fails the given jobs (sorted by id) whose in-memory deadline has passed,
+   * if they are still pending and their current dispatch is older than their
+   * content type's timeout. A job released and dispatched again since its
+   * deadline was set, or not dispatched at all, is left alone. Rows being
+   * completed concurrently are skipped.
+   *
+   * @return the failed jobs, flagged with whether their version is still the
+   *         post's or comment's current one (null for image jobs)
+   */
+  @Transactional
+  @Query(value = """
+      WITH expired AS (
+          SELECT mj.id, COALESCE(p.version, cm.version) AS current_version
+          FROM moderation_jobs mj
+          LEFT JOIN posts p ON p.id = mj.post_id
+          LEFT JOIN comments cm ON cm.id = mj.comment_id
+          WHERE mj.id IN (SELECT unnest(CAST(:jobIds AS bigint[])))
+            AND mj.status = 'pending'
+            AND mj.dispatched_at <= CASE WHEN mj.content_type = 'image'
+                                         THEN CAST(:imageDispatchedBefore AS timestamp)
+                                         ELSE CAST(:textDispatchedBefore AS timestamp) END
+          ORDER BY mj.id
+          FOR UPDATE OF mj SKIP LOCKED
+      )
+      UPDATE moderation_jobs mj
+      SET status = 'failed',
+          error_message = CASE WHEN mj.image_id IS NOT NULL
+                                 OR e.current_version = COALESCE(mj.post_version, mj.comment_version)
+                               THEN 'Timed out waiting for moderation completion'
+                               WHEN mj.post_id IS NOT NULL
+                               THEN 'Superseded by post version ' || e.current_version
+                               ELSE 'Superseded by comment version ' || e.current_version END,
+          updated_at = :updatedAt
+      FROM expired e
+      WHERE mj.id = e.id
+      RETURNING mj.post_id AS postId,
+                mj.post_version AS postVersion,
+                mj.comment_id AS commentId,
+                mj.comment_version AS commentVersion,
+                mj.image_id AS imageId,
+                (e.current_version = COALESCE(mj.post_version, mj.comment_version)) AS currentVersion
+      """, nativeQuery = true)
+  List<TimedOutJobView> failExpiredJobs(
+      @Param("jobIds") Long[] jobIds,
+      @Param("textDispatchedBefore") LocalDateTime textDispatchedBefore,
+      @Param("imageDispatchedBefore") LocalDateTime imageDispatchedBefore,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  @Query(value = """
+      SELECT mj.id AS id,
+             CAST(mj.content_type AS text) AS contentType,
+             mj.dispatched_at AS dispatchedAt
+      FROM moderation_jobs mj
+      WHERE mj.status = 'pending'
+        AND mj.dispatched_at IS NOT NULL
+        AND mj.id > :afterId
+      ORDER BY mj.id
+      LIMIT :limit
+      """, nativeQuery = true)
+  List<PendingJobView> findPendingJobsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+  /**
+   * Claims the undispatched pending jobs of the given (post, content type)
+   * pairs (parallel arrays) for publishing. Only the posts' current versions
+   * are claimed, and a job is claimed at most once across nodes.
+   *
+   * @return the claimed jobs, with everything needed to publish them
+   */
+  @Transactional
+  @Query(value = """
+      WITH targets AS (
+          SELECT * FROM unnest(CAST(:postIds AS bigint[]), CAST(:contentTypes AS text[]))
+              AS t(post_id, content_type)
+      ), claimable AS (
+          SELECT mj.id FROM moderation_jobs mj
+          JOIN posts p ON p.id = mj.post_id AND p.version = mj.post_version
+          JOIN targets t ON t.post_id = mj.post_id AND t.content_type = CAST(mj.content_type AS text)
+          WHERE mj.status = 'pending'
+            AND mj.dispatched_at IS NULL
+          ORDER BY mj.id
+          FOR UPDATE OF mj SKIP LOCKED
+      )
+      UPDATE moderation_jobs mj
+      SET dispatched_at = :dispatchedAt
+      FROM claimable c
+      WHERE mj.id = c.id
+      RETURNING mj.id AS id,
+                mj.post_id AS postId,
+                mj.post_version AS postVersion,
+                mj.source_field AS sourceField,
+                CAST(mj.content_type AS text) AS contentType,
+                mj.payload AS payload,
+                mj.dispatched_at AS dispatchedAt
+      """, nativeQuery = true)
+  List<DispatchedJobView> claimJobsForPosts(
+      @Param("postIds") Long[] postIds,
+      @Param("contentTypes") String[] contentTypes,
+      @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+  /**
+   * Claims up to batchSize undispatched pending jobs of the given content
+   * types created before the cutoff, for jobs whose debounce was lost (e.g.
+   * the node restarted).
+   */
+  @Transactional
+  @Query(value = """
+      WITH claimable AS (
+          SELECT mj.id FROM moderation_jobs mj
+          JOIN posts p ON p.id = mj.post_id AND p.version = mj.post_version
+          WHERE mj.status = 'pending'
+            AND mj.dispatched_at IS NULL
+            AND mj.created_at < :cutoff
+            AND CAST(mj.content_type AS text) IN (SELECT unnest(CAST(:contentTypes AS text[])))
+          ORDER BY mj.created_at
+          LIMIT :batchSize
+          FOR UPDATE OF mj SKIP LOCKED
+      )
+      UPDATE moderation_jobs mj
+      SET dispatched_at = :dispatchedAt
+      FROM claimable c
+      WHERE mj.id = c.id
+      RETURNING mj.id AS id,
+                mj.post_id AS postId,
+                mj.post_version AS postVersion,
+                mj.source_field AS sourceField,
+                CAST(mj.content_type AS text) AS contentType,
+                mj.payload AS payload,
+                mj.dispatched_at AS dispatchedAt
+      """, nativeQuery = true)
+  List<DispatchedJobView> claimOrphanedJobs(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("contentTypes") String[] contentTypes,
+      @Param("batchSize") int batchSize,
+      @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+  /**
+   * Claims the given comment jobs for publishing, if they are still pending,
+   * undispatched and of their comment's current version. A job is claimed at
+   * most once across nodes.
+   */
+  @Transactional
+  @Query(value = """
+      WITH claimable AS (
+          SELECT mj.id FROM moderation_jobs mj
+          JOIN comments cm ON cm.id = mj.comment_id AND cm.version = mj.comment_version
+          WHERE mj.id IN (SELECT unnest(CAST(:jobIds AS bigint[])))
+            AND mj.status = 'pending'
+            AND mj.dispatched_at IS NULL
+          ORDER BY mj.id
+          FOR UPDATE OF mj SKIP LOCKED
+      )
+      UPDATE moderation_jobs mj
+      SET dispatched_at = :dispatchedAt
+      FROM claimable c
+      WHERE mj.id = c.id
+      RETURNING mj.id AS id,
+                mj.comment_id AS commentId,
+                mj.comment_version AS commentVersion,
+                mj.source_field AS sourceField,
+                CAST(mj.content_type AS text) AS contentType,
+                mj.payload AS payload,
+                mj.dispatched_at AS dispatchedAt
+      """, nativeQuery = true)
+  List<DispatchedCommentJobView> claimCommentJobs(
+      @Param("jobIds") Long[] jobIds,
+      @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+  /**
+   * Claims up to batchSize undispatched pending comment jobs of the given
+   * content types created before the cutoff, for jobs whose batch was lost
+   * (e.g. the node restarted).
+   */
+  @Transactional
+  @Query(value = """
+      WITH claimable AS (
+          SELECT mj.id FROM moderation_jobs mj
+          JOIN comments cm ON cm.id = mj.comment_id AND cm.version = mj.comment_version
+          WHERE mj.status = 'pending'
+            AND mj.dispatched_at IS NULL
+            AND mj.created_at < :cutoff
+            AND CAST(mj.content_type AS text) IN (SELECT unnest(CAST(:contentTypes AS text[])))
+          ORDER BY mj.created_at
+          LIMIT :batchSize
+          FOR UPDATE OF mj SKIP LOCKED
+      )
+      UPDATE moderation_jobs mj
+      SET dispatched_at = :dispatchedAt
+      FROM claimable c
+      WHERE mj.id = c.id
+      RETURNING mj.id AS id,
+                mj.comment_id AS commentId,
+                mj.comment_version AS commentVersion,
+                mj.source_field AS sourceField,
+                CAST(mj.content_type AS text) AS contentType,
+                mj.payload AS payload,
+                mj.dispatched_at AS dispatchedAt
+      """, nativeQuery = true)
+  List<DispatchedCommentJobView> claimOrphanedCommentJobs(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("contentTypes") String[] contentTypes,
+      @Param("batchSize") int batchSize,
+      @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+  /**
+   * Claims the given image jobs for publishing, if they are still pending and
+   * undispatched. A job is claimed at most once across nodes.
+   */
+  @Transactional
+  @Query(value = """
+      WITH claimable AS (
+          SELECT mj.id FROM moderation_jobs mj
+          WHERE mj.id IN (SELECT unnest(CAST(:jobIds AS bigint[])))
+            AND mj.image_id IS NOT NULL
+            AND mj.status = 'pending'
+            AND mj.dispatched_at IS NULL
+          ORDER BY mj.id
+          FOR UPDATE OF mj SKIP LOCKED
+      )
+      UPDATE moderation_jobs mj
+      SET dispatched_at = :dispatchedAt
+      FROM claimable c
+      WHERE mj.id = c.id
+      RETURNING mj.id AS id,
+                mj.image_id AS imageId,
+                mj.source_field AS sourceField,
+                mj.payload AS payload,
+                mj.dispatched_at AS dispatchedAt
+      """, nativeQuery = true)
+  List<DispatchedImageJobView> claimImageJobs(
+      @Param("jobIds") Long[] jobIds,
+      @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+  /**
+   * Claims up to batchSize undispatched pending image jobs created before the
+   * cutoff, for uploads whose dispatch was held back or lost (e.g. the node
+   * restarted).
+   */
+  @Transactional
+  @Query(value = """
+      WITH claimable AS (
+          SELECT mj.id FROM moderation_jobs mj
+          WHERE mj.image_id IS NOT NULL
+            AND mj.status = 'pending'
+            AND mj.dispatched_at IS NULL
+            AND mj.created_at < :cutoff
+          ORDER BY mj.created_at
+          LIMIT :batchSize
+          FOR UPDATE OF mj SKIP LOCKED
+      )
+      UPDATE moderation_jobs mj
+      SET dispatched_at = :dispatchedAt
+      FROM claimable c
+      WHERE mj.id = c.id
+      RETURNING mj.id AS id,
+                mj.image_id AS imageId,
+                mj.source_field AS sourceField,
+                mj.payload AS payload,
+                mj.dispatched_at AS dispatchedAt
+      """, nativeQuery = true)
+  List<DispatchedImageJobView> claimOrphanedImageJobs(
+      @Param("cutoff") LocalDateTime cutoff,
+      @Param("batchSize") int batchSize,
+      @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+  /**
+   * Finds which of the given post versions (parallel arrays) had their job for
+   * the given text field rejected, as opposed to only another field or image.
+   */
+  @Query(value = """
+      SELECT mj.post_id AS postId,
+             mj.post_version AS postVersion
+      FROM moderation_jobs mj
+      JOIN unnest(CAST(:postIds AS bigint[]), CAST(:postVersions AS integer[])) AS t(post_id, post_version)
+          ON t.post_id = mj.post_id AND t.post_version = mj.post_version
+      WHERE mj.status = 'rejected'
+        AND mj.content_type = 'text'
+        AND mj.source_field = :sourceField
+      ORDER BY mj.post_id, mj.post_version
+      """, nativeQuery = true)
+  List<PostVersionView> findVersionsWithRejectedField(
+      @Param("postIds") Long[] postIds,
+      @Param("postVersions") Integer[] postVersions,
+      @Param("sourceField") String sourceField);
+
+  /**
+   * Finds the pending post image jobs with the given source fields, i.e. the
+   * jobs of posts published while those images were still being moderated
+   * after upload.
+   */
+  @Query(value = """
+      SELECT mj.id AS jobId,
+             mj.source_field AS sourceField
+      FROM moderation_jobs mj
+      WHERE mj.status = 'pending'
+        AND mj.post_id IS NOT NULL
+        AND mj.content_type = 'image'
+        AND mj.source_field IN (SELECT unnest(CAST(:sourceFields AS text[])))
+      ORDER BY mj.id
+      """, nativeQuery = true)
+  List<AwaitingImageJobView> findPendingPostJobsForImages(@Param("sourceFields") String[] sourceFields);
+
+  /**
+   * Marks the pending post image jobs with the given source fields as
+   * undispatched, after the upload-time moderation they were waiting for
+   * failed. The orphan sweep then sends the images to the classifier with
+   * their posts.
+   *
+   * @return the number of jobs released
+   */
+  @Modifying
+  @Query(value = """
+      WITH waiting AS (
+          SELECT mj.id FROM moderation_jobs mj
+          WHERE mj.status = 'pending'
+            AND mj.post_id IS NOT NULL
+            AND mj.content_type = 'image'
+            AND mj.dispatched_at IS NOT NULL
+            AND mj.source_field IN (SELECT unnest(CAST(:sourceFields AS text[])))
+          ORDER BY mj.id
+          FOR UPDATE OF mj
+      )
+      UPDATE moderation_jobs mj
+      SET dispatched_at = NULL
+      FROM waiting w
+      WHERE mj.id = w.id
+      """, nativeQuery = true)
+  int releasePendingPostJobsForImages(@Param("sourceFields") String[] sourceFields);
+
+  /**
+   * Marks an image job whose publish failed as undispatched again, so the
+   * orphan sweep retries it.
+   */
+  @Modifying
+  @Transactional
+  @Query(value = """
+      UPDATE moderation_jobs
+      SET dispatched_at = NULL
+      WHERE id = :jobId
+        AND image_id IS NOT NULL
+        AND status = 'pending'
+      """, nativeQuery = true)
+  int releaseImageJob(@Param("jobId") Long jobId);
+
+  /**
+   * Marks post or comment jobs whose publish failed as undispatched again, so
+   * the orphan sweep retries them.
+   */
+  @Modifying
+  @Transactional
+  @Query(value = """
+      UPDATE moderation_jobs
+      SET dispatched_at = NULL
+      WHERE id IN (SELECT unnest(CAST(:jobIds AS bigint[])))
+        AND status = 'pending'
+      """, nativeQuery = true)
+  int releaseJobs(@Param("jobIds") Long[] jobIds);
+
+  /**
+   * Stores the per-label scores classifiers reported for pending jobs, ahead
+   * of completing them. Scores are given flattened (parallel arrays, one entry
+   * per job and label); rows are locked in id order like completions.
+   */
+  @Modifying
+  @Query(value = """
+      WITH reported AS (
+          SELECT * FROM unnest(CAST(:jobIds AS bigint[]), CAST(:modelVersions AS text[]))
+              AS r(job_id, model_version)
+      ), scored AS (
+          SELECT s.job_id, jsonb_object_agg(s.label, s.score) AS scores
+          FROM unnest(CAST(:scoreJobIds AS bigint[]), CAST(:scoreLabels AS text[]),
+                      CAST(:scoreValues AS double precision[]))
+              AS s(job_id, label, score)
+          GROUP BY s.job_id
+      ), locked AS (
+          SELECT mj.id FROM moderation_jobs mj
+          WHERE mj.id IN (SELECT job_id FROM scored)
+            AND mj.status = 'pending'
+          ORDER BY mj.id
+          FOR UPDATE OF mj
+      )
+      UPDATE moderation_jobs mj
+      SET scores = s.scores,
+          scores_model_version = r.model_version
+      FROM scored s
+      JOIN reported r ON r.job_id = s.job_id, locked l
+      WHERE mj.id = s.job_id
+        AND l.id = mj.id
+        AND mj.status = 'pending'
+      """, nativeQuery = true)
+  int recordScores(
+      @Param("jobIds") Long[] jobIds,
+      @Param("modelVersions") String[] modelVersions,
+      @Param("scoreJobIds") Long[] scoreJobIds,
+      @Param("scoreLabels") String[] scoreLabels,
+      @Param("scoreValues") Double[] scoreValues);
+
+  /**
+   * Stores the per-label scores and reported statuses behind verdicts decided
+   * in process, on jobs created by the current transaction. Scores are given
+   * flattened like {@link #recordScores}.
+   */
+  @Modifying
+  @Query(value = """
+      WITH reported AS (
+          SELECT * FROM unnest(CAST(:jobIds AS bigint[]), CAST(:reportedStatuses AS text[]))
+              AS r(job_id, reported_status)
+      ), scored AS (
+          SELECT s.job_id, jsonb_object_agg(s.label, s.score) AS scores
+          FROM unnest(CAST(:scoreJobIds AS bigint[]), CAST(:scoreLabels AS text[]),
+                      CAST(:scoreValues AS double precision[]))
+              AS s(job_id, label, score)
+          GROUP BY s.job_id
+      )
+      UPDATE moderation_jobs mj
+      SET scores = s.scores,
+          scores_model_version = mj.model_version,
+          reported_status = CAST(r.reported_status AS moderation_status)
+      FROM scored s
+      JOIN reported r ON r.job_id = s.job_id
+      WHERE mj.id = s.job_id
+      """, nativeQuery = true)
+  int storeScores(
+      @Param("jobIds") Long[] jobIds,
+      @Param("reportedStatuses") String[] reportedStatuses,
+      @Param("scoreJobIds") Long[] scoreJobIds,
+      @Param("scoreLabels") String[] scoreLabels,
+      @Param("scoreValues") Double[] scoreValues);
+
+  /**
+   * Copies the scores of the jobs a verdict was reused from (parallel arrays)
+   * onto the jobs it was reused for, so those follow later threshold changes
+   * too. Source jobs without scores are skipped.
+   */
+  @Modifying
+  @Query(value = """
+      UPDATE moderation_jobs mj
+      SET scores = src.scores,
+          scores_model_version = src.scores_model_version,
+          reported_status = src.reported_status
+      FROM unnest(CAST(:jobIds AS bigint[]), CAST(:sourceJobIds AS bigint[])) AS t(job_id, source_job_id)
+      JOIN moderation_jobs src ON src.id = t.source_job_id
+      WHERE mj.id = t.job_id
+        AND src.scores IS NOT NULL
+      """, nativeQuery = true)
+  int copyScores(
+      @Param("jobIds") Long[] jobIds,
+      @Param("sourceJobIds") Long[] sourceJobIds);
+
+  /**
+   * Completes the given jobs (parallel arrays, sorted by job id) in one
+   * statement. Only jobs that are still pending and belong to their post's or
+   * comment's current version, or to an uploaded image, are updated; rows are
+   * locked in id order so concurrent batches cannot deadlock.
+   *
+   * An approval of a job with stored scores is replaced by a rejection once
+   * any thresholded label scores at or above its threshold, and a rejection by
+   * an approval once none does, unless the classifier reported the rejection:
+   * it may come from a label with no score, so the policy never approves it.
+   * Jobs with no thresholded label keep the status they were reported with.
+   * The reported status is stored next to the derived one. The thresholds read are
+   * share-locked, so a completion cannot interleave with a threshold change or
+   * a re-threshold transaction over the same content type.
+   *
+   * @return the jobs that were completed
+   */
+  @Transactional
+  @Query(value = """
+      WITH completions AS (
+          SELECT * FROM unnest(CAST(:jobIds AS bigint[]), CAST(:statuses AS text[]), CAST(:reasons AS text[]))
+              AS c(job_id, status, reason)
+      ), locked AS (
+          SELECT mj.id FROM moderation_jobs mj
+          LEFT JOIN posts p ON p.id = mj.post_id
+          LEFT JOIN comments cm ON cm.id = mj.comment_id
+          WHERE mj.id IN (SELECT job_id FROM completions)
+            AND mj.status = 'pending'
+            AND (p.version = mj.post_version OR cm.version = mj.comment_version OR mj.image_id IS NOT NULL)
+          ORDER BY mj.id
+          FOR UPDATE OF mj
+      ), thresholds AS (
+          SELECT th.content_type, th.label, th.reject_at FROM moderation_policy_thresholds th
+          WHERE th.content_type IN (SELECT mj.content_type FROM moderation_jobs mj JOIN locked l ON l.id = mj.id)
+          ORDER BY th.id
+          FOR SHARE
+      ), policy AS (
+          SELECT mj.id AS job_id,
+                 bool_or(CAST(s.score AS double precision) >= th.reject_at) AS rejects,
+                 string_agg(CASE WHEN CAST(s.score AS double precision) >= th.reject_at THEN s.label END, ', '
+                            ORDER BY s.label) AS labels
+          FROM moderation_jobs mj
+          JOIN locked l ON l.id = mj.id
+          CROSS JOIN LATERAL jsonb_each_text(mj.scores) AS s(label, score)
+          JOIN thresholds th ON th.content_type = mj.content_type AND th.label = s.label
+          GROUP BY mj.id
+      ), decided AS (
+          SELECT c.job_id,
+                 c.status AS reported_status,
+                 c.reason,
+                 CASE WHEN c.status NOT IN ('approved', 'rejected') OR p.rejects IS NULL THEN c.status
+                      WHEN c.status = 'rejected' OR p.rejects THEN 'rejected'
+                      ELSE 'approved' END AS status,
+                 p.labels
+          FROM completions c
+          LEFT JOIN policy p ON p.job_id = c.job_id
+      )
+      UPDATE moderation_jobs mj
+      SET status = CAST(d.status AS moderation_status),
+          reported_status = CAST(d.reported_status AS moderation_status),
+          error_message = CASE WHEN d.status = d.reported_status THEN d.reason
+                               WHEN d.status = 'rejected' THEN 'Policy: ' || d.labels || ' at or over threshold'
+                               ELSE 'Policy: no label at or over threshold' END,
+          updated_at = :updatedAt
+      FROM decided d, locked l
+      WHERE mj.id = d.job_id
+        AND l.id = mj.id
+        AND mj.status = 'pending'
+      RETURNING mj.id AS jobId,
+                mj.post_id AS postId,
+                mj.post_version AS postVersion,
+                mj.comment_id AS commentId,
+                mj.comment_version AS commentVersion,
+                mj.image_id AS imageId,
+                CAST(mj.content_type AS text) AS contentType,
+                mj.content_sha256 AS contentSha256,
+                mj.model_version AS modelVersion,
+                CAST(mj.status AS text) AS status,
+                mj.error_message AS reason
+      """, nativeQuery = true)
+  List<CompletedJobView> completePendingJobs(
+      @Param("jobIds") Long[] jobIds,
+      @Param("statuses") String[] statuses,
+      @Param("reasons") String[] reasons,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  /**
+   * Cancels the still-pending jobs of the given post versions (parallel
+   * arrays), once a sibling job has rejected them. Rows locked by a concurrent
+   * completion or timeout are skipped and left to finish normally.
+   *
+   * @return the jobs that were cancelled
+   */
+  @Transactional
+  @Query(value = """
+      WITH targets AS (
+          SELECT * FROM unnest(CAST(:postIds AS bigint[]), CAST(:postVersions AS integer[]))
+              AS t(post_id, post_version)
+      ), locked AS (
+          SELECT mj.id FROM moderation_jobs mj
+          JOIN targets t ON t.post_id = mj.post_id AND t.post_version = mj.post_version
+          WHERE mj.status = 'pending'
+          ORDER BY mj.id
+          FOR UPDATE SKIP LOCKED
+      )
+      UPDATE moderation_jobs mj
+      SET status = 'cancelled',
+          error_message = 'Cancelled: post version already rejected',
+          updated_at = :updatedAt
+      FROM locked l
+      WHERE mj.id = l.id
+      RETURNING mj.id AS jobId,
+                mj.post_id AS postId,
+                mj.post_version AS postVersion
+      """, nativeQuery = true)
+  List<CancelledJobView> cancelPendingJobs(
+      @Param("postIds") Long[] postIds,
+      @Param("postVersions") Integer[] postVersions,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  @Query(value = """
+      SELECT min(mj.id) AS minId, max(mj.id) AS maxId
+      FROM moderation_jobs mj
+      WHERE mj.content_type = CAST(:contentType AS job_content_type)
+        AND mj.scores IS NOT NULL
+      """, nativeQuery = true)
+  IdRangeView findScoredJobIdRange(@Param("contentType") String contentType);
+
+  /**
+   * Re-derives, from their stored scores and the current policy thresholds,
+   * the status of the approved and rejected jobs of a content type whose id
+   * is in (fromId, toId]. Only jobs with a thresholded label whose status
+   * changes are updated, and a rejection the classifier reported is never
+   * approved; rows are locked in id order like completions.
+   *
+   * @return the jobs whose status changed
+   */
+  @Transactional
+  @Query(value = """
+      WITH policy AS (
+          SELECT mj.id AS job_id,
+                 CASE WHEN mj.reported_status = 'rejected'
+                           OR bool_or(CAST(s.score AS double precision) >= th.reject_at) THEN 'rejected'
+                      ELSE 'approved' END AS status,
+                 string_agg(CASE WHEN CAST(s.score AS double precision) >= th.reject_at THEN s.label END, ', '
+                            ORDER BY s.label) AS labels
+          FROM moderation_jobs mj
+          CROSS JOIN LATERAL jsonb_each_text(mj.scores) AS s(label, score)
+          JOIN moderation_policy_thresholds th ON th.content_type = mj.content_type AND th.label = s.label
+          WHERE mj.content_type = CAST(:contentType AS job_content_type)
+            AND mj.id > :fromId
+            AND mj.id <= :toId
+            AND mj.scores IS NOT NULL
+            AND mj.status IN ('approved', 'rejected')
+          GROUP BY mj.id, mj.reported_status
+      ), locked AS (
+          SELECT mj.id FROM moderation_jobs mj
+          JOIN policy p ON p.job_id = mj.id
+          WHERE CAST(mj.status AS text) <> p.status
+          ORDER BY mj.id
+          FOR UPDATE OF mj
+      )
+      UPDATE moderation_jobs mj
+      SET status = CAST(p.status AS moderation_status),
+          error_message = CASE WHEN p.status = 'rejected' THEN 'Policy: ' || p.labels || ' at or over threshold'
+                               ELSE 'Policy: no label at or over threshold' END,
+          updated_at = :updatedAt
+      FROM policy p, locked l
+      WHERE mj.id = p.job_id
+        AND l.id = mj.id
+        AND mj.status IN ('approved', 'rejected')
+        AND CAST(mj.status AS text) <> p.status
+      RETURNING mj.id AS jobId,
+                mj.post_id AS postId,
+                mj.post_version AS postVersion,
+                mj.comment_id AS commentId,
+                mj.comment_version AS commentVersion,
+                mj.image_id AS imageId,
+                CAST(mj.status AS text) AS status,
+                mj.error_message AS reason
+      """, nativeQuery = true)
+  List<RederivedJobView> rederiveStatuses(
+      @Param("contentType") String contentType,
+      @Param("fromId") Long fromId,
+      @Param("toId") Long toId,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  /**
+   * Queues again, as new pending jobs, the jobs cancelled by a rejection of
+   * the given current post versions (parallel arrays) that no longer have a
+   * rejected or failed job. The cancelled jobs are left as they are, since
+   * classifiers drop jobs they know were cancelled, and are not queued twice.
+   *
+   * @return the jobs that were created
+   */
+  @Transactional
+  @Query(value = """
+      WITH targets AS (
+          SELECT * FROM unnest(CAST(:postIds AS bigint[]), CAST(:postVersions AS integer[]))
+              AS t(post_id, post_version)
+      )
+      INSERT INTO moderation_jobs
+          (post_id, post_version, source_field, content_type, payload, content_sha256, model_version,
+           status, created_at, updated_at)
+      SELECT mj.post_id, mj.post_version, mj.source_field, mj.content_type, mj.payload, mj.content_sha256,
+             mj.model_version, 'pending', :createdAt, :createdAt
+      FROM moderation_jobs mj
+      JOIN targets t ON t.post_id = mj.post_id AND t.post_version = mj.post_version
+      JOIN posts p ON p.id = mj.post_id AND p.version = mj.post_version
+      WHERE mj.status = 'cancelled'
+        AND NOT EXISTS (
+            SELECT 1 FROM moderation_jobs o
+            WHERE o.post_id = mj.post_id
+              AND o.post_version = mj.post_version
+              AND o.status IN ('rejected', 'failed'))
+        AND NOT EXISTS (
+            SELECT 1 FROM moderation_jobs o
+            WHERE o.post_id = mj.post_id
+              AND o.post_version = mj.post_version
+              AND o.source_field = mj.source_field
+              AND o.content_type = mj.content_type
+              AND o.status <> 'cancelled')
+      ORDER BY mj.id
+      RETURNING id AS jobId,
+                post_id AS postId,
+                post_version AS postVersion,
+                CAST(content_type AS text) AS contentType
+      """, nativeQuery = true)
+  List<RequeuedJobView> requeueCancelledJobs(
+      @Param("postIds") Long[] postIds,
+      @Param("postVersions") Integer[] postVersions,
+      @Param("createdAt") LocalDateTime createdAt);
 
   @Modifying(clearAutomatically = true)
   @Query("""
@@ -44,4 +770,167 @@ public interface ModerationJobRepository extends JpaRepository<ModerationJob, Lo
       @Param("toStatus") ModerationStatus toStatus,
       @Param("errorMessage") String errorMessage,
       @Param("updatedAt") LocalDateTime updatedAt);
+
+  // No comment jobs are held in the persistence context, so unlike the post variant it is left intact
+  @Modifying(flushAutomatically = true)
+  @Query("""
+      UPDATE ModerationJob mj
+      SET mj.status = :toStatus,
+          mj.errorMessage = :errorMessage,
+          mj.updatedAt = :updatedAt
+      WHERE mj.comment.id = :commentId
+        AND mj.commentVersion = :commentVersion
+        AND mj.status = :fromStatus
+      """)
+  int updateStatusForCommentVersion(
+      @Param("commentId") Long commentId,
+      @Param("commentVersion") Integer commentVersion,
+      @Param("fromStatus") ModerationStatus fromStatus,
+      @Param("toStatus") ModerationStatus toStatus,
+      @Param("errorMessage") String errorMessage,
+      @Param("updatedAt") LocalDateTime updatedAt);
+
+  interface TimedOutJobView {
+    Long getPostId();
+
+    Integer getPostVersion();
+
+    Long getCommentId();
+
+    Integer getCommentVersion();
+
+    Long getImageId();
+
+    Boolean getCurrentVersion();
+  }
+
+  interface PendingJobView {
+    Long getId();
+
+    String getContentType();
+
+    LocalDateTime getDispatchedAt();
+  }
+
+  interface DispatchedJobView {
+    Long getId();
+
+    Long getPostId();
+
+    Integer getPostVersion();
+
+    String getSourceField();
+
+    String getContentType();
+
+    String getPayload();
+
+    LocalDateTime getDispatchedAt();
+  }
+
+  interface DispatchedCommentJobView {
+    Long getId();
+
+    Long getCommentId();
+
+    Integer getCommentVersion();
+
+    String getSourceField();
+
+    String getContentType();
+
+    String getPayload();
+
+    LocalDateTime getDispatchedAt();
+  }
+
+  interface DispatchedImageJobView {
+    Long getId();
+
+    Long getImageId();
+
+    String getSourceField();
+
+    String getPayload();
+
+    LocalDateTime getDispatchedAt();
+  }
+
+  interface AwaitingImageJobView {
+    Long getJobId();
+
+    String getSourceField();
+  }
+
+  interface PostVersionView {
+    Long getPostId();
+
+    Integer getPostVersion();
+  }
+
+  interface CancelledJobView {
+    Long getJobId();
+
+    Long getPostId();
+
+    Integer getPostVersion();
+  }
+
+  interface IdRangeView {
+    Long getMinId();
+
+    Long getMaxId();
+  }
+
+  interface RederivedJobView {
+    Long getJobId();
+
+    Long getPostId();
+
+    Integer getPostVersion();
+
+    Long getCommentId();
+
+    Integer getCommentVersion();
+
+    Long getImageId();
+
+    String getStatus();
+
+    String getReason();
+  }
+
+  interface RequeuedJobView {
+    Long getJobId();
+
+    Long getPostId();
+
+    Integer getPostVersion();
+
+    String getContentType();
+  }
+
+  interface CompletedJobView {
+    Long getJobId();
+
+    Long getPostId();
+
+    Integer getPostVersion();
+
+    Long getCommentId();
+
+    Integer getCommentVersion();
+
+    Long getImageId();
+
+    String getContentType();
+
+    String getContentSha256();
+
+    String getModelVersion();
+
+    String getStatus();
+
+    String getReason();
+  }
 }
@@ -0,0 +1,175 @@
+package com.SafuForumBackend.moderation.repository;
+
+import com.SafuForumBackend.moderation.entity.ModerationJobTally;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public interface ModerationJobTallyRepository extends JpaRepository<ModerationJobTally, ModerationJobTally.Key> {
+
+  @Transactional
+  @Query(value = """
+      INSERT INTO moderation_job_tallies AS t (post_id, post_version, total, pending, rejected, failed, cancelled)
+      VALUES (:postId, :postVersion, :total, :pending, :rejected, :failed, :cancelled)
+      ON CONFLICT (post_id, post_version)
+      DO UPDATE SET total = t.total + EXCLUDED.total,
+                    pending = t.pending + EXCLUDED.pending,
+                    rejected = t.rejected + EXCLUDED.rejected,
+                    failed = t.failed + EXCLUDED.failed,
+                    cancelled = t.cancelled + EXCLUDED.cancelled
+      RETURNING t.pending AS pending, t.rejected AS rejected, t.failed AS failed
+      """, nativeQuery = true)
+  TallyView addJobs(
+      @Param("postId") Long postId,
+      @Param("postVersion") Integer postVersion,
+      @Param("total") int total,
+      @Param("pending") int pending,
+      @Param("rejected") int rejected,
+      @Param("failed") int failed,
+      @Param("cancelled") int cancelled);
+
+  /**
+   * Applies completion counts for several post versions (parallel arrays;
+   * completed includes cancelled jobs) and,
+   * for every version left with no pending jobs, settles the post's status in
+   * the same statement. Tally rows are locked in key order so concurrent
+   * batches cannot deadlock, and a post is only touched while it is still
+   * pending at that version.
+   *
+   * @return the posts this call settled
+   */
+  @Transactional
+  @Query(value = """
+      WITH deltas AS (
+          SELECT * FROM unnest(CAST(:postIds AS bigint[]), CAST(:postVersions AS integer[]),
+                               CAST(:completed AS integer[]), CAST(:rejected AS integer[]),
+                               CAST(:failed AS integer[]), CAST(:cancelled AS integer[]))
+              AS d(post_id, post_version, completed, rejected, failed, cancelled)
+      ), locked AS (
+          SELECT t.post_id, t.post_version FROM moderation_job_tallies t
+          WHERE (t.post_id, t.post_version) IN (SELECT post_id, post_version FROM deltas)
+          ORDER BY t.post_id, t.post_version
+          FOR UPDATE
+      ), tally AS (
+          UPDATE moderation_job_tallies t
+          SET pending = GREATEST(0, t.pending - d.completed),
+              rejected = t.rejected + d.rejected,
+              failed = t.failed + d.failed,
+              cancelled = t.cancelled + d.cancelled
+          FROM deltas d, locked l
+          WHERE t.post_id = d.post_id
+            AND t.post_version = d.post_version
+            AND l.post_id = t.post_id
+            AND l.post_version = t.post_version
+          RETURNING t.post_id, t.post_version, t.pending, t.rejected, t.failed
+      )
+      UPDATE posts p
+      SET status = CAST(CASE WHEN tally.failed > 0 THEN 'failed'
+                             WHEN tally.rejected > 0 THEN 'rejected'
+                             ELSE 'approved' END AS moderation_status)
+      FROM tally
+      WHERE tally.pending = 0
+        AND p.id = tally.post_id
+        AND p.version = tally.post_version
+        AND p.status = 'pending'
+      RETURNING p.id AS postId, p.version AS postVersion, CAST(p.status AS text) AS status
+      """, nativeQuery = true)
+  List<SettledPostView> recordCompletionsAndSettle(
+      @Param("postIds") Long[] postIds,
+      @Param("postVersions") Integer[] postVersions,
+      @Param("completed") Integer[] completed,
+      @Param("rejected") Integer[] rejected,
+      @Param("failed") Integer[] failed,
+      @Param("cancelled") Integer[] cancelled);
+
+  /**
+   * Applies the changes of a re-threshold pass to several post versions
+   * (parallel arrays): the change in rejected jobs, and the cancelled jobs
+   * queued again. Every version whose post is still approved or rejected at
+   * that version is settled again in the same statement, as pending while it
+   * has queued jobs. Tally rows are locked in key order like completions.
+   *
+   * @return the posts whose status changed
+   */
+  @Transactional
+  @Query(value = """
+      WITH deltas AS (
+          SELECT * FROM unnest(CAST(:postIds AS bigint[]), CAST(:postVersions AS integer[]),
+                               CAST(:rejected AS integer[]), CAST(:requeued AS integer[]))
+              AS d(post_id, post_version, rejected, requeued)
+      ), locked AS (
+          SELECT t.post_id, t.post_version FROM moderation_job_tallies t
+          WHERE (t.post_id, t.post_version) IN (SELECT post_id, post_version FROM deltas)
+          ORDER BY t.post_id, t.post_version
+          FOR UPDATE
+      ), tally AS (
+          UPDATE moderation_job_tallies t
+          SET total = t.total + d.requeued,
+              pending = t.pending + d.requeued,
+              rejected = t.rejected + d.rejected
+          FROM deltas d, locked l
+          WHERE t.post_id = d.post_id
+            AND t.post_version = d.post_version
+            AND l.post_id = t.post_id
+            AND l.post_version = t.post_version
+          RETURNING t.post_id,
+                    t.post_version,
+                    CASE WHEN t.pending > 0 THEN 'pending'
+                         WHEN t.failed > 0 THEN 'failed'
+                         WHEN t.rejected > 0 THEN 'rejected'
+                         ELSE 'approved' END AS status
+      )
+      UPDATE posts p
+      SET status = CAST(tally.status AS moderation_status)
+      FROM tally
+      WHERE p.id = tally.post_id
+        AND p.version = tally.post_version
+        AND p.status IN ('approved', 'rejected')
+        AND CAST(p.status AS text) <> tally.status
+      RETURNING p.id AS postId, p.version AS postVersion, CAST(p.status AS text) AS status
+      """, nativeQuery = true)
+  List<SettledPostView> applyPolicyChangesAndResettle(
+      @Param("postIds") Long[] postIds,
+      @Param("postVersions") Integer[] postVersions,
+      @Param("rejected") Integer[] rejected,
+      @Param("requeued") Integer[] requeued);
+
+  /**
+   * Counts pending jobs failed outside the completion path (superseded or timed
+   * out). Does not touch the post; callers handle its status themselves.
+   */
+  @Modifying
+  @Query(value = """
+      UPDATE moderation_job_tallies t
+      SET pending = GREATEST(0, t.pending - :count),
+          failed = t.failed + :count
+      WHERE t.post_id = :postId
+        AND t.post_version = :postVersion
+      """, nativeQuery = true)
+  int recordFailures(
+      @Param("postId") Long postId,
+      @Param("postVersion") Integer postVersion,
+      @Param("count") int count);
+
+  interface TallyView {
+    Integer getPending();
+
+    Integer getRejected();
+
+    Integer getFailed();
+  }
+
+  interface SettledPostView {
+    Long getPostId();
+
+    Integer getPostVersion();
+
+    String getStatus();
+  }
+}
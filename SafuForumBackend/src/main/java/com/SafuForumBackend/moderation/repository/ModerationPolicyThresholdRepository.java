@@ -0,0 +1,50 @@
+package com.SafuForumBackend.moderation.repository;
+
+import com.SafuForumBackend.moderation.entity.ModerationPolicyThreshold;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ModerationPolicyThresholdRepository extends JpaRepository<ModerationPolicyThreshold, Long> {
+
+  List<ModerationPolicyThreshold> findAllByOrderByContentTypeAscLabelAsc();
+
+  Optional<ModerationPolicyThreshold> findByContentTypeAndLabel(JobContentType contentType, String label);
+
+  /**
+   * Locks the thresholds of a content type until the transaction ends, so
+   * re-threshold passes over it, and threshold changes, run one at a time and
+   * wait for completions that share-locked the thresholds they read.
+   */
+  @Query(value = """
+      SELECT t.id FROM moderation_policy_thresholds t
+      WHERE t.content_type = CAST(:contentType AS job_content_type)
+      ORDER BY t.id
+      FOR UPDATE
+      """, nativeQuery = true)
+  List<Long> lockByContentType(@Param("contentType") String contentType);
+
+  /**
+   * Reads the thresholds of a content type share-locked, like completions do,
+   * so verdicts decided with them cannot interleave with a threshold change.
+   */
+  @Query(value = """
+      SELECT t.label AS label, t.reject_at AS rejectAt FROM moderation_policy_thresholds t
+      WHERE t.content_type = CAST(:contentType AS job_content_type)
+      ORDER BY t.id
+      FOR SHARE
+      """, nativeQuery = true)
+  List<ThresholdView> shareLockByContentType(@Param("contentType") String contentType);
+
+  interface ThresholdView {
+    String getLabel();
+
+    Double getRejectAt();
+  }
+}
@@ -0,0 +1,96 @@
+package com.SafuForumBackend.moderation.repository;
+
+import com.SafuForumBackend.moderation.entity.ModerationVerdictCacheEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ModerationVerdictCacheRepository
+    extends JpaRepository<ModerationVerdictCacheEntry, ModerationVerdictCacheEntry.Key> {
+
+  @Query(value = """
+      SELECT c.content_sha256 AS contentSha256,
+             CAST(c.status AS text) AS status,
+             c.reason AS reason
+      FROM moderation_verdict_cache c
+      WHERE c.content_type = CAST(:contentType AS job_content_type)
+        AND c.model_version = :modelVersion
+        AND c.content_sha256 IN (:hashes)
+        AND c.expires_at > :now
+      """, nativeQuery = true)
+  List<VerdictView> findLiveVerdicts(
+      @Param("contentType") String contentType,
+      @Param("modelVersion") String modelVersion,
+      @Param("hashes") Collection<String> hashes,
+      @Param("now") LocalDateTime now);
+
+  /**
+   * Inserts or refreshes the verdicts given as parallel arrays. Keys must be
+   * unique within one call.
+   */
+  @Modifying
+  @Query(value = """
+      INSERT INTO moderation_verdict_cache
+          (content_type, content_sha256, model_version, status, reason, created_at, expires_at)
+      SELECT v.content_type, v.content_sha256, v.model_version, v.status, v.reason, :now, :expiresAt
+      FROM unnest(CAST(:contentTypes AS job_content_type[]), CAST(:hashes AS varchar[]),
+                  CAST(:modelVersions AS varchar[]), CAST(:statuses AS moderation_status[]),
+                  CAST(:reasons AS text[]))
+          AS v(content_type, content_sha256, model_version, status, reason)
+      ON CONFLICT (content_type, content_sha256, model_version)
+      DO UPDATE SET status = EXCLUDED.status,
+                    reason = EXCLUDED.reason,
+                    created_at = EXCLUDED.created_at,
+                    expires_at = EXCLUDED.expires_at
+      """, nativeQuery = true)
+  int upsertAll(
+      @Param("contentTypes") String[] contentTypes,
+      @Param("hashes") String[] hashes,
+      @Param("modelVersions") String[] modelVersions,
+      @Param("statuses") String[] statuses,
+      @Param("reasons") String[] reasons,
+      @Param("now") LocalDateTime now,
+      @Param("expiresAt") LocalDateTime expiresAt);
+
+  /**
+   * Removes expired entries and entries produced by a model version that is no
+   * longer current.
+   */
+  @Modifying
+  @Query(value = """
+      DELETE FROM moderation_verdict_cache c
+      WHERE c.expires_at <= :now
+         OR (c.content_type = 'text' AND c.model_version <> :textModelVersion)
+         OR (c.content_type = 'image' AND c.model_version <> :imageModelVersion)
+      """, nativeQuery = true)
+  int purgeStale(
+      @Param("now") LocalDateTime now,
+      @Param("textModelVersion") String textModelVersion,
+      @Param("imageModelVersion") String imageModelVersion);
+
+  /**
+   * Removes every entry of a content type, whose verdicts no longer match the
+   * policy thresholds once one of them changes.
+   */
+  @Modifying
+  @Query(value = """
+      DELETE FROM moderation_verdict_cache c
+      WHERE c.content_type = CAST(:contentType AS job_content_type)
+      """, nativeQuery = true)
+  int deleteByContentType(@Param("contentType") String contentType);
+
+  interface VerdictView {
+    String getContentSha256();
+
+    String getStatus();
+
+    String getReason();
+  }
+}
@@ -0,0 +1,174 @@
+package com.SafuForumBackend.moderation.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * Immutable Aho-Corasick automaton over a fixed set of literal patterns.
+ *
+ * Scanning is a single pass over the text whatever the number of patterns.
+ * Each state keeps its transitions as a sorted char array searched by
+ * binary search, so memory stays proportional to the total pattern length.
+ * Matching is exact; callers normalize case and whitespace on both sides.
+ *
+ * Thread-safe once constructed.
+ */
+public final class AhoCorasickMatcher {
+
+    @FunctionalInterface
+    public interface MatchHandler {
+        /**
+         * @param patternIndex Index of the matched pattern in the constructor list.
+         * @param start        Start of the match in the text, inclusive.
+         * @param end          End of the match in the text, exclusive.
+         * @return false to stop scanning
+         */
+        boolean onMatch(int patternIndex, int start, int end);
+    }
+
+    private static final int ROOT = 0;
+    private static final int ASCII = 128;
+    private static final int[] NO_OUTPUT = new int[0];
+
+    private final char[][] transitionChars;
+    private final int[][] transitionTargets;
+    private final int[] failure;
+    // Patterns ending at each state, and the nearest state down the failure chain that has any
+    private final int[][] outputs;
+    private final int[] outputLink;
+    private final int[] patternLengths;
+    // Most of a scan is spent at the root, so its ASCII transitions are a direct lookup
+    private final int[] rootAscii = new int[ASCII];
+
+    public AhoCorasickMatcher(List<String> patterns) {
+        patternLengths = patterns.stream().mapToInt(String::length).toArray();
+
+        List<char[]> chars = new ArrayList<>();
+        List<int[]> targets = new ArrayList<>();
+        List<int[]> outs = new ArrayList<>();
+        chars.add(new char[0]);
+        targets.add(new int[0]);
+        outs.add(NO_OUTPUT);
+
+        for (int index = 0; index < patterns.size(); index++) {
+            String pattern = patterns.get(index);
+            if (pattern.isEmpty()) {
+                continue;
+            }
+            int state = ROOT;
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                int next = find(chars.get(state), targets.get(state), c);
+                if (next < 0) {
+                    next = chars.size();
+                    chars.add(new char[0]);
+                    targets.add(new int[0]);
+                    outs.add(NO_OUTPUT);
+                    insert(chars, targets, state, c, next);
+                }
+                state = next;
+            }
+            int[] existing = outs.get(state);
+            int[] extended = Arrays.copyOf(existing, existing.length + 1);
+            extended[existing.length] = index;
+            outs.set(state, extended);
+        }
+
+        int stateCount = chars.size();
+        transitionChars = chars.toArray(char[][]::new);
+        transitionTargets = targets.toArray(int[][]::new);
+        outputs = outs.toArray(int[][]::new);
+        failure = new int[stateCount];
+        outputLink = new int[stateCount];
+        Arrays.fill(outputLink, -1);
+        buildFailureLinks();
+        for (char c = 0; c < ASCII; c++) {
+            rootAscii[c] = Math.max(find(transitionChars[ROOT], transitionTargets[ROOT], c), ROOT);
+        }
+    }
+
+    public int patternCount() {
+        return patternLengths.length;
+    }
+
+    /**
+     * Reports every occurrence of every pattern in the text, in order of end
+     * position, until the handler returns false.
+     */
+    public void scan(CharSequence text, MatchHandler handler) {
+        int state = ROOT;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = -1;
+            while (state != ROOT && (next = find(transitionChars[state], transitionTargets[state], c)) < 0) {
+                state = failure[state];
+            }
+            if (state == ROOT) {
+                next = c < ASCII ? rootAscii[c] : find(transitionChars[ROOT], transitionTargets[ROOT], c);
+            }
+            state = Math.max(next, ROOT);
+
+            for (int match = outputs[state].length > 0 ? state : outputLink[state]; match >= 0;
+                    match = outputLink[match]) {
+                for (int patternIndex : outputs[match]) {
+                    if (!handler.onMatch(patternIndex, i + 1 - patternLengths[patternIndex], i + 1)) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void buildFailureLinks() {
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitionTargets[ROOT]) {
+            failure[child] = ROOT;
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            char[] keys = transitionChars[state];
+            int[] children = transitionTargets[state];
+            for (int k = 0; k < keys.length; k++) {
+                int child = children[k];
+                int fallback = failure[state];
+                int target;
+                while ((target = find(transitionChars[fallback], transitionTargets[fallback], keys[k])) < 0
+                        && fallback != ROOT) {
+                    fallback = failure[fallback];
+                }
+                failure[child] = Math.max(target, ROOT);
+                int suffix = failure[child];
+                outputLink[child] = outputs[suffix].length > 0 ? suffix : outputLink[suffix];
+                queue.add(child);
+            }
+        }
+    }
+
+    private static int find(char[] keys, int[] targets, char c) {
+        int position = Arrays.binarySearch(keys, c);
+        return position >= 0 ? targets[position] : -1;
+    }
+
+    private static void insert(List<char[]> chars, List<int[]> targets, int state, char c, int next) {
+        char[] keys = chars.get(state);
+        int[] values = targets.get(state);
+        int position = -Arrays.binarySearch(keys, c) - 1;
+
+        char[] newKeys = new char[keys.length + 1];
+        int[] newValues = new int[values.length + 1];
+        System.arraycopy(keys, 0, newKeys, 0, position);
+        System.arraycopy(values, 0, newValues, 0, position);
+        newKeys[position] = c;
+        newValues[position] = next;
+        System.arraycopy(keys, position, newKeys, position + 1, keys.length - position);
+        System.arraycopy(values, position, newValues, position + 1, values.length - position);
+
+        chars.set(state, newKeys);
+        targets.set(state, newValues);
+    }
+}
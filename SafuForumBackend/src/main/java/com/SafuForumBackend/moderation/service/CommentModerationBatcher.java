@@ -0,0 +1,192 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationAmqpProperties;
+import com.SafuForumBackend.moderation.config.ModerationCommentBatchProperties;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationLane;
+import com.SafuForumBackend.moderation.event.ModerationJobBatchRequestedEvent;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * Publishes pending comment moderation jobs to the classifiers in
+ * micro-batches.
+ *
+ * Comments are short and arrive continuously, so instead of one message per
+ * job, the jobs queued within one linger window share a message per lane and
+ * content type, of up to maxBatchSize jobs, which the classifier scores in a
+ * single vectorized call. Every job still completes on its own.
+ *
+ * Jobs of a lane the admission gate holds back stay queued for the next
+ * flush. The queue is in memory, so jobs lost with it are claimed by the
+ * {@link ModerationOrphanSweeper} after the dispatch orphanAge, in the low
+ * lane, as are jobs released after a failed publish. Claims are atomic, so no
+ * job is published twice across nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CommentModerationBatcher implements OrphanedJobDispatcher {
+
+    // AMQP type of batch messages, telling classifiers to expect a list of jobs
+    public static final String BATCH_MESSAGE_TYPE = "moderation.job.batch";
+
+    private final ModerationJobRepository moderationJobRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ModerationAmqpProperties amqpProperties;
+    private final ModerationCommentBatchProperties properties;
+    private final ModerationDeadlineTracker deadlineTracker;
+    private final ModerationAdmissionGate admissionGate;
+
+    private final Queue<QueuedJob> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Queues an undispatched comment job for the next batch. Call after the
+     * transaction that created it has committed.
+     */
+    public void submit(Long jobId, ModerationLane lane, JobContentType contentType) {
+        queue.add(new QueuedJob(jobId, lane, contentType));
+    }
+
+    @Scheduled(fixedDelayString = "#{@moderationCommentBatchProperties.linger.toMillis()}")
+    public void flush() {
+        List<QueuedJob> drained = new ArrayList<>();
+        for (QueuedJob job = queue.poll(); job != null; job = queue.poll()) {
+            drained.add(job);
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        Map<Long, QueuedJob> admitted = new HashMap<>();
+        List<QueuedJob> deferred = new ArrayList<>();
+        for (QueuedJob job : drained) {
+            if (admissionGate.admits(job.lane(), job.contentType())) {
+                admitted.put(job.jobId(), job);
+            } else {
+                deferred.add(job);
+            }
+        }
+        queue.addAll(deferred);
+        if (admitted.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<ModerationJobRepository.DispatchedCommentJobView> claimed = moderationJobRepository.claimCommentJobs(
+                    admitted.keySet().stream().sorted().toArray(Long[]::new), LocalDateTime.now());
+            int messages = publishInBatches(claimed, job -> admitted.get(job.getId()).lane());
+            log.debug("Dispatched {} comment moderation jobs in {} messages", claimed.size(), messages);
+        } catch (RuntimeException e) {
+            log.error("Failed to dispatch {} comment moderation jobs, the orphan sweep will retry them",
+                    admitted.size(), e);
+        }
+    }
+
+    @Override
+    public String jobKind() {
+        return "comment moderation";
+    }
+
+    @Override
+    public int dispatchOrphans(LocalDateTime cutoff, Set<JobContentType> admittedTypes, int batchSize) {
+        String[] contentTypes = admittedTypes.stream().map(JobContentType::name).toArray(String[]::new);
+        List<ModerationJobRepository.DispatchedCommentJobView> claimed = moderationJobRepository
+                .claimOrphanedCommentJobs(cutoff, contentTypes, batchSize, LocalDateTime.now());
+        publishInBatches(claimed, job -> ModerationLane.low);
+        return claimed.size();
+    }
+
+    /**
+     * @return the number of messages published
+     */
+    private int publishInBatches(List<ModerationJobRepository.DispatchedCommentJobView> jobs,
+            Function<ModerationJobRepository.DispatchedCommentJobView, ModerationLane> laneOf) {
+        Map<BatchKey, List<ModerationJobRepository.DispatchedCommentJobView>> byBatch = new LinkedHashMap<>();
+        for (ModerationJobRepository.DispatchedCommentJobView job : jobs) {
+            BatchKey key = new BatchKey(laneOf.apply(job), JobContentType.valueOf(job.getContentType()));
+            byBatch.computeIfAbsent(key, k -> new ArrayList<>()).add(job);
+        }
+
+        int messages = 0;
+        int maxBatchSize = properties.getMaxBatchSize();
+        for (Map.Entry<BatchKey, List<ModerationJobRepository.DispatchedCommentJobView>> entry : byBatch.entrySet()) {
+            List<ModerationJobRepository.DispatchedCommentJobView> batchJobs = entry.getValue();
+            for (int from = 0; from < batchJobs.size(); from += maxBatchSize) {
+                List<ModerationJobRepository.DispatchedCommentJobView> batch =
+                        batchJobs.subList(from, Math.min(from + maxBatchSize, batchJobs.size()));
+                batch.forEach(job -> deadlineTracker.track(job.getId(), entry.getKey().contentType(),
+                        job.getDispatchedAt()));
+                publishBatchSafely(batch, entry.getKey());
+                messages++;
+            }
+        }
+        return messages;
+    }
+
+    private void publishBatchSafely(List<ModerationJobRepository.DispatchedCommentJobView> batch, BatchKey key) {
+        try {
+            publishBatch(batch, key);
+        } catch (RuntimeException ex) {
+            // Released for the orphan sweep to retry, which only claims undispatched jobs
+            log.error("Failed to publish moderation batch of {} comment jobs starting at jobId={}",
+                    batch.size(), batch.getFirst().getId(), ex);
+            release(batch);
+        }
+    }
+
+    private void release(List<ModerationJobRepository.DispatchedCommentJobView> batch) {
+        List<Long> jobIds = batch.stream().map(ModerationJobRepository.DispatchedCommentJobView::getId).toList();
+        deadlineTracker.untrack(jobIds);
+        try {
+            moderationJobRepository.releaseJobs(jobIds.toArray(Long[]::new));
+        } catch (RuntimeException e) {
+            // Still claimed; their deadlines fail them
+            log.error("Failed to release {} comment moderation jobs starting at jobId={}",
+                    jobIds.size(), jobIds.getFirst(), e);
+        }
+    }
+
+    private void publishBatch(List<ModerationJobRepository.DispatchedCommentJobView> batch, BatchKey key) {
+        ModerationJobBatchRequestedEvent event = new ModerationJobBatchRequestedEvent(batch.stream()
+                .map(job -> new ModerationJobBatchRequestedEvent.Job(
+                        job.getId(),
+                        job.getCommentId(),
+                        job.getCommentVersion(),
+                        job.getSourceField(),
+                        key.contentType(),
+                        job.getPayload()))
+                .toList());
+
+        String routingKey = amqpProperties.getRouting().jobFor(key.contentType());
+        rabbitTemplate.convertAndSend(amqpProperties.getIngressExchange(), routingKey, event,
+                message -> {
+                    // Each job is claimed once, so its first job identifies the batch
+                    message.getMessageProperties().setMessageId("batch:" + batch.getFirst().getId());
+                    message.getMessageProperties().setType(BATCH_MESSAGE_TYPE);
+                    message.getMessageProperties().setPriority(key.lane().getPriority());
+                    return message;
+                });
+    }
+
+    private record QueuedJob(Long jobId, ModerationLane lane, JobContentType contentType) {
+    }
+
+    private record BatchKey(ModerationLane lane, JobContentType contentType) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.comment.entity.Comment;
+import com.SafuForumBackend.comment.repository.CommentRepository;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Rolls the statuses of a comment version's moderation jobs up into the
+ * comment's own status once none of them are pending.
+ *
+ * A comment version only has a handful of jobs, so instead of keeping tallies
+ * like posts its jobs are aggregated in one set-based statement per batch.
+ * The comment rows are locked first, in id order, so concurrent completions
+ * for one version settle it exactly once.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CommentModerationStatusService {
+
+    private final CommentRepository commentRepository;
+    private final NearDuplicateDetector nearDuplicateDetector;
+
+    /**
+     * Settles the comment straight away if none of its current version's jobs
+     * are pending, e.g. when they were all decided without a classifier.
+     */
+    @Transactional
+    public void registerJobs(Comment comment) {
+        List<CommentRepository.SettledCommentView> settled =
+                settleVersions(Set.of(new CommentVersionKey(comment.getId(), comment.getVersion())));
+        settled.forEach(view -> comment.setStatus(ModerationStatus.valueOf(view.getStatus())));
+    }
+
+    /**
+     * Settles every comment version whose last pending job is among a batch of
+     * classifier completions. Post jobs in the batch are ignored.
+     */
+    @Transactional
+    public void recordCompletions(List<ModerationJobRepository.CompletedJobView> completedJobs) {
+        Set<CommentVersionKey> versions = new TreeSet<>();
+        completedJobs.stream()
+                .filter(job -> job.getCommentId() != null)
+                .forEach(job -> versions.add(new CommentVersionKey(job.getCommentId(), job.getCommentVersion())));
+        settleVersions(versions);
+    }
+
+    /**
+     * Fails the comments whose current version had a job timed out by the
+     * sweeper. Post jobs in the list are ignored.
+     */
+    @Transactional
+    public void recordTimeouts(List<ModerationJobRepository.TimedOutJobView> timedOutJobs) {
+        Set<CommentVersionKey> currentVersions = new TreeSet<>();
+        timedOutJobs.stream()
+                .filter(job -> job.getCommentId() != null && Boolean.TRUE.equals(job.getCurrentVersion()))
+                .forEach(job -> currentVersions.add(
+                        new CommentVersionKey(job.getCommentId(), job.getCommentVersion())));
+        if (currentVersions.isEmpty()) {
+            return;
+        }
+
+        commentRepository.failPendingVersions(
+                currentVersions.stream().map(CommentVersionKey::commentId).toArray(Long[]::new),
+                currentVersions.stream().map(CommentVersionKey::commentVersion).toArray(Integer[]::new));
+    }
+
+    /**
+     * Settles again the comments whose current version had a job status
+     * changed by a re-threshold pass. Post jobs in the list are ignored.
+     *
+     * @return the number of comments whose status changed
+     */
+    @Transactional
+    public int recordPolicyChanges(List<ModerationJobRepository.RederivedJobView> changedJobs) {
+        Set<CommentVersionKey> versions = new TreeSet<>();
+        changedJobs.stream()
+                .filter(job -> job.getCommentId() != null)
+                .forEach(job -> versions.add(new CommentVersionKey(job.getCommentId(), job.getCommentVersion())));
+        if (versions.isEmpty()) {
+            return 0;
+        }
+
+        List<CommentRepository.SettledCommentView> settled = commentRepository.resettleVersions(
+                versions.stream().map(CommentVersionKey::commentId).toArray(Long[]::new),
+                versions.stream().map(CommentVersionKey::commentVersion).toArray(Integer[]::new));
+        settled.forEach(comment -> log.info("Comment {} version {} re-moderated as {} by policy thresholds",
+                comment.getCommentId(), comment.getCommentVersion(), comment.getStatus()));
+
+        List<CommentRepository.SettledCommentView> rejected = settled.stream()
+                .filter(comment -> ModerationStatus.rejected.name().equals(comment.getStatus()))
+                .toList();
+        nearDuplicateDetector.recordRejectedCommentVersions(
+                rejected.stream().map(CommentRepository.SettledCommentView::getCommentId).toList(),
+                rejected.stream().map(CommentRepository.SettledCommentView::getCommentVersion).toList());
+        return settled.size();
+    }
+
+    private List<CommentRepository.SettledCommentView> settleVersions(Set<CommentVersionKey> versions) {
+        if (versions.isEmpty()) {
+            return List.of();
+        }
+
+        Long[] commentIds = versions.stream().map(CommentVersionKey::commentId).toArray(Long[]::new);
+        Integer[] commentVersions = versions.stream().map(CommentVersionKey::commentVersion).toArray(Integer[]::new);
+        // A separate statement, so the aggregate sees jobs committed by whoever held the locks before
+        if (commentRepository.lockPendingVersions(commentIds, commentVersions).isEmpty()) {
+            return List.of();
+        }
+
+        List<CommentRepository.SettledCommentView> settled =
+                commentRepository.settlePendingVersions(commentIds, commentVersions);
+        settled.forEach(comment -> log.info("Comment {} version {} moderated as {}",
+                comment.getCommentId(), comment.getCommentVersion(), comment.getStatus()));
+
+        List<CommentRepository.SettledCommentView> rejected = settled.stream()
+                .filter(comment -> ModerationStatus.rejected.name().equals(comment.getStatus()))
+                .toList();
+        nearDuplicateDetector.recordRejectedCommentVersions(
+                rejected.stream().map(CommentRepository.SettledCommentView::getCommentId).toList(),
+                rejected.stream().map(CommentRepository.SettledCommentView::getCommentVersion).toList());
+        return settled;
+    }
+
+    private record CommentVersionKey(Long commentId, Integer commentVersion)
+            implements Comparable<CommentVersionKey> {
+
+        @Override
+        public int compareTo(CommentVersionKey other) {
+            int byComment = commentId.compareTo(other.commentId);
+            return byComment != 0 ? byComment : commentVersion.compareTo(other.commentVersion);
+        }
+    }
+}
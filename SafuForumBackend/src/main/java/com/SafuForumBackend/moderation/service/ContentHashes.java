@@ -0,0 +1,38 @@
+package com.SafuForumBackend.moderation.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * SHA-256 content hashes used to recognise payloads that were already moderated.
+ */
+public final class ContentHashes {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private ContentHashes() {
+    }
+
+    public static String sha256Hex(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Hashes text after Unicode NFC normalization, trimming and collapsing
+     * whitespace runs, so formatting-only differences share a verdict. Case is
+     * kept because the classifiers are case-sensitive.
+     */
+    public static String normalizedTextSha256(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).strip();
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ");
+        return sha256Hex(normalized.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,149 @@
+package com.SafuForumBackend.moderation.service;
+
+import java.nio.ByteBuffer;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Locality-sensitive signatures used to recognise near-duplicates of content
+ * that was already rejected: a 64-bit SimHash of the body's words, where
+ * similar texts differ in few bits, and a MinHash of the tag set, where
+ * the fraction of equal slots estimates the Jaccard similarity.
+ */
+public final class ContentSignatures {
+
+    public static final int TAG_MINHASH_SLOTS = 16;
+
+    private static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+", Pattern.UNICODE_CHARACTER_CLASS);
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long[] SLOT_SEEDS = new long[TAG_MINHASH_SLOTS];
+
+    static {
+        long seed = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < TAG_MINHASH_SLOTS; i++) {
+            seed = mix(seed + 0x9e3779b97f4a7c15L);
+            SLOT_SEEDS[i] = seed;
+        }
+    }
+
+    private ContentSignatures() {
+    }
+
+    /**
+     * @param minTokens Texts with fewer words get no signature, as a handful of
+     *                  words is too little to tell a copy from a coincidence.
+     * @return the body's SimHash, or null if the text is too short
+     */
+    public static Long bodySimHash(String text, int minTokens) {
+        List<String> words = words(text);
+        if (words.isEmpty() || words.size() < minTokens) {
+            return null;
+        }
+
+        // Repeated words weigh more; unigrams kept one-word edits closer than bigrams or character shingles
+        int[] weights = new int[Long.SIZE];
+        for (String word : words) {
+            long hash = hash(word);
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                weights[bit] += ((hash >>> bit) & 1) != 0 ? 1 : -1;
+            }
+        }
+
+        long simHash = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (weights[bit] > 0) {
+                simHash |= 1L << bit;
+            }
+        }
+        return simHash;
+    }
+
+    /**
+     * @return the tag set's MinHash, or an empty array for no tags
+     */
+    public static byte[] tagMinHash(Collection<String> tags) {
+        int[] slots = new int[TAG_MINHASH_SLOTS];
+        Arrays.fill(slots, Integer.MAX_VALUE);
+        boolean any = false;
+        for (String tag : tags) {
+            if (tag == null || tag.isBlank()) {
+                continue;
+            }
+            long base = hash(normalize(tag));
+            for (int i = 0; i < TAG_MINHASH_SLOTS; i++) {
+                slots[i] = Math.min(slots[i], (int) mix(base ^ SLOT_SEEDS[i]));
+            }
+            any = true;
+        }
+        if (!any) {
+            return new byte[0];
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(TAG_MINHASH_SLOTS * Integer.BYTES);
+        for (int slot : slots) {
+            buffer.putInt(slot);
+        }
+        return buffer.array();
+    }
+
+    public static int hammingDistance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * Estimated Jaccard similarity of two tag sets; two empty sets are identical.
+     */
+    public static double tagSimilarity(byte[] a, byte[] b) {
+        if (a.length == 0 || b.length == 0) {
+            return a.length == b.length ? 1.0 : 0.0;
+        }
+
+        ByteBuffer left = ByteBuffer.wrap(a);
+        ByteBuffer right = ByteBuffer.wrap(b);
+        int equal = 0;
+        for (int i = 0; i < TAG_MINHASH_SLOTS; i++) {
+            if (left.getInt() == right.getInt()) {
+                equal++;
+            }
+        }
+        return (double) equal / TAG_MINHASH_SLOTS;
+    }
+
+    private static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        Matcher matcher = WORD.matcher(normalize(text));
+        while (matcher.find()) {
+            words.add(matcher.group());
+        }
+        return words;
+    }
+
+    private static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT).strip();
+    }
+
+    // FNV-1a, finished with a 64-bit mixer so every input bit affects every output bit
+    private static long hash(String value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb93a3fe1a85bL;
+        return value ^ (value >>> 33);
+    }
+}
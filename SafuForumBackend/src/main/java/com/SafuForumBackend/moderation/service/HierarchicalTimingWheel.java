@@ -0,0 +1,153 @@
+package com.SafuForumBackend.moderation.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hierarchical timing wheel holding one deadline per key.
+ *
+ * Level 0 has one slot per tick; each higher level's slot spans a full
+ * revolution of the level below. A key sits in the lowest level whose range
+ * covers its deadline and is moved down a level each time the wheel reaches
+ * its slot, so scheduling, cancelling and advancing one tick are all O(1)
+ * amortised regardless of how many deadlines are pending. Deadlines beyond the
+ * top level's range are parked in its furthest slot and re-placed when reached.
+ *
+ * Thread-safe; all operations synchronize on the wheel.
+ */
+public class HierarchicalTimingWheel<K> {
+
+    private final long tickMillis;
+    private final int wheelSize;
+    // Ticks covered by one slot at each level
+    private final long[] slotSpans;
+    private final List<List<Set<K>>> levels;
+    private final Map<K, Placement> placements = new HashMap<>();
+    private final Set<K> due = new LinkedHashSet<>();
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levelCount, long nowMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Timing wheel needs a positive tick, at least 2 slots and 1 level");
+        }
+
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.slotSpans = new long[levelCount];
+        this.levels = new ArrayList<>(levelCount);
+
+        long span = 1;
+        for (int level = 0; level < levelCount; level++) {
+            slotSpans[level] = span;
+            List<Set<K>> slots = new ArrayList<>(wheelSize);
+            for (int slot = 0; slot < wheelSize; slot++) {
+                slots.add(new LinkedHashSet<>());
+            }
+            levels.add(slots);
+            span = Math.multiplyExact(span, wheelSize);
+        }
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    /**
+     * Schedules (or reschedules) the key to expire at the given time. A
+     * deadline that has already passed expires on the next advance.
+     */
+    public synchronized void schedule(K key, long deadlineMillis) {
+        remove(key);
+        place(key, Math.ceilDiv(deadlineMillis, tickMillis));
+    }
+
+    /**
+     * @return true if the key was scheduled and has not expired yet
+     */
+    public synchronized boolean cancel(K key) {
+        return remove(key);
+    }
+
+    public synchronized int size() {
+        return placements.size() + due.size();
+    }
+
+    /**
+     * Moves the wheel forward to the given time.
+     *
+     * @return the keys whose deadline is at or before that time, in no
+     *         particular order; they are no longer scheduled
+     */
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick < targetTick) {
+            currentTick++;
+            // Higher levels first so keys cascading down for this tick land in level 0 in time
+            for (int level = slotSpans.length - 1; level >= 1; level--) {
+                if (currentTick % slotSpans[level] == 0) {
+                    cascade(level, slotIndex(level, currentTick));
+                }
+            }
+            cascade(0, slotIndex(0, currentTick));
+        }
+
+        List<K> expired = new ArrayList<>(due);
+        due.clear();
+        return expired;
+    }
+
+    private void place(K key, long deadlineTick) {
+        long ticksLeft = deadlineTick - currentTick;
+        if (ticksLeft <= 0) {
+            due.add(key);
+            return;
+        }
+
+        for (int level = 0; level < slotSpans.length; level++) {
+            if (ticksLeft < slotSpans[level] * wheelSize) {
+                put(key, deadlineTick, level, slotIndex(level, deadlineTick));
+                return;
+            }
+        }
+
+        int top = slotSpans.length - 1;
+        long parkedTick = currentTick + slotSpans[top] * (wheelSize - 1);
+        put(key, deadlineTick, top, slotIndex(top, parkedTick));
+    }
+
+    private void put(K key, long deadlineTick, int level, int slot) {
+        levels.get(level).get(slot).add(key);
+        placements.put(key, new Placement(deadlineTick, level, slot));
+    }
+
+    private void cascade(int level, int slot) {
+        Set<K> keys = levels.get(level).get(slot);
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        List<K> moving = new ArrayList<>(keys);
+        keys.clear();
+        for (K key : moving) {
+            Placement placement = placements.remove(key);
+            place(key, placement.deadlineTick());
+        }
+    }
+
+    private boolean remove(K key) {
+        Placement placement = placements.remove(key);
+        if (placement != null) {
+            levels.get(placement.level()).get(placement.slot()).remove(key);
+            return true;
+        }
+        return due.remove(key);
+    }
+
+    private int slotIndex(int level, long tick) {
+        return (int) Math.floorMod(tick / slotSpans[level], (long) wheelSize);
+    }
+
+    private record Placement(long deadlineTick, int level, int slot) {
+    }
+}
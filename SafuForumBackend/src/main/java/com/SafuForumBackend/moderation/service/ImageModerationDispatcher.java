@@ -0,0 +1,115 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationAmqpProperties;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationLane;
+import com.SafuForumBackend.moderation.event.ModerationJobRequestedEvent;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Publishes upload-time image moderation jobs to the image classifier.
+ *
+ * An image job is published as soon as its upload commits, with no debounce,
+ * so its verdict is usually in by the time a post using the image is
+ * published. If the admission gate holds the uploader's lane back, the job is
+ * left to the {@link ModerationOrphanSweeper}, which also claims jobs lost
+ * with a restarted node or a failed publish, in the low lane. Claims are
+ * atomic, so no job is published twice across nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImageModerationDispatcher implements OrphanedJobDispatcher {
+
+    private final ModerationJobRepository moderationJobRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ModerationAmqpProperties amqpProperties;
+    private final ModerationDeadlineTracker deadlineTracker;
+    private final ModerationAdmissionGate admissionGate;
+
+    /**
+     * Publishes an undispatched image job. Call after the transaction that
+     * created it has committed.
+     */
+    public void dispatch(Long jobId, ModerationLane lane) {
+        if (!admissionGate.admits(lane, JobContentType.image)) {
+            log.debug("Image moderation jobId={} held back in the {} lane; left to the orphan sweep", jobId, lane);
+            return;
+        }
+
+        try {
+            publishAll(moderationJobRepository.claimImageJobs(new Long[] { jobId }, LocalDateTime.now()), lane);
+        } catch (RuntimeException e) {
+            log.error("Failed to dispatch image moderation jobId={}, the orphan sweep will retry it: {}",
+                    jobId, e.getMessage());
+        }
+    }
+
+    @Override
+    public String jobKind() {
+        return "image moderation";
+    }
+
+    @Override
+    public int dispatchOrphans(LocalDateTime cutoff, Set<JobContentType> admittedTypes, int batchSize) {
+        if (!admittedTypes.contains(JobContentType.image)) {
+            return 0;
+        }
+
+        List<ModerationJobRepository.DispatchedImageJobView> claimed =
+                moderationJobRepository.claimOrphanedImageJobs(cutoff, batchSize, LocalDateTime.now());
+        publishAll(claimed, admissionGate.laneFor(ModerationLane.low, JobContentType.image));
+        return claimed.size();
+    }
+
+    private void publishAll(List<ModerationJobRepository.DispatchedImageJobView> jobs, ModerationLane lane) {
+        for (ModerationJobRepository.DispatchedImageJobView job : jobs) {
+            deadlineTracker.track(job.getId(), JobContentType.image, job.getDispatchedAt());
+            try {
+                publish(job, lane);
+            } catch (RuntimeException ex) {
+                // Released for the orphan sweep to retry; post jobs waiting for its verdict keep waiting
+                log.error("Failed to publish image moderation jobId={}, the orphan sweep will retry it",
+                        job.getId(), ex);
+                release(job.getId());
+            }
+        }
+    }
+
+    private void release(Long jobId) {
+        deadlineTracker.untrack(List.of(jobId));
+        try {
+            moderationJobRepository.releaseImageJob(jobId);
+        } catch (RuntimeException e) {
+            // Still claimed; its deadline fails it and releases the post jobs waiting for it
+            log.error("Failed to release image moderation jobId={}", jobId, e);
+        }
+    }
+
+    private void publish(ModerationJobRepository.DispatchedImageJobView job, ModerationLane lane) {
+        ModerationJobRequestedEvent event = new ModerationJobRequestedEvent(
+                job.getId(),
+                null,
+                null,
+                job.getSourceField(),
+                JobContentType.image,
+                job.getPayload());
+
+        String routingKey = amqpProperties.getRouting().jobFor(JobContentType.image);
+        rabbitTemplate.convertAndSend(amqpProperties.getIngressExchange(), routingKey,
+                event, message -> {
+                    message.getMessageProperties().setCorrelationId(job.getId().toString());
+                    message.getMessageProperties().setMessageId(job.getId().toString());
+                    message.getMessageProperties().setPriority(lane.getPriority());
+                    return message;
+                });
+    }
+}
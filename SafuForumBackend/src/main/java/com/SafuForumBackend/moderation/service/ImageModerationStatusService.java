@@ -0,0 +1,136 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.image.repository.ImageRepository;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Stores the verdicts of upload-time image moderation jobs on their images.
+ *
+ * A post published while one of its images is still being moderated does not
+ * send the image to the classifier again: its job waits, and is completed
+ * here with the upload job's verdict and scores. The image rows are updated before the
+ * waiting jobs are looked up, so a post that share-locked an image while
+ * creating its jobs has committed them by the time they are searched for. If
+ * the upload job times out instead, the waiting jobs are released in the same
+ * transaction and the orphan sweep sends the images with their posts.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageModerationStatusService {
+
+    private final ImageRepository imageRepository;
+    private final ModerationJobRepository moderationJobRepository;
+
+    /**
+     * Stores the verdicts of the image jobs among a batch of classifier
+     * completions, and hands them to the post jobs waiting for them. Post and
+     * comment jobs in the batch are ignored.
+     *
+     * @return the waiting post jobs that were completed
+     */
+    @Transactional
+    public List<ModerationJobRepository.CompletedJobView> recordCompletions(
+            List<ModerationJobRepository.CompletedJobView> completedJobs) {
+        // Sorted by image id so image rows are always locked in the same order
+        Map<Long, ModerationJobRepository.CompletedJobView> byImage = new TreeMap<>();
+        completedJobs.stream()
+                .filter(job -> job.getImageId() != null)
+                .forEach(job -> byImage.putIfAbsent(job.getImageId(), job));
+        if (byImage.isEmpty()) {
+            return List.of();
+        }
+
+        imageRepository.recordModerationVerdicts(
+                byImage.keySet().toArray(Long[]::new),
+                byImage.values().stream().map(ModerationJobRepository.CompletedJobView::getStatus)
+                        .toArray(String[]::new),
+                byImage.values().stream().map(ModerationJobRepository.CompletedJobView::getReason)
+                        .toArray(String[]::new));
+
+        Map<String, ModerationJobRepository.CompletedJobView> bySourceField = new TreeMap<>();
+        byImage.forEach((imageId, job) -> bySourceField.put(PostModerationJobFactory.imageSourceField(imageId), job));
+        List<ModerationJobRepository.AwaitingImageJobView> awaitingJobs =
+                moderationJobRepository.findPendingPostJobsForImages(bySourceField.keySet().toArray(String[]::new));
+        if (awaitingJobs.isEmpty()) {
+            return List.of();
+        }
+
+        Long[] awaitingJobIds = awaitingJobs.stream().map(ModerationJobRepository.AwaitingImageJobView::getJobId)
+                .toArray(Long[]::new);
+        moderationJobRepository.copyScores(awaitingJobIds,
+                awaitingJobs.stream().map(job -> bySourceField.get(job.getSourceField()).getJobId())
+                        .toArray(Long[]::new));
+        List<ModerationJobRepository.CompletedJobView> adopted = moderationJobRepository.completePendingJobs(
+                awaitingJobIds,
+                awaitingJobs.stream().map(job -> bySourceField.get(job.getSourceField()).getStatus())
+                        .toArray(String[]::new),
+                awaitingJobs.stream().map(job -> bySourceField.get(job.getSourceField()).getReason())
+                        .toArray(String[]::new),
+                LocalDateTime.now());
+        log.debug("Completed {} post image jobs with their upload-time verdicts", adopted.size());
+        return adopted;
+    }
+
+    /**
+     * Replaces the upload-time verdicts of images whose job status was changed
+     * by a re-threshold pass. Post and comment jobs in the list are ignored.
+     *
+     * @return the number of images updated
+     */
+    @Transactional
+    public int recordPolicyChanges(List<ModerationJobRepository.RederivedJobView> changedJobs) {
+        Map<Long, ModerationJobRepository.RederivedJobView> byImage = new TreeMap<>();
+        changedJobs.stream()
+                .filter(job -> job.getImageId() != null)
+                .forEach(job -> byImage.putIfAbsent(job.getImageId(), job));
+        if (byImage.isEmpty()) {
+            return 0;
+        }
+
+        return imageRepository.replaceModerationVerdicts(
+                byImage.keySet().toArray(Long[]::new),
+                byImage.values().stream().map(ModerationJobRepository.RederivedJobView::getStatus)
+                        .toArray(String[]::new),
+                byImage.values().stream().map(ModerationJobRepository.RederivedJobView::getReason)
+                        .toArray(String[]::new));
+    }
+
+    /**
+     * Fails the upload-time moderation of images whose job was timed out, so
+     * posts using them send them to the classifier themselves, including posts
+     * whose jobs were already waiting for the verdict. Post and comment jobs in
+     * the list are ignored.
+     */
+    @Transactional
+    public void recordTimeouts(List<ModerationJobRepository.TimedOutJobView> timedOutJobs) {
+        Long[] imageIds = timedOutJobs.stream()
+                .map(ModerationJobRepository.TimedOutJobView::getImageId)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toArray(Long[]::new);
+        if (imageIds.length == 0) {
+            return;
+        }
+
+        imageRepository.failPendingModeration(imageIds);
+        int released = moderationJobRepository.releasePendingPostJobsForImages(Arrays.stream(imageIds)
+                .map(PostModerationJobFactory::imageSourceField)
+                .toArray(String[]::new));
+        if (released > 0) {
+            log.info("Released {} post image jobs to the classifier after their upload-time moderation timed out",
+                    released);
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package com.SafuForumBackend.moderation.service;
+
+import ai.onnxruntime.OnnxTensor;
+import ai.onnxruntime.OrtEnvironment;
+import ai.onnxruntime.OrtException;
+import ai.onnxruntime.OrtSession;
+import com.SafuForumBackend.moderation.config.ModerationInlineClassifierProperties;
+import com.SafuForumBackend.moderation.entity.ModerationJobSpec;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.repository.ModerationPolicyThresholdRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * In-process toxicornot classifier for short text payloads, running the
+ * model exported to ONNX on a small bounded executor.
+ *
+ * Verdicts apply the policy threshold of the toxic label like the queued
+ * classifiers' completions, and carry the probability as the job's score so
+ * later threshold changes re-derive them too.
+ *
+ * Anything it cannot answer in time (disabled, model missing, payload too
+ * long, executor full, timeout or inference error) is simply left out of the
+ * result, and the job goes through the classifier queues as before.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InlineTextClassifier {
+
+    private static final String INPUT_NAME = "token_ids";
+    // Label the text worker reports the toxic-class probability under
+    static final String TOXIC_LABEL = "toxic";
+
+    private final ModerationInlineClassifierProperties properties;
+    private final ModerationPolicyThresholdRepository thresholdRepository;
+
+    private OrtEnvironment environment;
+    private OrtSession session;
+    private ToxicOrNotTokenizer tokenizer;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        try {
+            tokenizer = new ToxicOrNotTokenizer(
+                    readLines(properties.getStopwordsPath()),
+                    readLines(properties.getVocabPath()));
+
+            environment = OrtEnvironment.getEnvironment();
+            try (OrtSession.SessionOptions options = new OrtSession.SessionOptions()) {
+                options.setIntraOpNumThreads(properties.getIntraOpThreads());
+                session = environment.createSession(properties.getModelPath(), options);
+            }
+        } catch (IOException | OrtException | RuntimeException e) {
+            log.error("Inline text classifier disabled, could not load the model", e);
+            session = null;
+            return;
+        }
+
+        startExecutor();
+        log.info("Inline text classifier loaded with {} tokens from {}",
+                tokenizer.vocabularySize(), properties.getModelPath());
+    }
+
+    /**
+     * Starts the executor classifications run on, which makes the classifier
+     * available. Package-private so tests can run it without a model.
+     */
+    void startExecutor() {
+        executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                Thread.ofPlatform().name("inline-moderation-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() throws OrtException {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        if (session != null) {
+            session.close();
+        }
+    }
+
+    public boolean isAvailable() {
+        return executor != null;
+    }
+
+    public boolean accepts(ModerationJobSpec spec) {
+        return isAvailable()
+                && spec.contentType() == JobContentType.text
+                && spec.payload().length() <= properties.getMaxPayloadLength();
+    }
+
+    /**
+     * Classifies the eligible specs, waiting at most the configured timeout for
+     * all of them.
+     *
+     * @return verdicts for the specs classified in time; others are absent
+     */
+    public Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> classifyAll(List<ModerationJobSpec> specs) {
+        if (!isAvailable()) {
+            return Map.of();
+        }
+
+        List<ModerationJobSpec> accepted = specs.stream().filter(this::accepts).distinct().toList();
+        if (accepted.isEmpty()) {
+            return Map.of();
+        }
+
+        Double rejectAt = toxicRejectAt();
+        Map<ModerationJobSpec, Future<ModerationVerdictCache.CachedVerdict>> pending = new LinkedHashMap<>();
+        for (ModerationJobSpec spec : accepted) {
+            try {
+                pending.put(spec, executor.submit(() -> classify(spec.payload(), rejectAt)));
+            } catch (RejectedExecutionException e) {
+                // Saturated: the rest go through the queues
+                break;
+            }
+        }
+
+        long deadline = System.nanoTime() + properties.getTimeout().toNanos();
+        Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> verdicts = new HashMap<>();
+        pending.forEach((spec, future) -> {
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                verdicts.put(spec, future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+            } catch (ExecutionException e) {
+                log.warn("Inline text classification failed, falling back to the queue: {}",
+                        e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                future.cancel(true);
+                Thread.currentThread().interrupt();
+            }
+        });
+        return verdicts;
+    }
+
+    /**
+     * The policy threshold of the toxic label, read share-locked in the
+     * caller's transaction, or null while the policy has none.
+     */
+    private Double toxicRejectAt() {
+        return thresholdRepository.shareLockByContentType(JobContentType.text.name()).stream()
+                .filter(threshold -> TOXIC_LABEL.equals(threshold.getLabel()))
+                .map(ModerationPolicyThresholdRepository.ThresholdView::getRejectAt)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Decides like a queued completion: the text worker's own verdict at the
+     * configured threshold, turned into a rejection by the policy threshold,
+     * but never into an approval, as completions never approve a reported
+     * rejection.
+     */
+    private ModerationVerdictCache.CachedVerdict classify(String payload, Double rejectAt) throws OrtException {
+        String normalized = payload.strip();
+        if (normalized.isEmpty()) {
+            return new ModerationVerdictCache.CachedVerdict(ModerationStatus.approved, "empty_text");
+        }
+
+        float probability = toxicProbability(normalized);
+        ModerationStatus reported = probability >= properties.getThreshold()
+                ? ModerationStatus.rejected
+                : ModerationStatus.approved;
+        ModerationStatus status = reported == ModerationStatus.approved && rejectAt != null && probability >= rejectAt
+                ? ModerationStatus.rejected
+                : reported;
+        String reason = status == reported
+                ? String.format(Locale.ROOT, "toxicornot-inline: toxic_proba=%.4f threshold=%.2f",
+                        probability, properties.getThreshold())
+                : "Policy: " + TOXIC_LABEL + " at or over threshold";
+        return new ModerationVerdictCache.CachedVerdict(status, reason, reported,
+                Map.of(TOXIC_LABEL, (double) probability));
+    }
+
+    /**
+     * Runs the model on the stripped, non-empty payload. Package-private so
+     * tests can stand in for the model.
+     */
+    float toxicProbability(String normalized) throws OrtException {
+        try (OnnxTensor input = OnnxTensor.createTensor(environment, tokenizer.tokenIds(normalized));
+                OrtSession.Result result = session.run(Map.of(INPUT_NAME, input))) {
+            return ((float[][]) result.get(0).getValue())[0][0];
+        }
+    }
+
+    private static List<String> readLines(String path) throws IOException {
+        if (path == null || path.isBlank()) {
+            throw new IOException("path not configured");
+        }
+        return Files.readAllLines(Path.of(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,99 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationAdmissionProperties;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationLane;
+import com.SafuForumBackend.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Assigns moderation jobs to priority lanes and decides whether a lane may be
+ * dispatched right now.
+ *
+ * Classifier queue depths are polled on a schedule rather than per dispatch,
+ * so admission checks are free. If the broker cannot be asked, the last known
+ * depth is kept, and a queue that does not exist counts as empty.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ModerationAdmissionGate {
+
+    private final AmqpAdmin amqpAdmin;
+    private final ModerationAdmissionProperties properties;
+
+    private final Map<JobContentType, Long> queueDepths = new EnumMap<>(JobContentType.class);
+
+    /**
+     * Lane for interactive dispatch of a post by this author, before content
+     * type is taken into account.
+     */
+    public ModerationLane authorLane(User author) {
+        if (author == null) {
+            return ModerationLane.normal;
+        }
+        int reputation = author.getReputation() == null ? 0 : author.getReputation();
+        if (author.isTrustedUser() || reputation >= properties.getTrustedReputation()) {
+            return ModerationLane.high;
+        }
+        if (reputation < properties.getLowReputation()) {
+            return ModerationLane.low;
+        }
+        return ModerationLane.normal;
+    }
+
+    public ModerationLane laneFor(ModerationLane authorLane, JobContentType contentType) {
+        if (contentType == JobContentType.image && properties.isDemoteImages()) {
+            return authorLane.demote();
+        }
+        return authorLane;
+    }
+
+    public boolean admits(ModerationLane lane, JobContentType contentType) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+
+        long depth = queueDepth(contentType);
+        return switch (lane) {
+            case high -> true;
+            case normal -> depth < properties.getNormalLaneMaxDepth();
+            case low -> depth < properties.getLowLaneMaxDepth();
+        };
+    }
+
+    public synchronized long queueDepth(JobContentType contentType) {
+        return queueDepths.getOrDefault(contentType, 0L);
+    }
+
+    @Scheduled(fixedDelayString = "#{@moderationAdmissionProperties.depthCheckInterval.toMillis()}")
+    public void refreshQueueDepths() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        for (JobContentType contentType : JobContentType.values()) {
+            try {
+                long depth = 0;
+                for (String queue : properties.queuesFor(contentType)) {
+                    QueueInformation info = amqpAdmin.getQueueInfo(queue);
+                    depth += info == null ? 0 : info.getMessageCount();
+                }
+                synchronized (this) {
+                    queueDepths.put(contentType, depth);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not read {} classifier queue depth, keeping the last value: {}",
+                        contentType, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationOrchestratorProperties;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fails moderation jobs that miss their per content type deadline.
+ * 
+ * Deadlines are held in a hierarchical timing wheel: jobs are added when they
+ * are dispatched (and reloaded from dispatched pending jobs on startup) and
+ * removed when they complete, so an idle node never queries the database and
+ * a missed deadline is acted on within one tick. A deadline only fails a job
+ * whose current dispatch has timed out, so one left on another node by an
+ * earlier dispatch is harmless. ModerationTimeoutScheduler remains as a slower
+ * database backstop, and also fails jobs that were never dispatched.
+ */
+@Slf4j
+@Component
+public class ModerationDeadlineTracker {
+
+    private static final int WHEEL_SIZE = 64;
+    private static final int WHEEL_LEVELS = 4;
+
+    private final ModerationJobRepository moderationJobRepository;
+    private final PostModerationStatusService postModerationStatusService;
+    private final CommentModerationStatusService commentModerationStatusService;
+    private final ImageModerationStatusService imageModerationStatusService;
+    private final ModerationOrchestratorProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final HierarchicalTimingWheel<Long> deadlines;
+
+    public ModerationDeadlineTracker(
+            ModerationJobRepository moderationJobRepository,
+            PostModerationStatusService postModerationStatusService,
+            CommentModerationStatusService commentModerationStatusService,
+            ImageModerationStatusService imageModerationStatusService,
+            ModerationOrchestratorProperties properties,
+            TransactionTemplate transactionTemplate) {
+        this.moderationJobRepository = moderationJobRepository;
+        this.postModerationStatusService = postModerationStatusService;
+        this.commentModerationStatusService = commentModerationStatusService;
+        this.imageModerationStatusService = imageModerationStatusService;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.deadlines = new HierarchicalTimingWheel<>(
+                properties.getDeadlineTick().toMillis(), WHEEL_SIZE, WHEEL_LEVELS, System.currentTimeMillis());
+    }
+
+    public void track(Long jobId, JobContentType contentType, LocalDateTime dispatchedAt) {
+        deadlines.schedule(jobId, deadlineMillis(contentType, dispatchedAt));
+    }
+
+    public void untrack(Collection<Long> jobIds) {
+        jobIds.forEach(deadlines::cancel);
+    }
+
+    /**
+     * Loads the deadlines of every dispatched pending job, including ones
+     * dispatched by other nodes; failing a job twice is harmless as only
+     * pending jobs are updated.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rehydrate() {
+        int batchSize = properties.getDeadlineRehydrateBatchSize();
+        long afterId = 0;
+        int tracked = 0;
+        while (true) {
+            List<ModerationJobRepository.PendingJobView> page =
+                    moderationJobRepository.findPendingJobsAfter(afterId, batchSize);
+            for (ModerationJobRepository.PendingJobView job : page) {
+                deadlines.schedule(job.getId(),
+                        deadlineMillis(JobContentType.valueOf(job.getContentType()), job.getDispatchedAt()));
+            }
+            tracked += page.size();
+            if (page.size() < batchSize) {
+                break;
+            }
+            afterId = page.getLast().getId();
+        }
+        log.info("Tracking moderation deadlines for {} pending jobs", tracked);
+    }
+
+    @Scheduled(fixedDelayString = "#{@moderationOrchestratorProperties.deadlineTick.toMillis()}")
+    public void failExpiredJobs() {
+        List<Long> expired = deadlines.advance(System.currentTimeMillis());
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        Long[] jobIds = expired.stream().sorted().toArray(Long[]::new);
+        int chunkSize = properties.getTimeoutSweepBatchSize();
+        int totalFailed = 0;
+        try {
+            for (int from = 0; from < jobIds.length; from += chunkSize) {
+                Long[] chunk = Arrays.copyOfRange(jobIds, from, Math.min(from + chunkSize, jobIds.length));
+                Integer failed = transactionTemplate.execute(status -> failChunk(chunk));
+                totalFailed += failed == null ? 0 : failed;
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to expire moderation jobs, the timeout sweep will retry them", e);
+        }
+
+        if (totalFailed > 0) {
+            log.warn("Marked {} moderation jobs as failed after missing their deadline", totalFailed);
+        }
+    }
+
+    private int failChunk(Long[] jobIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<ModerationJobRepository.TimedOutJobView> timedOutJobs = moderationJobRepository.failExpiredJobs(jobIds,
+                now.minus(properties.timeoutFor(JobContentType.text)),
+                now.minus(properties.timeoutFor(JobContentType.image)),
+                now);
+        postModerationStatusService.recordTimeouts(timedOutJobs);
+        commentModerationStatusService.recordTimeouts(timedOutJobs);
+        imageModerationStatusService.recordTimeouts(timedOutJobs);
+        return timedOutJobs.size();
+    }
+
+    private long deadlineMillis(JobContentType contentType, LocalDateTime dispatchedAt) {
+        return dispatchedAt.plus(properties.timeoutFor(contentType))
+                .atZone(ZoneId.systemDefault())
+                .toInstant()
+                .toEpochMilli();
+    }
+}
@@ -0,0 +1,218 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationAdmissionProperties;
+import com.SafuForumBackend.moderation.config.ModerationAmqpProperties;
+import com.SafuForumBackend.moderation.config.ModerationDispatchProperties;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationLane;
+import com.SafuForumBackend.moderation.event.ModerationJobRequestedEvent;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Publishes pending moderation jobs to the classifiers, debounced per post.
+ *
+ * Each edit of a post pushes its dispatch back by the debounce window, up to
+ * the max wait from the first undispatched edit. When a post is flushed only
+ * its current version's jobs are claimed; jobs of versions superseded in the
+ * meantime were already failed and never leave the backend.
+ *
+ * Each job is published in its priority lane. Lanes the admission gate holds
+ * back because the classifiers are behind stay queued here and are retried
+ * after deferRetry.
+ *
+ * The debounce state is in memory, so jobs left undispatched by a restart are
+ * claimed by the {@link ModerationOrphanSweeper}, in the low lane, as are jobs
+ * released after a failed publish. Claims are atomic, so no job is published
+ * twice across nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ModerationDispatcher implements OrphanedJobDispatcher {
+
+    private final ModerationJobRepository moderationJobRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ModerationAmqpProperties amqpProperties;
+    private final ModerationDispatchProperties properties;
+    private final ModerationDeadlineTracker deadlineTracker;
+    private final ModerationAdmissionGate admissionGate;
+    private final ModerationAdmissionProperties admissionProperties;
+
+    private final Map<Long, PendingDispatch> pendingByPost = new ConcurrentHashMap<>();
+
+    /**
+     * Schedules the post's undispatched jobs of the given content types for
+     * publishing. Call after the transaction that created them has committed.
+     *
+     * @param authorLane   The lane of the post's author, see
+     *                     {@link ModerationAdmissionGate#authorLane}.
+     * @param contentTypes The content types the post has pending jobs for.
+     */
+    public void schedule(Long postId, ModerationLane authorLane, Set<JobContentType> contentTypes) {
+        long now = System.currentTimeMillis();
+        pendingByPost.compute(postId, (id, pending) -> {
+            long firstRequestedAt = pending == null ? now : pending.firstRequestedAt();
+            long dueAt = Math.min(now + properties.getDebounce().toMillis(),
+                    firstRequestedAt + properties.getMaxWait().toMillis());
+            Set<JobContentType> types = EnumSet.copyOf(contentTypes);
+            if (pending != null) {
+                types.addAll(pending.contentTypes());
+            }
+            return new PendingDispatch(firstRequestedAt, dueAt, authorLane, types);
+        });
+
+        if (properties.getDebounce().isZero()) {
+            flushDuePosts();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "#{@moderationDispatchProperties.flushInterval.toMillis()}")
+    public void flushDuePosts() {
+        long now = System.currentTimeMillis();
+        Map<Long, PendingDispatch> duePosts = new TreeMap<>();
+        pendingByPost.forEach((postId, pending) -> {
+            // Only taken if no edit rescheduled the post meanwhile
+            if (pending.dueAt() <= now && pendingByPost.remove(postId, pending)) {
+                duePosts.put(postId, pending);
+            }
+        });
+        if (duePosts.isEmpty()) {
+            return;
+        }
+
+        List<Long> postIds = new ArrayList<>();
+        List<String> contentTypes = new ArrayList<>();
+        Map<Long, ModerationLane> authorLanes = new HashMap<>();
+        int deferred = 0;
+        for (Map.Entry<Long, PendingDispatch> entry : duePosts.entrySet()) {
+            PendingDispatch pending = entry.getValue();
+            Set<JobContentType> deferredTypes = EnumSet.noneOf(JobContentType.class);
+            for (JobContentType contentType : pending.contentTypes()) {
+                if (admissionGate.admits(admissionGate.laneFor(pending.authorLane(), contentType), contentType)) {
+                    postIds.add(entry.getKey());
+                    contentTypes.add(contentType.name());
+                } else {
+                    deferredTypes.add(contentType);
+                }
+            }
+            authorLanes.put(entry.getKey(), pending.authorLane());
+            if (!deferredTypes.isEmpty()) {
+                defer(entry.getKey(), pending, deferredTypes, now);
+                deferred++;
+            }
+        }
+        if (deferred > 0) {
+            log.debug("Deferred moderation dispatch for {} posts while classifiers catch up", deferred);
+        }
+        if (postIds.isEmpty()) {
+            return;
+        }
+
+        try {
+            List<ModerationJobRepository.DispatchedJobView> claimed = moderationJobRepository.claimJobsForPosts(
+                    postIds.toArray(Long[]::new), contentTypes.toArray(String[]::new), LocalDateTime.now());
+            publishAll(claimed, job -> admissionGate.laneFor(
+                    authorLanes.get(job.getPostId()), JobContentType.valueOf(job.getContentType())));
+            log.debug("Dispatched {} moderation jobs for {} posts", claimed.size(), authorLanes.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to dispatch moderation jobs for {} posts, the orphan sweep will retry them",
+                    authorLanes.size(), e);
+        }
+    }
+
+    private void defer(Long postId, PendingDispatch pending, Set<JobContentType> deferredTypes, long now) {
+        long retryAt = now + admissionProperties.getDeferRetry().toMillis();
+        PendingDispatch retry = new PendingDispatch(pending.firstRequestedAt(), retryAt, pending.authorLane(),
+                deferredTypes);
+        // An edit since the flush has already rescheduled every type, so keep its entry
+        pendingByPost.putIfAbsent(postId, retry);
+    }
+
+    @Override
+    public String jobKind() {
+        return "post moderation";
+    }
+
+    @Override
+    public int dispatchOrphans(LocalDateTime cutoff, Set<JobContentType> admittedTypes, int batchSize) {
+        String[] contentTypes = admittedTypes.stream().map(JobContentType::name).toArray(String[]::new);
+        List<ModerationJobRepository.DispatchedJobView> claimed = moderationJobRepository.claimOrphanedJobs(
+                cutoff, contentTypes, batchSize, LocalDateTime.now());
+        publishAll(claimed, job -> ModerationLane.low);
+        return claimed.size();
+    }
+
+    private void publishAll(List<ModerationJobRepository.DispatchedJobView> jobs,
+            Function<ModerationJobRepository.DispatchedJobView, ModerationLane> laneOf) {
+        for (ModerationJobRepository.DispatchedJobView job : jobs) {
+            JobContentType contentType = JobContentType.valueOf(job.getContentType());
+            deadlineTracker.track(job.getId(), contentType, job.getDispatchedAt());
+            publishJobRequestedEventSafely(job, contentType, laneOf.apply(job));
+        }
+    }
+
+    private void publishJobRequestedEventSafely(ModerationJobRepository.DispatchedJobView job,
+            JobContentType contentType, ModerationLane lane) {
+        try {
+            publishJobRequestedEvent(job, contentType, lane);
+        } catch (RuntimeException ex) {
+            // Released for the orphan sweep to retry, which only claims undispatched jobs
+            log.error("Failed to publish moderation job event for jobId={} postId={} postVersion={}",
+                    job.getId(),
+                    job.getPostId(),
+                    job.getPostVersion(),
+                    ex);
+            release(job.getId());
+        }
+    }
+
+    private void release(Long jobId) {
+        deadlineTracker.untrack(List.of(jobId));
+        try {
+            moderationJobRepository.releaseJobs(new Long[] { jobId });
+        } catch (RuntimeException e) {
+            // Still claimed; its deadline fails it
+            log.error("Failed to release moderation jobId={}", jobId, e);
+        }
+    }
+
+    private void publishJobRequestedEvent(ModerationJobRepository.DispatchedJobView job, JobContentType contentType,
+            ModerationLane lane) {
+        ModerationJobRequestedEvent event = new ModerationJobRequestedEvent(
+                job.getId(),
+                job.getPostId(),
+                job.getPostVersion(),
+                job.getSourceField(),
+                contentType,
+                job.getPayload());
+
+        String routingKey = amqpProperties.getRouting().jobFor(contentType);
+        rabbitTemplate.convertAndSend(amqpProperties.getIngressExchange(), routingKey, event,
+                message -> {
+                    message.getMessageProperties().setCorrelationId(job.getId().toString());
+                    message.getMessageProperties().setMessageId(job.getId().toString());
+                    message.getMessageProperties().setPriority(lane.getPriority());
+                    return message;
+                });
+    }
+
+    private record PendingDispatch(
+            long firstRequestedAt, long dueAt, ModerationLane authorLane, Set<JobContentType> contentTypes) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.dto.CreateFilterRuleRequest;
+import com.SafuForumBackend.moderation.dto.FilterRuleResponse;
+import com.SafuForumBackend.moderation.entity.ModerationFilterRule;
+import com.SafuForumBackend.moderation.repository.ModerationFilterRuleRepository;
+import com.SafuForumBackend.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Moderator-facing management of the pre-filter rules. Changes are applied
+ * to this node's pre-filter on commit; other nodes pick them up on their next
+ * reload check.
+ */
+@Service
+@RequiredArgsConstructor
+public class ModerationFilterRuleService {
+
+    private final ModerationFilterRuleRepository filterRuleRepository;
+    private final ModerationPrefilter moderationPrefilter;
+    private final AfterCommitExecutor afterCommitExecutor;
+
+    @Transactional(readOnly = true)
+    public List<FilterRuleResponse> listRules() {
+        return filterRuleRepository.findAllByOrderByIdDesc().stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    @Transactional
+    public FilterRuleResponse createRule(CreateFilterRuleRequest request, User currentUser) {
+        moderationPrefilter.validate(request.getMatchType(), request.getPattern());
+
+        ModerationFilterRule rule = ModerationFilterRule.builder()
+                .action(request.getAction())
+                .matchType(request.getMatchType())
+                .pattern(request.getPattern())
+                .description(request.getDescription())
+                .createdBy(currentUser)
+                .build();
+        ModerationFilterRule saved = filterRuleRepository.save(rule);
+
+        afterCommitExecutor.run(moderationPrefilter::reload);
+        return toResponse(saved);
+    }
+
+    @Transactional
+    public FilterRuleResponse disableRule(Long id) {
+        ModerationFilterRule rule = filterRuleRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Filter rule not found"));
+
+        if (rule.getEnabled()) {
+            rule.setEnabled(false);
+            afterCommitExecutor.run(moderationPrefilter::reload);
+        }
+        return toResponse(rule);
+    }
+
+    private FilterRuleResponse toResponse(ModerationFilterRule rule) {
+        return FilterRuleResponse.builder()
+                .id(rule.getId())
+                .action(rule.getAction())
+                .matchType(rule.getMatchType())
+                .pattern(rule.getPattern())
+                .description(rule.getDescription())
+                .enabled(rule.getEnabled())
+                .hits(moderationPrefilter.hitsFor(rule.getId()))
+                .createdAt(rule.getCreatedAt())
+                .updatedAt(rule.getUpdatedAt())
+                .build();
+    }
+}
@@ -1,135 +1,262 @@
 package com.SafuForumBackend.moderation.service;
 
-import com.SafuForumBackend.moderation.entity.ModerationJob;
+import com.SafuForumBackend.moderation.config.ModerationAmqpProperties;
 import com.SafuForumBackend.moderation.enums.ModerationStatus;
 import com.SafuForumBackend.moderation.event.ModerationJobCompletedEvent;
 import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
-import com.SafuForumBackend.post.entity.Post;
-import com.SafuForumBackend.post.repository.PostRepository;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.ImmediateRequeueAmqpException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.MessageRecoverer;
+import org.springframework.amqp.rabbit.retry.RepublishMessageRecoverer;
 import org.springframework.amqp.support.AmqpHeaders;
-import org.springframework.messaging.handler.annotation.Header;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Listener for moderation job completion events.
  * 
- * Handles updating the status of moderation jobs and associated posts.
+ * Handles updating the status of moderation jobs and associated posts,
+ * comments and uploaded images. Each batch of completions is one score update, one
+ * conditional job update that applies the policy thresholds to the scores, plus one
+ * tally update for the posts and one aggregate update for the comments,
+ * independent of how many jobs they have.
+ * 
+ * A batch that fails is applied again one message at a time, so one poison
+ * message cannot hold back or discard the rest; the messages that still fail
+ * are republished to the dead-letter exchange.
  */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ModerationJobCompletedListener {
 
     private final ModerationJobRepository moderationJobRepository;
-    private final PostRepository postRepository;
+    private final PostModerationStatusService postModerationStatusService;
+    private final CommentModerationStatusService commentModerationStatusService;
+    private final ImageModerationStatusService imageModerationStatusService;
+    private final ModerationVerdictCache verdictCache;
+    private final ModerationDeadlineTracker deadlineTracker;
+    private final ModerationOrchestratorService moderationOrchestratorService;
+    private final MessageConverter messageConverter;
+    private final TransactionTemplate transactionTemplate;
+    private final MessageRecoverer deadLetterRecoverer;
+
+    public ModerationJobCompletedListener(
+            ModerationJobRepository moderationJobRepository,
+            PostModerationStatusService postModerationStatusService,
+            CommentModerationStatusService commentModerationStatusService,
+            ImageModerationStatusService imageModerationStatusService,
+            ModerationVerdictCache verdictCache,
+            ModerationDeadlineTracker deadlineTracker,
+            ModerationOrchestratorService moderationOrchestratorService,
+            MessageConverter messageConverter,
+            TransactionTemplate transactionTemplate,
+            RabbitTemplate rabbitTemplate,
+            ModerationAmqpProperties amqpProperties) {
+        this.moderationJobRepository = moderationJobRepository;
+        this.postModerationStatusService = postModerationStatusService;
+        this.commentModerationStatusService = commentModerationStatusService;
+        this.imageModerationStatusService = imageModerationStatusService;
+        this.verdictCache = verdictCache;
+        this.deadlineTracker = deadlineTracker;
+        this.moderationOrchestratorService = moderationOrchestratorService;
+        this.messageConverter = messageConverter;
+        this.transactionTemplate = transactionTemplate;
+        // Adds the exception and the original exchange and routing key as headers
+        this.deadLetterRecoverer = new RepublishMessageRecoverer(rabbitTemplate,
+                amqpProperties.getDeadLetterExchange(), amqpProperties.getRouting().getJobCompleted());
+    }
 
     /**
-     * Handles a moderation job completion event.
+     * Receives a batch of completions from the queue.
      * 
-     * @param jobCompletionEvent The moderation job completion event.
-     * @param correlationId      The correlation ID from the message header, if
-     *                           available.
+     * Each message is converted on its own, so one that cannot be read is
+     * dead-lettered without the rest. The others are applied in one
+     * transaction, or one at a time if that fails. Database outages requeue
+     * the batch instead, as every message would fail alike; completions that
+     * were already applied are ignored when they are delivered again.
+     * 
+     * @param rawMessages The AMQP messages, as received.
      */
-    @RabbitListener(queues = "${moderation.amqp.queues.job-completed}")
-    @Transactional
-    public void handleJobCompleted(
-            ModerationJobCompletedEvent jobCompletionEvent,
-            @Header(name = AmqpHeaders.CORRELATION_ID, required = false) Object correlationId) {
-        Long jobId = resolveJobId(jobCompletionEvent, correlationId);
-        if (jobId == null) {
-            log.warn("Received moderation completion with no jobId/correlationId; ignoring");
+    @RabbitListener(
+            queues = "${moderation.amqp.queues.job-completed}",
+            containerFactory = "moderationCompletionContainerFactory")
+    public void onJobsCompleted(List<org.springframework.amqp.core.Message> rawMessages) {
+        List<org.springframework.amqp.core.Message> received = new ArrayList<>(rawMessages.size());
+        List<Message<ModerationJobCompletedEvent>> messages = new ArrayList<>(rawMessages.size());
+        for (org.springframework.amqp.core.Message rawMessage : rawMessages) {
+            try {
+                messages.add(convert(rawMessage));
+                received.add(rawMessage);
+            } catch (RuntimeException e) {
+                deadLetter(rawMessage, e);
+            }
+        }
+        if (messages.isEmpty()) {
             return;
         }
 
-        ModerationJob matchedJob = moderationJobRepository.findById(jobId).orElse(null);
-        if (matchedJob == null) {
-            log.warn("Received moderation completion for unknown jobId={}; ignoring", jobId);
+        try {
+            transactionTemplate.executeWithoutResult(status -> handleJobsCompleted(messages));
             return;
+        } catch (RuntimeException e) {
+            requeueIfTransient(e);
+            log.warn("Failed to apply a batch of {} moderation completions; applying them one by one",
+                    messages.size(), e);
         }
 
-        // Only process if still pending in database
-        if (matchedJob.getStatus() != ModerationStatus.pending) {
-            return;
+        for (int i = 0; i < messages.size(); i++) {
+            Message<ModerationJobCompletedEvent> message = messages.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> handleJobsCompleted(List.of(message)));
+            } catch (RuntimeException e) {
+                requeueIfTransient(e);
+                deadLetter(received.get(i), e);
+            }
         }
+    }
 
-        Post post = matchedJob.getPost();
-        Integer currentPostVersion = post.getVersion();
-        if (currentPostVersion != null && !currentPostVersion.equals(matchedJob.getPostVersion())) {
-            log.info(
-                    "Ignoring stale moderation completion for jobId={} postId={} jobPostVersion={} currentPostVersion={}",
-                    matchedJob.getId(),
-                    post.getId(),
-                    matchedJob.getPostVersion(),
-                    currentPostVersion);
+    /**
+     * Handles a batch of moderation job completion events in one transaction.
+     * 
+     * All jobs are completed with one statement and the affected post versions
+     * are tallied once, however many messages the batch holds.
+     * 
+     * @param messages The completion events, with their AMQP headers.
+     */
+    @Transactional
+    public void handleJobsCompleted(List<Message<ModerationJobCompletedEvent>> messages) {
+        long startedAt = System.nanoTime();
+
+        // Sorted by job id so rows are locked in a consistent order; the first completion per job wins
+        Map<Long, ModerationJobCompletedEvent> completions = new TreeMap<>();
+        for (Message<ModerationJobCompletedEvent> message : messages) {
+            ModerationJobCompletedEvent jobCompletionEvent = message.getPayload();
+            Long jobId = resolveJobId(jobCompletionEvent, message.getHeaders().get(AmqpHeaders.CORRELATION_ID));
+            if (jobId == null) {
+                log.warn("Received moderation completion with no jobId/correlationId; ignoring");
+                continue;
+            }
+
+            ModerationStatus status = jobCompletionEvent.status();
+            if (status == null || status == ModerationStatus.pending || status == ModerationStatus.cancelled) {
+                log.warn("Received moderation completion for jobId={} with status {}; ignoring", jobId, status);
+                continue;
+            }
+            completions.putIfAbsent(jobId, jobCompletionEvent);
+        }
+        if (completions.isEmpty()) {
             return;
         }
 
-        if (jobCompletionEvent.status() == null) {
-            log.warn("Received moderation completion for jobId={} with null status; ignoring", jobId);
-            return;
+        // Stored first, so the completion below derives each status from the scores and the policy thresholds
+        recordScores(completions);
+
+        // Only applies to jobs still pending that belong to their post's current version
+        List<ModerationJobRepository.CompletedJobView> completedJobs = new ArrayList<>(
+                moderationJobRepository.completePendingJobs(
+                        completions.keySet().toArray(Long[]::new),
+                        completions.values().stream().map(event -> event.status().name()).toArray(String[]::new),
+                        completions.values().stream().map(ModerationJobCompletedEvent::reason).toArray(String[]::new),
+                        LocalDateTime.now()));
+        if (completedJobs.size() < completions.size()) {
+            log.info("Ignored {} moderation completions for unknown, already completed or stale jobs",
+                    completions.size() - completedJobs.size());
         }
 
-        matchedJob.setStatus(jobCompletionEvent.status());
-        matchedJob.setErrorMessage(jobCompletionEvent.reason());
-        matchedJob.setUpdatedAt(LocalDateTime.now());
-        moderationJobRepository.save(matchedJob);
+        // Post jobs waiting for an image's upload-time verdict complete with it, and are then handled alike
+        completedJobs.addAll(imageModerationStatusService.recordCompletions(completedJobs));
+
+        // A rejection decides the post version, so its still-pending siblings are cancelled in the same transaction
+        List<ModerationJobRepository.CancelledJobView> cancelledJobs =
+                moderationOrchestratorService.cancelPendingSiblings(completedJobs);
+
+        deadlineTracker.untrack(completedJobs.stream().map(ModerationJobRepository.CompletedJobView::getJobId).toList());
+        verdictCache.recordAll(completedJobs);
+        postModerationStatusService.recordCompletions(completedJobs, cancelledJobs);
+        commentModerationStatusService.recordCompletions(completedJobs);
 
-        updatePostStatusIfReady(post.getId(), matchedJob.getPostVersion());
+        log.debug("Applied {} of {} moderation completions in {} ms",
+                completedJobs.size(), messages.size(), (System.nanoTime() - startedAt) / 1_000_000);
     }
 
     /**
-     * Updates the post status if all moderation jobs for the given post and version
-     * are completed.
-     * 
-     * @param postId
-     * @param postVersion
+     * Stores the per-label scores reported with the completions, flattened
+     * into one entry per job and label. Completions without scores, e.g. from
+     * classifiers that do not report them, are skipped.
      */
-    private void updatePostStatusIfReady(Long postId, Integer postVersion) {
-        List<ModerationJob> jobs = moderationJobRepository.findByPostIdAndPostVersion(postId, postVersion);
-        if (jobs.isEmpty()) {
-            return;
-        }
+    private void recordScores(Map<Long, ModerationJobCompletedEvent> completions) {
+        List<Long> jobIds = new ArrayList<>();
+        List<String> modelVersions = new ArrayList<>();
+        List<Long> scoreJobIds = new ArrayList<>();
+        List<String> scoreLabels = new ArrayList<>();
+        List<Double> scoreValues = new ArrayList<>();
+        completions.forEach((jobId, event) -> {
+            if (event.scores() == null || event.scores().isEmpty()) {
+                return;
+            }
 
-        ModerationStatus status = aggregateStatus(jobs);
-        if (status == ModerationStatus.pending) {
-            return;
-        }
-        Post post = postRepository.findById(postId).orElse(null);
-        if (post == null) {
-            return;
-        }
-        if (!postVersion.equals(post.getVersion())) {
+            jobIds.add(jobId);
+            modelVersions.add(event.modelVersion());
+            event.scores().forEach((label, score) -> {
+                if (label != null && score != null) {
+                    scoreJobIds.add(jobId);
+                    scoreLabels.add(label);
+                    scoreValues.add(score);
+                }
+            });
+        });
+        if (scoreJobIds.isEmpty()) {
             return;
         }
 
-        post.setStatus(status);
-        postRepository.save(post);
+        moderationJobRepository.recordScores(
+                jobIds.toArray(Long[]::new),
+                modelVersions.toArray(String[]::new),
+                scoreJobIds.toArray(Long[]::new),
+                scoreLabels.toArray(String[]::new),
+                scoreValues.toArray(Double[]::new));
     }
 
-    private ModerationStatus aggregateStatus(List<ModerationJob> jobs) {
-        // If any jobs are still pending, do not update the post status yet (wait for
-        // all to complete)
-        boolean anyPending = jobs.stream().anyMatch(job -> job.getStatus() == ModerationStatus.pending);
-        if (anyPending) {
-            return ModerationStatus.pending;
-        }
-        boolean anyFailed = jobs.stream().anyMatch(job -> job.getStatus() == ModerationStatus.failed);
-        if (anyFailed) {
-            return ModerationStatus.failed;
+    private Message<ModerationJobCompletedEvent> convert(org.springframework.amqp.core.Message rawMessage) {
+        // The workers send no type id, so the converter reads the payload as this type
+        rawMessage.getMessageProperties().setInferredArgumentType(ModerationJobCompletedEvent.class);
+        Object payload = messageConverter.fromMessage(rawMessage);
+        if (!(payload instanceof ModerationJobCompletedEvent event)) {
+            throw new IllegalArgumentException("Not a moderation completion: " + payload);
         }
-        boolean anyRejected = jobs.stream().anyMatch(job -> job.getStatus() == ModerationStatus.rejected);
-        if (anyRejected) {
-            return ModerationStatus.rejected;
+        return MessageBuilder.withPayload(event)
+                .setHeader(AmqpHeaders.CORRELATION_ID, rawMessage.getMessageProperties().getCorrelationId())
+                .build();
+    }
+
+    private void requeueIfTransient(RuntimeException e) {
+        if (e instanceof TransientDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException) {
+            throw new ImmediateRequeueAmqpException("Database unavailable; requeueing moderation completions", e);
         }
-        return ModerationStatus.approved;
+    }
+
+    private void deadLetter(org.springframework.amqp.core.Message rawMessage, RuntimeException e) {
+        log.error("Dead-lettering moderation completion with correlationId={}",
+                rawMessage.getMessageProperties().getCorrelationId(), e);
+        deadLetterRecoverer.recover(rawMessage, e);
     }
 
     /**
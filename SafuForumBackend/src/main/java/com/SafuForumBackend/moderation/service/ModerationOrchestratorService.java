@@ -1,11 +1,15 @@
 package com.SafuForumBackend.moderation.service;
 
+import com.SafuForumBackend.comment.entity.Comment;
+import com.SafuForumBackend.image.entity.Image;
 import com.SafuForumBackend.moderation.config.ModerationAmqpProperties;
+import com.SafuForumBackend.moderation.config.ModerationOrchestratorProperties;
 import com.SafuForumBackend.moderation.entity.ModerationJob;
 import com.SafuForumBackend.moderation.entity.ModerationJobSpec;
 import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationLane;
 import com.SafuForumBackend.moderation.enums.ModerationStatus;
-import com.SafuForumBackend.moderation.event.ModerationJobRequestedEvent;
+import com.SafuForumBackend.moderation.event.ModerationJobsCancelledEvent;
 import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
 import com.SafuForumBackend.post.entity.Post;
 import lombok.RequiredArgsConstructor;
@@ -15,8 +19,16 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,11 +36,26 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ModerationOrchestratorService {
 
+    // Source field of a comment's job
+    public static final String COMMENT_CONTENT_FIELD = "content";
+
     private final ModerationJobRepository moderationJobRepository;
     private final RabbitTemplate rabbitTemplate;
     private final ModerationAmqpProperties amqpProperties;
+    private final ModerationOrchestratorProperties orchestratorProperties;
     private final PostModerationJobFactory postModerationJobFactory;
     private final AfterCommitExecutor afterCommitExecutor;
+    private final ModerationVerdictCache verdictCache;
+    private final PostModerationStatusService postModerationStatusService;
+    private final ModerationDeadlineTracker deadlineTracker;
+    private final ModerationDispatcher moderationDispatcher;
+    private final ModerationAdmissionGate admissionGate;
+    private final InlineTextClassifier inlineTextClassifier;
+    private final ModerationPrefilter moderationPrefilter;
+    private final NearDuplicateDetector nearDuplicateDetector;
+    private final CommentModerationStatusService commentModerationStatusService;
+    private final CommentModerationBatcher commentModerationBatcher;
+    private final ImageModerationDispatcher imageModerationDispatcher;
 
     @Transactional
     public void enqueueModerationForPost(Post post, Integer supersededPostVersion) {
@@ -43,19 +70,184 @@ public class ModerationOrchestratorService {
 
         markSupersededPendingJobsAsFailed(post, supersededPostVersion);
 
-        List<ModerationJob> savedJobs = createAndSaveJobsForPost(post, postVersion);
+        NearDuplicateDetector.PostCheck nearDuplicate = nearDuplicateDetector.checkPost(post);
+        List<ModerationJob> savedJobs = createAndSaveJobsForPost(post, postVersion, supersededPostVersion,
+                nearDuplicate);
+
+        postModerationStatusService.registerJobs(post, savedJobs);
+
+        // Image jobs waiting for their upload-time verdict are never dispatched, but still time out
+        List<ModerationJob> awaitingJobs = savedJobs.stream()
+                .filter(job -> job.getStatus() == ModerationStatus.pending && job.getDispatchedAt() != null)
+                .toList();
+        if (!awaitingJobs.isEmpty()) {
+            afterCommitExecutor.run(() -> awaitingJobs.forEach(job -> deadlineTracker.track(
+                    job.getId(), job.getContentType(), job.getDispatchedAt())));
+        }
+
+        // Jobs resolved from a previous verdict are already complete and never reach a classifier
+        Set<JobContentType> typesToDispatch = savedJobs.stream()
+                .filter(job -> job.getStatus() == ModerationStatus.pending && job.getDispatchedAt() == null)
+                .map(ModerationJob::getContentType)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(JobContentType.class)));
+        if (!typesToDispatch.isEmpty()) {
+            // A near-duplicate of rejected content that was not rejected outright is confirmed first
+            ModerationLane authorLane = nearDuplicate.prioritizes()
+                    ? ModerationLane.high
+                    : admissionGate.authorLane(post.getAuthor());
+            // Debounced, so a burst of edits only sends the last version to the classifiers
+            afterCommitExecutor.run(() -> moderationDispatcher.schedule(post.getId(), authorLane, typesToDispatch));
+        }
+    }
+
+    /**
+     * Creates the moderation job for the comment's current version.
+     * 
+     * Like a post's jobs, it may be decided straight away by a pre-filter rule,
+     * a cached verdict or the inline classifier, settling the comment at once;
+     * otherwise it is handed to the comment batcher once the transaction
+     * commits and classified together with other comments.
+     * 
+     * @param comment                  The comment to moderate.
+     * @param supersededCommentVersion The version being replaced, or null.
+     */
+    @Transactional
+    public void enqueueModerationForComment(Comment comment, Integer supersededCommentVersion) {
+        if (comment.getId() == null) {
+            throw new IllegalArgumentException("Comment must be persisted before moderation jobs are created.");
+        }
+
+        Integer commentVersion = comment.getVersion();
+        if (commentVersion == null) {
+            throw new IllegalArgumentException("Comment version must be set before moderation jobs are created.");
+        }
+
+        markSupersededPendingJobsAsFailed(comment, supersededCommentVersion);
+
+        ModerationJob savedJob = saveJobForComment(comment, commentVersion);
+        commentModerationStatusService.registerJobs(comment);
+
+        if (savedJob.getStatus() == ModerationStatus.pending) {
+            ModerationLane lane = admissionGate.laneFor(
+                    admissionGate.authorLane(comment.getAuthor()), savedJob.getContentType());
+            afterCommitExecutor.run(() -> commentModerationBatcher.submit(
+                    savedJob.getId(), lane, savedJob.getContentType()));
+        }
+    }
+
+    /**
+     * Creates the moderation job for a newly uploaded image, so its verdict is
+     * ready, or on its way, by the time a post using the image is published.
+     * 
+     * A re-upload with a cached verdict is decided straight away; otherwise the
+     * job is handed to the image dispatcher once the transaction commits. The
+     * image keeps the job's state on its own row either way.
+     */
+    @Transactional
+    public void enqueueModerationForImage(Image image) {
+        if (image.getId() == null) {
+            throw new IllegalArgumentException("Image must be persisted before moderation jobs are created.");
+        }
+
+        ModerationJobSpec spec = new ModerationJobSpec(PostModerationJobFactory.imageSourceField(image.getId()),
+                JobContentType.image, image.getSeaweedfsUrl(), image.getContentSha256());
+        ModerationVerdictCache.CachedVerdict verdict =
+                verdictCache.lookup(List.of(spec)).get(ModerationVerdictCache.VerdictKey.of(spec));
+
+        ModerationJob job = buildJob(spec, verdict);
+        job.setImage(image);
+        ModerationJob savedJob = moderationJobRepository.save(job);
+        image.setModerationStatus(savedJob.getStatus());
+        image.setModerationReason(savedJob.getErrorMessage());
+        image.setModerationModelVersion(savedJob.getModelVersion());
+
+        if (savedJob.getStatus() == ModerationStatus.pending) {
+            ModerationLane lane = admissionGate.laneFor(
+                    admissionGate.authorLane(image.getUploader()), JobContentType.image);
+            afterCommitExecutor.run(() -> imageModerationDispatcher.dispatch(savedJob.getId(), lane));
+        }
+    }
+
+    /**
+     * Cancels the pending siblings of every rejected job in the batch. A
+     * rejection already fixes the post version's outcome, so the remaining jobs
+     * would only spend classifier time.
+     * 
+     * Classifiers are told to drop the cancelled jobs once the transaction
+     * commits; any that still complete are ignored as no longer pending.
+     * 
+     * @param completedJobs Jobs just completed in the current transaction.
+     * @return the jobs that were cancelled
+     */
+    @Transactional
+    public List<ModerationJobRepository.CancelledJobView> cancelPendingSiblings(
+            List<ModerationJobRepository.CompletedJobView> completedJobs) {
+        if (!orchestratorProperties.isCancelSiblingsOnRejection()) {
+            return List.of();
+        }
+
+        // Sorted so sibling rows are always locked in the same order
+        Map<Long, Set<Integer>> rejectedVersions = new TreeMap<>();
+        completedJobs.stream()
+                .filter(job -> job.getPostId() != null)
+                .filter(job -> ModerationStatus.rejected.name().equals(job.getStatus()))
+                .forEach(job -> rejectedVersions
+                        .computeIfAbsent(job.getPostId(), postId -> new TreeSet<>())
+                        .add(job.getPostVersion()));
+        if (rejectedVersions.isEmpty()) {
+            return List.of();
+        }
+
+        List<Long> postIds = new ArrayList<>();
+        List<Integer> postVersions = new ArrayList<>();
+        rejectedVersions.forEach((postId, versions) -> versions.forEach(version -> {
+            postIds.add(postId);
+            postVersions.add(version);
+        }));
 
-        afterCommitExecutor.run(() -> savedJobs.forEach(this::publishJobRequestedEventSafely));
+        List<ModerationJobRepository.CancelledJobView> cancelledJobs = moderationJobRepository.cancelPendingJobs(
+                postIds.toArray(Long[]::new),
+                postVersions.toArray(Integer[]::new),
+                LocalDateTime.now());
+        if (cancelledJobs.isEmpty()) {
+            return cancelledJobs;
+        }
+
+        List<Long> cancelledJobIds = cancelledJobs.stream()
+                .map(ModerationJobRepository.CancelledJobView::getJobId)
+                .toList();
+        afterCommitExecutor.run(() -> {
+            deadlineTracker.untrack(cancelledJobIds);
+            publishJobsCancelledEventSafely(cancelledJobIds);
+        });
+        log.info("Cancelled {} pending moderation jobs across {} rejected post versions",
+                cancelledJobs.size(), postIds.size());
+        return cancelledJobs;
     }
 
     /**
      * Creates and saves moderation jobs for the given post and version.
      * 
-     * @param post        The post to create jobs for.
-     * @param postVersion The version of the post.
+     * Jobs for fields left unchanged since the superseded version, text jobs
+     * decided by a pre-filter rule, images moderated when they were uploaded, a
+     * body that is a near-duplicate of rejected content, jobs whose payload has
+     * a cached verdict and short text jobs classified inline are saved already
+     * completed with that verdict; the rest are saved as pending, or cancelled
+     * if one of those verdicts already rejects the version. Rule and
+     * near-duplicate verdicts are not cached.
+     * 
+     * Jobs of images whose upload-time moderation is still in flight are saved
+     * pending but marked dispatched, so they are never claimed and are instead
+     * completed with the upload job's verdict.
+     * 
+     * @param post                  The post to create jobs for.
+     * @param postVersion           The version of the post.
+     * @param supersededPostVersion The version being replaced, or null.
+     * @param nearDuplicate         The near-duplicate check of this version.
      * @return
      */
-    private List<ModerationJob> createAndSaveJobsForPost(Post post, Integer postVersion) {
+    private List<ModerationJob> createAndSaveJobsForPost(Post post, Integer postVersion,
+            Integer supersededPostVersion, NearDuplicateDetector.PostCheck nearDuplicate) {
         List<ModerationJobSpec> jobSpecs = postModerationJobFactory.buildJobs(post);
         if (jobSpecs.isEmpty()) {
             log.warn("No moderation job specs generated for postId={}", post.getId());
@@ -69,23 +261,313 @@ public class ModerationOrchestratorService {
                 .collect(Collectors.toSet());
 
         // Filter out job specs that already have corresponding jobs
-        List<ModerationJob> newJobs = jobSpecs.stream()
+        List<ModerationJobSpec> newSpecs = jobSpecs.stream()
                 .filter(spec -> !existingJobKeys.contains(new JobKey(spec.sourceField(), spec.contentType())))
-                .map(spec -> ModerationJob.builder()
-                        .post(post)
-                        .postVersion(postVersion)
-                        .sourceField(spec.sourceField())
-                        .contentType(spec.contentType())
-                        .payload(spec.payload())
-                        .status(ModerationStatus.pending)
-                        .build())
                 .toList();
 
-        if (newJobs.isEmpty()) {
+        if (newSpecs.isEmpty()) {
             return List.of();
         }
 
-        return moderationJobRepository.saveAll(newJobs);
+        Map<JobKey, ModerationJob> carriedJobs =
+                findUnchangedFieldJobs(post, postVersion, supersededPostVersion, newSpecs);
+
+        List<ModerationJobSpec> changedSpecs = newSpecs.stream()
+                .filter(spec -> !carriedJobs.containsKey(new JobKey(spec.sourceField(), spec.contentType())))
+                .toList();
+        Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> localVerdicts =
+                new HashMap<>(moderationPrefilter.evaluateAll(changedSpecs));
+        PostModerationJobFactory.PreModeratedImages preModeratedImages =
+                postModerationJobFactory.findPreModeratedImages(post);
+        changedSpecs.stream()
+                .filter(spec -> spec.contentType() == JobContentType.image)
+                .forEach(spec -> {
+                    ModerationVerdictCache.CachedVerdict verdict =
+                            preModeratedImages.verdicts().get(spec.sourceField());
+                    if (verdict != null) {
+                        localVerdicts.put(spec, verdict);
+                    }
+                });
+        boolean rejectedAsDuplicate = applyNearDuplicateVerdict(changedSpecs, nearDuplicate, localVerdicts);
+        List<ModerationJobSpec> unmatchedSpecs = changedSpecs.stream()
+                .filter(spec -> !localVerdicts.containsKey(spec))
+                .toList();
+        Map<ModerationVerdictCache.VerdictKey, ModerationVerdictCache.CachedVerdict> cachedVerdicts =
+                verdictCache.lookup(unmatchedSpecs);
+        Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> inlineVerdicts =
+                classifyInline(unmatchedSpecs, cachedVerdicts);
+
+        LocalDateTime now = LocalDateTime.now();
+        // The jobs whose verdict a new job reuses, so it also gets their scores
+        Map<ModerationJob, Long> scoreSources = new HashMap<>();
+        // Verdicts decided in process, whose scores the new jobs keep
+        Map<ModerationJob, ModerationVerdictCache.CachedVerdict> scoredVerdicts = new HashMap<>();
+        List<ModerationJob> newJobs = newSpecs.stream()
+                .map(spec -> {
+                    ModerationJob carriedJob = carriedJobs.get(new JobKey(spec.sourceField(), spec.contentType()));
+                    ModerationVerdictCache.CachedVerdict verdict = carriedJob == null ? null
+                            : new ModerationVerdictCache.CachedVerdict(carriedJob.getStatus(),
+                                    carriedJob.getErrorMessage());
+                    if (verdict == null) {
+                        verdict = localVerdicts.get(spec);
+                    }
+                    if (verdict == null) {
+                        verdict = cachedVerdicts.get(ModerationVerdictCache.VerdictKey.of(spec));
+                    }
+                    if (verdict == null) {
+                        verdict = inlineVerdicts.get(spec);
+                    }
+                    ModerationJob job = buildJob(post, postVersion, spec, verdict);
+                    if (carriedJob == null && verdict != null && verdict.scores() != null) {
+                        scoredVerdicts.put(job, verdict);
+                    }
+                    if (carriedJob != null) {
+                        scoreSources.put(job, carriedJob.getId());
+                    } else if (spec.contentType() == JobContentType.image
+                            && verdict == preModeratedImages.verdicts().get(spec.sourceField())
+                            && preModeratedImages.verdictJobs().containsKey(spec.sourceField())) {
+                        scoreSources.put(job, preModeratedImages.verdictJobs().get(spec.sourceField()));
+                    }
+                    if (job.getStatus() == ModerationStatus.pending && spec.contentType() == JobContentType.image
+                            && preModeratedImages.awaited().contains(spec.sourceField())) {
+                        job.setDispatchedAt(now);
+                    }
+                    return job;
+                })
+                .toList();
+        cancelPendingJobsIfRejected(newJobs);
+
+        if (!carriedJobs.isEmpty()) {
+            log.info("Carried forward {} of {} moderation verdicts from postId={} version {} to version {}",
+                    carriedJobs.size(), newSpecs.size(), post.getId(), supersededPostVersion, postVersion);
+        }
+
+        nearDuplicateDetector.recordPost(post, nearDuplicate, rejectedAsDuplicate);
+        List<ModerationJob> savedJobs = moderationJobRepository.saveAll(newJobs);
+        copyScores(scoreSources);
+        storeVerdictScores(scoredVerdicts);
+        return savedJobs;
+    }
+
+    /**
+     * Copies the scores of the jobs whose verdicts were reused onto the new
+     * jobs, flushed first so the new jobs' rows exist.
+     */
+    private void copyScores(Map<ModerationJob, Long> scoreSources) {
+        if (scoreSources.isEmpty()) {
+            return;
+        }
+
+        moderationJobRepository.flush();
+        List<Map.Entry<ModerationJob, Long>> entries = new ArrayList<>(scoreSources.entrySet());
+        moderationJobRepository.copyScores(
+                entries.stream().map(entry -> entry.getKey().getId()).toArray(Long[]::new),
+                entries.stream().map(Map.Entry::getValue).toArray(Long[]::new));
+    }
+
+    /**
+     * Stores the scores and reported statuses behind verdicts decided in
+     * process on their new jobs, flushed first so the jobs' rows exist.
+     */
+    private void storeVerdictScores(Map<ModerationJob, ModerationVerdictCache.CachedVerdict> scoredVerdicts) {
+        if (scoredVerdicts.isEmpty()) {
+            return;
+        }
+
+        moderationJobRepository.flush();
+        List<Long> jobIds = new ArrayList<>();
+        List<String> reportedStatuses = new ArrayList<>();
+        List<Long> scoreJobIds = new ArrayList<>();
+        List<String> scoreLabels = new ArrayList<>();
+        List<Double> scoreValues = new ArrayList<>();
+        scoredVerdicts.forEach((job, verdict) -> {
+            jobIds.add(job.getId());
+            reportedStatuses.add(verdict.reportedStatus().name());
+            verdict.scores().forEach((label, score) -> {
+                scoreJobIds.add(job.getId());
+                scoreLabels.add(label);
+                scoreValues.add(score);
+            });
+        });
+        moderationJobRepository.storeScores(
+                jobIds.toArray(Long[]::new),
+                reportedStatuses.toArray(String[]::new),
+                scoreJobIds.toArray(Long[]::new),
+                scoreLabels.toArray(String[]::new),
+                scoreValues.toArray(Double[]::new));
+    }
+
+    /**
+     * Saves the job for the comment's text, completed with the verdict of a
+     * pre-filter rule, the verdict cache or the inline classifier if any of
+     * them decides it, in that order.
+     */
+    private ModerationJob saveJobForComment(Comment comment, Integer commentVersion) {
+        ModerationJobSpec spec = new ModerationJobSpec(COMMENT_CONTENT_FIELD, JobContentType.text,
+                comment.getContent(), ContentHashes.normalizedTextSha256(comment.getContent()));
+        List<ModerationJobSpec> specs = List.of(spec);
+
+        ModerationVerdictCache.CachedVerdict verdict = moderationPrefilter.evaluateAll(specs).get(spec);
+        if (verdict == null) {
+            Map<ModerationVerdictCache.VerdictKey, ModerationVerdictCache.CachedVerdict> cachedVerdicts =
+                    verdictCache.lookup(specs);
+            verdict = cachedVerdicts.get(ModerationVerdictCache.VerdictKey.of(spec));
+            if (verdict == null) {
+                verdict = classifyInline(specs, cachedVerdicts).get(spec);
+            }
+        }
+
+        ModerationJob job = buildJob(spec, verdict);
+        job.setComment(comment);
+        job.setCommentVersion(commentVersion);
+        ModerationJob savedJob = moderationJobRepository.save(job);
+        if (verdict != null && verdict.scores() != null) {
+            storeVerdictScores(Map.of(savedJob, verdict));
+        }
+        return savedJob;
+    }
+
+    /**
+     * Rejects the body's job when the near-duplicate check short-circuits and
+     * nothing else decided it.
+     * 
+     * @return whether the body was rejected as a near-duplicate
+     */
+    private boolean applyNearDuplicateVerdict(List<ModerationJobSpec> specs,
+            NearDuplicateDetector.PostCheck nearDuplicate,
+            Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> verdicts) {
+        if (!nearDuplicate.shortCircuits()) {
+            return false;
+        }
+
+        return specs.stream()
+                .filter(spec -> PostModerationJobFactory.CONTENT_FIELD.equals(spec.sourceField())
+                        && spec.contentType() == JobContentType.text)
+                .filter(spec -> !verdicts.containsKey(spec))
+                .findFirst()
+                .map(spec -> {
+                    verdicts.put(spec, new ModerationVerdictCache.CachedVerdict(
+                            ModerationStatus.rejected, nearDuplicate.match().describe()));
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Saves the version's remaining jobs as cancelled when a job is created
+     * already rejected, as the version's outcome is decided; the same rule
+     * {@link #cancelPendingSiblings} applies to classifier rejections.
+     */
+    private void cancelPendingJobsIfRejected(List<ModerationJob> jobs) {
+        if (!orchestratorProperties.isCancelSiblingsOnRejection()
+                || jobs.stream().noneMatch(job -> job.getStatus() == ModerationStatus.rejected)) {
+            return;
+        }
+
+        jobs.stream()
+                .filter(job -> job.getStatus() == ModerationStatus.pending)
+                .forEach(job -> {
+                    job.setStatus(ModerationStatus.cancelled);
+                    job.setErrorMessage("Cancelled: post version already rejected");
+                });
+    }
+
+    /**
+     * Classifies short text specs that have no cached verdict in process, so
+     * their jobs are saved already completed and never reach the queues. The
+     * verdicts are cached like those of the queued classifiers.
+     */
+    private Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> classifyInline(
+            List<ModerationJobSpec> specs,
+            Map<ModerationVerdictCache.VerdictKey, ModerationVerdictCache.CachedVerdict> cachedVerdicts) {
+        if (!inlineTextClassifier.isAvailable()) {
+            return Map.of();
+        }
+
+        List<ModerationJobSpec> uncached = specs.stream()
+                .filter(spec -> !cachedVerdicts.containsKey(ModerationVerdictCache.VerdictKey.of(spec)))
+                .toList();
+        Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> verdicts =
+                inlineTextClassifier.classifyAll(uncached);
+
+        Map<ModerationVerdictCache.VerdictKey, ModerationVerdictCache.CachedVerdict> cacheable = new HashMap<>();
+        verdicts.forEach((spec, verdict) -> {
+            if (spec.contentSha256() != null) {
+                cacheable.putIfAbsent(ModerationVerdictCache.VerdictKey.of(spec), verdict);
+            }
+        });
+        verdictCache.recordVerdicts(cacheable);
+        return verdicts;
+    }
+
+    /**
+     * Finds the superseded version's completed jobs whose field is unchanged in
+     * the new version, so their verdicts can be carried forward instead of
+     * re-classified.
+     * 
+     * @return jobs keyed by (source field, content type)
+     */
+    private Map<JobKey, ModerationJob> findUnchangedFieldJobs(
+            Post post, Integer postVersion, Integer supersededPostVersion, List<ModerationJobSpec> specs) {
+        if (supersededPostVersion == null || supersededPostVersion.equals(postVersion)) {
+            return Map.of();
+        }
+
+        Map<JobKey, ModerationJob> previousJobs = moderationJobRepository
+                .findByPostIdAndPostVersion(post.getId(), supersededPostVersion)
+                .stream()
+                .filter(job -> job.getStatus() == ModerationStatus.approved
+                        || job.getStatus() == ModerationStatus.rejected)
+                .collect(Collectors.toMap(
+                        job -> new JobKey(job.getSourceField(), job.getContentType()),
+                        Function.identity(),
+                        (first, second) -> first));
+
+        Map<JobKey, ModerationJob> unchanged = new HashMap<>();
+        for (ModerationJobSpec spec : specs) {
+            JobKey key = new JobKey(spec.sourceField(), spec.contentType());
+            ModerationJob previous = previousJobs.get(key);
+            if (previous != null && isUnchanged(previous, spec)) {
+                unchanged.put(key, previous);
+            }
+        }
+        return unchanged;
+    }
+
+    private boolean isUnchanged(ModerationJob previous, ModerationJobSpec spec) {
+        // A verdict from an older model is not reused even if the content matches
+        if (!Objects.equals(previous.getModelVersion(), verdictCache.modelVersionFor(spec.contentType()))) {
+            return false;
+        }
+        if (previous.getContentSha256() != null && spec.contentSha256() != null) {
+            return previous.getContentSha256().equals(spec.contentSha256());
+        }
+        return previous.getPayload().equals(spec.payload());
+    }
+
+    private ModerationJob buildJob(Post post, Integer postVersion, ModerationJobSpec spec,
+            ModerationVerdictCache.CachedVerdict cachedVerdict) {
+        ModerationJob job = buildJob(spec, cachedVerdict);
+        job.setPost(post);
+        job.setPostVersion(postVersion);
+        return job;
+    }
+
+    private ModerationJob buildJob(ModerationJobSpec spec, ModerationVerdictCache.CachedVerdict cachedVerdict) {
+        ModerationJob job = ModerationJob.builder()
+                .sourceField(spec.sourceField())
+                .contentType(spec.contentType())
+                .payload(spec.payload())
+                .contentSha256(spec.contentSha256())
+                .modelVersion(verdictCache.modelVersionFor(spec.contentType()))
+                .status(ModerationStatus.pending)
+                .build();
+
+        if (cachedVerdict != null) {
+            job.setStatus(cachedVerdict.status());
+            job.setErrorMessage(cachedVerdict.reason());
+        }
+        return job;
     }
 
     /**
@@ -104,50 +586,44 @@ public class ModerationOrchestratorService {
             return;
         }
 
-        moderationJobRepository.updateStatusForPostVersion(
+        int superseded = moderationJobRepository.updateStatusForPostVersion(
                 post.getId(),
                 supersededPostVersion,
                 ModerationStatus.pending,
                 ModerationStatus.failed,
                 "Superseded by post version " + post.getVersion(),
                 LocalDateTime.now());
+        postModerationStatusService.recordFailures(post.getId(), supersededPostVersion, superseded);
     }
 
-    private void publishJobRequestedEventSafely(ModerationJob job) {
-        try {
-            publishJobRequestedEvent(job);
-        } catch (RuntimeException ex) {
-            log.error("Failed to publish moderation job event for jobId={} postId={} postVersion={}: {}",
-                    job.getId(),
-                    job.getPost().getId(),
-                    job.getPostVersion(),
-                    ex.getMessage(),
-                    ex);
-        }
-    }
-
-    private void publishJobRequestedEvent(ModerationJob job) {
-        String routingKey = routingKeyFor(job.getContentType());
-        ModerationJobRequestedEvent event = new ModerationJobRequestedEvent(
-                job.getId(),
-                job.getPost().getId(),
-                job.getPostVersion(),
-                job.getSourceField(),
-                job.getContentType(),
-                job.getPayload());
-
-        rabbitTemplate.convertAndSend(amqpProperties.getIngressExchange(), routingKey, event, message -> {
-            message.getMessageProperties().setCorrelationId(job.getId().toString());
-            message.getMessageProperties().setMessageId(job.getId().toString());
-            return message;
-        });
+    /**
+     * Marks any pending moderation jobs for the given comment's superseded
+     * version as failed.
+     */
+    private void markSupersededPendingJobsAsFailed(Comment comment, Integer supersededCommentVersion) {
+        if (supersededCommentVersion == null || supersededCommentVersion.equals(comment.getVersion())) {
+            return;
+        }
+
+        moderationJobRepository.updateStatusForCommentVersion(
+                comment.getId(),
+                supersededCommentVersion,
+                ModerationStatus.pending,
+                ModerationStatus.failed,
+                "Superseded by comment version " + comment.getVersion(),
+                LocalDateTime.now());
     }
 
-    private String routingKeyFor(JobContentType contentType) {
-        return switch (contentType) {
-            case text -> amqpProperties.getRouting().getTextJob();
-            case image -> amqpProperties.getRouting().getImageJob();
-        };
+    private void publishJobsCancelledEventSafely(List<Long> jobIds) {
+        try {
+            rabbitTemplate.convertAndSend(
+                    amqpProperties.getIngressExchange(),
+                    amqpProperties.getRouting().getJobCancel(),
+                    new ModerationJobsCancelledEvent(jobIds));
+        } catch (RuntimeException ex) {
+            // Best effort: a classifier that misses it just does redundant work
+            log.error("Failed to publish moderation cancellation for {} jobs: {}", jobIds.size(), ex.getMessage(), ex);
+        }
     }
 
     private record JobKey(String sourceField, JobContentType contentType) {
@@ -0,0 +1,83 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationDispatchProperties;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationLane;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Publishes undispatched moderation jobs nobody is about to publish: those
+ * older than orphanAge, which would otherwise wait for a node that lost them.
+ *
+ * Every {@link OrphanedJobDispatcher} is swept in batches, each claimed
+ * atomically, so no job is published twice across nodes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ModerationOrphanSweeper {
+
+    private final List<OrphanedJobDispatcher> dispatchers;
+    private final ModerationAdmissionGate admissionGate;
+    private final ModerationDispatchProperties properties;
+
+    /**
+     * Also sweeps on startup, so jobs whose dispatch state this node lost are
+     * not left for a full sweep interval; younger jobs may still be published
+     * by other nodes and are left to them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void sweepOnStartup() {
+        sweep();
+    }
+
+    @Scheduled(
+            initialDelayString = "#{@moderationDispatchProperties.orphanSweepInterval.toMillis()}",
+            fixedDelayString = "#{@moderationDispatchProperties.orphanSweepInterval.toMillis()}")
+    public void sweep() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getOrphanAge());
+        Set<JobContentType> admittedTypes = EnumSet.noneOf(JobContentType.class);
+        for (JobContentType type : JobContentType.values()) {
+            if (admissionGate.admits(admissionGate.laneFor(ModerationLane.low, type), type)) {
+                admittedTypes.add(type);
+            }
+        }
+        if (admittedTypes.isEmpty()) {
+            return;
+        }
+
+        for (OrphanedJobDispatcher dispatcher : dispatchers) {
+            sweep(dispatcher, cutoff, admittedTypes);
+        }
+    }
+
+    private void sweep(OrphanedJobDispatcher dispatcher, LocalDateTime cutoff, Set<JobContentType> admittedTypes) {
+        int batchSize = properties.getOrphanSweepBatchSize();
+        int dispatched = 0;
+        try {
+            while (true) {
+                int claimed = dispatcher.dispatchOrphans(cutoff, admittedTypes, batchSize);
+                dispatched += claimed;
+                if (claimed < batchSize) {
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.error("The {} orphan sweep failed, remaining jobs will be retried", dispatcher.jobKind(), e);
+        }
+
+        if (dispatched > 0) {
+            log.info("Dispatched {} orphaned {} jobs", dispatched, dispatcher.jobKind());
+        }
+    }
+}
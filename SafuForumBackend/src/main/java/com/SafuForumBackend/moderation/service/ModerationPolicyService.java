@@ -0,0 +1,296 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationPolicyProperties;
+import com.SafuForumBackend.moderation.dto.PolicyThresholdResponse;
+import com.SafuForumBackend.moderation.dto.RethresholdResponse;
+import com.SafuForumBackend.moderation.dto.SetPolicyThresholdRequest;
+import com.SafuForumBackend.moderation.entity.ModerationPolicyThreshold;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationLane;
+import com.SafuForumBackend.moderation.enums.RethresholdStatus;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import com.SafuForumBackend.moderation.repository.ModerationPolicyThresholdRepository;
+import com.SafuForumBackend.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Admin-facing management of the policy thresholds that turn classifier
+ * scores into statuses.
+ *
+ * Completed jobs keep the per-label scores their classifier reported, so a
+ * threshold change re-derives the statuses of every scored job of its content
+ * type from the stored scores instead of classifying the content again. The
+ * pass walks the jobs in id ranges, one transaction per range, each one a
+ * constant number of set-based statements: the jobs, then the images, posts
+ * and comments whose jobs changed, in the completion path's lock order.
+ * Passes run on the application task executor, one at a time per node, and
+ * the latest one's report is kept in memory; passes from different nodes
+ * over one content type are serialized on its threshold rows. A pass stopped
+ * by a shutdown is reported as failed and can simply be started again.
+ *
+ * Jobs decided without a classifier score (pre-filter rules, near-duplicates,
+ * the inline classifier, cached verdicts) keep their status. The verdict
+ * cache of the content type is purged with the change, so content seen again
+ * is classified and thresholded afresh.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ModerationPolicyService {
+
+    private final ModerationPolicyThresholdRepository thresholdRepository;
+    private final ModerationJobRepository moderationJobRepository;
+    private final ModerationPolicyProperties properties;
+    private final ModerationVerdictCache verdictCache;
+    private final ImageModerationStatusService imageModerationStatusService;
+    private final PostModerationStatusService postModerationStatusService;
+    private final CommentModerationStatusService commentModerationStatusService;
+    private final ModerationDispatcher moderationDispatcher;
+    private final AfterCommitExecutor afterCommitExecutor;
+    private final TransactionTemplate transactionTemplate;
+    // Spring Boot's application executor, stopped with the context
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    private final AtomicReference<Run> latestRun = new AtomicReference<>();
+
+    @Transactional(readOnly = true)
+    public List<PolicyThresholdResponse> listThresholds() {
+        return thresholdRepository.findAllByOrderByContentTypeAscLabelAsc().stream()
+                .map(this::toResponse)
+                .toList();
+    }
+
+    /**
+     * Creates or updates the threshold of a label, then starts a pass
+     * re-deriving the statuses of the content type's scored jobs under the
+     * new policy.
+     */
+    public RethresholdResponse setThreshold(SetPolicyThresholdRequest request, User currentUser) {
+        String label = request.getLabel().trim();
+        Run run = claim(request.getContentType(), currentUser);
+        try {
+            run.threshold = transactionTemplate.execute(status -> {
+                thresholdRepository.lockByContentType(request.getContentType().name());
+                ModerationPolicyThreshold saved = thresholdRepository
+                        .findByContentTypeAndLabel(request.getContentType(), label)
+                        .orElseGet(() -> ModerationPolicyThreshold.builder()
+                                .contentType(request.getContentType())
+                                .label(label)
+                                .build());
+                saved.setRejectAt(request.getRejectAt());
+                saved.setUpdatedBy(currentUser);
+                saved = thresholdRepository.save(saved);
+
+                verdictCache.invalidate(request.getContentType());
+                return toResponse(saved);
+            });
+        } catch (RuntimeException e) {
+            run.finish(RethresholdStatus.FAILED, e.getMessage());
+            throw e;
+        }
+        log.info("Policy threshold for {} label '{}' set to {} by userId={}",
+                request.getContentType(), label, request.getRejectAt(), currentUser.getId());
+
+        return launch(run);
+    }
+
+    /**
+     * Deletes a threshold, then starts a pass re-deriving the statuses of the
+     * content type's scored jobs without it. Jobs left with no thresholded
+     * label keep their current status.
+     */
+    public RethresholdResponse deleteThreshold(Long id, User currentUser) {
+        ModerationPolicyThreshold threshold = thresholdRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Policy threshold not found"));
+        Run run = claim(threshold.getContentType(), currentUser);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                thresholdRepository.lockByContentType(threshold.getContentType().name());
+                thresholdRepository.deleteById(id);
+                verdictCache.invalidate(threshold.getContentType());
+            });
+        } catch (RuntimeException e) {
+            run.finish(RethresholdStatus.FAILED, e.getMessage());
+            throw e;
+        }
+        run.threshold = toResponse(threshold);
+        run.thresholdDeleted = true;
+        log.info("Policy threshold for {} label '{}' deleted by userId={}",
+                threshold.getContentType(), threshold.getLabel(), currentUser.getId());
+
+        return launch(run);
+    }
+
+    /**
+     * Starts a pass re-deriving the statuses of the content type's scored jobs
+     * from the current thresholds. Safe to run again, e.g. after a pass
+     * failed: jobs whose status already matches are left alone.
+     */
+    public RethresholdResponse rederive(JobContentType contentType, User currentUser) {
+        return launch(claim(contentType, currentUser));
+    }
+
+    public RethresholdResponse getLatestReport() {
+        Run run = latestRun.get();
+        if (run == null) {
+            throw new RuntimeException("No policy re-threshold has been run");
+        }
+        return run.toReport();
+    }
+
+    /**
+     * Registers a new pass, one at a time, before its threshold change is
+     * saved, so no change is left without a pass re-deriving it.
+     */
+    private Run claim(JobContentType contentType, User currentUser) {
+        Run previous = latestRun.get();
+        Run run = new Run(contentType, currentUser.getId());
+        if ((previous != null && previous.status == RethresholdStatus.RUNNING)
+                || !latestRun.compareAndSet(previous, run)) {
+            throw new RuntimeException("A policy re-threshold is already running");
+        }
+        return run;
+    }
+
+    private RethresholdResponse launch(Run run) {
+        try {
+            applicationTaskExecutor.execute(() -> execute(run));
+        } catch (TaskRejectedException e) {
+            run.finish(RethresholdStatus.FAILED, e.getMessage());
+            throw new RuntimeException("Could not start the policy re-threshold", e);
+        }
+        return run.toReport();
+    }
+
+    private void execute(Run run) {
+        try {
+            ModerationJobRepository.IdRangeView range =
+                    moderationJobRepository.findScoredJobIdRange(run.contentType.name());
+            if (range != null && range.getMaxId() != null) {
+                int batchSize = properties.getRederiveBatchSize();
+                for (long fromId = range.getMinId() - 1; fromId < range.getMaxId(); fromId += batchSize) {
+                    // Stopped between ranges on shutdown; a later pass picks up where this one left off
+                    if (Thread.interrupted()) {
+                        throw new InterruptedException();
+                    }
+                    long from = fromId;
+                    long to = Math.min(fromId + batchSize, range.getMaxId());
+                    transactionTemplate.executeWithoutResult(status -> rederiveRange(run, from, to));
+                }
+            }
+
+            run.finish(RethresholdStatus.COMPLETED, null);
+            log.info("Policy re-threshold finished: {}", run.toReport());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.finish(RethresholdStatus.FAILED, "Interrupted");
+        } catch (Exception e) {
+            log.error("Policy re-threshold of {} jobs failed: {}", run.contentType, e.getMessage(), e);
+            run.finish(RethresholdStatus.FAILED, e.getMessage());
+        }
+    }
+
+    private void rederiveRange(Run run, long fromId, long toId) {
+        thresholdRepository.lockByContentType(run.contentType.name());
+        List<ModerationJobRepository.RederivedJobView> changedJobs =
+                moderationJobRepository.rederiveStatuses(run.contentType.name(), fromId, toId, LocalDateTime.now());
+        if (changedJobs.isEmpty()) {
+            return;
+        }
+
+        // Images, tallies and posts, then comments: the lock order of the completion path
+        int images = imageModerationStatusService.recordPolicyChanges(changedJobs);
+        PostModerationStatusService.PolicyChanges posts = postModerationStatusService.recordPolicyChanges(changedJobs);
+        int comments = commentModerationStatusService.recordPolicyChanges(changedJobs);
+
+        // Counted once the range commits, so a failed pass reports what it applied
+        afterCommitExecutor.run(() -> {
+            run.jobsChanged.addAndGet(changedJobs.size());
+            run.imagesChanged.addAndGet(images);
+            run.postsChanged.addAndGet(posts.settledPosts());
+            run.commentsChanged.addAndGet(comments);
+            run.jobsRequeued.addAndGet(posts.requeuedJobs().size());
+        });
+
+        Map<Long, Set<JobContentType>> requeuedTypes = new TreeMap<>();
+        posts.requeuedJobs().forEach(job -> requeuedTypes
+                .computeIfAbsent(job.getPostId(), postId -> EnumSet.noneOf(JobContentType.class))
+                .add(JobContentType.valueOf(job.getContentType())));
+        if (!requeuedTypes.isEmpty()) {
+            afterCommitExecutor.run(() -> requeuedTypes.forEach(
+                    (postId, types) -> moderationDispatcher.schedule(postId, ModerationLane.low, types)));
+        }
+    }
+
+    private PolicyThresholdResponse toResponse(ModerationPolicyThreshold threshold) {
+        return PolicyThresholdResponse.builder()
+                .id(threshold.getId())
+                .contentType(threshold.getContentType())
+                .label(threshold.getLabel())
+                .rejectAt(threshold.getRejectAt())
+                .createdAt(threshold.getCreatedAt())
+                .updatedAt(threshold.getUpdatedAt())
+                .build();
+    }
+
+    private static final class Run {
+
+        private final JobContentType contentType;
+        private final Long triggeredBy;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile RethresholdStatus status = RethresholdStatus.RUNNING;
+        private volatile String error;
+        private volatile PolicyThresholdResponse threshold;
+        private volatile boolean thresholdDeleted;
+        private final AtomicLong jobsChanged = new AtomicLong();
+        private final AtomicLong postsChanged = new AtomicLong();
+        private final AtomicLong commentsChanged = new AtomicLong();
+        private final AtomicLong imagesChanged = new AtomicLong();
+        private final AtomicLong jobsRequeued = new AtomicLong();
+
+        Run(JobContentType contentType, Long triggeredBy) {
+            this.contentType = contentType;
+            this.triggeredBy = triggeredBy;
+        }
+
+        void finish(RethresholdStatus finalStatus, String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        RethresholdResponse toReport() {
+            return RethresholdResponse.builder()
+                    .status(status)
+                    .contentType(contentType)
+                    .threshold(threshold)
+                    .thresholdDeleted(thresholdDeleted)
+                    .triggeredBy(triggeredBy)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .jobsChanged(jobsChanged.get())
+                    .postsChanged(postsChanged.get())
+                    .commentsChanged(commentsChanged.get())
+                    .imagesChanged(imagesChanged.get())
+                    .jobsRequeued(jobsRequeued.get())
+                    .error(error)
+                    .build();
+        }
+    }
+}
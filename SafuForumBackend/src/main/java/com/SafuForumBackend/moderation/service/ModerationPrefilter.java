@@ -0,0 +1,335 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationPrefilterProperties;
+import com.SafuForumBackend.moderation.entity.ModerationFilterRule;
+import com.SafuForumBackend.moderation.entity.ModerationJobSpec;
+import com.SafuForumBackend.moderation.enums.FilterRuleAction;
+import com.SafuForumBackend.moderation.enums.FilterRuleMatchType;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.repository.ModerationFilterRuleRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Decides obvious rejects and approvals from moderator-managed phrase and
+ * regex rules before any job reaches a classifier.
+ *
+ * Text is normalized (NFKC, lower case, collapsed whitespace) and all phrase
+ * rules are matched in one Aho-Corasick pass; regex rules are then tried in
+ * id order. A block rule matching anywhere rejects the payload and wins over
+ * any allow rule; an allow rule must match the whole payload to approve it.
+ *
+ * Regex matching is bounded by regexTimeout per payload: the text is read
+ * through a view that fails once the deadline has passed, so a backtracking
+ * pattern cannot hold a request thread. A payload whose regexes run out of
+ * time, or of stack on a deeply recursive pattern, gets no verdict and goes to
+ * the classifiers.
+ *
+ * The compiled rule set is swapped atomically. Each node polls the rule table
+ * for changes, so edits take effect everywhere within reloadInterval.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ModerationPrefilter {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+", Pattern.UNICODE_CHARACTER_CLASS);
+    // Inputs a new regex is tried on: each of its literal characters repeated, then a mismatch.
+    // Long enough for polynomial backtracking to exceed the timeout and for deep recursion to overflow
+    private static final int PROBE_LENGTH = 4096;
+    private static final int MAX_PROBES = 16;
+
+    private final ModerationFilterRuleRepository filterRuleRepository;
+    private final ModerationPrefilterProperties properties;
+
+    private final Map<Long, LongAdder> hitsByRule = new ConcurrentHashMap<>();
+    private volatile CompiledRules rules = CompiledRules.EMPTY;
+    private volatile RuleSetVersion loadedVersion;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(
+            initialDelayString = "#{@moderationPrefilterProperties.reloadInterval.toMillis()}",
+            fixedDelayString = "#{@moderationPrefilterProperties.reloadInterval.toMillis()}")
+    public void reloadIfChanged() {
+        try {
+            if (!Objects.equals(currentVersion(), loadedVersion)) {
+                reload();
+            }
+        } catch (RuntimeException e) {
+            log.error("Failed to check moderation filter rules, keeping the loaded set", e);
+        }
+    }
+
+    /**
+     * Recompiles the enabled rules. A rule that no longer compiles is skipped
+     * rather than failing the whole set.
+     */
+    public synchronized void reload() {
+        RuleSetVersion version = currentVersion();
+        List<ModerationFilterRule> enabledRules = filterRuleRepository.findByEnabledTrueOrderById();
+
+        List<CompiledRule> phraseRules = new ArrayList<>();
+        List<String> phrases = new ArrayList<>();
+        List<RegexRule> blockRegexes = new ArrayList<>();
+        List<RegexRule> allowRegexes = new ArrayList<>();
+        for (ModerationFilterRule rule : enabledRules) {
+            CompiledRule compiled = new CompiledRule(rule.getId(), rule.getAction(), rule.getMatchType());
+            try {
+                if (rule.getMatchType() == FilterRuleMatchType.phrase) {
+                    String phrase = normalize(rule.getPattern());
+                    if (!phrase.isEmpty()) {
+                        phraseRules.add(compiled);
+                        phrases.add(phrase);
+                    }
+                } else {
+                    RegexRule regex = new RegexRule(compiled, compileRegex(rule.getPattern()));
+                    (rule.getAction() == FilterRuleAction.block ? blockRegexes : allowRegexes).add(regex);
+                }
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping moderation filter rule {}: {}", rule.getId(), e.getMessage());
+            }
+        }
+
+        rules = new CompiledRules(new AhoCorasickMatcher(phrases), phraseRules, blockRegexes, allowRegexes);
+        loadedVersion = version;
+        log.info("Loaded {} moderation filter rules ({} phrases, {} regexes)",
+                enabledRules.size(), phrases.size(), blockRegexes.size() + allowRegexes.size());
+    }
+
+    /**
+     * Evaluates the text specs against the rules.
+     *
+     * @return verdicts for the specs a rule decided; others are absent
+     */
+    public Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> evaluateAll(List<ModerationJobSpec> specs) {
+        CompiledRules current = rules;
+        if (!properties.isEnabled() || current.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> verdicts = new HashMap<>();
+        for (ModerationJobSpec spec : specs) {
+            if (spec.contentType() != JobContentType.text || verdicts.containsKey(spec)) {
+                continue;
+            }
+            CompiledRule match = evaluate(current, spec.payload());
+            if (match != null) {
+                hitsByRule.computeIfAbsent(match.id(), id -> new LongAdder()).increment();
+                verdicts.put(spec, match.verdict());
+            }
+        }
+        return verdicts;
+    }
+
+    public long hitsFor(Long ruleId) {
+        LongAdder hits = hitsByRule.get(ruleId);
+        return hits == null ? 0 : hits.sum();
+    }
+
+    /**
+     * Checks a rule before it is saved. A regex must compile and must finish
+     * within regexTimeout, without overflowing the stack, on inputs built from
+     * its own literal characters, which catches the usual nested-quantifier
+     * patterns such as (a+)+$ and (a|aa)+$.
+     *
+     * @throws IllegalArgumentException if the pattern could never match or is
+     *                                  too slow to evaluate
+     */
+    public void validate(FilterRuleMatchType matchType, String pattern) {
+        if (matchType == FilterRuleMatchType.phrase) {
+            if (normalize(pattern).isEmpty()) {
+                throw new IllegalArgumentException("Phrase must contain non-whitespace text");
+            }
+            return;
+        }
+
+        Pattern compiled = compileRegex(pattern);
+        for (String probe : probesFor(pattern)) {
+            try {
+                compiled.matcher(new DeadlineCharSequence(probe, deadline())).find();
+            } catch (RegexTimeoutException | StackOverflowError e) {
+                throw new IllegalArgumentException("Regex takes longer than "
+                        + properties.getRegexTimeout().toMillis() + " ms on repetitive input; simplify its quantifiers");
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        return WHITESPACE.matcher(folded).replaceAll(" ").strip();
+    }
+
+    private CompiledRule evaluate(CompiledRules current, String payload) {
+        String text = normalize(payload);
+        CompiledRule[] block = new CompiledRule[1];
+        CompiledRule[] allow = new CompiledRule[1];
+        current.phrases().scan(text, (index, start, end) -> {
+            CompiledRule rule = current.phraseRules().get(index);
+            if (rule.action() == FilterRuleAction.block) {
+                block[0] = rule;
+                return false;
+            }
+            if (allow[0] == null && start == 0 && end == text.length()) {
+                allow[0] = rule;
+            }
+            return true;
+        });
+        if (block[0] != null) {
+            return block[0];
+        }
+
+        RegexRule running = null;
+        try {
+            DeadlineCharSequence bounded = new DeadlineCharSequence(text, deadline());
+            for (RegexRule regex : current.blockRegexes()) {
+                running = regex;
+                if (regex.pattern().matcher(bounded).find()) {
+                    return regex.rule();
+                }
+            }
+            if (allow[0] != null) {
+                return allow[0];
+            }
+            for (RegexRule regex : current.allowRegexes()) {
+                running = regex;
+                if (regex.pattern().matcher(bounded).matches()) {
+                    return regex.rule();
+                }
+            }
+        } catch (RegexTimeoutException | StackOverflowError e) {
+            log.warn("Moderation filter regexes gave up at rule {} on a {} char payload ({}); left to the classifiers",
+                    running.rule().id(), text.length(),
+                    e instanceof StackOverflowError ? "stack overflow" : "out of time");
+        }
+        return null;
+    }
+
+    private long deadline() {
+        return System.nanoTime() + properties.getRegexTimeout().toNanos();
+    }
+
+    private static List<String> probesFor(String pattern) {
+        List<String> probes = new ArrayList<>();
+        pattern.chars()
+                .filter(Character::isLetterOrDigit)
+                .distinct()
+                .limit(MAX_PROBES)
+                .forEach(c -> probes.add(Character.toString(c).repeat(PROBE_LENGTH) + "\u0000"));
+        probes.add(" ".repeat(PROBE_LENGTH) + "\u0000");
+        return probes;
+    }
+
+    private RuleSetVersion currentVersion() {
+        ModerationFilterRuleRepository.RuleSetVersion version = filterRuleRepository.findRuleSetVersion();
+        return new RuleSetVersion(version.getRuleCount(), version.getLastUpdatedAt());
+    }
+
+    private static Pattern compileRegex(String pattern) {
+        try {
+            return Pattern.compile(pattern, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("Invalid regex: " + e.getDescription(), e);
+        }
+    }
+
+    private record CompiledRule(Long id, FilterRuleAction action, FilterRuleMatchType matchType) {
+
+        ModerationVerdictCache.CachedVerdict verdict() {
+            boolean blocked = action == FilterRuleAction.block;
+            return new ModerationVerdictCache.CachedVerdict(
+                    blocked ? ModerationStatus.rejected : ModerationStatus.approved,
+                    "prefilter: " + (blocked ? "blocked" : "allowed") + " by " + matchType + " rule #" + id);
+        }
+    }
+
+    private record RegexRule(CompiledRule rule, Pattern pattern) {
+    }
+
+    /**
+     * Text view that throws once its deadline has passed. The clock is read
+     * every 1024 character reads, which a backtracking regex hits constantly
+     * while a linear scan pays almost nothing for it.
+     */
+    private static final class DeadlineCharSequence implements CharSequence {
+
+        private final CharSequence text;
+        private final long deadlineNanos;
+        private int reads;
+
+        DeadlineCharSequence(CharSequence text, long deadlineNanos) {
+            this.text = text;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        @Override
+        public char charAt(int index) {
+            if ((++reads & 1023) == 0 && System.nanoTime() - deadlineNanos > 0) {
+                throw new RegexTimeoutException();
+            }
+            return text.charAt(index);
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.subSequence(start, end), deadlineNanos);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
+        }
+    }
+
+    private static final class RegexTimeoutException extends RuntimeException {
+
+        RegexTimeoutException() {
+            super(null, null, false, false);
+        }
+    }
+
+    private record CompiledRules(
+            AhoCorasickMatcher phrases,
+            List<CompiledRule> phraseRules,
+            List<RegexRule> blockRegexes,
+            List<RegexRule> allowRegexes) {
+
+        static final CompiledRules EMPTY = new CompiledRules(new AhoCorasickMatcher(List.of()), List.of(),
+                List.of(), List.of());
+
+        boolean isEmpty() {
+            return phraseRules.isEmpty() && blockRegexes.isEmpty() && allowRegexes.isEmpty();
+        }
+    }
+
+    private record RuleSetVersion(Long ruleCount, java.time.LocalDateTime lastUpdatedAt) {
+    }
+}
@@ -1,17 +1,13 @@
 package com.SafuForumBackend.moderation.service;
 
 import com.SafuForumBackend.moderation.config.ModerationOrchestratorProperties;
-import com.SafuForumBackend.moderation.entity.ModerationJob;
-import com.SafuForumBackend.moderation.enums.ModerationStatus;
 import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
-import com.SafuForumBackend.post.entity.Post;
-import com.SafuForumBackend.post.repository.PostRepository;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,48 +18,56 @@ import java.util.List;
 public class ModerationTimeoutScheduler {
 
     private final ModerationJobRepository moderationJobRepository;
-    private final PostRepository postRepository;
+    private final PostModerationStatusService postModerationStatusService;
+    private final CommentModerationStatusService commentModerationStatusService;
+    private final ImageModerationStatusService imageModerationStatusService;
     private final ModerationOrchestratorProperties properties;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Scheduled task that fails moderation jobs that have timed out.
      * 
-     * Runs at a fixed delay defined by the timeoutCheckInterval property.
+     * Backstop for ModerationDeadlineTracker, catching jobs whose deadline no
+     * node is tracking, so it uses a longer timeout and interval. Jobs that
+     * were never dispatched are only failed after the undispatched timeout.
      * 
-     * Transactional to ensure database operations are atomic.
+     * Runs at a fixed delay defined by the timeoutCheckInterval property. Works
+     * in chunks, each in its own transaction, so a large backlog never sits in
+     * one transaction. Every node runs the sweep; chunks skip rows another node
+     * has locked, so nodes fail disjoint sets of jobs.
      */
     @Scheduled(fixedDelayString = "#{@moderationOrchestratorProperties.timeoutCheckInterval.toMillis()}")
-    @Transactional
     public void failAllTimedOutJobs() {
-        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getJobTimeout());
-        List<ModerationJob> timedOutJobs = moderationJobRepository
-                .findByStatusAndCreatedAtBefore(ModerationStatus.pending, cutoff);
-        if (timedOutJobs.isEmpty()) {
-            return;
-        }
-
         LocalDateTime now = LocalDateTime.now();
-        for (ModerationJob job : timedOutJobs) {
-            Post post = job.getPost();
-            Integer currentPostVersion = post.getVersion();
-
-            job.setStatus(ModerationStatus.failed);
-            job.setUpdatedAt(now);
-
-            if (currentPostVersion != null && !currentPostVersion.equals(job.getPostVersion())) {
-                job.setErrorMessage("Superseded by post version " + currentPostVersion);
-                continue;
+        LocalDateTime cutoff = now.minus(properties.getJobTimeout());
+        LocalDateTime undispatchedCutoff = now.minus(properties.getUndispatchedJobTimeout());
+        int totalFailed = 0;
+        try {
+            for (int i = 0; i < properties.getMaxTimeoutSweepBatches(); i++) {
+                Integer failed = transactionTemplate.execute(status -> failTimedOutBatch(cutoff, undispatchedCutoff));
+                if (failed == null) {
+                    break;
+                }
+                totalFailed += failed;
+                if (failed < properties.getTimeoutSweepBatchSize()) {
+                    break;
+                }
             }
+        } catch (RuntimeException e) {
+            log.error("Moderation timeout sweep failed, remaining jobs will be retried", e);
+        }
 
-            job.setErrorMessage("Timed out waiting for moderation completion");
-            if (post.getStatus() == ModerationStatus.pending) {
-                post.setStatus(ModerationStatus.failed);
-                post.setUpdatedAt(now);
-                postRepository.save(post);
-            }
+        if (totalFailed > 0) {
+            log.warn("Marked {} moderation jobs as failed due to timeout", totalFailed);
         }
+    }
 
-        moderationJobRepository.saveAll(timedOutJobs);
-        log.warn("Marked {} moderation jobs as failed due to timeout", timedOutJobs.size());
+    private int failTimedOutBatch(LocalDateTime cutoff, LocalDateTime undispatchedCutoff) {
+        List<ModerationJobRepository.TimedOutJobView> timedOutJobs = moderationJobRepository.failTimedOutJobs(
+                cutoff, undispatchedCutoff, properties.getTimeoutSweepBatchSize(), LocalDateTime.now());
+        postModerationStatusService.recordTimeouts(timedOutJobs);
+        commentModerationStatusService.recordTimeouts(timedOutJobs);
+        imageModerationStatusService.recordTimeouts(timedOutJobs);
+        return timedOutJobs.size();
     }
 }
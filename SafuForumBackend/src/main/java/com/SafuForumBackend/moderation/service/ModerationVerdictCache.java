@@ -0,0 +1,202 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationVerdictCacheProperties;
+import com.SafuForumBackend.moderation.dto.VerdictCacheStatsResponse;
+import com.SafuForumBackend.moderation.entity.ModerationJobSpec;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import com.SafuForumBackend.moderation.repository.ModerationVerdictCacheRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Verdict cache keyed by (content type, SHA-256 of the normalized payload,
+ * classifier model version). Only final approved/rejected verdicts are cached;
+ * failures are always retried through the classifiers.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ModerationVerdictCache {
+
+    private final ModerationVerdictCacheRepository verdictCacheRepository;
+    private final ModerationVerdictCacheProperties properties;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public String modelVersionFor(JobContentType contentType) {
+        return properties.modelVersionFor(contentType);
+    }
+
+    /**
+     * Looks up cached verdicts for the given specs.
+     *
+     * @return verdicts keyed by (content type, hash); specs without a hash or
+     *         without a live entry are absent
+     */
+    @Transactional(readOnly = true)
+    public Map<VerdictKey, CachedVerdict> lookup(List<ModerationJobSpec> specs) {
+        if (!properties.isEnabled() || specs.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<JobContentType, Set<String>> hashesByType = specs.stream()
+                .filter(spec -> spec.contentSha256() != null)
+                .collect(Collectors.groupingBy(ModerationJobSpec::contentType,
+                        Collectors.mapping(ModerationJobSpec::contentSha256, Collectors.toSet())));
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<VerdictKey, CachedVerdict> verdicts = new HashMap<>();
+        hashesByType.forEach((contentType, hashes) -> verdictCacheRepository
+                .findLiveVerdicts(contentType.name(), modelVersionFor(contentType), hashes, now)
+                .forEach(view -> verdicts.put(
+                        new VerdictKey(contentType, view.getContentSha256()),
+                        new CachedVerdict(ModerationStatus.valueOf(view.getStatus()), view.getReason()))));
+
+        long hitCount = specs.stream()
+                .filter(spec -> verdicts.containsKey(VerdictKey.of(spec)))
+                .count();
+        hits.add(hitCount);
+        misses.add(specs.size() - hitCount);
+        return verdicts;
+    }
+
+    /**
+     * Caches the verdicts classifiers returned for completed jobs, keeping only
+     * those that are final and were produced by the currently configured model
+     * version.
+     */
+    @Transactional
+    public void recordAll(List<ModerationJobRepository.CompletedJobView> completedJobs) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Map<VerdictKey, ModerationJobRepository.CompletedJobView> verdicts = new LinkedHashMap<>();
+        for (ModerationJobRepository.CompletedJobView job : completedJobs) {
+            JobContentType contentType = JobContentType.valueOf(job.getContentType());
+            ModerationStatus status = ModerationStatus.valueOf(job.getStatus());
+            if (job.getContentSha256() == null) {
+                continue;
+            }
+            if (status != ModerationStatus.approved && status != ModerationStatus.rejected) {
+                continue;
+            }
+            if (!Objects.equals(job.getModelVersion(), modelVersionFor(contentType))) {
+                continue;
+            }
+            verdicts.putIfAbsent(new VerdictKey(contentType, job.getContentSha256()), job);
+        }
+        if (verdicts.isEmpty()) {
+            return;
+        }
+
+        List<ModerationJobRepository.CompletedJobView> rows = List.copyOf(verdicts.values());
+        LocalDateTime now = LocalDateTime.now();
+        verdictCacheRepository.upsertAll(
+                rows.stream().map(ModerationJobRepository.CompletedJobView::getContentType).toArray(String[]::new),
+                rows.stream().map(ModerationJobRepository.CompletedJobView::getContentSha256).toArray(String[]::new),
+                rows.stream().map(ModerationJobRepository.CompletedJobView::getModelVersion).toArray(String[]::new),
+                rows.stream().map(ModerationJobRepository.CompletedJobView::getStatus).toArray(String[]::new),
+                rows.stream().map(ModerationJobRepository.CompletedJobView::getReason).toArray(String[]::new),
+                now,
+                now.plus(properties.getTtl()));
+    }
+
+    /**
+     * Caches verdicts produced in process by the current model version, such as
+     * those of the inline text classifier.
+     */
+    @Transactional
+    public void recordVerdicts(Map<VerdictKey, CachedVerdict> verdicts) {
+        if (!properties.isEnabled() || verdicts.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<VerdictKey, CachedVerdict>> rows = List.copyOf(verdicts.entrySet());
+        LocalDateTime now = LocalDateTime.now();
+        verdictCacheRepository.upsertAll(
+                rows.stream().map(row -> row.getKey().contentType().name()).toArray(String[]::new),
+                rows.stream().map(row -> row.getKey().contentSha256()).toArray(String[]::new),
+                rows.stream().map(row -> modelVersionFor(row.getKey().contentType())).toArray(String[]::new),
+                rows.stream().map(row -> row.getValue().status().name()).toArray(String[]::new),
+                rows.stream().map(row -> row.getValue().reason()).toArray(String[]::new),
+                now,
+                now.plus(properties.getTtl()));
+    }
+
+    @Scheduled(fixedDelayString = "#{@moderationVerdictCacheProperties.purgeInterval.toMillis()}")
+    @Transactional
+    public void purgeStaleEntries() {
+        int purged = verdictCacheRepository.purgeStale(
+                LocalDateTime.now(),
+                properties.getTextModelVersion(),
+                properties.getImageModelVersion());
+        if (purged > 0) {
+            log.info("Purged {} expired or outdated moderation verdict cache entries", purged);
+        }
+    }
+
+    /**
+     * Drops the cached verdicts of a content type, e.g. after its policy
+     * thresholds changed, so its content is classified and thresholded again.
+     */
+    @Transactional
+    public void invalidate(JobContentType contentType) {
+        int purged = verdictCacheRepository.deleteByContentType(contentType.name());
+        log.info("Purged {} cached {} moderation verdicts", purged, contentType);
+    }
+
+    @Transactional(readOnly = true)
+    public VerdictCacheStatsResponse getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return VerdictCacheStatsResponse.builder()
+                .enabled(properties.isEnabled())
+                .hits(hitCount)
+                .misses(missCount)
+                .hitRate(lookups == 0 ? 0.0 : (double) hitCount / lookups)
+                .entries(verdictCacheRepository.count())
+                .textModelVersion(properties.getTextModelVersion())
+                .imageModelVersion(properties.getImageModelVersion())
+                .build();
+    }
+
+    public record VerdictKey(JobContentType contentType, String contentSha256) {
+
+        public static VerdictKey of(ModerationJobSpec spec) {
+            return new VerdictKey(spec.contentType(), spec.contentSha256());
+        }
+    }
+
+    /**
+     * @param reportedStatus The classifier's own status, before the policy
+     *                       thresholds; null when there are no scores.
+     * @param scores         Per-label scores behind the verdict, stored on the
+     *                       job so it follows threshold changes; null when
+     *                       there are none.
+     */
+    public record CachedVerdict(ModerationStatus status, String reason, ModerationStatus reportedStatus,
+            Map<String, Double> scores) {
+
+        public CachedVerdict(ModerationStatus status, String reason) {
+            this(status, reason, null, null);
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.comment.entity.Comment;
+import com.SafuForumBackend.moderation.config.ModerationNearDuplicateProperties;
+import com.SafuForumBackend.moderation.enums.ModerationTargetType;
+import com.SafuForumBackend.moderation.repository.ContentSignatureRepository;
+import com.SafuForumBackend.post.entity.Post;
+import com.SafuForumBackend.tag.entity.Tag;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Recognises posts that are near-duplicates of recently rejected content.
+ *
+ * Every post and comment version gets a SimHash of its body and a MinHash of
+ * its tags, stored in content_signatures. Signatures of rejected post and
+ * comment versions are kept in an in-memory band index for the configured
+ * window; each node adds its own rejections on commit and polls the table for
+ * the others'.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class NearDuplicateDetector {
+
+    private final ContentSignatureRepository signatureRepository;
+    private final ModerationNearDuplicateProperties properties;
+    private final AfterCommitExecutor afterCommitExecutor;
+
+    private SimHashBandIndex<RejectedSignature> index;
+    private volatile LocalDateTime lastRefreshedAt;
+
+    public record Signature(long bodySimHash, byte[] tagMinHash) {
+    }
+
+    /**
+     * @param signatureId The rejected signature's row id.
+     */
+    public record Match(long signatureId, ModerationTargetType subjectType, Long subjectId, int distance,
+            double tagSimilarity) {
+
+        public String describe() {
+            return String.format(Locale.ROOT,
+                    "near-duplicate of rejected %s #%d (simhash distance %d, tag similarity %.2f)",
+                    subjectType, subjectId, distance, tagSimilarity);
+        }
+    }
+
+    /**
+     * @param signature     Null if the body is too short to sign.
+     * @param match         The closest rejected near-duplicate, or null.
+     * @param shortCircuits Whether the match is close enough to reject without
+     *                      a classifier.
+     */
+    public record PostCheck(Signature signature, Match match, boolean shortCircuits) {
+
+        static final PostCheck NONE = new PostCheck(null, null, false);
+
+        public boolean prioritizes() {
+            return match != null && !shortCircuits;
+        }
+    }
+
+    private record RejectedSignature(ModerationTargetType subjectType, Long subjectId, byte[] tagMinHash,
+            LocalDateTime rejectedAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        index = new SimHashBandIndex<>(properties.getMaxHammingDistance(), properties.getMaxEntries());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        if (properties.isEnabled()) {
+            refresh();
+        }
+    }
+
+    /**
+     * Loads rejections recorded since the last refresh, by this or any other
+     * node, and drops those older than the window.
+     */
+    @Scheduled(
+            initialDelayString = "#{@moderationNearDuplicateProperties.refreshInterval.toMillis()}",
+            fixedDelayString = "#{@moderationNearDuplicateProperties.refreshInterval.toMillis()}")
+    public void refresh() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowStart = now.minus(properties.getWindow());
+        // Overlaps the previous refresh, as rows committed late may carry an earlier rejected_at
+        LocalDateTime since = lastRefreshedAt == null
+                ? windowStart
+                : lastRefreshedAt.minus(properties.getRefreshInterval().multipliedBy(2));
+        if (since.isBefore(windowStart)) {
+            since = windowStart;
+        }
+
+        try {
+            List<ContentSignatureRepository.RejectedSignatureView> rows =
+                    signatureRepository.findRejectedSince(since, properties.getMaxEntries());
+            // Oldest first, so the index evicts the oldest rejections when full
+            rows.reversed().forEach(this::addToIndex);
+            index.removeIf(signature -> signature.rejectedAt().isBefore(windowStart));
+            lastRefreshedAt = now;
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh the near-duplicate index", e);
+        }
+    }
+
+    /**
+     * Signs the post's current version and looks for a rejected near-duplicate
+     * among other posts and comments.
+     */
+    public PostCheck checkPost(Post post) {
+        if (!properties.isEnabled()) {
+            return PostCheck.NONE;
+        }
+
+        Long bodySimHash = ContentSignatures.bodySimHash(post.getContent(), properties.getMinTokens());
+        if (bodySimHash == null) {
+            return PostCheck.NONE;
+        }
+        byte[] tagMinHash = ContentSignatures.tagMinHash(post.getTags() == null ? List.of()
+                : post.getTags().stream().map(Tag::getName).filter(Objects::nonNull).toList());
+        Signature signature = new Signature(bodySimHash, tagMinHash);
+
+        Match closest = null;
+        for (SimHashBandIndex.Match<RejectedSignature> candidate : index.findWithin(bodySimHash)) {
+            RejectedSignature rejected = candidate.value();
+            // A post's own earlier version is left to the classifiers, so a small fix can pass
+            if (rejected.subjectType() == ModerationTargetType.post && rejected.subjectId().equals(post.getId())) {
+                continue;
+            }
+
+            double tagSimilarity = ContentSignatures.tagSimilarity(tagMinHash, rejected.tagMinHash());
+            Match match = new Match(candidate.id(), rejected.subjectType(), rejected.subjectId(),
+                    candidate.distance(), tagSimilarity);
+            if (tagSimilarity >= properties.getMinTagSimilarity()) {
+                return new PostCheck(signature, match, properties.isShortCircuit());
+            }
+            if (closest == null) {
+                closest = match;
+            }
+        }
+        return new PostCheck(signature, closest, false);
+    }
+
+    /**
+     * Stores the signatures of the post's current version.
+     *
+     * @param rejectedAsDuplicate Whether the version was rejected because of
+     *                            the check's match.
+     */
+    @Transactional
+    public void recordPost(Post post, PostCheck check, boolean rejectedAsDuplicate) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Signature signature = check.signature();
+        if (signature == null) {
+            signatureRepository.deleteBySubject(ModerationTargetType.post.name(), post.getId());
+            return;
+        }
+        signatureRepository.upsert(ModerationTargetType.post.name(), post.getId(), post.getVersion(),
+                signature.bodySimHash(), signature.tagMinHash(),
+                rejectedAsDuplicate ? check.match().signatureId() : null, LocalDateTime.now());
+    }
+
+    /**
+     * Stores the signature of the comment's current version.
+     */
+    @Transactional
+    public void recordComment(Comment comment) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+
+        Long bodySimHash = ContentSignatures.bodySimHash(comment.getContent(), properties.getMinTokens());
+        if (bodySimHash == null) {
+            signatureRepository.deleteBySubject(ModerationTargetType.comment.name(), comment.getId());
+            return;
+        }
+        signatureRepository.upsert(ModerationTargetType.comment.name(), comment.getId(), comment.getVersion(),
+                bodySimHash, ContentSignatures.tagMinHash(List.of()), null, LocalDateTime.now());
+    }
+
+    /**
+     * Marks the signatures of rejected post versions (parallel lists) and adds
+     * them to the index once the transaction commits.
+     */
+    @Transactional
+    public void recordRejectedPostVersions(List<Long> postIds, List<Integer> postVersions) {
+        recordRejectedVersions(ModerationTargetType.post, postIds, postVersions);
+    }
+
+    /**
+     * Marks the signatures of rejected comment versions (parallel lists) and
+     * adds them to the index once the transaction commits.
+     */
+    @Transactional
+    public void recordRejectedCommentVersions(List<Long> commentIds, List<Integer> commentVersions) {
+        recordRejectedVersions(ModerationTargetType.comment, commentIds, commentVersions);
+    }
+
+    private void recordRejectedVersions(ModerationTargetType subjectType, List<Long> subjectIds,
+            List<Integer> subjectVersions) {
+        if (!properties.isEnabled() || subjectIds.isEmpty()) {
+            return;
+        }
+
+        List<ContentSignatureRepository.RejectedSignatureView> rejected = signatureRepository.markVersionsRejected(
+                subjectType.name(), subjectIds.toArray(Long[]::new), subjectVersions.toArray(Integer[]::new),
+                LocalDateTime.now());
+        if (!rejected.isEmpty()) {
+            afterCommitExecutor.run(() -> rejected.forEach(this::addToIndex));
+        }
+    }
+
+    private void addToIndex(ContentSignatureRepository.RejectedSignatureView row) {
+        index.put(row.getId(), row.getBodySimhash(), new RejectedSignature(
+                ModerationTargetType.valueOf(row.getSubjectType()), row.getSubjectId(), row.getTagMinhash(),
+                row.getRejectedAt()));
+    }
+}
@@ -0,0 +1,31 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.enums.JobContentType;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * A dispatcher that can leave jobs undispatched: its in-memory state is lost
+ * with a restarted node, a lane may be held back by the admission gate, and a
+ * failed publish releases its claim. {@link ModerationOrphanSweeper} hands
+ * such jobs back to it.
+ */
+public interface OrphanedJobDispatcher {
+
+    /**
+     * Names the jobs in the sweep's log lines, e.g. "comment moderation".
+     */
+    String jobKind();
+
+    /**
+     * Claims up to batchSize of this dispatcher's undispatched jobs created
+     * before the cutoff, and publishes them in the low lane.
+     *
+     * @param admittedTypes The content types the admission gate admits in the
+     *                      low lane; never empty.
+     * @return the number of jobs claimed, fewer than batchSize once none are
+     *         left
+     */
+    int dispatchOrphans(LocalDateTime cutoff, Set<JobContentType> admittedTypes, int batchSize);
+}
@@ -1,31 +1,65 @@
 package com.SafuForumBackend.moderation.service;
 
+import com.SafuForumBackend.image.entity.Image;
+import com.SafuForumBackend.image.repository.ImageRepository;
 import com.SafuForumBackend.moderation.entity.ModerationJobSpec;
 import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
 import com.SafuForumBackend.post.entity.Post;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 @Component
+@RequiredArgsConstructor
 public class PostModerationJobFactory {
 
+    // Source field of the post body's job
+    public static final String CONTENT_FIELD = "content";
+
+    private final ImageRepository imageRepository;
+    private final ModerationVerdictCache verdictCache;
+
+    /**
+     * Upload-time moderation of a post's images, keyed by their jobs' source
+     * fields.
+     *
+     * @param verdicts     Images decided by the current image model.
+     * @param verdictJobs  The upload jobs those verdicts come from.
+     * @param awaited      Images whose moderation is still in flight.
+     */
+    public record PreModeratedImages(Map<String, ModerationVerdictCache.CachedVerdict> verdicts,
+            Map<String, Long> verdictJobs, Set<String> awaited) {
+
+        static final PreModeratedImages NONE = new PreModeratedImages(Map.of(), Map.of(), Set.of());
+    }
+
+    public static String imageSourceField(Long imageId) {
+        return "image:" + imageId;
+    }
+
     public List<ModerationJobSpec> buildJobs(Post post) {
         List<ModerationJobSpec> jobs = new ArrayList<>();
 
         if (post.getTitle() != null && !post.getTitle().isBlank()) {
-            jobs.add(new ModerationJobSpec("title", JobContentType.text, post.getTitle()));
+            jobs.add(textJob("title", post.getTitle()));
         }
 
         if (post.getContent() != null && !post.getContent().isBlank()) {
-            jobs.add(new ModerationJobSpec("content", JobContentType.text, post.getContent()));
+            jobs.add(textJob(CONTENT_FIELD, post.getContent()));
         }
 
         if (post.getTags() != null && !post.getTags().isEmpty()) {
             post.getTags().forEach(tag -> {
                 if (tag.getName() != null && !tag.getName().isBlank()) {
-                    jobs.add(new ModerationJobSpec("tag:" + tag.getName(), JobContentType.text, tag.getName()));
+                    jobs.add(textJob("tag:" + tag.getName(), tag.getName()));
                 }
             });
         }
@@ -33,12 +67,60 @@ public class PostModerationJobFactory {
         if (post.getImages() != null && !post.getImages().isEmpty()) {
             post.getImages().forEach(image -> {
                 if (image.getSeaweedfsUrl() != null && !image.getSeaweedfsUrl().isBlank()) {
-                    jobs.add(new ModerationJobSpec("image:" + image.getId(), JobContentType.image,
-                            image.getSeaweedfsUrl()));
+                    jobs.add(new ModerationJobSpec(imageSourceField(image.getId()), JobContentType.image,
+                            image.getSeaweedfsUrl(), image.getContentSha256()));
                 }
             });
         }
 
         return jobs;
     }
+
+    /**
+     * Looks up how the post's images fared when they were uploaded, so their
+     * jobs reuse that verdict, or wait for it, instead of classifying the
+     * images again. The image rows stay share-locked until the transaction
+     * ends, so a verdict landing meanwhile is stored only once the post's jobs
+     * are committed, and then completes the waiting ones.
+     */
+    public PreModeratedImages findPreModeratedImages(Post post) {
+        if (post.getImages() == null || post.getImages().isEmpty()) {
+            return PreModeratedImages.NONE;
+        }
+
+        Long[] imageIds = post.getImages().stream()
+                .map(Image::getId)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toArray(Long[]::new);
+        String modelVersion = verdictCache.modelVersionFor(JobContentType.image);
+
+        Map<String, ModerationVerdictCache.CachedVerdict> verdicts = new HashMap<>();
+        Map<String, Long> verdictJobs = new HashMap<>();
+        Set<String> awaited = new HashSet<>();
+        for (ImageRepository.ModerationStateView image : imageRepository.lockModerationStates(imageIds)) {
+            // A verdict from an older model is not reused, as for carried-forward fields
+            if (image.getModerationStatus() == null
+                    || !Objects.equals(image.getModerationModelVersion(), modelVersion)) {
+                continue;
+            }
+
+            ModerationStatus status = ModerationStatus.valueOf(image.getModerationStatus());
+            String sourceField = imageSourceField(image.getId());
+            if (status == ModerationStatus.approved || status == ModerationStatus.rejected) {
+                verdicts.put(sourceField,
+                        new ModerationVerdictCache.CachedVerdict(status, image.getModerationReason()));
+                if (image.getModerationJobId() != null) {
+                    verdictJobs.put(sourceField, image.getModerationJobId());
+                }
+            } else if (status == ModerationStatus.pending) {
+                awaited.add(sourceField);
+            }
+        }
+        return new PreModeratedImages(verdicts, verdictJobs, awaited);
+    }
+
+    private ModerationJobSpec textJob(String sourceField, String text) {
+        return new ModerationJobSpec(sourceField, JobContentType.text, text, ContentHashes.normalizedTextSha256(text));
+    }
 }
@@ -0,0 +1,292 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.entity.ModerationJob;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import com.SafuForumBackend.moderation.repository.ModerationJobTallyRepository;
+import com.SafuForumBackend.post.entity.Post;
+import com.SafuForumBackend.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Rolls the statuses of a post version's moderation jobs up into the post's
+ * own status once none of them are pending.
+ * 
+ * Works from the per-version counters in moderation_job_tallies, so each
+ * completion costs a constant number of statements regardless of how many
+ * jobs the post has.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostModerationStatusService {
+
+    private final ModerationJobTallyRepository moderationJobTallyRepository;
+    private final ModerationJobRepository moderationJobRepository;
+    private final PostRepository postRepository;
+    private final NearDuplicateDetector nearDuplicateDetector;
+
+    /**
+     * Adds newly created jobs to their version's tally, settling the post
+     * straight away if none of the jobs (old or new) are pending.
+     * 
+     * @param post The post the jobs belong to, at the jobs' version.
+     * @param jobs The jobs just saved for the post's current version.
+     */
+    @Transactional
+    public void registerJobs(Post post, List<ModerationJob> jobs) {
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        int pending = countWithStatus(jobs, ModerationStatus.pending);
+        int rejected = countWithStatus(jobs, ModerationStatus.rejected);
+        int failed = countWithStatus(jobs, ModerationStatus.failed);
+        int cancelled = countWithStatus(jobs, ModerationStatus.cancelled);
+        ModerationJobTallyRepository.TallyView tally = moderationJobTallyRepository.addJobs(
+                post.getId(), post.getVersion(), jobs.size(), pending, rejected, failed, cancelled);
+
+        ModerationStatus status = aggregateStatus(tally);
+        if (status == ModerationStatus.pending) {
+            return;
+        }
+
+        postRepository.updateStatusIfCurrent(post.getId(), post.getVersion(), ModerationStatus.pending, status);
+        post.setStatus(status);
+        if (status == ModerationStatus.rejected) {
+            recordRejectedContent(List.of(new PostVersionKey(post.getId(), post.getVersion())));
+        }
+    }
+
+    /**
+     * Records a batch of classifier completions, and the sibling jobs cancelled
+     * because of them, grouped per post version, and settles every post whose
+     * last pending job is among them. Comment jobs in the batch are ignored.
+     */
+    @Transactional
+    public void recordCompletions(List<ModerationJobRepository.CompletedJobView> completedJobs,
+            List<ModerationJobRepository.CancelledJobView> cancelledJobs) {
+        if (completedJobs.isEmpty() && cancelledJobs.isEmpty()) {
+            return;
+        }
+
+        // Sorted so tally rows are always locked in the same order
+        Map<PostVersionKey, int[]> countsByVersion = new TreeMap<>();
+        for (ModerationJobRepository.CompletedJobView job : completedJobs) {
+            if (job.getPostId() == null) {
+                continue;
+            }
+            int[] counts = countsByVersion.computeIfAbsent(
+                    new PostVersionKey(job.getPostId(), job.getPostVersion()), key -> new int[4]);
+            counts[0]++;
+            if (ModerationStatus.rejected.name().equals(job.getStatus())) {
+                counts[1]++;
+            } else if (ModerationStatus.failed.name().equals(job.getStatus())) {
+                counts[2]++;
+            }
+        }
+        for (ModerationJobRepository.CancelledJobView job : cancelledJobs) {
+            int[] counts = countsByVersion.computeIfAbsent(
+                    new PostVersionKey(job.getPostId(), job.getPostVersion()), key -> new int[4]);
+            counts[0]++;
+            counts[3]++;
+        }
+
+        List<ModerationJobTallyRepository.SettledPostView> settled = applyTallyDeltas(countsByVersion);
+        settled.forEach(post -> log.info("Post {} version {} moderated as {}",
+                post.getPostId(), post.getPostVersion(), post.getStatus()));
+
+        recordRejectedContent(settled.stream()
+                .filter(post -> ModerationStatus.rejected.name().equals(post.getStatus()))
+                .map(post -> new PostVersionKey(post.getPostId(), post.getPostVersion()))
+                .toList());
+    }
+
+    /**
+     * Records jobs failed by the timeout sweeper. Posts whose current version
+     * timed out are failed straight away rather than waiting for their
+     * remaining jobs. Comment jobs in the list are ignored.
+     */
+    @Transactional
+    public void recordTimeouts(List<ModerationJobRepository.TimedOutJobView> timedOutJobs) {
+        if (timedOutJobs.isEmpty()) {
+            return;
+        }
+
+        Map<PostVersionKey, int[]> countsByVersion = new TreeMap<>();
+        Set<PostVersionKey> currentVersions = new TreeSet<>();
+        for (ModerationJobRepository.TimedOutJobView job : timedOutJobs) {
+            if (job.getPostId() == null) {
+                continue;
+            }
+            PostVersionKey key = new PostVersionKey(job.getPostId(), job.getPostVersion());
+            int[] counts = countsByVersion.computeIfAbsent(key, k -> new int[4]);
+            counts[0]++;
+            counts[2]++;
+            if (Boolean.TRUE.equals(job.getCurrentVersion())) {
+                currentVersions.add(key);
+            }
+        }
+
+        // Tallies before posts, the same lock order as the completion path
+        applyTallyDeltas(countsByVersion);
+        if (!currentVersions.isEmpty()) {
+            postRepository.failPendingVersions(
+                    currentVersions.stream().map(PostVersionKey::postId).toArray(Long[]::new),
+                    currentVersions.stream().map(PostVersionKey::postVersion).toArray(Integer[]::new),
+                    LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Outcome of a re-threshold pass for the posts it touched.
+     *
+     * @param settledPosts Posts whose status changed.
+     * @param requeuedJobs Cancelled jobs queued again, to dispatch once the
+     *                     transaction commits.
+     */
+    public record PolicyChanges(int settledPosts, List<ModerationJobRepository.RequeuedJobView> requeuedJobs) {
+
+        static final PolicyChanges NONE = new PolicyChanges(0, List.of());
+    }
+
+    /**
+     * Applies the job status changes of a re-threshold pass to their post
+     * versions. Current versions left with no rejected or failed job get the
+     * jobs their rejection cancelled queued again, since those were never
+     * classified, and posts already settled are settled again from their
+     * tallies. Posts still waiting for jobs are left to the completion path.
+     */
+    @Transactional
+    public PolicyChanges recordPolicyChanges(List<ModerationJobRepository.RederivedJobView> changedJobs) {
+        // {change in rejected jobs, jobs queued again} per version
+        Map<PostVersionKey, int[]> countsByVersion = new TreeMap<>();
+        for (ModerationJobRepository.RederivedJobView job : changedJobs) {
+            if (job.getPostId() == null) {
+                continue;
+            }
+            int[] counts = countsByVersion.computeIfAbsent(
+                    new PostVersionKey(job.getPostId(), job.getPostVersion()), key -> new int[2]);
+            counts[0] += ModerationStatus.rejected.name().equals(job.getStatus()) ? 1 : -1;
+        }
+        if (countsByVersion.isEmpty()) {
+            return PolicyChanges.NONE;
+        }
+
+        List<PostVersionKey> approvedVersions = countsByVersion.entrySet().stream()
+                .filter(entry -> entry.getValue()[0] < 0)
+                .map(Map.Entry::getKey)
+                .toList();
+        List<ModerationJobRepository.RequeuedJobView> requeuedJobs = approvedVersions.isEmpty()
+                ? List.of()
+                : moderationJobRepository.requeueCancelledJobs(
+                        approvedVersions.stream().map(PostVersionKey::postId).toArray(Long[]::new),
+                        approvedVersions.stream().map(PostVersionKey::postVersion).toArray(Integer[]::new),
+                        LocalDateTime.now());
+        requeuedJobs.forEach(job -> countsByVersion.get(
+                new PostVersionKey(job.getPostId(), job.getPostVersion()))[1]++);
+
+        List<PostVersionKey> keys = List.copyOf(countsByVersion.keySet());
+        List<int[]> counts = List.copyOf(countsByVersion.values());
+        List<ModerationJobTallyRepository.SettledPostView> settled =
+                moderationJobTallyRepository.applyPolicyChangesAndResettle(
+                        keys.stream().map(PostVersionKey::postId).toArray(Long[]::new),
+                        keys.stream().map(PostVersionKey::postVersion).toArray(Integer[]::new),
+                        counts.stream().map(c -> c[0]).toArray(Integer[]::new),
+                        counts.stream().map(c -> c[1]).toArray(Integer[]::new));
+        settled.forEach(post -> log.info("Post {} version {} re-moderated as {} by policy thresholds",
+                post.getPostId(), post.getPostVersion(), post.getStatus()));
+
+        recordRejectedContent(settled.stream()
+                .filter(post -> ModerationStatus.rejected.name().equals(post.getStatus()))
+                .map(post -> new PostVersionKey(post.getPostId(), post.getPostVersion()))
+                .toList());
+        return new PolicyChanges(settled.size(), requeuedJobs);
+    }
+
+    /**
+     * Records pending jobs that were failed without a classifier verdict.
+     */
+    @Transactional
+    public void recordFailures(Long postId, Integer postVersion, int count) {
+        if (count > 0) {
+            moderationJobTallyRepository.recordFailures(postId, postVersion, count);
+        }
+    }
+
+    public ModerationStatus aggregateStatus(ModerationJobTallyRepository.TallyView tally) {
+        // If any jobs are still pending, do not update the post status yet (wait for
+        // all to complete)
+        if (tally.getPending() > 0) {
+            return ModerationStatus.pending;
+        }
+        if (tally.getFailed() > 0) {
+            return ModerationStatus.failed;
+        }
+        if (tally.getRejected() > 0) {
+            return ModerationStatus.rejected;
+        }
+        return ModerationStatus.approved;
+    }
+
+    /**
+     * Hands rejected post versions to the near-duplicate detector, but only
+     * those whose content job was itself rejected. The detector signs the
+     * body, so a version rejected for its title or an image alone must not
+     * make its body count as rejected content.
+     */
+    private void recordRejectedContent(List<PostVersionKey> rejectedVersions) {
+        if (rejectedVersions.isEmpty()) {
+            return;
+        }
+
+        List<ModerationJobRepository.PostVersionView> rejectedContent =
+                moderationJobRepository.findVersionsWithRejectedField(
+                        rejectedVersions.stream().map(PostVersionKey::postId).toArray(Long[]::new),
+                        rejectedVersions.stream().map(PostVersionKey::postVersion).toArray(Integer[]::new),
+                        PostModerationJobFactory.CONTENT_FIELD);
+        nearDuplicateDetector.recordRejectedPostVersions(
+                rejectedContent.stream().map(ModerationJobRepository.PostVersionView::getPostId).toList(),
+                rejectedContent.stream().map(ModerationJobRepository.PostVersionView::getPostVersion).toList());
+    }
+
+    /**
+     * Applies {completed, rejected, failed, cancelled} counts per post version,
+     * settling posts left with no pending jobs.
+     */
+    private List<ModerationJobTallyRepository.SettledPostView> applyTallyDeltas(
+            Map<PostVersionKey, int[]> countsByVersion) {
+        List<PostVersionKey> keys = List.copyOf(countsByVersion.keySet());
+        List<int[]> counts = List.copyOf(countsByVersion.values());
+        return moderationJobTallyRepository.recordCompletionsAndSettle(
+                keys.stream().map(PostVersionKey::postId).toArray(Long[]::new),
+                keys.stream().map(PostVersionKey::postVersion).toArray(Integer[]::new),
+                counts.stream().map(c -> c[0]).toArray(Integer[]::new),
+                counts.stream().map(c -> c[1]).toArray(Integer[]::new),
+                counts.stream().map(c -> c[2]).toArray(Integer[]::new),
+                counts.stream().map(c -> c[3]).toArray(Integer[]::new));
+    }
+
+    private int countWithStatus(List<ModerationJob> jobs, ModerationStatus status) {
+        return (int) jobs.stream().filter(job -> job.getStatus() == status).count();
+    }
+
+    private record PostVersionKey(Long postId, Integer postVersion) implements Comparable<PostVersionKey> {
+
+        @Override
+        public int compareTo(PostVersionKey other) {
+            int byPost = postId.compareTo(other.postId);
+            return byPost != 0 ? byPost : postVersion.compareTo(other.postVersion);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.SafuForumBackend.moderation.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory LSH index of 64-bit SimHashes.
+ *
+ * Each hash is split into maxDistance + 1 bands. Two hashes differing in at
+ * most maxDistance bits must agree exactly on at least one band, so a lookup
+ * only compares the entries sharing a band bucket with the query and still
+ * finds every match.
+ *
+ * Holds at most capacity entries, evicting the earliest inserted. Thread-safe.
+ */
+public final class SimHashBandIndex<T> {
+
+    public record Match<T>(long id, int distance, T value) {
+    }
+
+    private record Entry<T>(long simHash, T value) {
+    }
+
+    private final int maxDistance;
+    private final int capacity;
+    private final int[] bandShifts;
+    private final long[] bandMasks;
+
+    private final LinkedHashMap<Long, Entry<T>> entries = new LinkedHashMap<>();
+    private final Map<Long, Set<Long>> buckets = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public SimHashBandIndex(int maxDistance, int capacity) {
+        if (maxDistance < 1 || maxDistance > 15) {
+            throw new IllegalArgumentException("maxDistance must be between 1 and 15");
+        }
+        this.maxDistance = maxDistance;
+        this.capacity = capacity;
+
+        int bands = maxDistance + 1;
+        bandShifts = new int[bands];
+        bandMasks = new long[bands];
+        int shift = 0;
+        for (int band = 0; band < bands; band++) {
+            // The first Long.SIZE % bands bands are one bit wider
+            int width = Long.SIZE / bands + (band < Long.SIZE % bands ? 1 : 0);
+            bandShifts[band] = shift;
+            bandMasks[band] = (1L << width) - 1;
+            shift += width;
+        }
+    }
+
+    /**
+     * Adds or replaces the entry with the given id.
+     */
+    public void put(long id, long simHash, T value) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+            entries.put(id, new Entry<>(simHash, value));
+            for (int band = 0; band < bandShifts.length; band++) {
+                buckets.computeIfAbsent(bucketKey(band, simHash), key -> new HashSet<>()).add(id);
+            }
+
+            while (entries.size() > capacity) {
+                removeEntry(entries.firstEntry().getKey());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeIf(Predicate<T> predicate) {
+        lock.writeLock().lock();
+        try {
+            List<Long> ids = new ArrayList<>();
+            entries.forEach((id, entry) -> {
+                if (predicate.test(entry.value())) {
+                    ids.add(id);
+                }
+            });
+            ids.forEach(this::removeEntry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return every entry within maxDistance bits of the hash, closest first
+     */
+    public List<Match<T>> findWithin(long simHash) {
+        lock.readLock().lock();
+        try {
+            Set<Long> seen = new HashSet<>();
+            List<Match<T>> matches = new ArrayList<>();
+            for (int band = 0; band < bandShifts.length; band++) {
+                Set<Long> bucket = buckets.get(bucketKey(band, simHash));
+                if (bucket == null) {
+                    continue;
+                }
+                for (Long id : bucket) {
+                    if (!seen.add(id)) {
+                        continue;
+                    }
+                    Entry<T> entry = entries.get(id);
+                    int distance = ContentSignatures.hammingDistance(simHash, entry.simHash());
+                    if (distance <= maxDistance) {
+                        matches.add(new Match<>(id, distance, entry.value()));
+                    }
+                }
+            }
+            matches.sort(Comparator.comparingInt(Match::distance));
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeEntry(long id) {
+        Entry<T> entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (int band = 0; band < bandShifts.length; band++) {
+            long key = bucketKey(band, entry.simHash());
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+                buckets.remove(key);
+            }
+        }
+    }
+
+    private long bucketKey(int band, long simHash) {
+        return ((long) band << 32) | ((simHash >>> bandShifts[band]) & bandMasks[band]);
+    }
+}
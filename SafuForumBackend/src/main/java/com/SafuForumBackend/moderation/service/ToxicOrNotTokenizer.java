@@ -0,0 +1,101 @@
+package com.SafuForumBackend.moderation.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Java port of the toxicornot classifier's preprocessing (gensim
+ * remove_stopwords followed by simple_preprocess with deacc=True), mapping the
+ * resulting tokens to the row ids of the exported embedding matrix.
+ *
+ * Row 0 of the exported matrix is all zeros and is used for text with no known
+ * tokens, matching the classifier's zero document vector.
+ */
+public final class ToxicOrNotTokenizer {
+
+    // gensim simple_preprocess defaults
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 15;
+
+    // Python's str.split() also splits on the ASCII file, group, record and unit separators
+    private static final Pattern WHITESPACE = Pattern.compile("[\\s\\x1C-\\x1F]+", Pattern.UNICODE_CHARACTER_CLASS);
+    // Python's \w is letters, numbers and the underscore (no marks or other connectors); \d is decimal digits
+    private static final Pattern ALPHABETIC = Pattern.compile("(?:(?!\\p{Nd})[\\p{L}\\p{N}_])+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{Mn}+");
+    private static final long[] NO_TOKENS = {0L};
+
+    private final Set<String> stopwords;
+    private final Map<String, Long> tokenIds;
+
+    /**
+     * @param stopwords The stopwords removed before tokenizing (matched case
+     *                  sensitively, as gensim does).
+     * @param vocabulary Tokens in embedding row order, starting at row 1.
+     */
+    public ToxicOrNotTokenizer(Collection<String> stopwords, List<String> vocabulary) {
+        this.stopwords = Set.copyOf(stopwords);
+        this.tokenIds = new HashMap<>(vocabulary.size() * 2);
+        for (int i = 0; i < vocabulary.size(); i++) {
+            tokenIds.putIfAbsent(vocabulary.get(i), (long) i + 1);
+        }
+    }
+
+    public int vocabularySize() {
+        return tokenIds.size();
+    }
+
+    /**
+     * @return the embedding row ids of the text's known tokens, or the single
+     *         padding row if there are none
+     */
+    public long[] tokenIds(String text) {
+        List<Long> ids = new ArrayList<>();
+        for (String token : tokenize(text)) {
+            Long id = tokenIds.get(token);
+            if (id != null) {
+                ids.add(id);
+            }
+        }
+        if (ids.isEmpty()) {
+            return NO_TOKENS;
+        }
+        return ids.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+
+        StringBuilder kept = new StringBuilder(text.length());
+        for (String word : WHITESPACE.split(text.strip())) {
+            if (!stopwords.contains(word)) {
+                kept.append(word).append(' ');
+            }
+        }
+
+        String lowered = kept.toString().toLowerCase(Locale.ROOT);
+        String deaccented = Normalizer.normalize(
+                COMBINING_MARKS.matcher(Normalizer.normalize(lowered, Normalizer.Form.NFD)).replaceAll(""),
+                Normalizer.Form.NFC);
+
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = ALPHABETIC.matcher(deaccented);
+        while (matcher.find()) {
+            String token = matcher.group();
+            int length = token.codePointCount(0, token.length());
+            if (length >= MIN_TOKEN_LENGTH && length <= MAX_TOKEN_LENGTH && !token.startsWith("_")) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,25 @@
+package com.SafuForumBackend.outbox.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "outbox.relay")
+public class OutboxProperties {
+
+    private Duration pollInterval = Duration.ofMillis(500);
+    private int batchSize = 200;
+    // Upper bound on batches relayed per poll so one node cannot starve its scheduler thread
+    private int maxBatchesPerPoll = 20;
+    private Duration confirmTimeout = Duration.ofSeconds(5);
+
+    // How long consumers remember applied message ids; must outlast any redelivery
+    private Duration processedRetention = Duration.ofDays(7);
+    private Duration processedPurgeInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,44 @@
+package com.SafuForumBackend.outbox.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * An outbox message a consumer has already applied, so a redelivery of it is
+ * skipped.
+ */
+@Entity
+@Table(name = "processed_outbox_messages")
+@IdClass(ProcessedOutboxMessage.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProcessedOutboxMessage {
+
+    @Id
+    @Column(nullable = false, length = 64)
+    private String consumer;
+
+    @Id
+    @Column(name = "message_id", nullable = false, length = 64)
+    private String messageId;
+
+    @Builder.Default
+    @Column(name = "processed_at", nullable = false)
+    private LocalDateTime processedAt = LocalDateTime.now();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String consumer;
+        private String messageId;
+    }
+}
@@ -0,0 +1,43 @@
+package com.SafuForumBackend.outbox.repository;
+
+import com.SafuForumBackend.outbox.entity.ProcessedOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProcessedOutboxMessageRepository
+        extends JpaRepository<ProcessedOutboxMessage, ProcessedOutboxMessage.Key> {
+
+    /**
+     * Records the given message ids for a consumer. An id already recorded,
+     * including by a concurrent transaction that commits first, is left out.
+     *
+     * @return the ids recorded by this call
+     */
+    @Transactional
+    @Query(value = """
+            INSERT INTO processed_outbox_messages (consumer, message_id, processed_at)
+            SELECT :consumer, m.message_id, :processedAt
+            FROM unnest(CAST(:messageIds AS varchar[])) AS m(message_id)
+            ON CONFLICT (consumer, message_id) DO NOTHING
+            RETURNING message_id
+            """, nativeQuery = true)
+    List<String> recordNew(
+            @Param("consumer") String consumer,
+            @Param("messageIds") String[] messageIds,
+            @Param("processedAt") LocalDateTime processedAt);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM processed_outbox_messages
+            WHERE processed_at < :cutoff
+            """, nativeQuery = true)
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,81 @@
+package com.SafuForumBackend.outbox.service;
+
+import com.SafuForumBackend.outbox.config.OutboxProperties;
+import com.SafuForumBackend.outbox.repository.ProcessedOutboxMessageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Drops redeliveries of outbox messages for consumers whose effects are not
+ * idempotent.
+ *
+ * The relay publishes every outbox event at least once, with the stable
+ * message id "outbox-{id}". A consumer records the ids of a batch in the
+ * transaction that applies it, so an id is applied at most once per consumer
+ * for as long as it is retained; messages without an id are always applied.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxDeduplicator {
+
+    private final ProcessedOutboxMessageRepository processedOutboxMessageRepository;
+    private final OutboxProperties properties;
+
+    /**
+     * Records the batch's message ids for the consumer and returns the
+     * payloads of the messages it has not applied before, in order. Must run
+     * in the transaction that applies them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> List<T> firstDeliveries(String consumer, List<Message<T>> messages) {
+        Set<String> messageIds = new LinkedHashSet<>();
+        for (Message<T> message : messages) {
+            String messageId = message.getHeaders().get(AmqpHeaders.MESSAGE_ID, String.class);
+            if (messageId != null) {
+                messageIds.add(messageId);
+            }
+        }
+
+        Set<String> recorded = messageIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(processedOutboxMessageRepository.recordNew(
+                        consumer, messageIds.toArray(String[]::new), LocalDateTime.now()));
+
+        List<T> payloads = new ArrayList<>(messages.size());
+        for (Message<T> message : messages) {
+            String messageId = message.getHeaders().get(AmqpHeaders.MESSAGE_ID, String.class);
+            // remove() also drops a second copy of the same message within the batch
+            if (messageId == null || recorded.remove(messageId)) {
+                payloads.add(message.getPayload());
+            }
+        }
+        if (payloads.size() < messages.size()) {
+            log.info("Skipped {} redelivered outbox messages for {}", messages.size() - payloads.size(), consumer);
+        }
+        return payloads;
+    }
+
+    @Scheduled(fixedDelayString = "#{@outboxProperties.processedPurgeInterval.toMillis()}")
+    @Transactional
+    public void purgeProcessedMessages() {
+        int purged = processedOutboxMessageRepository.deleteProcessedBefore(
+                LocalDateTime.now().minus(properties.getProcessedRetention()));
+        if (purged > 0) {
+            log.debug("Purged {} processed outbox message ids", purged);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.SafuForumBackend.outbox.service;
+
+import com.SafuForumBackend.outbox.config.OutboxProperties;
+import com.SafuForumBackend.outbox.entity.OutboxEvent;
+import com.SafuForumBackend.outbox.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Relays outbox events to RabbitMQ.
+ *
+ * Each batch is claimed with SKIP LOCKED, published on one channel, and deleted
+ * only after the broker confirms every message. If publishing or confirmation
+ * fails the transaction rolls back and the batch is retried on the next poll,
+ * so delivery is at-least-once. Consumers that are not idempotent drop
+ * redeliveries by message id through {@link OutboxDeduplicator}; the others
+ * (absolute reputation values, live updates) tolerate duplicates as is.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    @Scheduled(fixedDelayString = "#{@outboxProperties.pollInterval.toMillis()}")
+    public void relay() {
+        try {
+            for (int i = 0; i < properties.getMaxBatchesPerPoll(); i++) {
+                Integer relayed = transactionTemplate.execute(status -> relayBatch());
+                if (relayed == null || relayed < properties.getBatchSize()) {
+                    return;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Outbox relay failed, batch will be retried", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(properties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        rabbitTemplate.invoke(operations -> {
+            for (OutboxEvent event : batch) {
+                operations.send(event.getExchange(), event.getRoutingKey(), toMessage(event));
+            }
+            operations.waitForConfirmsOrDie(properties.getConfirmTimeout().toMillis());
+            return null;
+        });
+
+        outboxEventRepository.deleteAllInBatch(batch);
+        log.debug("Relayed {} outbox events", batch.size());
+        return batch.size();
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties messageProperties = new MessageProperties();
+        messageProperties.setContentType(event.getContentType());
+        messageProperties.setContentEncoding(StandardCharsets.UTF_8.name());
+        messageProperties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        // Stable id that OutboxDeduplicator keys redeliveries on
+        messageProperties.setMessageId("outbox-" + event.getId());
+        if (event.getTypeId() != null) {
+            messageProperties.setHeader(OutboxService.TYPE_ID_HEADER, event.getTypeId());
+        }
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), messageProperties);
+    }
+}
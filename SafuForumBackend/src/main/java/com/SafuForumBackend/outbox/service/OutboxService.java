@@ -0,0 +1,44 @@
+package com.SafuForumBackend.outbox.service;
+
+import com.SafuForumBackend.outbox.entity.OutboxEvent;
+import com.SafuForumBackend.outbox.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Records events for asynchronous publication.
+ *
+ * Events are serialized with the application's AMQP message converter so the
+ * relayed message is identical to what a direct convertAndSend would produce.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    public static final String TYPE_ID_HEADER = "__TypeId__";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final MessageConverter messageConverter;
+
+    // Must join the caller's transaction so the event commits or rolls back with it
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(String exchange, String routingKey, Object event) {
+        Message message = messageConverter.toMessage(event, new MessageProperties());
+        Object typeId = message.getMessageProperties().getHeaders().get(TYPE_ID_HEADER);
+
+        outboxEventRepository.save(OutboxEvent.builder()
+                .exchange(exchange)
+                .routingKey(routingKey)
+                .typeId(typeId != null ? typeId.toString() : null)
+                .contentType(message.getMessageProperties().getContentType())
+                .payload(new String(message.getBody(), StandardCharsets.UTF_8))
+                .build());
+    }
+}
@@ -36,15 +36,19 @@ public class PostController {
     @GetMapping
     public ResponseEntity<Page<PostResponse>> getAllPosts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal User currentUser) {
 
-        Page<PostResponse> posts = postService.getAllPosts(page, size);
+        Page<PostResponse> posts = postService.getAllPosts(page, size, currentUser);
         return ResponseEntity.ok(posts);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<PostResponse> getPost(@PathVariable Long id) {
-        PostResponse post = postService.getPostById(id);
+    public ResponseEntity<PostResponse> getPost(
+            @PathVariable Long id,
+            @AuthenticationPrincipal User currentUser) {
+
+        PostResponse post = postService.getPostById(id, currentUser);
         return ResponseEntity.ok(post);
     }
 
@@ -52,18 +56,20 @@ public class PostController {
     public ResponseEntity<Page<PostResponse>> getTrendingPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestParam(defaultValue = "7") int days) {
+            @RequestParam(defaultValue = "7") int days,
+            @AuthenticationPrincipal User currentUser) {
 
-        Page<PostResponse> posts = postService.getTrendingPosts(page, size, days);
+        Page<PostResponse> posts = postService.getTrendingPosts(page, size, days, currentUser);
         return ResponseEntity.ok(posts);
     }
 
     @GetMapping("/discussed")
     public ResponseEntity<Page<PostResponse>> getMostDiscussedPosts(
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal User currentUser) {
 
-        Page<PostResponse> posts = postService.getMostDiscussedPosts(page, size);
+        Page<PostResponse> posts = postService.getMostDiscussedPosts(page, size, currentUser);
         return ResponseEntity.ok(posts);
     }
 
@@ -71,9 +77,10 @@ public class PostController {
     public ResponseEntity<Page<PostResponse>> getPostsByTag(
             @PathVariable String tagSlug,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal User currentUser) {
 
-        Page<PostResponse> posts = postService.getPostsByTag(tagSlug, page, size);
+        Page<PostResponse> posts = postService.getPostsByTag(tagSlug, page, size, currentUser);
         return ResponseEntity.ok(posts);
     }
 
@@ -81,9 +88,10 @@ public class PostController {
     public ResponseEntity<Page<PostResponse>> getPostsByUser(
             @PathVariable Long userId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal User currentUser) {
 
-        Page<PostResponse> posts = postService.getPostsByUser(userId, page, size);
+        Page<PostResponse> posts = postService.getPostsByUser(userId, page, size, currentUser);
         return ResponseEntity.ok(posts);
     }
 
@@ -26,5 +26,6 @@ public class PostResponse {
     private LocalDateTime updatedAt;
     private Boolean isDeleted;
     private Integer voteScore;
+    private Short userVote; // null if anonymous or not voted, 1 or -1 otherwise
     private Integer commentCount;
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package com.SafuForumBackend.post.repository;
 
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
 import com.SafuForumBackend.post.entity.Post;
 import com.SafuForumBackend.tag.entity.Tag;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -28,4 +30,40 @@ public interface PostRepository extends JpaRepository<Post, Long> {
 
     @Query("SELECT p FROM Post p WHERE p.isDeleted = false ORDER BY ((SELECT COALESCE(SUM(v.voteType), 0) FROM Vote v WHERE v.post = p) + (SELECT COUNT(c) FROM Comment c WHERE c.post = p AND c.isDeleted = false) * 0.5) DESC")
     Page<Post> findHotPosts(Pageable pageable);
-}
\ No newline at end of file
+
+    // Only moves a post out of pending while it is still at the moderated version
+    @Modifying
+    @Query("UPDATE Post p SET p.status = :status WHERE p.id = :postId AND p.version = :version AND p.status = :expectedStatus")
+    int updateStatusIfCurrent(
+            @Param("postId") Long postId,
+            @Param("version") Integer version,
+            @Param("expectedStatus") ModerationStatus expectedStatus,
+            @Param("status") ModerationStatus status);
+
+    /**
+     * Fails the given post versions (parallel arrays) that are still pending at
+     * that version. Rows are locked in id order so concurrent sweeps cannot deadlock.
+     */
+    @Modifying
+    @Query(value = """
+            WITH targets AS (
+                SELECT * FROM unnest(CAST(:postIds AS bigint[]), CAST(:versions AS integer[]))
+                    AS t(post_id, version)
+            ), locked AS (
+                SELECT p.id FROM posts p
+                JOIN targets t ON t.post_id = p.id AND t.version = p.version
+                WHERE p.status = 'pending'
+                ORDER BY p.id
+                FOR UPDATE OF p
+            )
+            UPDATE posts p
+            SET status = 'failed', updated_at = :updatedAt
+            FROM locked l
+            WHERE p.id = l.id
+              AND p.status = 'pending'
+            """, nativeQuery = true)
+    int failPendingVersions(
+            @Param("postIds") Long[] postIds,
+            @Param("versions") Integer[] versions,
+            @Param("updatedAt") LocalDateTime updatedAt);
+}
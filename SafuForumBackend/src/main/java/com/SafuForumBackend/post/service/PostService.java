@@ -16,7 +16,9 @@ import com.SafuForumBackend.user.dto.UserSummaryResponse;
 import com.SafuForumBackend.user.entity.User;
 import com.SafuForumBackend.moderation.enums.ModerationStatus;
 import com.SafuForumBackend.moderation.service.ModerationOrchestratorService;
-import com.SafuForumBackend.vote.repository.VoteRepository;
+import com.SafuForumBackend.vote.enums.EntityType;
+import com.SafuForumBackend.vote.service.VoteCounterService;
+import com.SafuForumBackend.vote.service.VoteService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -27,6 +29,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,7 +38,8 @@ public class PostService {
 
     private final PostRepository postRepository;
     private final TagRepository tagRepository;
-    private final VoteRepository voteRepository;
+    private final VoteCounterService voteCounterService;
+    private final VoteService voteService;
     private final CommentRepository commentRepository;
     private final ModerationOrchestratorService moderationOrchestratorService;
     private final ImageRepository imageRepository; // ADDED
@@ -71,7 +75,7 @@ public class PostService {
         return convertToResponse(savedPost);
     }
 
-    public PostResponse getPostById(Long id) {
+    public PostResponse getPostById(Long id, User currentUser) {
         Post post = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
 
@@ -79,22 +83,26 @@ public class PostService {
             throw new RuntimeException("Post has been deleted");
         }
 
-        return convertToResponse(post);
+        PostResponse response = convertToResponse(post);
+        if (currentUser != null) {
+            response.setUserVote(voteService.getUserPostVotes(List.of(id), currentUser).get(id));
+        }
+        return response;
     }
 
-    public Page<PostResponse> getAllPosts(int page, int size) {
+    public Page<PostResponse> getAllPosts(int page, int size, User currentUser) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Post> posts = postRepository.findByIsDeletedFalse(pageable);
-        return posts.map(this::convertToResponse);
+        return convertPage(posts, currentUser);
     }
 
-    public Page<PostResponse> getPostsByUser(Long userId, int page, int size) {
+    public Page<PostResponse> getPostsByUser(Long userId, int page, int size, User currentUser) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
         Page<Post> posts = postRepository.findByAuthorIdAndIsDeletedFalse(userId, pageable);
-        return posts.map(this::convertToResponse);
+        return convertPage(posts, currentUser);
     }
 
-    public Page<PostResponse> getPostsByTag(String tagSlug, int page, int size) {
+    public Page<PostResponse> getPostsByTag(String tagSlug, int page, int size, User currentUser) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
 
         Tag tag = tagRepository.findBySlug(tagSlug)
@@ -102,20 +110,20 @@ public class PostService {
 
         Page<Post> posts = postRepository.findByTagsContainingAndIsDeletedFalse(tag, pageable);
 
-        return posts.map(this::convertToResponse);
+        return convertPage(posts, currentUser);
     }
 
-    public Page<PostResponse> getTrendingPosts(int page, int size, int days) {
+    public Page<PostResponse> getTrendingPosts(int page, int size, int days, User currentUser) {
         Pageable pageable = PageRequest.of(page, size);
         LocalDateTime since = LocalDateTime.now().minusDays(days);
         Page<Post> posts = postRepository.findTrendingPosts(since, pageable);
-        return posts.map(this::convertToResponse);
+        return convertPage(posts, currentUser);
     }
 
-    public Page<PostResponse> getMostDiscussedPosts(int page, int size) {
+    public Page<PostResponse> getMostDiscussedPosts(int page, int size, User currentUser) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Post> posts = postRepository.findMostDiscussed(pageable);
-        return posts.map(this::convertToResponse);
+        return convertPage(posts, currentUser);
     }
 
     @Transactional
@@ -164,6 +172,7 @@ public class PostService {
 
         post.setIsDeleted(true);
         postRepository.save(post);
+        voteCounterService.remove(EntityType.POST, id);
     }
 
     // ============ IMAGE HANDLING METHODS ============
@@ -279,7 +288,43 @@ public class PostService {
                 });
     }
 
+    /**
+     * Converts a page of posts, loading the vote scores of the whole page with
+     * a single lookup instead of one per post.
+     */
+    private Page<PostResponse> convertPage(Page<Post> posts, User currentUser) {
+        List<Long> postIds = posts.getContent().stream()
+                .map(Post::getId)
+                .collect(Collectors.toList());
+        Map<Long, Integer> voteScores = voteCounterService.getScores(EntityType.POST, postIds);
+
+        return attachUserVotes(posts.map(post -> convertToResponse(post, voteScores.get(post.getId()))),
+                currentUser);
+    }
+
+    /**
+     * Fills in the current user's vote on every post of the page with a single
+     * lookup instead of one per post.
+     */
+    private Page<PostResponse> attachUserVotes(Page<PostResponse> posts, User currentUser) {
+        if (currentUser == null || posts.isEmpty()) {
+            return posts;
+        }
+
+        List<Long> postIds = posts.getContent().stream()
+                .map(PostResponse::getId)
+                .collect(Collectors.toList());
+        Map<Long, Short> userVotes = voteService.getUserPostVotes(postIds, currentUser);
+
+        posts.forEach(post -> post.setUserVote(userVotes.get(post.getId())));
+        return posts;
+    }
+
     private PostResponse convertToResponse(Post post) {
+        return convertToResponse(post, voteCounterService.getScore(EntityType.POST, post.getId()));
+    }
+
+    private PostResponse convertToResponse(Post post, Integer voteScore) {
         UserSummaryResponse author = new UserSummaryResponse(
                 post.getAuthor().getId(),
                 post.getAuthor().getUsername(),
@@ -296,8 +341,6 @@ public class PostService {
                         null))
                 .collect(Collectors.toList());
 
-        Integer voteScore = voteRepository.getPostVoteScore(post.getId());
-
         Long commentCount = commentRepository.countByPostIdAndIsDeletedFalse(post.getId());
 
         List<Image> images = imageRepository.findByPostIdOrderByDisplayOrderAsc(post.getId());
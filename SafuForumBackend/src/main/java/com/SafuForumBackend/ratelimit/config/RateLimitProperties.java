@@ -0,0 +1,59 @@
+package com.SafuForumBackend.ratelimit.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // LOCAL keeps buckets in this node's memory; REDIS shares them across nodes
+    private Mode mode = Mode.LOCAL;
+
+    // Number of independent bucket maps; keys are spread over them by hash
+    private int stripes = 32;
+    private Duration evictionInterval = Duration.ofMinutes(1);
+
+    // Only enable behind a proxy that overwrites X-Forwarded-For
+    private boolean trustForwardedFor = false;
+
+    // Vote requests in flight on this node beyond which new ones are shed with 503
+    private int maxConcurrentVotes = 200;
+
+    private final Policy vote = new Policy(20, 2.0);
+    private final Policy write = new Policy(30, 1.0);
+
+    public enum Mode {
+        LOCAL,
+        REDIS
+    }
+
+    @Getter
+    @Setter
+    public static class Policy {
+        private int burst;
+        private double refillPerSecond;
+
+        public Policy(int burst, double refillPerSecond) {
+            this.burst = burst;
+            this.refillPerSecond = refillPerSecond;
+        }
+
+        public long intervalNanos() {
+            return (long) (1_000_000_000L / refillPerSecond);
+        }
+
+        // How far ahead of now the bucket's theoretical arrival time may run
+        public long toleranceNanos() {
+            return intervalNanos() * Math.max(0, burst - 1);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.SafuForumBackend.ratelimit.filter;
+
+import com.SafuForumBackend.ratelimit.config.RateLimitProperties;
+import com.SafuForumBackend.ratelimit.service.RateLimitDecision;
+import com.SafuForumBackend.ratelimit.service.RateLimiter;
+import com.SafuForumBackend.user.entity.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Rate limits write requests per user (per IP for anonymous callers) and sheds
+ * vote requests once too many are already in flight on this node. Runs after
+ * JwtAuthenticationFilter so the authenticated user is known.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String VOTES_PATH = "/api/votes";
+
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final JsonMapper jsonMapper;
+    private final Semaphore voteSlots;
+
+    public RateLimitFilter(RateLimitProperties properties, RateLimiter rateLimiter, JsonMapper jsonMapper) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.jsonMapper = jsonMapper;
+        this.voteSlots = new Semaphore(properties.getMaxConcurrentVotes());
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return !properties.isEnabled()
+                || !request.getRequestURI().startsWith("/api/")
+                || "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        boolean vote = request.getRequestURI().startsWith(VOTES_PATH);
+        RateLimitProperties.Policy policy = vote ? properties.getVote() : properties.getWrite();
+        String key = (vote ? "vote:" : "write:") + clientKey(request);
+
+        RateLimitDecision decision = rateLimiter.tryAcquire(key, policy);
+        if (!decision.allowed()) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, decision.retryAfterMillis(),
+                    "Too many requests, please slow down");
+            return;
+        }
+
+        if (!vote) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (!voteSlots.tryAcquire()) {
+            log.warn("Shedding vote request, {} votes already in flight", properties.getMaxConcurrentVotes());
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1000, "Voting is busy, please retry shortly");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            voteSlots.release();
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return "user:" + user.getId();
+        }
+
+        if (properties.isTrustForwardedFor()) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                return "ip:" + forwardedFor.split(",")[0].trim();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterMillis, String message)
+            throws IOException {
+        long retryAfterSeconds = Math.max(1, (retryAfterMillis + 999) / 1000);
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        Map<String, Object> errorResponse = new LinkedHashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", status.getReasonPhrase());
+        errorResponse.put("message", message);
+        errorResponse.put("retryAfterSeconds", retryAfterSeconds);
+        jsonMapper.writeValue(response.getWriter(), errorResponse);
+    }
+}
@@ -0,0 +1,70 @@
+package com.SafuForumBackend.ratelimit.service;
+
+import com.SafuForumBackend.ratelimit.config.RateLimitProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory limiter. Buckets live in a fixed number of stripes selected by key
+ * hash, and each bucket is one AtomicLong updated by compare-and-set, so the
+ * hot path takes no locks.
+ */
+@Component
+@ConditionalOnProperty(prefix = "rate-limit", name = "mode", havingValue = "local", matchIfMissing = true)
+public class LocalRateLimiter implements RateLimiter {
+
+    private final List<ConcurrentHashMap<String, AtomicLong>> stripes;
+
+    public LocalRateLimiter(RateLimitProperties properties) {
+        int count = Integer.highestOneBit(Math.max(1, properties.getStripes()));
+        List<ConcurrentHashMap<String, AtomicLong>> stripes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            stripes.add(new ConcurrentHashMap<>());
+        }
+        this.stripes = List.copyOf(stripes);
+    }
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimitProperties.Policy policy) {
+        long interval = policy.intervalNanos();
+        long tolerance = policy.toleranceNanos();
+        long now = System.nanoTime();
+        AtomicLong bucket = stripeFor(key).computeIfAbsent(key, k -> new AtomicLong(now));
+
+        while (true) {
+            long stored = bucket.get();
+            long tat = Math.max(stored, now);
+            long ahead = tat - now;
+            if (ahead > tolerance) {
+                return RateLimitDecision.rejected(TimeUnit.NANOSECONDS.toMillis(ahead - tolerance) + 1);
+            }
+            if (bucket.compareAndSet(stored, tat + interval)) {
+                return RateLimitDecision.ALLOWED;
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely; they behave exactly like a
+     * fresh bucket, so this only frees memory.
+     */
+    @Scheduled(fixedDelayString = "#{@rateLimitProperties.evictionInterval.toMillis()}")
+    public void evictIdleBuckets() {
+        for (ConcurrentHashMap<String, AtomicLong> stripe : stripes) {
+            long now = System.nanoTime();
+            stripe.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+    }
+
+    private ConcurrentHashMap<String, AtomicLong> stripeFor(String key) {
+        int hash = key.hashCode();
+        return stripes.get((hash ^ (hash >>> 16)) & (stripes.size() - 1));
+    }
+}
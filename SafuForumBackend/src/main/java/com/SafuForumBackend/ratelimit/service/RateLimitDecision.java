@@ -0,0 +1,10 @@
+package com.SafuForumBackend.ratelimit.service;
+
+public record RateLimitDecision(boolean allowed, long retryAfterMillis) {
+
+    public static final RateLimitDecision ALLOWED = new RateLimitDecision(true, 0);
+
+    public static RateLimitDecision rejected(long retryAfterMillis) {
+        return new RateLimitDecision(false, retryAfterMillis);
+    }
+}
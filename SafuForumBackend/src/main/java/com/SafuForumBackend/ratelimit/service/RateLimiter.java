@@ -0,0 +1,13 @@
+package com.SafuForumBackend.ratelimit.service;
+
+import com.SafuForumBackend.ratelimit.config.RateLimitProperties;
+
+/**
+ * Token bucket limiter, implemented as GCRA: each bucket is a single
+ * "theoretical arrival time" that advances by one refill interval per request
+ * and may run at most (burst - 1) intervals ahead of now.
+ */
+public interface RateLimiter {
+
+    RateLimitDecision tryAcquire(String key, RateLimitProperties.Policy policy);
+}
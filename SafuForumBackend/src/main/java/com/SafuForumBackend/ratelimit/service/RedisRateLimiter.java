@@ -0,0 +1,63 @@
+package com.SafuForumBackend.ratelimit.service;
+
+import com.SafuForumBackend.ratelimit.config.RateLimitProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limiter shared by all nodes. The GCRA step runs as one Lua script against
+ * Redis server time, so it is atomic and immune to clock skew between nodes.
+ * If Redis is unavailable requests are allowed rather than failing the API.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "rate-limit", name = "mode", havingValue = "redis")
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "ratelimit:";
+
+    // Returns 0 when allowed, otherwise the microseconds until the next request would be
+    private static final RedisScript<Long> GCRA_SCRIPT = new DefaultRedisScript<>("""
+            local interval = tonumber(ARGV[1])
+            local tolerance = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+            local tat = tonumber(redis.call('GET', KEYS[1]) or now)
+            if tat < now then
+                tat = now
+            end
+            if tat - now > tolerance then
+                return tat - now - tolerance
+            end
+            local next = tat + interval
+            redis.call('SET', KEYS[1], next, 'PX', math.ceil((next - now) / 1000) + 1)
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public RateLimitDecision tryAcquire(String key, RateLimitProperties.Policy policy) {
+        try {
+            Long retryMicros = redisTemplate.execute(GCRA_SCRIPT, List.of(KEY_PREFIX + key),
+                    String.valueOf(TimeUnit.NANOSECONDS.toMicros(policy.intervalNanos())),
+                    String.valueOf(TimeUnit.NANOSECONDS.toMicros(policy.toleranceNanos())));
+            if (retryMicros == null || retryMicros <= 0) {
+                return RateLimitDecision.ALLOWED;
+            }
+            return RateLimitDecision.rejected(TimeUnit.MICROSECONDS.toMillis(retryMicros) + 1);
+        } catch (RuntimeException e) {
+            log.warn("Redis rate limiter unavailable, allowing request: {}", e.getMessage());
+            return RateLimitDecision.ALLOWED;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.SafuForumBackend.reputation.config;
+
+import com.SafuForumBackend.config.RabbitMQConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+public class ReputationAmqpConfig {
+
+    private final ReputationConsumerProperties properties;
+
+    /**
+     * Container factory that hands listeners a whole batch of messages. The
+     * batch is acked once the listener returns and rejected as a unit if it throws.
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory reputationBatchContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(properties.getBatchSize());
+        factory.setPrefetchCount(properties.getBatchSize());
+        factory.setReceiveTimeout(properties.getReceiveTimeout().toMillis());
+        return factory;
+    }
+
+    // Exclusive per-node queue so every instance sees every reputation change
+    @Bean
+    public AnonymousQueue reputationChangedQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding reputationChangedBinding(AnonymousQueue reputationChangedQueue, TopicExchange eventExchange) {
+        return BindingBuilder.bind(reputationChangedQueue)
+                .to(eventExchange)
+                .with(RabbitMQConfig.REPUTATION_CHANGED_ROUTING_KEY);
+    }
+}
@@ -0,0 +1,24 @@
+package com.SafuForumBackend.reputation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "reputation.consumer")
+public class ReputationConsumerProperties {
+
+    /** Number of partition queues vote events are spread over by author id. */
+    private int partitions = 4;
+
+    /** Maximum number of vote events applied in one transaction. */
+    private int batchSize = 200;
+
+    /** How long to wait for a batch to fill before applying a partial one. */
+    private Duration receiveTimeout = Duration.ofMillis(500);
+}
@@ -0,0 +1,24 @@
+package com.SafuForumBackend.reputation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "reputation.leaderboard")
+public class ReputationLeaderboardProperties {
+
+    /**
+     * Reputations below this get their own Fenwick bucket; everything at or
+     * above it shares the top bucket and is ranked by walking that (small) tail.
+     */
+    private int bucketCap = 1_000_000;
+
+    /** Full rebuild from the users table, healing any missed change events. */
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+}
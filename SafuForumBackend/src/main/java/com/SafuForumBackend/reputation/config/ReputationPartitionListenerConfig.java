@@ -0,0 +1,59 @@
+package com.SafuForumBackend.reputation.config;
+
+import com.SafuForumBackend.config.RabbitMQConfig;
+import com.SafuForumBackend.reputation.service.ReputationService;
+import com.SafuForumBackend.vote.event.VoteEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.BatchMessageListener;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.RabbitListenerEndpointRegistrar;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registers one single-threaded batch consumer per reputation partition queue.
+ *
+ * A partition's events are applied strictly one batch at a time, and different
+ * partitions never share authors, so consumers scale with the partition count
+ * without contending for the same user rows.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ReputationPartitionListenerConfig implements RabbitListenerConfigurer {
+
+    private final ReputationConsumerProperties properties;
+    private final SimpleRabbitListenerContainerFactory reputationBatchContainerFactory;
+    private final ReputationService reputationService;
+    private final MessageConverter messageConverter;
+
+    @Override
+    public void configureRabbitListeners(RabbitListenerEndpointRegistrar registrar) {
+        for (int partition = 0; partition < properties.getPartitions(); partition++) {
+            SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+            endpoint.setId("reputation-partition-" + partition);
+            endpoint.setQueueNames(RabbitMQConfig.voteReputationPartitionQueue(partition));
+            endpoint.setConcurrency("1");
+            endpoint.setMessageListener((BatchMessageListener) this::onBatch);
+            registrar.registerEndpoint(endpoint, reputationBatchContainerFactory);
+        }
+    }
+
+    private void onBatch(List<Message> messages) {
+        List<org.springframework.messaging.Message<VoteEvent>> events = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            VoteEvent event = (VoteEvent) messageConverter.fromMessage(message);
+            events.add(MessageBuilder.withPayload(event)
+                    .setHeader(AmqpHeaders.MESSAGE_ID, message.getMessageProperties().getMessageId())
+                    .build());
+        }
+        reputationService.handleVoteEvents(events);
+    }
+}
@@ -0,0 +1,25 @@
+package com.SafuForumBackend.reputation.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "reputation.reconciliation")
+public class ReputationReconciliationProperties {
+
+    // Width of each vote (and user) id range scanned by one query
+    private int chunkSize = 10_000;
+    private int parallelism = 4;
+    // Throttle across all workers, in chunk queries per second
+    private double maxChunksPerSecond = 20;
+    private int correctionBatchSize = 500;
+    // Wait before re-checking drifted users, long enough for in-flight vote events to land
+    private Duration settleDelay = Duration.ofSeconds(30);
+    private int reportLimit = 100;
+}
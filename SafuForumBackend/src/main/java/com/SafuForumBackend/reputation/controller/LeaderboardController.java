@@ -0,0 +1,32 @@
+package com.SafuForumBackend.reputation.controller;
+
+import com.SafuForumBackend.reputation.dto.LeaderboardEntryResponse;
+import com.SafuForumBackend.reputation.dto.UserRankResponse;
+import com.SafuForumBackend.reputation.service.ReputationLeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final ReputationLeaderboardService leaderboardService;
+
+    @GetMapping("/leaderboard")
+    public ResponseEntity<Page<LeaderboardEntryResponse>> getLeaderboard(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+
+        Page<LeaderboardEntryResponse> leaderboard = leaderboardService.getLeaderboard(page, size);
+        return ResponseEntity.ok(leaderboard);
+    }
+
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<UserRankResponse> getUserRank(@PathVariable Long id) {
+        UserRankResponse rank = leaderboardService.getRank(id);
+        return ResponseEntity.ok(rank);
+    }
+}
@@ -0,0 +1,48 @@
+package com.SafuForumBackend.reputation.controller;
+
+import com.SafuForumBackend.reputation.dto.ReconciliationReportResponse;
+import com.SafuForumBackend.reputation.service.ReputationReconciliationService;
+import com.SafuForumBackend.user.entity.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/reputation")
+@RequiredArgsConstructor
+public class ReputationAdminController {
+
+    private final ReputationReconciliationService reconciliationService;
+
+    @PostMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReportResponse> startReconciliation(
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        ReconciliationReportResponse report = reconciliationService.start(currentUser);
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(report);
+    }
+
+    @GetMapping("/reconciliation")
+    public ResponseEntity<ReconciliationReportResponse> getReconciliationReport(
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.isAdmin()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        ReconciliationReportResponse report = reconciliationService.getLatestReport();
+        return ResponseEntity.ok(report);
+    }
+}
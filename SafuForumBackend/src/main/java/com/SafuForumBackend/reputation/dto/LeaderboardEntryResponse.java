@@ -0,0 +1,14 @@
+package com.SafuForumBackend.reputation.dto;
+
+import com.SafuForumBackend.user.dto.UserSummaryResponse;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntryResponse {
+    private Long rank;
+    private UserSummaryResponse user;
+}
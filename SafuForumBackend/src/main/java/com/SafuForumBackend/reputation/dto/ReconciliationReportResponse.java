@@ -0,0 +1,31 @@
+package com.SafuForumBackend.reputation.dto;
+
+import com.SafuForumBackend.reputation.enums.ReconciliationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationReportResponse {
+    private ReconciliationStatus status;
+    private Long triggeredBy;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long voteWatermark;
+    private Long votesChunksScanned;
+    private Long usersChecked;
+    private Long driftedUsers;
+    private Long correctedUsers;
+    private Long skippedUsers; // drift changed between passes or the row moved before the CAS
+    private Long unsettledUsers; // voted on within the settle delay, left for the next run
+    private Long totalAbsoluteDrift;
+    private List<ReputationDriftResponse> largestDrifts;
+    private String error;
+}
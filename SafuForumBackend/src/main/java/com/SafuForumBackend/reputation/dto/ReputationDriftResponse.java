@@ -0,0 +1,14 @@
+package com.SafuForumBackend.reputation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReputationDriftResponse {
+    private Long userId;
+    private Integer recorded;
+    private Integer expected;
+}
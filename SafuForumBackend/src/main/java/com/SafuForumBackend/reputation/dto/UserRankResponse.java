@@ -0,0 +1,15 @@
+package com.SafuForumBackend.reputation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserRankResponse {
+    private Long userId;
+    private Integer reputation;
+    private Long rank; // 1-based; users with equal reputation share a rank
+    private Long totalUsers;
+}
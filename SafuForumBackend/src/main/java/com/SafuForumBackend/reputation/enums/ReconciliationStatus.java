@@ -0,0 +1,7 @@
+package com.SafuForumBackend.reputation.enums;
+
+public enum ReconciliationStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,15 @@
+package com.SafuForumBackend.reputation.event;
+
+import java.util.List;
+
+/**
+ * Absolute reputation values after a batch of vote deltas was applied.
+ * Fanned out to every node so each keeps its leaderboard index current.
+ * Each change carries the user's reputation version, so a node only applies
+ * it over an older one.
+ */
+public record ReputationChangedEvent(
+        List<Change> changes
+) {
+    public record Change(Long userId, int reputation, long version) {}
+}
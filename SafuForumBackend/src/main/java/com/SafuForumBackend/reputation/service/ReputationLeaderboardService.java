@@ -0,0 +1,182 @@
+package com.SafuForumBackend.reputation.service;
+
+import com.SafuForumBackend.reputation.config.ReputationLeaderboardProperties;
+import com.SafuForumBackend.reputation.dto.LeaderboardEntryResponse;
+import com.SafuForumBackend.reputation.dto.UserRankResponse;
+import com.SafuForumBackend.reputation.event.ReputationChangedEvent;
+import com.SafuForumBackend.user.dto.UserSummaryResponse;
+import com.SafuForumBackend.user.entity.User;
+import com.SafuForumBackend.user.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Serves the reputation leaderboard and rank lookups from an in-memory index.
+ *
+ * Each node keeps its own index, built from the users table at startup and
+ * periodically, and updated from the reputation change events fanned out to
+ * every node. Changes that arrive while a rebuild is loading are replayed on
+ * top of the fresh snapshot so they are not lost. Values are versioned, so a
+ * change older than what the index holds is ignored.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReputationLeaderboardService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final UserRepository userRepository;
+    private final ReputationLeaderboardProperties properties;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private ReputationRankIndex index;
+    private Map<Long, ReputationChangedEvent.Change> rebuildBacklog;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(
+            fixedDelayString = "#{@reputationLeaderboardProperties.rebuildInterval.toMillis()}",
+            initialDelayString = "#{@reputationLeaderboardProperties.rebuildInterval.toMillis()}")
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuildBacklog = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ReputationRankIndex fresh = new ReputationRankIndex(properties.getBucketCap());
+        try {
+            for (UserRepository.ReputationView view : userRepository.findAllReputations()) {
+                fresh.put(view.getId(), view.getReputation(), view.getReputationVersion());
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                rebuildBacklog = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            rebuildBacklog.values().forEach(change ->
+                    fresh.put(change.userId(), change.reputation(), change.version()));
+            rebuildBacklog = null;
+            index = fresh;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Rebuilt reputation leaderboard with {} users", fresh.size());
+    }
+
+    @RabbitListener(queues = "#{reputationChangedQueue.name}")
+    public void handleReputationChanged(ReputationChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (ReputationChangedEvent.Change change : event.changes()) {
+                if (index != null) {
+                    index.put(change.userId(), change.reputation(), change.version());
+                }
+                if (rebuildBacklog != null) {
+                    rebuildBacklog.merge(change.userId(), change,
+                            (kept, incoming) -> incoming.version() > kept.version() ? incoming : kept);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Page<LeaderboardEntryResponse> getLeaderboard(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        List<ReputationRankIndex.Entry> entries;
+        long total;
+        lock.readLock().lock();
+        try {
+            if (index == null) {
+                return Page.empty(PageRequest.of(page, size));
+            }
+            entries = index.page((long) page * size, size);
+            total = index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Long, User> users = userRepository.findAllById(
+                        entries.stream().map(ReputationRankIndex.Entry::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<LeaderboardEntryResponse> content = entries.stream()
+                .filter(entry -> users.containsKey(entry.userId()))
+                .map(entry -> {
+                    User user = users.get(entry.userId());
+                    return new LeaderboardEntryResponse(entry.rank(), new UserSummaryResponse(
+                            user.getId(),
+                            user.getUsername(),
+                            user.getDisplayName(),
+                            user.getAvatarUrl(),
+                            entry.reputation()));
+                })
+                .collect(Collectors.toList());
+
+        return new PageImpl<>(content, PageRequest.of(page, size), total);
+    }
+
+    public UserRankResponse getRank(Long userId) {
+        lock.readLock().lock();
+        try {
+            if (index != null) {
+                Integer reputation = index.reputationOf(userId);
+                if (reputation != null) {
+                    return new UserRankResponse(userId, reputation, index.rankOf(reputation), index.size());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Users created since the last rebuild are not indexed yet
+        UserRepository.ReputationView view = userRepository.findReputationsByIdIn(List.of(userId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        lock.writeLock().lock();
+        try {
+            if (index == null) {
+                throw new RuntimeException("Leaderboard is not ready yet");
+            }
+            index.put(userId, view.getReputation(), view.getReputationVersion());
+            int reputation = index.reputationOf(userId);
+            return new UserRankResponse(userId, reputation, index.rankOf(reputation), index.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
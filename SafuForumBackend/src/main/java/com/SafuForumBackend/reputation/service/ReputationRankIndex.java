@@ -0,0 +1,181 @@
+package com.SafuForumBackend.reputation.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Order-statistic index over user reputations.
+ *
+ * A Fenwick tree counts users per reputation bucket so "how many users rank
+ * above X" and "which reputation sits at offset N" are O(log cap). A sorted map
+ * of reputation to user ids supplies the actual users for a page, ordered by
+ * reputation descending, then id ascending.
+ *
+ * Each user's reputation version is kept as well, and a value is only taken
+ * over an older version, so changes delivered out of order cannot regress it.
+ *
+ * Not thread-safe; callers guard it with a read/write lock.
+ */
+class ReputationRankIndex {
+
+    record Entry(Long userId, int reputation, long rank) {}
+
+    private final int cap;
+    private final int[] tree;
+    private final Map<Long, Integer> reputationByUser = new HashMap<>();
+    private final Map<Long, Long> versionByUser = new HashMap<>();
+    private final TreeMap<Integer, TreeSet<Long>> usersByReputation = new TreeMap<>();
+
+    ReputationRankIndex(int cap) {
+        this.cap = cap;
+        this.tree = new int[cap + 2];
+    }
+
+    /**
+     * Sets the user's reputation unless the index already holds the same or a
+     * newer version of it.
+     *
+     * @return whether the value was taken
+     */
+    boolean put(Long userId, int reputation, long version) {
+        Long current = versionByUser.get(userId);
+        if (current != null && version <= current) {
+            return false;
+        }
+        versionByUser.put(userId, version);
+
+        int clamped = Math.max(0, reputation);
+        Integer previous = reputationByUser.put(userId, clamped);
+        if (previous != null) {
+            if (previous == clamped) {
+                return true;
+            }
+            detach(userId, previous);
+        }
+        usersByReputation.computeIfAbsent(clamped, r -> new TreeSet<>()).add(userId);
+        add(bucket(clamped), 1);
+        return true;
+    }
+
+    Integer reputationOf(Long userId) {
+        return reputationByUser.get(userId);
+    }
+
+    long size() {
+        return reputationByUser.size();
+    }
+
+    /** 1-based competition rank: users with equal reputation share a rank. */
+    long rankOf(int reputation) {
+        return countAbove(reputation) + 1;
+    }
+
+    /**
+     * Returns up to limit entries starting at offset in leaderboard order. The
+     * starting reputation is located through the Fenwick tree; only users tied
+     * at that reputation are walked to reach the exact offset.
+     */
+    List<Entry> page(long offset, int limit) {
+        List<Entry> entries = new ArrayList<>(limit);
+        long size = size();
+        if (offset >= size || limit <= 0) {
+            return entries;
+        }
+
+        int startBucket = findBucket(size - offset);
+        NavigableMap<Integer, TreeSet<Long>> groups;
+        long skip;
+        if (startBucket == cap) {
+            groups = usersByReputation.descendingMap();
+            skip = offset;
+        } else {
+            groups = usersByReputation.headMap(startBucket, true).descendingMap();
+            skip = offset - (size - prefix(startBucket));
+        }
+
+        long above = -1;
+        for (Map.Entry<Integer, TreeSet<Long>> group : groups.entrySet()) {
+            int reputation = group.getKey();
+            TreeSet<Long> userIds = group.getValue();
+            if (skip >= userIds.size()) {
+                skip -= userIds.size();
+                continue;
+            }
+            if (above < 0) {
+                above = countAbove(reputation);
+            }
+            for (Long userId : userIds) {
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                entries.add(new Entry(userId, reputation, above + 1));
+                if (entries.size() == limit) {
+                    return entries;
+                }
+            }
+            above += userIds.size();
+        }
+        return entries;
+    }
+
+    private long countAbove(int reputation) {
+        if (reputation >= cap) {
+            long count = 0;
+            for (TreeSet<Long> userIds : usersByReputation.tailMap(reputation, false).values()) {
+                count += userIds.size();
+            }
+            return count;
+        }
+        return size() - prefix(reputation);
+    }
+
+    private void detach(Long userId, int reputation) {
+        TreeSet<Long> userIds = usersByReputation.get(reputation);
+        userIds.remove(userId);
+        if (userIds.isEmpty()) {
+            usersByReputation.remove(reputation);
+        }
+        add(bucket(reputation), -1);
+    }
+
+    private int bucket(int reputation) {
+        return Math.min(reputation, cap);
+    }
+
+    // ============ FENWICK TREE ============
+
+    private void add(int bucket, int delta) {
+        for (int i = bucket + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Number of users in buckets [0, bucket]
+    private long prefix(int bucket) {
+        long sum = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    // Smallest bucket whose prefix count reaches k (k is 1-based from the bottom)
+    private int findBucket(long k) {
+        int n = tree.length - 1;
+        int position = 0;
+        for (int step = Integer.highestOneBit(n); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= n && tree[next] < k) {
+                position = next;
+                k -= tree[next];
+            }
+        }
+        return position;
+    }
+}
@@ -0,0 +1,339 @@
+package com.SafuForumBackend.reputation.service;
+
+import com.SafuForumBackend.config.RabbitMQConfig;
+import com.SafuForumBackend.outbox.service.OutboxService;
+import com.SafuForumBackend.reputation.config.ReputationReconciliationProperties;
+import com.SafuForumBackend.reputation.dto.ReconciliationReportResponse;
+import com.SafuForumBackend.reputation.dto.ReputationDriftResponse;
+import com.SafuForumBackend.reputation.enums.ReconciliationStatus;
+import com.SafuForumBackend.reputation.event.ReputationChangedEvent;
+import com.SafuForumBackend.user.entity.User;
+import com.SafuForumBackend.user.repository.UserRepository;
+import com.SafuForumBackend.vote.constants.VoteConstants;
+import com.SafuForumBackend.vote.repository.VoteRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Recomputes every user's reputation from the votes table and corrects drift
+ * left by lost or duplicated vote events.
+ *
+ * Votes up to a watermark are summed per author in id-range chunks on a
+ * fork/join pool, each chunk being one short read. The expected reputation
+ * replays them in id order with the same clamping at 0 the live updates apply.
+ * Authors with votes newer than the settle delay are left out, as their
+ * events may not have landed yet, so no vote is counted by both the live
+ * value and a correction. Users are then compared in id-range chunks. Drifted
+ * users are re-checked after the settle delay and only corrected if both
+ * their expected and recorded values are unchanged, which skips authors with
+ * vote activity during the run. Corrections are
+ * compare-and-set batches in their own short transactions. All queries share
+ * one throttle to bound the load on the database.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReputationReconciliationService {
+
+    private final VoteRepository voteRepository;
+    private final UserRepository userRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final ReputationReconciliationProperties properties;
+
+    private final AtomicReference<Run> latestRun = new AtomicReference<>();
+
+    public ReconciliationReportResponse start(User admin) {
+        Run previous = latestRun.get();
+        Run run = new Run(admin.getId());
+        if ((previous != null && previous.status == ReconciliationStatus.RUNNING)
+                || !latestRun.compareAndSet(previous, run)) {
+            throw new RuntimeException("A reputation reconciliation is already running");
+        }
+
+        Thread.ofPlatform()
+                .name("reputation-reconciliation")
+                .start(() -> execute(run));
+        return run.toReport();
+    }
+
+    public ReconciliationReportResponse getLatestReport() {
+        Run run = latestRun.get();
+        if (run == null) {
+            throw new RuntimeException("No reputation reconciliation has been run");
+        }
+        return run.toReport();
+    }
+
+    private void execute(Run run) {
+        Throttle throttle = new Throttle(properties.getMaxChunksPerSecond());
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, properties.getParallelism()));
+        try {
+            LocalDateTime settledBefore = run.startedAt.minus(properties.getSettleDelay());
+            long minVoteId = voteRepository.findMinId();
+            long watermark = voteRepository.findMaxId();
+            run.voteWatermark = watermark;
+
+            Map<Long, AuthorPoints> pointsByAuthor = watermark > 0
+                    ? pool.invoke(new VoteChunkTask(minVoteId, watermark + 1, settledBefore, run, throttle))
+                    : Map.of();
+
+            List<ReputationDriftResponse> drifts = findDrift(pointsByAuthor, run, throttle);
+            run.recordLargestDrifts(drifts, properties.getReportLimit());
+
+            if (!drifts.isEmpty()) {
+                Thread.sleep(properties.getSettleDelay().toMillis());
+                correct(drifts, settledBefore, run, throttle);
+            }
+
+            run.finish(ReconciliationStatus.COMPLETED, null);
+            log.info("Reputation reconciliation finished: {}", run.toReport());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.finish(ReconciliationStatus.FAILED, "Interrupted");
+        } catch (Exception e) {
+            log.error("Reputation reconciliation failed: {}", e.getMessage(), e);
+            run.finish(ReconciliationStatus.FAILED, e.getMessage());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private List<ReputationDriftResponse> findDrift(Map<Long, AuthorPoints> pointsByAuthor, Run run,
+            Throttle throttle) {
+        List<ReputationDriftResponse> drifts = new ArrayList<>();
+        long maxUserId = userRepository.findMaxId();
+        for (long fromId = 0; fromId <= maxUserId; fromId += properties.getChunkSize()) {
+            throttle.acquire();
+            for (UserRepository.ReputationView view : userRepository.findReputationsInRange(
+                    fromId, fromId + properties.getChunkSize())) {
+                run.usersChecked.incrementAndGet();
+                AuthorPoints points = pointsByAuthor.getOrDefault(view.getId(), AuthorPoints.NONE);
+                if (points.recent()) {
+                    run.unsettledUsers.incrementAndGet();
+                    continue;
+                }
+                int expected = points.reputation();
+                if (expected != view.getReputation()) {
+                    drifts.add(new ReputationDriftResponse(view.getId(), view.getReputation(), expected));
+                    run.driftedUsers.incrementAndGet();
+                    run.totalAbsoluteDrift.addAndGet(Math.abs((long) expected - view.getReputation()));
+                }
+            }
+        }
+        return drifts;
+    }
+
+    private void correct(List<ReputationDriftResponse> drifts, LocalDateTime settledBefore, Run run,
+            Throttle throttle) {
+        for (int start = 0; start < drifts.size(); start += properties.getCorrectionBatchSize()) {
+            List<ReputationDriftResponse> batch =
+                    drifts.subList(start, Math.min(start + properties.getCorrectionBatchSize(), drifts.size()));
+            List<Long> userIds = batch.stream().map(ReputationDriftResponse::getUserId).toList();
+
+            throttle.acquire();
+            Map<Long, AuthorPoints> recomputed = toPointsMap(voteRepository.sumAuthorPointsForAuthors(userIds,
+                    settledBefore, VoteConstants.UPVOTE_POST, VoteConstants.DOWNVOTE_POST,
+                    VoteConstants.UPVOTE_COMMENT, VoteConstants.DOWNVOTE_COMMENT));
+            Map<Long, Integer> current = userRepository.findReputationsByIdIn(userIds).stream()
+                    .collect(Collectors.toMap(UserRepository.ReputationView::getId,
+                            UserRepository.ReputationView::getReputation));
+
+            List<ReputationDriftResponse> stable = batch.stream()
+                    .filter(drift -> {
+                        AuthorPoints points = recomputed.getOrDefault(drift.getUserId(), AuthorPoints.NONE);
+                        return !points.recent() && drift.getExpected() == points.reputation();
+                    })
+                    .filter(drift -> drift.getRecorded().equals(current.get(drift.getUserId())))
+                    .toList();
+
+            int corrected = stable.isEmpty() ? 0 : applyCorrections(stable);
+            run.correctedUsers.addAndGet(corrected);
+            run.skippedUsers.addAndGet(batch.size() - corrected);
+        }
+    }
+
+    private int applyCorrections(List<ReputationDriftResponse> corrections) {
+        Long[] ids = corrections.stream().map(ReputationDriftResponse::getUserId).toArray(Long[]::new);
+        Integer[] expected = corrections.stream().map(ReputationDriftResponse::getExpected).toArray(Integer[]::new);
+        Integer[] observed = corrections.stream().map(ReputationDriftResponse::getRecorded).toArray(Integer[]::new);
+
+        Integer corrected = transactionTemplate.execute(status -> {
+            List<UserRepository.ReputationView> updated = userRepository.compareAndSetReputations(ids, expected, observed);
+            if (!updated.isEmpty()) {
+                outboxService.enqueue(RabbitMQConfig.EVENT_EXCHANGE, RabbitMQConfig.REPUTATION_CHANGED_ROUTING_KEY,
+                        new ReputationChangedEvent(updated.stream()
+                                .map(view -> new ReputationChangedEvent.Change(view.getId(), view.getReputation(),
+                                        view.getReputationVersion()))
+                                .toList()));
+            }
+            return updated.size();
+        });
+        return corrected != null ? corrected : 0;
+    }
+
+    private static Map<Long, AuthorPoints> toPointsMap(Collection<VoteRepository.AuthorPointsView> views) {
+        return views.stream().collect(Collectors.toMap(VoteRepository.AuthorPointsView::getAuthorId,
+                AuthorPoints::of, (a, b) -> a, HashMap::new));
+    }
+
+    /**
+     * An author's votes over some id range: their summed points, the lowest
+     * running total in id order (at most 0) and whether any is unsettled.
+     */
+    record AuthorPoints(long points, long lowestPoints, boolean recent) {
+
+        static final AuthorPoints NONE = new AuthorPoints(0, 0, false);
+
+        static AuthorPoints of(VoteRepository.AuthorPointsView view) {
+            return new AuthorPoints(view.getPoints(), view.getLowestPoints(), Boolean.TRUE.equals(view.getRecent()));
+        }
+
+        // Combines with the points of the id range right after this one
+        AuthorPoints then(AuthorPoints next) {
+            return new AuthorPoints(points + next.points, Math.min(lowestPoints, points + next.lowestPoints),
+                    recent || next.recent);
+        }
+
+        // What reputation + delta clamped at 0 gives when replayed vote by vote
+        int reputation() {
+            return (int) Math.min(Integer.MAX_VALUE, points - lowestPoints);
+        }
+    }
+
+    /**
+     * Splits a vote id range in half until it fits one chunk, sums that
+     * chunk's points per author, and combines the halves in id order.
+     */
+    private class VoteChunkTask extends RecursiveTask<Map<Long, AuthorPoints>> {
+
+        private final long fromId;
+        private final long toId;
+        private final LocalDateTime settledBefore;
+        private final Run run;
+        private final Throttle throttle;
+
+        VoteChunkTask(long fromId, long toId, LocalDateTime settledBefore, Run run, Throttle throttle) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.settledBefore = settledBefore;
+            this.run = run;
+            this.throttle = throttle;
+        }
+
+        @Override
+        protected Map<Long, AuthorPoints> compute() {
+            if (toId - fromId <= properties.getChunkSize()) {
+                throttle.acquire();
+                Map<Long, AuthorPoints> points = toPointsMap(voteRepository.sumAuthorPointsInRange(fromId, toId,
+                        settledBefore, VoteConstants.UPVOTE_POST, VoteConstants.DOWNVOTE_POST,
+                        VoteConstants.UPVOTE_COMMENT, VoteConstants.DOWNVOTE_COMMENT));
+                run.voteChunksScanned.incrementAndGet();
+                return points;
+            }
+            long middle = fromId + (toId - fromId) / 2;
+            VoteChunkTask lower = new VoteChunkTask(fromId, middle, settledBefore, run, throttle);
+            lower.fork();
+            Map<Long, AuthorPoints> upper = new VoteChunkTask(middle, toId, settledBefore, run, throttle).compute();
+            Map<Long, AuthorPoints> points = lower.join();
+            upper.forEach((authorId, next) -> points.merge(authorId, next, AuthorPoints::then));
+            return points;
+        }
+    }
+
+    /**
+     * Hands out evenly spaced time slots; callers park until their slot.
+     */
+    private static final class Throttle {
+
+        private final long intervalNanos;
+        private final AtomicLong nextSlot = new AtomicLong(System.nanoTime());
+
+        Throttle(double permitsPerSecond) {
+            this.intervalNanos = permitsPerSecond > 0 ? (long) (1_000_000_000L / permitsPerSecond) : 0;
+        }
+
+        void acquire() {
+            if (intervalNanos == 0) {
+                return;
+            }
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextSlot.getAndAccumulate(now, (next, n) -> Math.max(next, n) + intervalNanos));
+            if (slot > now) {
+                LockSupport.parkNanos(slot - now);
+            }
+        }
+    }
+
+    private static final class Run {
+
+        private final Long triggeredBy;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile LocalDateTime finishedAt;
+        private volatile ReconciliationStatus status = ReconciliationStatus.RUNNING;
+        private volatile String error;
+        private volatile long voteWatermark;
+        private volatile List<ReputationDriftResponse> largestDrifts = List.of();
+        private final AtomicLong voteChunksScanned = new AtomicLong();
+        private final AtomicLong usersChecked = new AtomicLong();
+        private final AtomicLong driftedUsers = new AtomicLong();
+        private final AtomicLong correctedUsers = new AtomicLong();
+        private final AtomicLong skippedUsers = new AtomicLong();
+        private final AtomicLong unsettledUsers = new AtomicLong();
+        private final AtomicLong totalAbsoluteDrift = new AtomicLong();
+
+        Run(Long triggeredBy) {
+            this.triggeredBy = triggeredBy;
+        }
+
+        void recordLargestDrifts(List<ReputationDriftResponse> drifts, int limit) {
+            largestDrifts = drifts.stream()
+                    .sorted(Comparator.comparingLong(
+                            (ReputationDriftResponse drift) -> Math.abs((long) drift.getExpected() - drift.getRecorded()))
+                            .reversed())
+                    .limit(limit)
+                    .toList();
+        }
+
+        void finish(ReconciliationStatus finalStatus, String failure) {
+            error = failure;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+        }
+
+        ReconciliationReportResponse toReport() {
+            return ReconciliationReportResponse.builder()
+                    .status(status)
+                    .triggeredBy(triggeredBy)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .voteWatermark(voteWatermark)
+                    .votesChunksScanned(voteChunksScanned.get())
+                    .usersChecked(usersChecked.get())
+                    .driftedUsers(driftedUsers.get())
+                    .correctedUsers(correctedUsers.get())
+                    .skippedUsers(skippedUsers.get())
+                    .unsettledUsers(unsettledUsers.get())
+                    .totalAbsoluteDrift(totalAbsoluteDrift.get())
+                    .largestDrifts(largestDrifts)
+                    .error(error)
+                    .build();
+        }
+    }
+}
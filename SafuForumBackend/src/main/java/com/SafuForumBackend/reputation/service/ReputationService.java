@@ -1,34 +1,73 @@
 package com.SafuForumBackend.reputation.service;
 
 import com.SafuForumBackend.config.RabbitMQConfig;
-import com.SafuForumBackend.user.entity.User;
+import com.SafuForumBackend.outbox.service.OutboxDeduplicator;
+import com.SafuForumBackend.outbox.service.OutboxService;
+import com.SafuForumBackend.reputation.event.ReputationChangedEvent;
 import com.SafuForumBackend.user.repository.UserRepository;
 import com.SafuForumBackend.vote.event.VoteEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.Message;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class ReputationService {
 
+    private static final String CONSUMER = "reputation";
+
     private final UserRepository userRepository;
+    private final OutboxService outboxService;
+    private final OutboxDeduplicator outboxDeduplicator;
 
-    @RabbitListener(queues = RabbitMQConfig.VOTE_REPUTATION_QUEUE)
+    /**
+     * Applies a batch of vote events in one transaction.
+     *
+     * Deltas are summed per author first so a popular author's row is written
+     * once per batch rather than once per vote. The batch is acked only after
+     * the transaction commits; if it fails, every message in it is redelivered.
+     * Clamping at zero happens on the summed delta, not after each vote.
+     * Outbox messages this consumer has already applied are skipped, so a
+     * redelivered vote is not counted twice.
+     */
+    @RabbitListener(queues = RabbitMQConfig.VOTE_REPUTATION_QUEUE, containerFactory = "reputationBatchContainerFactory")
     @Transactional
-    public void handleVoteEvent(VoteEvent event) {
-        User author = userRepository.findById(event.authorId())
-                .orElseThrow(() -> new IllegalArgumentException("User not found with id: " + event.authorId()));
-        int currentReputation = author.getReputation();
-        int updatedReputation = currentReputation + event.voteDelta();
-        if (updatedReputation < 0) {
-            updatedReputation = 0;
+    public void handleVoteEvents(List<Message<VoteEvent>> messages) {
+        List<VoteEvent> events = outboxDeduplicator.firstDeliveries(CONSUMER, messages);
+        Map<Long, Integer> deltasByAuthor = new TreeMap<>();
+        for (VoteEvent event : events) {
+            deltasByAuthor.merge(event.authorId(), event.voteDelta(), Integer::sum);
+        }
+        deltasByAuthor.values().removeIf(delta -> delta == 0);
+
+        if (deltasByAuthor.isEmpty()) {
+            return;
+        }
+
+        Long[] authorIds = deltasByAuthor.keySet().toArray(new Long[0]);
+        Integer[] deltas = deltasByAuthor.values().toArray(new Integer[0]);
+
+        List<UserRepository.ReputationView> updated = userRepository.applyReputationDeltas(authorIds, deltas);
+        if (updated.size() != authorIds.length) {
+            log.warn("Reputation batch touched {} of {} authors; missing users were skipped",
+                    updated.size(), authorIds.length);
+        }
+        log.debug("Applied {} vote events to {} authors", events.size(), updated.size());
+
+        if (!updated.isEmpty()) {
+            outboxService.enqueue(RabbitMQConfig.EVENT_EXCHANGE, RabbitMQConfig.REPUTATION_CHANGED_ROUTING_KEY,
+                    new ReputationChangedEvent(updated.stream()
+                            .map(view -> new ReputationChangedEvent.Change(view.getId(), view.getReputation(),
+                                    view.getReputationVersion()))
+                            .toList()));
         }
-        author.setReputation(updatedReputation);
-        userRepository.save(author);
-        log.info("Updated reputation for user {}: {} -> {}", author.getId(), currentReputation, updatedReputation);
     }
 }
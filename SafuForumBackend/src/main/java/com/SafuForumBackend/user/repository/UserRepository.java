@@ -2,7 +2,12 @@ package com.SafuForumBackend.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import com.SafuForumBackend.user.entity.User;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +17,84 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByOauthProviderAndOauthProviderId(String provider, String providerId);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    /**
+     * Adds deltas[i] to the reputation of authorIds[i] in one statement, never
+     * going below zero. Rows are locked in id order so concurrent batches
+     * touching the same authors cannot deadlock. Returns the new reputation
+     * and reputation version of every updated user.
+     */
+    @Transactional
+    @Query(value = """
+            WITH deltas AS (
+                SELECT * FROM unnest(CAST(:authorIds AS bigint[]), CAST(:deltas AS integer[]))
+                    AS t(author_id, delta)
+            ), locked AS (
+                SELECT u.id FROM users u
+                WHERE u.id IN (SELECT author_id FROM deltas)
+                ORDER BY u.id
+                FOR UPDATE
+            )
+            UPDATE users u
+            SET reputation = GREATEST(0, u.reputation + d.delta),
+                reputation_version = u.reputation_version + 1
+            FROM deltas d, locked l
+            WHERE u.id = d.author_id AND l.id = u.id
+            RETURNING u.id AS id, u.reputation AS reputation, u.reputation_version AS reputationVersion
+            """, nativeQuery = true)
+    List<ReputationView> applyReputationDeltas(@Param("authorIds") Long[] authorIds, @Param("deltas") Integer[] deltas);
+
+    @Query(value = "SELECT id, reputation, reputation_version AS reputationVersion FROM users", nativeQuery = true)
+    List<ReputationView> findAllReputations();
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM users", nativeQuery = true)
+    Long findMaxId();
+
+    @Query(value = """
+            SELECT id, reputation, reputation_version AS reputationVersion FROM users
+            WHERE id >= :fromId AND id < :toId
+            """, nativeQuery = true)
+    List<ReputationView> findReputationsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query(value = """
+            SELECT id, reputation, reputation_version AS reputationVersion FROM users
+            WHERE id IN (:ids)
+            """, nativeQuery = true)
+    List<ReputationView> findReputationsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Sets reputation to expected[i] only where it still equals observed[i],
+     * so corrections never clobber an update that landed after the check.
+     * Locks rows in id order, like applyReputationDeltas. Returns the users that were actually corrected.
+     */
+    @Transactional
+    @Query(value = """
+            WITH d AS (
+                SELECT * FROM unnest(CAST(:ids AS bigint[]), CAST(:expected AS integer[]), CAST(:observed AS integer[]))
+                    AS t(id, expected, observed)
+            ), locked AS (
+                SELECT u.id FROM users u
+                WHERE u.id IN (SELECT id FROM d)
+                ORDER BY u.id
+                FOR UPDATE
+            )
+            UPDATE users u
+            SET reputation = d.expected,
+                reputation_version = u.reputation_version + 1
+            FROM d, locked l
+            WHERE u.id = d.id AND l.id = u.id AND u.reputation = d.observed
+            RETURNING u.id AS id, u.reputation AS reputation, u.reputation_version AS reputationVersion
+            """, nativeQuery = true)
+    List<ReputationView> compareAndSetReputations(
+            @Param("ids") Long[] ids,
+            @Param("expected") Integer[] expected,
+            @Param("observed") Integer[] observed);
+
+    interface ReputationView {
+        Long getId();
+
+        Integer getReputation();
+
+        Long getReputationVersion();
+    }
+}
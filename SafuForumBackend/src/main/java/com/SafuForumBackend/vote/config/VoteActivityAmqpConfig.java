@@ -0,0 +1,49 @@
+package com.SafuForumBackend.vote.config;
+
+import com.SafuForumBackend.config.RabbitMQConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.TopicExchange;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@RequiredArgsConstructor
+public class VoteActivityAmqpConfig {
+
+    public static final String VOTE_ACTIVITY_QUEUE = "vote.activity.queue";
+
+    private final VoteActivityProperties properties;
+
+    @Bean
+    public Queue voteActivityQueue() {
+        return new Queue(VOTE_ACTIVITY_QUEUE, true);
+    }
+
+    // vote.# matches every partitioned vote routing key (vote.<entity>.<partition>)
+    @Bean
+    public Binding voteActivityBinding(Queue voteActivityQueue, TopicExchange eventExchange) {
+        return BindingBuilder.bind(voteActivityQueue)
+                .to(eventExchange)
+                .with("vote.#");
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory voteActivityContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(properties.getBatchSize());
+        factory.setPrefetchCount(properties.getBatchSize());
+        factory.setReceiveTimeout(properties.getReceiveTimeout().toMillis());
+        return factory;
+    }
+}
@@ -0,0 +1,26 @@
+package com.SafuForumBackend.vote.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "vote.activity")
+public class VoteActivityProperties {
+
+    private int batchSize = 500;
+    private Duration receiveTimeout = Duration.ofSeconds(1);
+
+    // Hourly buckets older than this are folded into daily ones, daily into weekly
+    private Duration hourlyRetention = Duration.ofDays(7);
+    private Duration dailyRetention = Duration.ofDays(90);
+    private Duration downsampleInterval = Duration.ofHours(1);
+
+    // Upper bound on buckets a single query may return
+    private int maxQueryBuckets = 1000;
+}
@@ -0,0 +1,20 @@
+package com.SafuForumBackend.vote.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "vote.counter")
+public class VoteCounterProperties {
+
+    // Number of shard rows per post/comment that writers spread increments over
+    private int shards = 16;
+    private Duration compactionInterval = Duration.ofSeconds(5);
+    private int compactionBatchSize = 5000;
+}
@@ -0,0 +1,54 @@
+package com.SafuForumBackend.vote.controller;
+
+import com.SafuForumBackend.user.entity.User;
+import com.SafuForumBackend.vote.dto.VoteActivityBucketResponse;
+import com.SafuForumBackend.vote.enums.ActivityDimension;
+import com.SafuForumBackend.vote.enums.ActivityGranularity;
+import com.SafuForumBackend.vote.service.VoteActivityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics/votes")
+@RequiredArgsConstructor
+public class VoteActivityController {
+
+    private final VoteActivityService voteActivityService;
+
+    /**
+     * Net vote activity per bucket, by default over the last 24 buckets.
+     * Returns 400 if the range starts before the retention of the requested
+     * granularity (vote.activity.hourly-retention for HOUR, daily-retention
+     * for DAY), since those buckets have been folded into coarser ones.
+     */
+    @GetMapping("/{dimension}/{id}")
+    public ResponseEntity<List<VoteActivityBucketResponse>> getActivity(
+            @PathVariable ActivityDimension dimension,
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "HOUR") ActivityGranularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @AuthenticationPrincipal User currentUser) {
+
+        if (currentUser == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (!currentUser.canModerate()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minus(granularity.getLength().multipliedBy(24));
+
+        List<VoteActivityBucketResponse> activity =
+                voteActivityService.getActivity(dimension, id, granularity, start, end);
+        return ResponseEntity.ok(activity);
+    }
+}
@@ -1,6 +1,7 @@
 package com.SafuForumBackend.vote.controller;
 
 import com.SafuForumBackend.user.entity.User;
+import com.SafuForumBackend.vote.dto.BulkVoteScoreResponse;
 import com.SafuForumBackend.vote.dto.VoteRequest;
 import com.SafuForumBackend.vote.dto.VoteResponse;
 import com.SafuForumBackend.vote.dto.VoteScoreResponse;
@@ -12,6 +13,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/votes")
 @RequiredArgsConstructor
@@ -63,4 +66,14 @@ public class VoteController {
         VoteScoreResponse score = voteService.getCommentVoteScore(commentId, currentUser);
         return ResponseEntity.ok(score);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/bulk")
+    public ResponseEntity<BulkVoteScoreResponse> getBulkVoteScores(
+            @RequestParam(required = false) List<Long> postIds,
+            @RequestParam(required = false) List<Long> commentIds,
+            @AuthenticationPrincipal User currentUser) {
+
+        BulkVoteScoreResponse scores = voteService.getBulkVoteScores(postIds, commentIds, currentUser);
+        return ResponseEntity.ok(scores);
+    }
+}
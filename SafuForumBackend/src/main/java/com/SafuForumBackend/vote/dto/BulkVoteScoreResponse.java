@@ -0,0 +1,15 @@
+package com.SafuForumBackend.vote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkVoteScoreResponse {
+    private Map<Long, VoteScoreResponse> posts;
+    private Map<Long, VoteScoreResponse> comments;
+}
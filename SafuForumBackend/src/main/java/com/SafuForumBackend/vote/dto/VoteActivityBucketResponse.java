@@ -0,0 +1,17 @@
+package com.SafuForumBackend.vote.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VoteActivityBucketResponse {
+    private LocalDateTime bucketStart;
+    private Long upvotes;
+    private Long downvotes;
+    private Long net;
+}
@@ -0,0 +1,63 @@
+package com.SafuForumBackend.vote.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Net vote activity for one post, tag or author within one time bucket.
+ * Maintained incrementally by VoteActivityRollupConsumer.
+ */
+@Entity
+@Table(name = "vote_activity_rollups")
+@IdClass(VoteActivityRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VoteActivityRollup {
+
+    @Id
+    @Column(nullable = false, length = 10)
+    private String granularity;
+
+    @Id
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(nullable = false, length = 10)
+    private String dimension;
+
+    @Id
+    @Column(name = "dimension_id", nullable = false)
+    private Long dimensionId;
+
+    @Id
+    @Column(name = "target_type", nullable = false, length = 20)
+    private String targetType;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer upvotes = 0;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer downvotes = 0;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String granularity;
+        private LocalDateTime bucketStart;
+        private String dimension;
+        private Long dimensionId;
+        private String targetType;
+    }
+}
@@ -0,0 +1,50 @@
+package com.SafuForumBackend.vote.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Compacted vote score for a post or comment.
+ *
+ * The live score is this value plus the sum of the target's rows in
+ * vote_counter_shards that have not been compacted yet.
+ */
+@Entity
+@Table(name = "vote_counters")
+@IdClass(VoteCounter.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class VoteCounter {
+
+    @Id
+    @Column(name = "entity_type", nullable = false, length = 20)
+    private String entityType;
+
+    @Id
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer score = 0;
+
+    @Builder.Default
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String entityType;
+        private Long entityId;
+    }
+}
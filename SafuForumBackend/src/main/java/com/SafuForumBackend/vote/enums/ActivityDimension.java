@@ -0,0 +1,7 @@
+package com.SafuForumBackend.vote.enums;
+
+public enum ActivityDimension {
+    POST,
+    TAG,
+    AUTHOR
+}
@@ -0,0 +1,26 @@
+package com.SafuForumBackend.vote.enums;
+
+import java.time.Duration;
+
+public enum ActivityGranularity {
+    HOUR("hour", Duration.ofHours(1)),
+    DAY("day", Duration.ofDays(1)),
+    WEEK("week", Duration.ofDays(7));
+
+    // Unit name understood by Postgres date_trunc
+    private final String truncUnit;
+    private final Duration length;
+
+    ActivityGranularity(String truncUnit, Duration length) {
+        this.truncUnit = truncUnit;
+        this.length = length;
+    }
+
+    public String getTruncUnit() {
+        return truncUnit;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+}
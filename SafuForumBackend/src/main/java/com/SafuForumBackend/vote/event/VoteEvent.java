@@ -3,10 +3,22 @@ package com.SafuForumBackend.vote.event;
 import com.SafuForumBackend.vote.enums.EntityType;
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 
+/**
+ * A change to one user's vote on a post or comment.
+ *
+ * voteDelta is the reputation change for the content author. upvoteDelta and
+ * downvoteDelta are the change in upvote/downvote counts (-1, 0 or 1), and
+ * postId is the post the voted content belongs to, for activity rollups.
+ */
 public record VoteEvent(
         Long authorId,
         Long entityId,
         EntityType entityType,
-        int voteDelta
+        int voteDelta,
+        int upvoteDelta,
+        int downvoteDelta,
+        Long postId,
+        LocalDateTime occurredAt
 ) implements Serializable {}
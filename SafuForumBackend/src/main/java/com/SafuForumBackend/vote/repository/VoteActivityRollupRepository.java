@@ -0,0 +1,122 @@
+package com.SafuForumBackend.vote.repository;
+
+import com.SafuForumBackend.vote.entity.VoteActivityRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface VoteActivityRollupRepository extends JpaRepository<VoteActivityRollup, VoteActivityRollup.Key> {
+
+    /**
+     * Adds a batch of per-event activity deltas to the hourly rollups of the
+     * voted post, each of its tags, and the content author. The arrays are
+     * parallel, one element per event. Rows are upserted in key order so
+     * concurrent batches cannot deadlock.
+     */
+    @Modifying
+    @Query(value = """
+            WITH e AS (
+                SELECT * FROM unnest(
+                        CAST(:bucketStarts AS timestamp[]),
+                        CAST(:postIds AS bigint[]),
+                        CAST(:authorIds AS bigint[]),
+                        CAST(:targetTypes AS varchar[]),
+                        CAST(:upvotes AS integer[]),
+                        CAST(:downvotes AS integer[]))
+                    AS t(bucket_start, post_id, author_id, target_type, upvotes, downvotes)
+            ), dims AS (
+                SELECT bucket_start, 'POST' AS dimension, post_id AS dimension_id, target_type, upvotes, downvotes
+                FROM e WHERE post_id IS NOT NULL
+                UNION ALL
+                SELECT bucket_start, 'AUTHOR', author_id, target_type, upvotes, downvotes
+                FROM e WHERE author_id IS NOT NULL
+                UNION ALL
+                SELECT e.bucket_start, 'TAG', pt.tag_id, e.target_type, e.upvotes, e.downvotes
+                FROM e JOIN post_tags pt ON pt.post_id = e.post_id
+            )
+            INSERT INTO vote_activity_rollups
+                (granularity, bucket_start, dimension, dimension_id, target_type, upvotes, downvotes)
+            SELECT 'HOUR', bucket_start, dimension, dimension_id, target_type, SUM(upvotes), SUM(downvotes)
+            FROM dims
+            GROUP BY bucket_start, dimension, dimension_id, target_type
+            ORDER BY bucket_start, dimension, dimension_id, target_type
+            ON CONFLICT (granularity, bucket_start, dimension, dimension_id, target_type)
+            DO UPDATE SET upvotes = vote_activity_rollups.upvotes + EXCLUDED.upvotes,
+                          downvotes = vote_activity_rollups.downvotes + EXCLUDED.downvotes
+            """, nativeQuery = true)
+    int addHourlyActivity(
+            @Param("bucketStarts") String[] bucketStarts,
+            @Param("postIds") Long[] postIds,
+            @Param("authorIds") Long[] authorIds,
+            @Param("targetTypes") String[] targetTypes,
+            @Param("upvotes") Integer[] upvotes,
+            @Param("downvotes") Integer[] downvotes);
+
+    /**
+     * Folds rows of one granularity older than the cutoff into the next coarser
+     * granularity and deletes them, in one statement.
+     */
+    @Modifying
+    @Query(value = """
+            WITH drained AS (
+                DELETE FROM vote_activity_rollups
+                WHERE granularity = :fromGranularity AND bucket_start < :cutoff
+                RETURNING bucket_start, dimension, dimension_id, target_type, upvotes, downvotes
+            )
+            INSERT INTO vote_activity_rollups
+                (granularity, bucket_start, dimension, dimension_id, target_type, upvotes, downvotes)
+            SELECT :toGranularity, date_trunc(:truncUnit, bucket_start), dimension, dimension_id, target_type,
+                   SUM(upvotes), SUM(downvotes)
+            FROM drained
+            GROUP BY 2, dimension, dimension_id, target_type
+            ON CONFLICT (granularity, bucket_start, dimension, dimension_id, target_type)
+            DO UPDATE SET upvotes = vote_activity_rollups.upvotes + EXCLUDED.upvotes,
+                          downvotes = vote_activity_rollups.downvotes + EXCLUDED.downvotes
+            """, nativeQuery = true)
+    int downsample(
+            @Param("fromGranularity") String fromGranularity,
+            @Param("toGranularity") String toGranularity,
+            @Param("truncUnit") String truncUnit,
+            @Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Activity for one post, tag or author, re-bucketed to truncUnit. Reads
+     * every stored granularity at or finer than the requested one, so recent
+     * hourly rows and older daily rows combine into one daily series.
+     */
+    @Query(value = """
+            SELECT date_trunc(:truncUnit, r.bucket_start) AS bucketStart,
+                   SUM(r.upvotes) AS upvotes,
+                   SUM(r.downvotes) AS downvotes
+            FROM vote_activity_rollups r
+            WHERE r.dimension = :dimension
+              AND r.dimension_id = :dimensionId
+              AND r.granularity IN (:granularities)
+              AND r.bucket_start >= :fromTime
+              AND r.bucket_start < :toTime
+            GROUP BY 1
+            ORDER BY 1
+            """, nativeQuery = true)
+    List<ActivityBucketView> findActivity(
+            @Param("dimension") String dimension,
+            @Param("dimensionId") Long dimensionId,
+            @Param("granularities") Collection<String> granularities,
+            @Param("truncUnit") String truncUnit,
+            @Param("fromTime") LocalDateTime fromTime,
+            @Param("toTime") LocalDateTime toTime);
+
+    interface ActivityBucketView {
+        LocalDateTime getBucketStart();
+
+        Long getUpvotes();
+
+        Long getDownvotes();
+    }
+}
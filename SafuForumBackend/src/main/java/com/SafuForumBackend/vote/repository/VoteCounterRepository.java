@@ -0,0 +1,96 @@
+package com.SafuForumBackend.vote.repository;
+
+import com.SafuForumBackend.vote.entity.VoteCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface VoteCounterRepository extends JpaRepository<VoteCounter, VoteCounter.Key> {
+
+    @Modifying
+    @Query(value = """
+            INSERT INTO vote_counter_shards (entity_type, entity_id, shard, delta)
+            VALUES (:entityType, :entityId, :shard, :delta)
+            ON CONFLICT (entity_type, entity_id, shard)
+            DO UPDATE SET delta = vote_counter_shards.delta + EXCLUDED.delta
+            """, nativeQuery = true)
+    int addToShard(
+            @Param("entityType") String entityType,
+            @Param("entityId") Long entityId,
+            @Param("shard") int shard,
+            @Param("delta") int delta);
+
+    @Query(value = """
+            SELECT CAST(
+                COALESCE((SELECT vc.score FROM vote_counters vc
+                          WHERE vc.entity_type = :entityType AND vc.entity_id = :entityId), 0)
+              + COALESCE((SELECT SUM(s.delta) FROM vote_counter_shards s
+                          WHERE s.entity_type = :entityType AND s.entity_id = :entityId), 0)
+            AS integer)
+            """, nativeQuery = true)
+    Integer getScore(@Param("entityType") String entityType, @Param("entityId") Long entityId);
+
+    @Query(value = """
+            SELECT t.entity_id AS entityId, CAST(SUM(t.score) AS integer) AS score
+            FROM (
+                SELECT vc.entity_id, vc.score FROM vote_counters vc
+                WHERE vc.entity_type = :entityType AND vc.entity_id IN (:entityIds)
+                UNION ALL
+                SELECT s.entity_id, s.delta FROM vote_counter_shards s
+                WHERE s.entity_type = :entityType AND s.entity_id IN (:entityIds)
+            ) t
+            GROUP BY t.entity_id
+            """, nativeQuery = true)
+    List<ScoreView> getScores(
+            @Param("entityType") String entityType,
+            @Param("entityIds") Collection<Long> entityIds);
+
+    // Drops the entity's compacted counter and any outstanding shards
+    @Modifying
+    @Query(value = """
+            WITH shards AS (
+                DELETE FROM vote_counter_shards s
+                WHERE s.entity_type = :entityType AND s.entity_id = :entityId
+            )
+            DELETE FROM vote_counters vc
+            WHERE vc.entity_type = :entityType AND vc.entity_id = :entityId
+            """, nativeQuery = true)
+    int deleteCounter(@Param("entityType") String entityType, @Param("entityId") Long entityId);
+
+    /**
+     * Folds up to batchSize shard rows into vote_counters in a single statement.
+     * Rows locked by in-flight writers are skipped and picked up by a later run.
+     */
+    @Modifying
+    @Query(value = """
+            WITH drained AS (
+                DELETE FROM vote_counter_shards s
+                WHERE (s.entity_type, s.entity_id, s.shard) IN (
+                    SELECT entity_type, entity_id, shard
+                    FROM vote_counter_shards
+                    LIMIT :batchSize
+                    FOR UPDATE SKIP LOCKED)
+                RETURNING s.entity_type, s.entity_id, s.delta
+            )
+            INSERT INTO vote_counters (entity_type, entity_id, score, updated_at)
+            SELECT entity_type, entity_id, SUM(delta), CURRENT_TIMESTAMP
+            FROM drained
+            GROUP BY entity_type, entity_id
+            ON CONFLICT (entity_type, entity_id)
+            DO UPDATE SET score = vote_counters.score + EXCLUDED.score,
+                          updated_at = EXCLUDED.updated_at
+            """, nativeQuery = true)
+    int compactShards(@Param("batchSize") int batchSize);
+
+    interface ScoreView {
+        Long getEntityId();
+
+        Integer getScore();
+    }
+}
@@ -5,6 +5,9 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -14,6 +17,10 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
 
     Optional<Vote> findByUserIdAndCommentId(Long userId, Long commentId);
 
+    List<Vote> findByUserIdAndPostIdIn(Long userId, Collection<Long> postIds);
+
+    List<Vote> findByUserIdAndCommentIdIn(Long userId, Collection<Long> commentIds);
+
     @Query("SELECT COALESCE(SUM(v.voteType), 0) FROM Vote v WHERE v.post.id = :postId")
     Integer getPostVoteScore(@Param("postId") Long postId);
 
@@ -23,4 +30,87 @@ public interface VoteRepository extends JpaRepository<Vote, Long> {
     void deleteByUserIdAndPostId(Long userId, Long postId);
 
     void deleteByUserIdAndCommentId(Long userId, Long commentId);
-}
\ No newline at end of file
+
+    @Query("SELECT COALESCE(MIN(v.id), 0) FROM Vote v")
+    Long findMinId();
+
+    @Query("SELECT COALESCE(MAX(v.id), 0) FROM Vote v")
+    Long findMaxId();
+
+    /**
+     * Sums the reputation points each author earned from votes with ids in
+     * [fromId, toId). Point values are passed in so they stay defined by VoteConstants.
+     *
+     * Reputation is applied as GREATEST(0, reputation + delta), so lowestPoints
+     * is the lowest running total in vote id order (at most 0), from which the
+     * clamped reputation follows. recent flags authors with votes created at or
+     * after settledBefore, whose events may not have been applied yet.
+     */
+    @Query(value = """
+            SELECT r.author_id AS authorId, SUM(r.points) AS points, LEAST(0, MIN(r.running)) AS lowestPoints,
+                   BOOL_OR(r.created_at >= :settledBefore) AS recent
+            FROM (
+                SELECT t.author_id, t.points, t.created_at,
+                       SUM(t.points) OVER (PARTITION BY t.author_id ORDER BY t.id) AS running
+                FROM (
+                    SELECT v.id, v.created_at, p.author_id,
+                           CASE WHEN v.vote_type = 1 THEN :upvotePost ELSE :downvotePost END AS points
+                    FROM votes v JOIN posts p ON p.id = v.post_id
+                    WHERE v.id >= :fromId AND v.id < :toId
+                    UNION ALL
+                    SELECT v.id, v.created_at, c.author_id,
+                           CASE WHEN v.vote_type = 1 THEN :upvoteComment ELSE :downvoteComment END
+                    FROM votes v JOIN comments c ON c.id = v.comment_id
+                    WHERE v.id >= :fromId AND v.id < :toId
+                ) t
+            ) r
+            GROUP BY r.author_id
+            """, nativeQuery = true)
+    List<AuthorPointsView> sumAuthorPointsInRange(
+            @Param("fromId") Long fromId,
+            @Param("toId") Long toId,
+            @Param("settledBefore") LocalDateTime settledBefore,
+            @Param("upvotePost") int upvotePost,
+            @Param("downvotePost") int downvotePost,
+            @Param("upvoteComment") int upvoteComment,
+            @Param("downvoteComment") int downvoteComment);
+
+    // Same as sumAuthorPointsInRange, over all votes for the given authors
+    @Query(value = """
+            SELECT r.author_id AS authorId, SUM(r.points) AS points, LEAST(0, MIN(r.running)) AS lowestPoints,
+                   BOOL_OR(r.created_at >= :settledBefore) AS recent
+            FROM (
+                SELECT t.author_id, t.points, t.created_at,
+                       SUM(t.points) OVER (PARTITION BY t.author_id ORDER BY t.id) AS running
+                FROM (
+                    SELECT v.id, v.created_at, p.author_id,
+                           CASE WHEN v.vote_type = 1 THEN :upvotePost ELSE :downvotePost END AS points
+                    FROM votes v JOIN posts p ON p.id = v.post_id
+                    WHERE p.author_id IN (:authorIds)
+                    UNION ALL
+                    SELECT v.id, v.created_at, c.author_id,
+                           CASE WHEN v.vote_type = 1 THEN :upvoteComment ELSE :downvoteComment END
+                    FROM votes v JOIN comments c ON c.id = v.comment_id
+                    WHERE c.author_id IN (:authorIds)
+                ) t
+            ) r
+            GROUP BY r.author_id
+            """, nativeQuery = true)
+    List<AuthorPointsView> sumAuthorPointsForAuthors(
+            @Param("authorIds") Collection<Long> authorIds,
+            @Param("settledBefore") LocalDateTime settledBefore,
+            @Param("upvotePost") int upvotePost,
+            @Param("downvotePost") int downvotePost,
+            @Param("upvoteComment") int upvoteComment,
+            @Param("downvoteComment") int downvoteComment);
+
+    interface AuthorPointsView {
+        Long getAuthorId();
+
+        Long getPoints();
+
+        Long getLowestPoints();
+
+        Boolean getRecent();
+    }
+}
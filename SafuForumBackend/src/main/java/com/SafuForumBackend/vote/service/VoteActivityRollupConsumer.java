@@ -0,0 +1,104 @@
+package com.SafuForumBackend.vote.service;
+
+import com.SafuForumBackend.outbox.service.OutboxDeduplicator;
+import com.SafuForumBackend.vote.config.VoteActivityAmqpConfig;
+import com.SafuForumBackend.vote.config.VoteActivityProperties;
+import com.SafuForumBackend.vote.enums.ActivityGranularity;
+import com.SafuForumBackend.vote.event.VoteEvent;
+import com.SafuForumBackend.vote.repository.VoteActivityRollupRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.messaging.Message;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class VoteActivityRollupConsumer {
+
+    private static final String CONSUMER = "vote-activity";
+
+    private final VoteActivityRollupRepository rollupRepository;
+    private final VoteActivityProperties properties;
+    private final OutboxDeduplicator outboxDeduplicator;
+
+    /**
+     * Adds a batch of vote events to the hourly rollups of the voted post, its
+     * tags and the content author in one statement. Events queued before
+     * VoteEvent carried activity fields have no postId and are skipped, as
+     * are redeliveries of outbox messages already rolled up.
+     */
+    @RabbitListener(queues = VoteActivityAmqpConfig.VOTE_ACTIVITY_QUEUE, containerFactory = "voteActivityContainerFactory")
+    @Transactional
+    public void handleVoteEvents(List<Message<VoteEvent>> messages) {
+        List<VoteEvent> events = outboxDeduplicator.firstDeliveries(CONSUMER, messages);
+        List<VoteEvent> relevant = new ArrayList<>(events.size());
+        for (VoteEvent event : events) {
+            if (event.postId() != null && (event.upvoteDelta() != 0 || event.downvoteDelta() != 0)) {
+                relevant.add(event);
+            }
+        }
+        if (relevant.isEmpty()) {
+            return;
+        }
+
+        int size = relevant.size();
+        String[] bucketStarts = new String[size];
+        Long[] postIds = new Long[size];
+        Long[] authorIds = new Long[size];
+        String[] targetTypes = new String[size];
+        Integer[] upvotes = new Integer[size];
+        Integer[] downvotes = new Integer[size];
+
+        for (int i = 0; i < size; i++) {
+            VoteEvent event = relevant.get(i);
+            LocalDateTime occurredAt = event.occurredAt() != null ? event.occurredAt() : LocalDateTime.now();
+            bucketStarts[i] = occurredAt.truncatedTo(ChronoUnit.HOURS).toString();
+            postIds[i] = event.postId();
+            authorIds[i] = event.authorId();
+            targetTypes[i] = event.entityType().name();
+            upvotes[i] = event.upvoteDelta();
+            downvotes[i] = event.downvoteDelta();
+        }
+
+        int rows = rollupRepository.addHourlyActivity(bucketStarts, postIds, authorIds, targetTypes, upvotes, downvotes);
+        log.debug("Rolled up {} vote events into {} hourly buckets", size, rows);
+    }
+
+    /**
+     * Scheduled task that folds aged hourly buckets into daily ones and aged
+     * daily buckets into weekly ones. Cutoffs are aligned to the coarser
+     * bucket so a day or week is never split across granularities.
+     */
+    @Scheduled(fixedDelayString = "#{@voteActivityProperties.downsampleInterval.toMillis()}")
+    @Transactional
+    public void downsample() {
+        LocalDateTime now = LocalDateTime.now();
+
+        LocalDateTime dayCutoff = now.minus(properties.getHourlyRetention()).truncatedTo(ChronoUnit.DAYS);
+        int daily = rollupRepository.downsample(ActivityGranularity.HOUR.name(), ActivityGranularity.DAY.name(),
+                ActivityGranularity.DAY.getTruncUnit(), dayCutoff);
+
+        LocalDateTime weekCutoff = startOfWeek(now.minus(properties.getDailyRetention()));
+        int weekly = rollupRepository.downsample(ActivityGranularity.DAY.name(), ActivityGranularity.WEEK.name(),
+                ActivityGranularity.WEEK.getTruncUnit(), weekCutoff);
+
+        if (daily > 0 || weekly > 0) {
+            log.info("Downsampled vote activity into {} daily and {} weekly buckets", daily, weekly);
+        }
+    }
+
+    // Monday 00:00, matching Postgres date_trunc('week', ...)
+    private static LocalDateTime startOfWeek(LocalDateTime time) {
+        LocalDateTime day = time.truncatedTo(ChronoUnit.DAYS);
+        return day.minusDays(day.getDayOfWeek().getValue() - 1L);
+    }
+}
@@ -0,0 +1,79 @@
+package com.SafuForumBackend.vote.service;
+
+import com.SafuForumBackend.vote.config.VoteActivityProperties;
+import com.SafuForumBackend.vote.dto.VoteActivityBucketResponse;
+import com.SafuForumBackend.vote.enums.ActivityDimension;
+import com.SafuForumBackend.vote.enums.ActivityGranularity;
+import com.SafuForumBackend.vote.repository.VoteActivityRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Answers vote activity questions from the rollup table only; never scans votes.
+ *
+ * Hourly and daily buckets are only kept for their retention before being
+ * folded into coarser ones, so a range starting before that is rejected
+ * rather than answered with missing buckets.
+ */
+@Service
+@RequiredArgsConstructor
+public class VoteActivityService {
+
+    private final VoteActivityRollupRepository rollupRepository;
+    private final VoteActivityProperties properties;
+
+    public List<VoteActivityBucketResponse> getActivity(
+            ActivityDimension dimension,
+            Long dimensionId,
+            ActivityGranularity granularity,
+            LocalDateTime from,
+            LocalDateTime to) {
+
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+
+        long buckets = Duration.between(from, to).dividedBy(granularity.getLength());
+        if (buckets > properties.getMaxQueryBuckets()) {
+            throw new IllegalArgumentException("Range spans " + buckets + " " + granularity.getTruncUnit()
+                    + " buckets; at most " + properties.getMaxQueryBuckets() + " are allowed");
+        }
+
+        Duration retention = retentionOf(granularity);
+        if (retention != null && from.isBefore(LocalDateTime.now().minus(retention))) {
+            throw new IllegalArgumentException(granularity.name() + " buckets are only kept for " + retention.toDays()
+                    + " days; use a later 'from' or a coarser granularity");
+        }
+
+        // Older data only exists at coarser granularities, so read every level up to the requested one
+        List<String> granularities = Arrays.stream(ActivityGranularity.values())
+                .filter(g -> g.ordinal() <= granularity.ordinal())
+                .map(Enum::name)
+                .collect(Collectors.toList());
+
+        return rollupRepository.findActivity(dimension.name(), dimensionId, granularities,
+                        granularity.getTruncUnit(), from, to)
+                .stream()
+                .map(view -> new VoteActivityBucketResponse(
+                        view.getBucketStart(),
+                        view.getUpvotes(),
+                        view.getDownvotes(),
+                        view.getUpvotes() - view.getDownvotes()))
+                .collect(Collectors.toList());
+    }
+
+    // How long buckets of the granularity are kept before being downsampled; null if forever
+    private Duration retentionOf(ActivityGranularity granularity) {
+        return switch (granularity) {
+            case HOUR -> properties.getHourlyRetention();
+            case DAY -> properties.getDailyRetention();
+            case WEEK -> null;
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package com.SafuForumBackend.vote.service;
+
+import com.SafuForumBackend.vote.config.VoteCounterProperties;
+import com.SafuForumBackend.vote.repository.VoteCounterRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class VoteCounterCompactor {
+
+    private final VoteCounterRepository voteCounterRepository;
+    private final VoteCounterProperties properties;
+
+    /**
+     * Scheduled task that folds vote counter shards into the main counters.
+     *
+     * Safe to run on every node: shard rows are claimed with SKIP LOCKED, so
+     * concurrent compactors work on disjoint rows.
+     */
+    @Scheduled(fixedDelayString = "#{@voteCounterProperties.compactionInterval.toMillis()}")
+    @Transactional
+    public void compact() {
+        int compacted = voteCounterRepository.compactShards(properties.getCompactionBatchSize());
+        if (compacted > 0) {
+            log.debug("Compacted vote counter shards into {} counters", compacted);
+        }
+    }
+}
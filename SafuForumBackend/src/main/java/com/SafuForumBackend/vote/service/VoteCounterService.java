@@ -0,0 +1,65 @@
+package com.SafuForumBackend.vote.service;
+
+import com.SafuForumBackend.vote.config.VoteCounterProperties;
+import com.SafuForumBackend.vote.enums.EntityType;
+import com.SafuForumBackend.vote.repository.VoteCounterRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Maintains vote scores as sharded counters.
+ *
+ * Each increment lands on a random shard row so concurrent voters on the same
+ * post rarely contend for the same row lock; reads sum the compacted counter
+ * and any outstanding shards.
+ */
+@Service
+@RequiredArgsConstructor
+public class VoteCounterService {
+
+    private final VoteCounterRepository voteCounterRepository;
+    private final VoteCounterProperties properties;
+
+    public void increment(EntityType entityType, Long entityId, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int shard = ThreadLocalRandom.current().nextInt(Math.max(1, properties.getShards()));
+        voteCounterRepository.addToShard(entityType.name(), entityId, shard, delta);
+    }
+
+    /**
+     * Removes the entity's counter once it is deleted and can no longer be
+     * voted on. The votes themselves are kept.
+     */
+    public void remove(EntityType entityType, Long entityId) {
+        voteCounterRepository.deleteCounter(entityType.name(), entityId);
+    }
+
+    public Integer getScore(EntityType entityType, Long entityId) {
+        return voteCounterRepository.getScore(entityType.name(), entityId);
+    }
+
+    /**
+     * Resolves scores for many entities in one round trip. Entities with no
+     * votes are absent from the counters and map to 0.
+     */
+    public Map<Long, Integer> getScores(EntityType entityType, Collection<Long> entityIds) {
+        Map<Long, Integer> scores = new HashMap<>();
+        if (entityIds.isEmpty()) {
+            return scores;
+        }
+        for (Long entityId : entityIds) {
+            scores.put(entityId, 0);
+        }
+        for (VoteCounterRepository.ScoreView view : voteCounterRepository.getScores(entityType.name(), entityIds)) {
+            scores.put(view.getEntityId(), view.getScore());
+        }
+        return scores;
+    }
+}
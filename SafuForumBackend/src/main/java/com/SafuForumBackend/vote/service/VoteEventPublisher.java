@@ -1,10 +1,11 @@
 package com.SafuForumBackend.vote.service;
 
 import com.SafuForumBackend.config.RabbitMQConfig;
+import com.SafuForumBackend.outbox.service.OutboxService;
+import com.SafuForumBackend.reputation.config.ReputationConsumerProperties;
 import com.SafuForumBackend.vote.event.VoteEvent;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -12,15 +13,18 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class VoteEventPublisher {
 
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxService outboxService;
+    private final ReputationConsumerProperties reputationConsumerProperties;
 
+    // Writes to the outbox within the vote transaction; OutboxRelay publishes it after commit
     public void sendMessage(VoteEvent voteEvent) {
-        log.info("Publishing vote event for author {} on {} {}",
+        log.debug("Queueing vote event for author {} on {} {}",
                 voteEvent.authorId(),
                 voteEvent.entityType(),
                 voteEvent.entityId());
-        rabbitTemplate.convertAndSend(RabbitMQConfig.EVENT_EXCHANGE,
-                "vote." + voteEvent.entityType().name().toLowerCase(), voteEvent);
-
+        outboxService.enqueue(RabbitMQConfig.EVENT_EXCHANGE,
+                RabbitMQConfig.voteRoutingKey(voteEvent.entityType(), voteEvent.authorId(),
+                        reputationConsumerProperties.getPartitions()),
+                voteEvent);
     }
 }
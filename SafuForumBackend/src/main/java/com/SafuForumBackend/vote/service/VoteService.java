@@ -6,6 +6,7 @@ import com.SafuForumBackend.post.entity.Post;
 import com.SafuForumBackend.post.repository.PostRepository;
 import com.SafuForumBackend.user.entity.User;
 import com.SafuForumBackend.vote.constants.VoteConstants;
+import com.SafuForumBackend.vote.dto.BulkVoteScoreResponse;
 import com.SafuForumBackend.vote.dto.VoteRequest;
 import com.SafuForumBackend.vote.dto.VoteResponse;
 import com.SafuForumBackend.vote.dto.VoteScoreResponse;
@@ -20,7 +21,15 @@ import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -31,8 +40,12 @@ public class VoteService {
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
     private final VoteEventPublisher voteEventPublisher;
+    private final VoteCounterService voteCounterService;
 
     private static final int MAX_RETRIES = 3;
+    private static final int MAX_BULK_IDS = 200;
+    private static final short UPVOTE = 1;
+    private static final short DOWNVOTE = -1;
 
     @Transactional
     public VoteResponse vote(VoteRequest request, User currentUser) {
@@ -73,14 +86,20 @@ public class VoteService {
         }
 
         if (postId != null) {
-            voteRepository.deleteByUserIdAndPostId(currentUser.getId(), postId);
+            voteRepository.findByUserIdAndPostId(currentUser.getId(), postId).ifPresent(vote -> {
+                voteRepository.delete(vote);
+                voteCounterService.increment(EntityType.POST, postId, -vote.getVoteType());
+            });
         } else {
-            voteRepository.deleteByUserIdAndCommentId(currentUser.getId(), commentId);
+            voteRepository.findByUserIdAndCommentId(currentUser.getId(), commentId).ifPresent(vote -> {
+                voteRepository.delete(vote);
+                voteCounterService.increment(EntityType.COMMENT, commentId, -vote.getVoteType());
+            });
         }
     }
 
     public VoteScoreResponse getPostVoteScore(Long postId, User currentUser) {
-        Integer score = voteRepository.getPostVoteScore(postId);
+        Integer score = voteCounterService.getScore(EntityType.POST, postId);
 
         Short userVote = null;
         if (currentUser != null) {
@@ -94,7 +113,7 @@ public class VoteService {
     }
 
     public VoteScoreResponse getCommentVoteScore(Long commentId, User currentUser) {
-        Integer score = voteRepository.getCommentVoteScore(commentId);
+        Integer score = voteCounterService.getScore(EntityType.COMMENT, commentId);
 
         Short userVote = null;
         if (currentUser != null) {
@@ -107,6 +126,65 @@ public class VoteService {
         return new VoteScoreResponse(score, userVote);
     }
 
+    public BulkVoteScoreResponse getBulkVoteScores(List<Long> postIds, List<Long> commentIds, User currentUser) {
+        Set<Long> distinctPostIds = postIds != null ? new LinkedHashSet<>(postIds) : Set.of();
+        Set<Long> distinctCommentIds = commentIds != null ? new LinkedHashSet<>(commentIds) : Set.of();
+
+        if (distinctPostIds.size() + distinctCommentIds.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("Cannot request more than " + MAX_BULK_IDS + " vote scores at once");
+        }
+
+        return new BulkVoteScoreResponse(
+                toScoreResponses(
+                        distinctPostIds,
+                        voteCounterService.getScores(EntityType.POST, distinctPostIds),
+                        getUserPostVotes(distinctPostIds, currentUser)),
+                toScoreResponses(
+                        distinctCommentIds,
+                        voteCounterService.getScores(EntityType.COMMENT, distinctCommentIds),
+                        getUserCommentVotes(distinctCommentIds, currentUser)));
+    }
+
+    /**
+     * Returns the current user's vote per post, keyed by post id, using a single
+     * query. Posts the user hasn't voted on are absent from the map.
+     */
+    public Map<Long, Short> getUserPostVotes(Collection<Long> postIds, User currentUser) {
+        Map<Long, Short> userVotes = new HashMap<>();
+        if (currentUser == null || postIds.isEmpty()) {
+            return userVotes;
+        }
+        for (Vote vote : voteRepository.findByUserIdAndPostIdIn(currentUser.getId(), postIds)) {
+            userVotes.put(vote.getPost().getId(), vote.getVoteType());
+        }
+        return userVotes;
+    }
+
+    /**
+     * Returns the current user's vote per comment, keyed by comment id, using a
+     * single query. Comments the user hasn't voted on are absent from the map.
+     */
+    public Map<Long, Short> getUserCommentVotes(Collection<Long> commentIds, User currentUser) {
+        Map<Long, Short> userVotes = new HashMap<>();
+        if (currentUser == null || commentIds.isEmpty()) {
+            return userVotes;
+        }
+        for (Vote vote : voteRepository.findByUserIdAndCommentIdIn(currentUser.getId(), commentIds)) {
+            userVotes.put(vote.getComment().getId(), vote.getVoteType());
+        }
+        return userVotes;
+    }
+
+    // Keyed in the order the ids were requested
+    private Map<Long, VoteScoreResponse> toScoreResponses(
+            Collection<Long> ids, Map<Long, Integer> scores, Map<Long, Short> userVotes) {
+        Map<Long, VoteScoreResponse> responses = new LinkedHashMap<>();
+        for (Long id : ids) {
+            responses.put(id, new VoteScoreResponse(scores.getOrDefault(id, 0), userVotes.get(id)));
+        }
+        return responses;
+    }
+
     private Vote voteOnPost(Long postId, Short voteType, User currentUser) {
         Post post = postRepository.findById(postId)
                 .orElseThrow(() -> new RuntimeException("Post not found"));
@@ -122,17 +200,23 @@ public class VoteService {
 
             if (vote.getVoteType().equals(voteType)) {
                 voteRepository.delete(vote);
+                voteCounterService.increment(EntityType.POST, postId, -voteType);
                 voteEventPublisher.sendMessage(new VoteEvent(
                         post.getAuthor().getId(),
                         postId,
                         EntityType.POST,
-                        voteType == 1 ? -VoteConstants.UPVOTE_POST : -VoteConstants.DOWNVOTE_POST
+                        voteType == 1 ? -VoteConstants.UPVOTE_POST : -VoteConstants.DOWNVOTE_POST,
+                        countDelta(voteType, (short) 0, UPVOTE),
+                        countDelta(voteType, (short) 0, DOWNVOTE),
+                        postId,
+                        LocalDateTime.now()
                 ));
                 return null;
             } else {
                 Short oldVoteType = vote.getVoteType();
                 vote.setVoteType(voteType);
                 Vote savedVote = voteRepository.save(vote);
+                voteCounterService.increment(EntityType.POST, postId, voteType - oldVoteType);
 
                 short reputationDelta = (short) (
                         (voteType == 1 ? VoteConstants.UPVOTE_POST : VoteConstants.DOWNVOTE_POST) -
@@ -143,7 +227,11 @@ public class VoteService {
                         post.getAuthor().getId(),
                         postId,
                         EntityType.POST,
-                        reputationDelta
+                        reputationDelta,
+                        countDelta(oldVoteType, voteType, UPVOTE),
+                        countDelta(oldVoteType, voteType, DOWNVOTE),
+                        postId,
+                        LocalDateTime.now()
                 ));
                 return savedVote;
             }
@@ -155,12 +243,17 @@ public class VoteService {
                         .voteType(voteType)
                         .build();
                 Vote savedVote = voteRepository.save(vote);
+                voteCounterService.increment(EntityType.POST, postId, voteType);
 
                 voteEventPublisher.sendMessage(new VoteEvent(
                         post.getAuthor().getId(),
                         postId,
                         EntityType.POST,
-                        voteType == 1 ? VoteConstants.UPVOTE_POST : VoteConstants.DOWNVOTE_POST
+                        voteType == 1 ? VoteConstants.UPVOTE_POST : VoteConstants.DOWNVOTE_POST,
+                        countDelta((short) 0, voteType, UPVOTE),
+                        countDelta((short) 0, voteType, DOWNVOTE),
+                        postId,
+                        LocalDateTime.now()
                 ));
                 return savedVote;
             } catch (DataIntegrityViolationException e) {
@@ -184,17 +277,23 @@ public class VoteService {
 
             if (vote.getVoteType().equals(voteType)) {
                 voteRepository.delete(vote);
+                voteCounterService.increment(EntityType.COMMENT, commentId, -voteType);
                 voteEventPublisher.sendMessage(new VoteEvent(
                         comment.getAuthor().getId(),
                         commentId,
                         EntityType.COMMENT,
-                        voteType == 1 ? -VoteConstants.UPVOTE_COMMENT : -VoteConstants.DOWNVOTE_COMMENT
+                        voteType == 1 ? -VoteConstants.UPVOTE_COMMENT : -VoteConstants.DOWNVOTE_COMMENT,
+                        countDelta(voteType, (short) 0, UPVOTE),
+                        countDelta(voteType, (short) 0, DOWNVOTE),
+                        comment.getPost().getId(),
+                        LocalDateTime.now()
                 ));
                 return null;
             } else {
                 Short oldVoteType = vote.getVoteType();
                 vote.setVoteType(voteType);
                 Vote savedVote = voteRepository.save(vote);
+                voteCounterService.increment(EntityType.COMMENT, commentId, voteType - oldVoteType);
 
                 short reputationDelta = (short) (
                         (voteType == 1 ? VoteConstants.UPVOTE_COMMENT : VoteConstants.DOWNVOTE_COMMENT) -
@@ -205,7 +304,11 @@ public class VoteService {
                         comment.getAuthor().getId(),
                         commentId,
                         EntityType.COMMENT,
-                        reputationDelta
+                        reputationDelta,
+                        countDelta(oldVoteType, voteType, UPVOTE),
+                        countDelta(oldVoteType, voteType, DOWNVOTE),
+                        comment.getPost().getId(),
+                        LocalDateTime.now()
                 ));
                 return savedVote;
             }
@@ -217,12 +320,17 @@ public class VoteService {
                         .voteType(voteType)
                         .build();
                 Vote savedVote = voteRepository.save(vote);
+                voteCounterService.increment(EntityType.COMMENT, commentId, voteType);
 
                 voteEventPublisher.sendMessage(new VoteEvent(
                         comment.getAuthor().getId(),
                         commentId,
                         EntityType.COMMENT,
-                        voteType == 1 ? VoteConstants.UPVOTE_COMMENT : VoteConstants.DOWNVOTE_COMMENT
+                        voteType == 1 ? VoteConstants.UPVOTE_COMMENT : VoteConstants.DOWNVOTE_COMMENT,
+                        countDelta((short) 0, voteType, UPVOTE),
+                        countDelta((short) 0, voteType, DOWNVOTE),
+                        comment.getPost().getId(),
+                        LocalDateTime.now()
                 ));
                 return savedVote;
             } catch (DataIntegrityViolationException e) {
@@ -231,6 +339,11 @@ public class VoteService {
         }
     }
 
+    // Change in the number of votes of the given direction when a vote goes from oldType to newType (0 = none)
+    private static int countDelta(short oldType, short newType, short direction) {
+        return (newType == direction ? 1 : 0) - (oldType == direction ? 1 : 0);
+    }
+
     private VoteResponse convertToResponse(Vote vote) {
         return VoteResponse.builder()
                 .id(vote.getId())
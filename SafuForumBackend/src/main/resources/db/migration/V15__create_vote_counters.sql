@@ -0,0 +1,32 @@
+-- V15: Sharded vote score counters
+-- Writers add to one of N shard rows per target; the compactor folds shards into vote_counters.
+CREATE TABLE vote_counters (
+    entity_type varchar(20) NOT NULL,
+    entity_id bigint NOT NULL,
+    score integer NOT NULL DEFAULT 0,
+    updated_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (entity_type, entity_id)
+);
+
+CREATE TABLE vote_counter_shards (
+    entity_type varchar(20) NOT NULL,
+    entity_id bigint NOT NULL,
+    shard smallint NOT NULL,
+    delta integer NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (entity_type, entity_id, shard)
+);
+
+-- Seed counters from existing votes
+INSERT INTO vote_counters (entity_type, entity_id, score)
+SELECT 'POST', post_id, SUM(vote_type)
+FROM votes
+WHERE post_id IS NOT NULL
+GROUP BY post_id;
+
+INSERT INTO vote_counters (entity_type, entity_id, score)
+SELECT 'COMMENT', comment_id, SUM(vote_type)
+FROM votes
+WHERE comment_id IS NOT NULL
+GROUP BY comment_id;
@@ -0,0 +1,12 @@
+-- V16: Transactional outbox
+-- Events are written here in the same transaction as the change that caused them
+-- and relayed to RabbitMQ by a background publisher.
+CREATE TABLE outbox_events (
+    id bigserial PRIMARY KEY,
+    exchange varchar(255) NOT NULL,
+    routing_key varchar(255) NOT NULL,
+    type_id varchar(255),
+    content_type varchar(100) NOT NULL,
+    payload text NOT NULL,
+    created_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
@@ -0,0 +1,17 @@
+-- V17: Time-bucketed vote activity rollups
+-- Net upvotes/downvotes per bucket for a post, tag or author (author of the voted content).
+-- Hourly rows are downsampled into daily rows, and daily rows into weekly rows, as they age.
+CREATE TABLE vote_activity_rollups (
+    granularity varchar(10) NOT NULL CHECK (granularity IN ('HOUR', 'DAY', 'WEEK')),
+    bucket_start timestamp NOT NULL,
+    dimension varchar(10) NOT NULL CHECK (dimension IN ('POST', 'TAG', 'AUTHOR')),
+    dimension_id bigint NOT NULL,
+    target_type varchar(20) NOT NULL,
+    upvotes integer NOT NULL DEFAULT 0,
+    downvotes integer NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (granularity, bucket_start, dimension, dimension_id, target_type)
+);
+
+CREATE INDEX idx_vote_activity_rollups_dimension
+    ON vote_activity_rollups(dimension, dimension_id, bucket_start);
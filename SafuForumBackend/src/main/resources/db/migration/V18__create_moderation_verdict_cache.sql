@@ -0,0 +1,23 @@
+-- V18: Cache classifier verdicts by content hash
+-- Identical payloads (common tags, boilerplate text, re-uploaded images) reuse a previous
+-- verdict instead of being classified again. Entries are scoped to the classifier model
+-- version, so bumping the configured version invalidates them.
+ALTER TABLE images ADD COLUMN content_sha256 varchar(64);
+
+ALTER TABLE moderation_jobs
+    ADD COLUMN content_sha256 varchar(64),
+    ADD COLUMN model_version varchar(64);
+
+CREATE TABLE moderation_verdict_cache (
+    content_type job_content_type NOT NULL,
+    content_sha256 varchar(64) NOT NULL,
+    model_version varchar(64) NOT NULL,
+    status moderation_status NOT NULL CHECK (status IN ('approved', 'rejected')),
+    reason text,
+    created_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at timestamp NOT NULL,
+
+    PRIMARY KEY (content_type, content_sha256, model_version)
+);
+
+CREATE INDEX idx_verdict_cache_expires ON moderation_verdict_cache(expires_at);
@@ -0,0 +1,28 @@
+-- V19: Per (post, version) moderation job counters
+-- Maintained alongside moderation_jobs so a completion can settle the post's status
+-- without reloading every sibling job.
+CREATE TABLE moderation_job_tallies (
+    post_id bigint NOT NULL,
+    post_version integer NOT NULL,
+    total integer NOT NULL DEFAULT 0,
+    pending integer NOT NULL DEFAULT 0 CHECK (pending >= 0),
+    rejected integer NOT NULL DEFAULT 0,
+    failed integer NOT NULL DEFAULT 0,
+
+    PRIMARY KEY (post_id, post_version),
+
+    CONSTRAINT fk_moderation_tally_post
+        FOREIGN KEY (post_id)
+        REFERENCES posts(id)
+        ON DELETE CASCADE
+);
+
+INSERT INTO moderation_job_tallies (post_id, post_version, total, pending, rejected, failed)
+SELECT post_id,
+       post_version,
+       COUNT(*),
+       COUNT(*) FILTER (WHERE status = 'pending'),
+       COUNT(*) FILTER (WHERE status = 'rejected'),
+       COUNT(*) FILTER (WHERE status = 'failed')
+FROM moderation_jobs
+GROUP BY post_id, post_version;
@@ -0,0 +1,3 @@
+-- V20: Partial index for the moderation timeout sweeper
+-- Only pending jobs are ever swept, so the index stays small however many jobs have completed.
+CREATE INDEX idx_mod_jobs_pending_created ON moderation_jobs(created_at) WHERE status = 'pending';
@@ -0,0 +1,6 @@
+-- V21: Cancelled moderation jobs
+-- Pending jobs whose post version has already been rejected by a sibling job are cancelled
+-- rather than classified; they count towards neither the rejected nor the failed tally.
+ALTER TYPE moderation_status ADD VALUE IF NOT EXISTS 'cancelled';
+
+ALTER TABLE moderation_job_tallies ADD COLUMN cancelled integer NOT NULL DEFAULT 0;
@@ -0,0 +1,11 @@
+-- V22: Debounced moderation dispatch
+-- Jobs are now published to the classifiers after a short per-post debounce rather than on creation,
+-- so dispatched_at records when (and whether) a job has left the backend.
+ALTER TABLE moderation_jobs ADD COLUMN dispatched_at timestamp;
+
+-- Every job created before this migration was published on creation
+UPDATE moderation_jobs SET dispatched_at = created_at WHERE status = 'pending';
+
+-- Lets the orphan sweep find jobs whose debouncing node went away
+CREATE INDEX idx_mod_jobs_undispatched_created ON moderation_jobs(created_at)
+    WHERE status = 'pending' AND dispatched_at IS NULL;
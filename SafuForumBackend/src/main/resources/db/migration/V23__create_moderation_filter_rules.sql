@@ -0,0 +1,21 @@
+-- V23: Moderation pre-filter rules
+-- Phrase and regex rules matched in process before any classifier runs. Block rules reject a payload
+-- they match anywhere; allow rules approve a payload they match in full.
+CREATE TABLE moderation_filter_rules (
+    id BIGSERIAL PRIMARY KEY,
+    action VARCHAR(10) NOT NULL CHECK (action IN ('block', 'allow')),
+    match_type VARCHAR(10) NOT NULL CHECK (match_type IN ('phrase', 'regex')),
+    pattern TEXT NOT NULL,
+    description TEXT,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_by BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT fk_filter_rule_creator
+        FOREIGN KEY (created_by)
+        REFERENCES users(id)
+        ON DELETE SET NULL
+);
+
+CREATE INDEX idx_mod_filter_rules_enabled ON moderation_filter_rules(enabled);
@@ -0,0 +1,23 @@
+-- V24: Near-duplicate signatures
+-- One row per post or comment with the signatures of its latest version: a 64-bit SimHash of the body
+-- and a MinHash of the tag set. Rows are marked rejected when their version is rejected; recently
+-- rejected rows are loaded into each node's in-memory band index.
+CREATE TABLE content_signatures (
+    id BIGSERIAL PRIMARY KEY,
+    subject_type VARCHAR(10) NOT NULL CHECK (subject_type IN ('post', 'comment')),
+    subject_id BIGINT NOT NULL,
+    subject_version INT,
+    body_simhash BIGINT NOT NULL,
+    tag_minhash BYTEA NOT NULL,
+    -- Signature this version was rejected as a near-duplicate of; not a foreign key, as the
+    -- in-memory index may still hold signatures whose rows have since been replaced
+    near_duplicate_of BIGINT,
+    rejected_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uq_content_signatures_subject UNIQUE (subject_type, subject_id)
+);
+
+CREATE INDEX idx_content_signatures_rejected ON content_signatures(rejected_at)
+    WHERE rejected_at IS NOT NULL;
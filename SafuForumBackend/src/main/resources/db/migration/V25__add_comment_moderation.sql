@@ -0,0 +1,26 @@
+-- V25: Comment moderation
+-- Comments are moderated through the same job pipeline as posts, so a job now targets exactly one
+-- post version or comment version, and comments carry their own status and version.
+ALTER TABLE comments
+    ADD COLUMN status moderation_status NOT NULL DEFAULT 'approved',
+    ADD COLUMN version integer NOT NULL DEFAULT 1;
+
+-- Existing comments stay approved; new comments wait for moderation
+ALTER TABLE comments ALTER COLUMN status SET DEFAULT 'pending';
+
+ALTER TABLE moderation_jobs
+    ALTER COLUMN post_id DROP NOT NULL,
+    ALTER COLUMN post_version DROP NOT NULL,
+    ADD COLUMN comment_id bigint,
+    ADD COLUMN comment_version integer,
+    ADD CONSTRAINT fk_moderation_comment
+        FOREIGN KEY (comment_id)
+        REFERENCES comments(id)
+        ON DELETE CASCADE,
+    ADD CONSTRAINT moderation_jobs_target_check CHECK (
+        (post_id IS NOT NULL AND post_version IS NOT NULL AND comment_id IS NULL AND comment_version IS NULL) OR
+        (post_id IS NULL AND post_version IS NULL AND comment_id IS NOT NULL AND comment_version IS NOT NULL)
+    );
+
+CREATE INDEX idx_mod_jobs_comment_v ON moderation_jobs(comment_id, comment_version)
+    WHERE comment_id IS NOT NULL;
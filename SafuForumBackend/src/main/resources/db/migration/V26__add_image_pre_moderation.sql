@@ -0,0 +1,27 @@
+-- V26: Image pre-moderation
+-- Images are moderated when they are uploaded rather than when a post referencing them is published,
+-- so a job may now target an uploaded image, and the image keeps its verdict for posts to reuse.
+-- A NULL moderation_status marks images uploaded before this migration, which are moderated with their post.
+ALTER TABLE images
+    ADD COLUMN moderation_status moderation_status,
+    ADD COLUMN moderation_reason text,
+    ADD COLUMN moderation_model_version varchar(64);
+
+ALTER TABLE moderation_jobs
+    ADD COLUMN image_id bigint,
+    ADD CONSTRAINT fk_moderation_image
+        FOREIGN KEY (image_id)
+        REFERENCES images(id)
+        ON DELETE CASCADE,
+    DROP CONSTRAINT moderation_jobs_target_check,
+    ADD CONSTRAINT moderation_jobs_target_check CHECK (
+        (post_id IS NOT NULL AND post_version IS NOT NULL AND comment_id IS NULL AND comment_version IS NULL
+            AND image_id IS NULL) OR
+        (post_id IS NULL AND post_version IS NULL AND comment_id IS NOT NULL AND comment_version IS NOT NULL
+            AND image_id IS NULL) OR
+        (post_id IS NULL AND post_version IS NULL AND comment_id IS NULL AND comment_version IS NULL
+            AND image_id IS NOT NULL)
+    );
+
+CREATE INDEX idx_mod_jobs_image ON moderation_jobs(image_id)
+    WHERE image_id IS NOT NULL;
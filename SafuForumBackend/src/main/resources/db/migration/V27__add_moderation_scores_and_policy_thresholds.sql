@@ -0,0 +1,31 @@
+-- V27: Classifier scores and policy thresholds
+-- Completed jobs keep the per-label probabilities their classifiers returned, and the model versions that
+-- produced them, so a threshold change re-derives statuses from the stored scores instead of re-classifying.
+ALTER TABLE moderation_jobs
+    ADD COLUMN scores jsonb,
+    ADD COLUMN scores_model_version varchar(255);
+
+-- A job is rejected once any of its labels scores at or above that label's threshold; labels with no
+-- threshold leave the classifier's own status in place.
+CREATE TABLE moderation_policy_thresholds (
+    id BIGSERIAL PRIMARY KEY,
+    content_type job_content_type NOT NULL,
+    label VARCHAR(64) NOT NULL,
+    reject_at DOUBLE PRECISION NOT NULL CHECK (reject_at >= 0 AND reject_at <= 1),
+    updated_by BIGINT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT uq_policy_threshold_label UNIQUE (content_type, label),
+    CONSTRAINT fk_policy_threshold_updater
+        FOREIGN KEY (updated_by)
+        REFERENCES users(id)
+        ON DELETE SET NULL
+);
+
+-- The text classifier's own default, so existing behaviour is unchanged
+INSERT INTO moderation_policy_thresholds (content_type, label, reject_at) VALUES ('text', 'toxic', 0.5);
+
+-- Re-thresholding walks the scored jobs of one content type in id ranges
+CREATE INDEX idx_mod_jobs_scored ON moderation_jobs(content_type, id)
+    WHERE scores IS NOT NULL;
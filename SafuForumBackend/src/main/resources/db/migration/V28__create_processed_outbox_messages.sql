@@ -0,0 +1,12 @@
+-- V28: Outbox messages already applied by each consumer
+-- The relay delivers at least once; consumers whose effects are not idempotent record each message id in the
+-- transaction that applies it and skip ids they have seen. Rows are purged after a retention window.
+CREATE TABLE processed_outbox_messages (
+    consumer varchar(64) NOT NULL,
+    message_id varchar(64) NOT NULL,
+    processed_at timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    PRIMARY KEY (consumer, message_id)
+);
+
+CREATE INDEX idx_processed_outbox_messages_at ON processed_outbox_messages(processed_at);
@@ -0,0 +1,13 @@
+-- V29: Status reported by the classifier
+-- The aggregator may merge a rejection from a worker that reports no score for the label behind it, so
+-- the policy thresholds never approve a reported rejection; the reported status is kept next to the
+-- policy-derived one for re-threshold passes to honour it too.
+ALTER TABLE moderation_jobs
+    ADD COLUMN reported_status moderation_status;
+
+-- Scored jobs completed before this migration kept their reported status unless the policy changed it
+UPDATE moderation_jobs
+SET reported_status = status
+WHERE scores IS NOT NULL
+  AND status IN ('approved', 'rejected')
+  AND (error_message IS NULL OR error_message NOT LIKE 'Policy:%');
@@ -0,0 +1,5 @@
+-- V30: Reputation version
+-- Bumped by every reputation update and carried on ReputationChangedEvent, so nodes applying the absolute
+-- values can drop one delivered out of order after a newer one.
+ALTER TABLE users
+    ADD COLUMN reputation_version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,57 @@
+package com.SafuForumBackend.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class RabbitMQConfigTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void jumpConsistentHashStaysInRange() {
+        for (int buckets = 1; buckets <= 64; buckets++) {
+            for (long key = 0; key < 1_000; key++) {
+                assertThat(RabbitMQConfig.jumpConsistentHash(key, buckets)).isBetween(0, buckets - 1);
+            }
+        }
+    }
+
+    @Test
+    void jumpConsistentHashWithOneBucketIsAlwaysZero() {
+        for (long key = -1_000; key < 1_000; key++) {
+            assertThat(RabbitMQConfig.jumpConsistentHash(key, 1)).isZero();
+        }
+    }
+
+    @Test
+    void growingBucketsOnlyMovesKeysToTheNewBucket() {
+        for (int buckets = 1; buckets < 32; buckets++) {
+            int moved = 0;
+            for (long key = 0; key < KEYS; key++) {
+                int before = RabbitMQConfig.jumpConsistentHash(key, buckets);
+                int after = RabbitMQConfig.jumpConsistentHash(key, buckets + 1);
+                if (after != before) {
+                    assertThat(after).as("key %d growing to %d buckets", key, buckets + 1).isEqualTo(buckets);
+                    moved++;
+                }
+            }
+            // About 1/(n+1) of keys move when growing to n+1 buckets
+            assertThat(moved / (double) KEYS).isCloseTo(1.0 / (buckets + 1), within(0.01));
+        }
+    }
+
+    @Test
+    void jumpConsistentHashSpreadsKeysEvenly() {
+        int buckets = 16;
+        int[] counts = new int[buckets];
+        for (long key = 0; key < KEYS; key++) {
+            counts[RabbitMQConfig.jumpConsistentHash(key, buckets)]++;
+        }
+        double expected = KEYS / (double) buckets;
+        for (int count : counts) {
+            assertThat(count).isBetween((int) (expected * 0.95), (int) (expected * 1.05));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.SafuForumBackend.moderation.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * How the policy thresholds combine with the statuses classifiers report.
+ * Each test runs in a transaction that is rolled back.
+ *
+ * Needs the database from .env.
+ */
+@SpringBootTest
+@Transactional
+class ModerationJobRepositoryTest {
+
+    private static final String USERNAME = "test-moderation-job-repository";
+
+    @Autowired
+    private ModerationJobRepository moderationJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long postId;
+
+    @BeforeEach
+    void createPost() {
+        jdbcTemplate.update("""
+                INSERT INTO moderation_policy_thresholds (content_type, label, reject_at) VALUES ('text', 'toxic', 0.5)
+                ON CONFLICT (content_type, label) DO UPDATE SET reject_at = 0.5
+                """);
+        Long authorId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email) VALUES (?, ?) RETURNING id", Long.class,
+                USERNAME, USERNAME + "@test.invalid");
+        postId = jdbcTemplate.queryForObject(
+                "INSERT INTO posts (author_id, title, content) VALUES (?, 'title', 'content') RETURNING id",
+                Long.class, authorId);
+    }
+
+    @Test
+    void reportedRejectionIsNotApprovedByLowScores() {
+        // e.g. merged by the aggregator from a worker that reports no score for its label
+        Long jobId = createScoredJob(0.1);
+
+        complete(jobId, "rejected", "spam");
+
+        assertThat(statusOf(jobId)).isEqualTo("rejected");
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT error_message FROM moderation_jobs WHERE id = ?", String.class, jobId)).isEqualTo("spam");
+    }
+
+    @Test
+    void reportedApprovalIsRejectedOverThreshold() {
+        Long jobId = createScoredJob(0.7);
+
+        complete(jobId, "approved", null);
+
+        assertThat(statusOf(jobId)).isEqualTo("rejected");
+    }
+
+    @Test
+    void reportedApprovalStaysApprovedUnderThreshold() {
+        Long jobId = createScoredJob(0.3);
+
+        complete(jobId, "approved", null);
+
+        assertThat(statusOf(jobId)).isEqualTo("approved");
+    }
+
+    @Test
+    void rederivingNeverApprovesAReportedRejection() {
+        Long rejectedJobId = createScoredJob(0.7);
+        Long approvedJobId = createScoredJob(0.7);
+        complete(rejectedJobId, "rejected", "toxic");
+        complete(approvedJobId, "approved", null);
+        jdbcTemplate.update("UPDATE moderation_policy_thresholds SET reject_at = 0.9 "
+                + "WHERE content_type = 'text' AND label = 'toxic'");
+
+        List<ModerationJobRepository.RederivedJobView> changed = moderationJobRepository.rederiveStatuses(
+                "text", rejectedJobId - 1, approvedJobId, LocalDateTime.now());
+
+        assertThat(changed).extracting(ModerationJobRepository.RederivedJobView::getJobId)
+                .containsExactly(approvedJobId);
+        assertThat(statusOf(rejectedJobId)).isEqualTo("rejected");
+        assertThat(statusOf(approvedJobId)).isEqualTo("approved");
+    }
+
+    private Long createScoredJob(double toxicScore) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO moderation_jobs (post_id, post_version, source_field, content_type, payload, dispatched_at,
+                                             scores)
+                SELECT p.id, p.version, 'content', 'text', p.content, CURRENT_TIMESTAMP,
+                       jsonb_build_object('toxic', CAST(? AS double precision))
+                FROM posts p
+                WHERE p.id = ?
+                RETURNING id
+                """, Long.class, toxicScore, postId);
+    }
+
+    private void complete(Long jobId, String status, String reason) {
+        List<ModerationJobRepository.CompletedJobView> completed = moderationJobRepository.completePendingJobs(
+                new Long[] { jobId }, new String[] { status }, new String[] { reason }, LocalDateTime.now());
+        assertThat(completed).hasSize(1);
+    }
+
+    private String statusOf(Long jobId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT CAST(status AS text) FROM moderation_jobs WHERE id = ?", String.class, jobId);
+    }
+}
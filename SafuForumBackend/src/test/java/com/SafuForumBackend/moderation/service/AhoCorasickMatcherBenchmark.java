@@ -0,0 +1,85 @@
+package com.SafuForumBackend.moderation.service;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Single-threaded scan throughput of the phrase automaton over normalized
+ * text, as the pre-filter runs it, with moderator rule sets of increasing
+ * size. Text is random lower-case words, so matches are rare and the cost is
+ * the automaton walk itself. Needs no database; run with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+class AhoCorasickMatcherBenchmark {
+
+    private static final int TEXT_BYTES = 8 * 1024 * 1024;
+    private static final int[] PHRASE_COUNTS = { 100, 1_000, 10_000 };
+    private static final int ROUNDS = 5;
+
+    @Test
+    void scanThroughput() {
+        Random random = new Random(1);
+        String text = randomWords(random, TEXT_BYTES);
+
+        // Warm up
+        new AhoCorasickMatcher(randomPhrases(random, 1_000)).scan(text, (index, start, end) -> true);
+
+        System.out.printf("%-8s %10s %10s%n", "phrases", "MB/s", "matches");
+        for (int phraseCount : PHRASE_COUNTS) {
+            AhoCorasickMatcher matcher = new AhoCorasickMatcher(randomPhrases(random, phraseCount));
+            long matches = 0;
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long[] found = new long[1];
+                long startedAt = System.nanoTime();
+                matcher.scan(text, (index, start, end) -> {
+                    found[0]++;
+                    return true;
+                });
+                best = Math.min(best, System.nanoTime() - startedAt);
+                matches = found[0];
+            }
+            double megabytesPerSecond = (text.length() / (1024.0 * 1024.0)) / (best / 1e9);
+            System.out.printf("%-8d %10.1f %10d%n", phraseCount, megabytesPerSecond, matches);
+        }
+    }
+
+    // Two- and three-word phrases, like typical block rules
+    private static List<String> randomPhrases(Random random, int count) {
+        List<String> phrases = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int words = 2 + random.nextInt(2);
+            StringBuilder phrase = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    phrase.append(' ');
+                }
+                phrase.append(randomWord(random));
+            }
+            phrases.add(phrase.toString());
+        }
+        return phrases;
+    }
+
+    private static String randomWords(Random random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(randomWord(random)).append(' ');
+        }
+        text.setLength(length);
+        return text.toString();
+    }
+
+    private static String randomWord(Random random) {
+        int length = 2 + random.nextInt(7);
+        char[] word = new char[length];
+        for (int i = 0; i < length; i++) {
+            word[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(word);
+    }
+}
@@ -0,0 +1,106 @@
+package com.SafuForumBackend.moderation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickMatcherTest {
+
+    private record Match(int patternIndex, int start, int end) {
+    }
+
+    private static final Comparator<Match> MATCH_ORDER = Comparator.comparingInt(Match::end)
+            .thenComparingInt(Match::start)
+            .thenComparingInt(Match::patternIndex);
+
+    @Test
+    void reportsOverlappingAndNestedPatterns() {
+        // The classic example: "she" contains "he", and "hers" overlaps both
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("he", "she", "his", "hers"));
+
+        assertThat(scan(matcher, "ushers")).containsExactly(
+                new Match(1, 1, 4),
+                new Match(0, 2, 4),
+                new Match(3, 2, 6));
+    }
+
+    @Test
+    void reportsEveryOverlapOfASelfOverlappingPattern() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("aa", "a"));
+
+        assertThat(scan(matcher, "aaa")).containsExactlyInAnyOrder(
+                new Match(1, 0, 1),
+                new Match(0, 0, 2), new Match(1, 1, 2),
+                new Match(0, 1, 3), new Match(1, 2, 3));
+    }
+
+    @Test
+    void duplicatePatternsAreBothReported() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("spam", "spam"));
+
+        assertThat(scan(matcher, "no spam")).containsExactlyInAnyOrder(new Match(0, 3, 7), new Match(1, 3, 7));
+    }
+
+    @Test
+    void matchesNonAsciiAndIgnoresEmptyPatterns() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("", "café", "日本"));
+
+        assertThat(matcher.patternCount()).isEqualTo(3);
+        assertThat(scan(matcher, "un café au 日本")).containsExactly(new Match(1, 3, 7), new Match(2, 11, 13));
+    }
+
+    @Test
+    void stopsWhenTheHandlerSaysSo() {
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(List.of("a"));
+        List<Integer> ends = new ArrayList<>();
+
+        matcher.scan("aaaa", (index, start, end) -> {
+            ends.add(end);
+            return ends.size() < 2;
+        });
+        assertThat(ends).containsExactly(1, 2);
+    }
+
+    @Test
+    void matchesNaiveSearchOnRandomText() {
+        Random random = new Random(3);
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            patterns.add(randomText(random, 1 + random.nextInt(4)));
+        }
+        AhoCorasickMatcher matcher = new AhoCorasickMatcher(patterns);
+        String text = randomText(random, 5_000);
+
+        List<Match> expected = new ArrayList<>();
+        for (int index = 0; index < patterns.size(); index++) {
+            String pattern = patterns.get(index);
+            for (int start = text.indexOf(pattern); start >= 0; start = text.indexOf(pattern, start + 1)) {
+                expected.add(new Match(index, start, start + pattern.length()));
+            }
+        }
+        List<Match> actual = scan(matcher, text);
+        actual.sort(MATCH_ORDER);
+        expected.sort(MATCH_ORDER);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    private static List<Match> scan(AhoCorasickMatcher matcher, String text) {
+        List<Match> matches = new ArrayList<>();
+        matcher.scan(text, (index, start, end) -> matches.add(new Match(index, start, end)));
+        return matches;
+    }
+
+    // Small alphabet so patterns overlap a lot
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+        return text.toString();
+    }
+}
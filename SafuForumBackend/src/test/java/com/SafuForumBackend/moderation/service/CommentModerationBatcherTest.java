@@ -0,0 +1,91 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationAmqpProperties;
+import com.SafuForumBackend.moderation.config.ModerationCommentBatchProperties;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationLane;
+import com.SafuForumBackend.moderation.event.ModerationJobBatchRequestedEvent;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CommentModerationBatcherTest {
+
+    private static final Long FIRST_JOB_ID = 41L;
+    private static final Long SECOND_JOB_ID = 42L;
+
+    @Mock
+    private ModerationJobRepository moderationJobRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ModerationDeadlineTracker deadlineTracker;
+
+    @Mock
+    private ModerationAdmissionGate admissionGate;
+
+    private CommentModerationBatcher batcher;
+
+    @BeforeEach
+    void setUp() {
+        batcher = new CommentModerationBatcher(moderationJobRepository, rabbitTemplate,
+                new ModerationAmqpProperties(), new ModerationCommentBatchProperties(), deadlineTracker, admissionGate);
+        when(admissionGate.admits(ModerationLane.normal, JobContentType.text)).thenReturn(true);
+
+        List<ModerationJobRepository.DispatchedCommentJobView> jobs = List.of(job(FIRST_JOB_ID), job(SECOND_JOB_ID));
+        when(moderationJobRepository.claimCommentJobs(eq(new Long[] { FIRST_JOB_ID, SECOND_JOB_ID }), any()))
+                .thenReturn(jobs);
+        batcher.submit(SECOND_JOB_ID, ModerationLane.normal, JobContentType.text);
+        batcher.submit(FIRST_JOB_ID, ModerationLane.normal, JobContentType.text);
+    }
+
+    @Test
+    void failedBatchPublishReleasesItsJobsForTheOrphanSweep() {
+        doThrow(new AmqpException("broker down")).when(rabbitTemplate).convertAndSend(
+                anyString(), anyString(), any(ModerationJobBatchRequestedEvent.class), any(MessagePostProcessor.class));
+
+        batcher.flush();
+
+        verify(deadlineTracker).untrack(List.of(FIRST_JOB_ID, SECOND_JOB_ID));
+        verify(moderationJobRepository).releaseJobs(new Long[] { FIRST_JOB_ID, SECOND_JOB_ID });
+    }
+
+    @Test
+    void publishedBatchStaysClaimed() {
+        batcher.flush();
+
+        verify(deadlineTracker).track(eq(FIRST_JOB_ID), eq(JobContentType.text), any());
+        verify(deadlineTracker).track(eq(SECOND_JOB_ID), eq(JobContentType.text), any());
+        verify(moderationJobRepository, never()).releaseJobs(any());
+    }
+
+    private static ModerationJobRepository.DispatchedCommentJobView job(Long jobId) {
+        ModerationJobRepository.DispatchedCommentJobView job =
+                mock(ModerationJobRepository.DispatchedCommentJobView.class);
+        when(job.getId()).thenReturn(jobId);
+        when(job.getContentType()).thenReturn(JobContentType.text.name());
+        when(job.getDispatchedAt()).thenReturn(LocalDateTime.now());
+        return job;
+    }
+}
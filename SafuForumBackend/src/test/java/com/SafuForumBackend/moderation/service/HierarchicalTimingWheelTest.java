@@ -0,0 +1,125 @@
+package com.SafuForumBackend.moderation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HierarchicalTimingWheelTest {
+
+    // 4 slots over 3 levels cover 64 ticks, so short deadlines already cascade through every level
+    private static final long TICK = 10;
+    private static final int SLOTS = 4;
+    private static final int LEVELS = 3;
+
+    @Test
+    void expiresWithinLevelZero() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SLOTS, LEVELS, 0);
+        wheel.schedule("a", 20);
+
+        assertThat(wheel.advance(19)).isEmpty();
+        assertThat(wheel.advance(20)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void cascadesFromUpperLevelsOnTheExactTick() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SLOTS, LEVELS, 0);
+        // Tick 5 starts in level 1, tick 37 in level 2
+        wheel.schedule("level1", 50);
+        wheel.schedule("level2", 370);
+
+        for (long now = 0; now < 370; now += TICK) {
+            List<String> expired = wheel.advance(now);
+            if (now == 50) {
+                assertThat(expired).containsExactly("level1");
+            } else {
+                assertThat(expired).as("at %d", now).isEmpty();
+            }
+        }
+        assertThat(wheel.advance(370)).containsExactly("level2");
+    }
+
+    @Test
+    void deadlineBeyondTheTopLevelIsParkedAndReplaced() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SLOTS, LEVELS, 0);
+        wheel.schedule("far", 200 * TICK);
+
+        assertThat(wheel.advance(200 * TICK - 1)).isEmpty();
+        assertThat(wheel.advance(200 * TICK)).containsExactly("far");
+    }
+
+    @Test
+    void slotsAreReusedAfterEachLevelRollsOver() {
+        // Starting mid-revolution so slot indexes wrap around on every level
+        long start = 1_234 * TICK + 7;
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, SLOTS, LEVELS, start);
+        Random random = new Random(11);
+        Map<Integer, Long> deadlineTicks = new HashMap<>();
+        for (int key = 0; key < 500; key++) {
+            long deadline = start + random.nextInt(300 * (int) TICK);
+            wheel.schedule(key, deadline);
+            deadlineTicks.put(key, Math.ceilDiv(deadline, TICK));
+        }
+
+        long firstTick = Math.floorDiv(start, TICK);
+        for (long tick = firstTick; tick <= firstTick + 301; tick++) {
+            for (Integer key : wheel.advance(tick * TICK)) {
+                // Deadlines at or before the starting tick expire on the first advance
+                assertThat(Math.max(deadlineTicks.remove(key), firstTick)).as("key %d", key).isEqualTo(tick);
+            }
+        }
+        assertThat(deadlineTicks).isEmpty();
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void advancingManyTicksAtOnceExpiresEverythingDue() {
+        HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(TICK, SLOTS, LEVELS, 0);
+        List<Integer> keys = new ArrayList<>();
+        for (int key = 1; key <= 100; key++) {
+            wheel.schedule(key, key * 7L * TICK);
+            keys.add(key);
+        }
+
+        List<Integer> expired = wheel.advance(350 * TICK);
+        assertThat(expired).containsExactlyInAnyOrderElementsOf(keys.subList(0, 50));
+        assertThat(wheel.size()).isEqualTo(50);
+    }
+
+    @Test
+    void rescheduleAndCancelRemoveThePreviousPlacement() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SLOTS, LEVELS, 0);
+        wheel.schedule("moved", 100);
+        wheel.schedule("moved", 300);
+        wheel.schedule("cancelled", 100);
+
+        assertThat(wheel.cancel("cancelled")).isTrue();
+        assertThat(wheel.cancel("cancelled")).isFalse();
+        assertThat(wheel.advance(299)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly("moved");
+    }
+
+    @Test
+    void pastDeadlineExpiresOnTheNextAdvance() {
+        HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SLOTS, LEVELS, 1_000);
+        wheel.schedule("late", 500);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(1_000)).containsExactly("late");
+    }
+
+    @Test
+    void rejectsDegenerateWheels() {
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(0, SLOTS, LEVELS, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HierarchicalTimingWheel<String>(TICK, 1, LEVELS, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationAmqpProperties;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationLane;
+import com.SafuForumBackend.moderation.event.ModerationJobRequestedEvent;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageModerationDispatcherTest {
+
+    private static final Long JOB_ID = 42L;
+
+    @Mock
+    private ModerationJobRepository moderationJobRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ModerationDeadlineTracker deadlineTracker;
+
+    @Mock
+    private ModerationAdmissionGate admissionGate;
+
+    private ImageModerationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new ImageModerationDispatcher(moderationJobRepository, rabbitTemplate,
+                new ModerationAmqpProperties(), deadlineTracker, admissionGate);
+        when(admissionGate.admits(ModerationLane.normal, JobContentType.image)).thenReturn(true);
+
+        ModerationJobRepository.DispatchedImageJobView job = mock(ModerationJobRepository.DispatchedImageJobView.class);
+        when(job.getId()).thenReturn(JOB_ID);
+        when(job.getDispatchedAt()).thenReturn(LocalDateTime.now());
+        when(moderationJobRepository.claimImageJobs(eq(new Long[] { JOB_ID }), any())).thenReturn(List.of(job));
+    }
+
+    @Test
+    void failedPublishReleasesTheJobForTheOrphanSweep() {
+        doThrow(new AmqpException("broker down")).when(rabbitTemplate).convertAndSend(
+                anyString(), anyString(), any(ModerationJobRequestedEvent.class), any(MessagePostProcessor.class));
+
+        dispatcher.dispatch(JOB_ID, ModerationLane.normal);
+
+        verify(deadlineTracker).untrack(List.of(JOB_ID));
+        verify(moderationJobRepository).releaseImageJob(JOB_ID);
+    }
+
+    @Test
+    void publishedJobStaysClaimed() {
+        dispatcher.dispatch(JOB_ID, ModerationLane.normal);
+
+        verify(deadlineTracker).track(eq(JOB_ID), eq(JobContentType.image), any());
+        verify(moderationJobRepository, never()).releaseImageJob(any());
+    }
+}
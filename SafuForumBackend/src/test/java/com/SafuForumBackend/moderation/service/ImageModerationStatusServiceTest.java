@@ -0,0 +1,60 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.image.repository.ImageRepository;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImageModerationStatusServiceTest {
+
+    @Mock
+    private ImageRepository imageRepository;
+
+    @Mock
+    private ModerationJobRepository moderationJobRepository;
+
+    @InjectMocks
+    private ImageModerationStatusService imageModerationStatusService;
+
+    @Test
+    void timedOutUploadJobReleasesPostJobsWaitingForIt() {
+        imageModerationStatusService.recordTimeouts(List.of(imageJob(7L), postJob(), imageJob(3L)));
+
+        var order = inOrder(imageRepository, moderationJobRepository);
+        order.verify(imageRepository).failPendingModeration(new Long[] { 3L, 7L });
+        order.verify(moderationJobRepository).releasePendingPostJobsForImages(new String[] {
+                PostModerationJobFactory.imageSourceField(3L),
+                PostModerationJobFactory.imageSourceField(7L) });
+    }
+
+    @Test
+    void timeoutsWithoutImageJobsTouchNoImages() {
+        imageModerationStatusService.recordTimeouts(List.of(postJob()));
+
+        verify(imageRepository, never()).failPendingModeration(any());
+        verify(moderationJobRepository, never()).releasePendingPostJobsForImages(any());
+    }
+
+    private static ModerationJobRepository.TimedOutJobView imageJob(Long imageId) {
+        ModerationJobRepository.TimedOutJobView job = mock(ModerationJobRepository.TimedOutJobView.class);
+        when(job.getImageId()).thenReturn(imageId);
+        return job;
+    }
+
+    private static ModerationJobRepository.TimedOutJobView postJob() {
+        return imageJob(null);
+    }
+}
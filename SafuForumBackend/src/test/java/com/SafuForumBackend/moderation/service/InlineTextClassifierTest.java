@@ -0,0 +1,113 @@
+package com.SafuForumBackend.moderation.service;
+
+import ai.onnxruntime.OrtException;
+import com.SafuForumBackend.moderation.config.ModerationInlineClassifierProperties;
+import com.SafuForumBackend.moderation.entity.ModerationJobSpec;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.repository.ModerationPolicyThresholdRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The fallbacks of the inline classifier, with a stand-in for the model:
+ * "slow" blocks until the test ends, "broken" fails, anything else scores 0.1.
+ */
+@ExtendWith(MockitoExtension.class)
+class InlineTextClassifierTest {
+
+    private static final ModerationJobSpec FAST = spec("title", "fine text");
+    private static final ModerationJobSpec SLOW = spec("content", "slow");
+    private static final ModerationJobSpec BROKEN = spec("content", "broken");
+
+    @Mock
+    private ModerationPolicyThresholdRepository thresholdRepository;
+
+    private final ModerationInlineClassifierProperties properties = new ModerationInlineClassifierProperties();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private InlineTextClassifier classifier;
+
+    @BeforeEach
+    void setUp() {
+        properties.setEnabled(true);
+        properties.setTimeout(Duration.ofMillis(100));
+        classifier = new InlineTextClassifier(properties, thresholdRepository) {
+            @Override
+            float toxicProbability(String normalized) throws OrtException {
+                switch (normalized) {
+                    case "slow" -> {
+                        try {
+                            release.await();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                    case "broken" -> throw new OrtException("inference failed");
+                    default -> {
+                    }
+                }
+                return 0.1f;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() throws OrtException {
+        release.countDown();
+        classifier.shutdown();
+    }
+
+    @Test
+    void payloadNotClassifiedInTimeIsLeftToTheQueue() {
+        classifier.startExecutor();
+
+        Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> verdicts =
+                classifier.classifyAll(List.of(FAST, SLOW));
+
+        assertThat(verdicts).containsOnlyKeys(FAST);
+        assertThat(verdicts.get(FAST).status()).isEqualTo(ModerationStatus.approved);
+    }
+
+    @Test
+    void inferenceErrorIsLeftToTheQueue() {
+        classifier.startExecutor();
+
+        assertThat(classifier.classifyAll(List.of(FAST, BROKEN))).containsOnlyKeys(FAST);
+    }
+
+    @Test
+    void payloadsBeyondTheExecutorQueueAreLeftToTheQueue() {
+        properties.setThreads(1);
+        properties.setQueueCapacity(1);
+        classifier.startExecutor();
+
+        // The first runs, the second waits in the queue, the third is rejected
+        Map<ModerationJobSpec, ModerationVerdictCache.CachedVerdict> verdicts =
+                classifier.classifyAll(List.of(SLOW, FAST, spec("summary", "also fine")));
+
+        assertThat(verdicts).isEmpty();
+    }
+
+    @Test
+    void unavailableClassifierAnswersNothing() {
+        assertThat(classifier.isAvailable()).isFalse();
+        assertThat(classifier.classifyAll(List.of(FAST))).isEmpty();
+    }
+
+    private static ModerationJobSpec spec(String sourceField, String payload) {
+        return new ModerationJobSpec(sourceField, JobContentType.text, payload, null);
+    }
+}
@@ -0,0 +1,123 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationAdmissionProperties;
+import com.SafuForumBackend.moderation.config.ModerationAmqpProperties;
+import com.SafuForumBackend.moderation.config.ModerationDispatchProperties;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationLane;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationDispatcherTest {
+
+    private static final Long POST_ID = 7L;
+
+    @Mock
+    private ModerationJobRepository moderationJobRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Mock
+    private ModerationDeadlineTracker deadlineTracker;
+
+    @Mock
+    private ModerationAdmissionGate admissionGate;
+
+    private final ModerationDispatchProperties properties = new ModerationDispatchProperties();
+
+    private final ModerationAdmissionProperties admissionProperties = new ModerationAdmissionProperties();
+
+    private ModerationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new ModerationDispatcher(moderationJobRepository, rabbitTemplate, new ModerationAmqpProperties(),
+                properties, deadlineTracker, admissionGate, admissionProperties);
+        lenient().when(admissionGate.laneFor(eq(ModerationLane.normal), any())).thenReturn(ModerationLane.normal);
+    }
+
+    @Test
+    void postIsNotClaimedBeforeItsDebounceElapses() {
+        properties.setDebounce(Duration.ofHours(1));
+        properties.setMaxWait(Duration.ofHours(1));
+
+        dispatcher.schedule(POST_ID, ModerationLane.normal, Set.of(JobContentType.text));
+        dispatcher.flushDuePosts();
+
+        verify(moderationJobRepository, never()).claimJobsForPosts(any(), any(), any());
+    }
+
+    @Test
+    void zeroDebounceClaimsStraightAway() {
+        properties.setDebounce(Duration.ZERO);
+        when(admissionGate.admits(ModerationLane.normal, JobContentType.text)).thenReturn(true);
+
+        dispatcher.schedule(POST_ID, ModerationLane.normal, Set.of(JobContentType.text));
+
+        verify(moderationJobRepository).claimJobsForPosts(eq(new Long[] { POST_ID }), eq(new String[] { "text" }),
+                any());
+    }
+
+    @Test
+    void reschedulingKeepsEarlierContentTypesAndTheFirstMaxWait() {
+        // The debounce alone would never come due; the max wait from the first edit already has
+        properties.setDebounce(Duration.ofHours(1));
+        properties.setMaxWait(Duration.ZERO);
+        when(admissionGate.admits(eq(ModerationLane.normal), any())).thenReturn(true);
+
+        dispatcher.schedule(POST_ID, ModerationLane.normal, Set.of(JobContentType.text));
+        dispatcher.schedule(POST_ID, ModerationLane.normal, Set.of(JobContentType.image));
+        dispatcher.flushDuePosts();
+
+        verify(moderationJobRepository).claimJobsForPosts(eq(new Long[] { POST_ID, POST_ID }),
+                eq(new String[] { "text", "image" }), any());
+    }
+
+    @Test
+    void typeTheGateHoldsBackIsRetriedLater() {
+        properties.setDebounce(Duration.ZERO);
+        admissionProperties.setDeferRetry(Duration.ZERO);
+        when(admissionGate.admits(ModerationLane.normal, JobContentType.text)).thenReturn(true);
+        when(admissionGate.admits(ModerationLane.normal, JobContentType.image)).thenReturn(false, true);
+
+        dispatcher.schedule(POST_ID, ModerationLane.normal, Set.of(JobContentType.text, JobContentType.image));
+
+        verify(moderationJobRepository).claimJobsForPosts(eq(new Long[] { POST_ID }), eq(new String[] { "text" }),
+                any());
+        verify(moderationJobRepository, never()).claimJobsForPosts(any(), eq(new String[] { "image" }), any());
+
+        dispatcher.flushDuePosts();
+
+        verify(moderationJobRepository).claimJobsForPosts(eq(new Long[] { POST_ID }), eq(new String[] { "image" }),
+                any());
+    }
+
+    @Test
+    void deferredTypeIsNotRetriedBeforeDeferRetry() {
+        properties.setDebounce(Duration.ZERO);
+        admissionProperties.setDeferRetry(Duration.ofHours(1));
+        when(admissionGate.admits(ModerationLane.normal, JobContentType.image)).thenReturn(false);
+
+        dispatcher.schedule(POST_ID, ModerationLane.normal, Set.of(JobContentType.image));
+        dispatcher.flushDuePosts();
+
+        verify(moderationJobRepository, never()).claimJobsForPosts(any(), any(), any());
+    }
+}
@@ -0,0 +1,112 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.event.ModerationJobCompletedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Completion throughput of the moderation completion listener when a backlog
+ * drains, with one message per transaction (how the queue was consumed
+ * before batching) against the configured batch sizes. Every post has a
+ * title and a content job, so a batch settles posts as its second job lands.
+ * The listener is driven directly, without the broker, on one thread like a
+ * single listener consumer.
+ *
+ * Needs the database from .env; run with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ModerationJobCompletedListenerBenchmark {
+
+    private static final String USERNAME = "bench-moderation-completions";
+    private static final int POSTS = 2_000;
+    private static final int[] BATCH_SIZES = { 1, 50, 200 };
+
+    @Autowired
+    private ModerationJobCompletedListener listener;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long authorId;
+
+    @BeforeEach
+    void createAuthor() {
+        authorId = jdbcTemplate.queryForObject(
+                "INSERT INTO users (username, email) VALUES (?, ?) RETURNING id", Long.class,
+                USERNAME, USERNAME + "@benchmark.invalid");
+    }
+
+    // Posts, their jobs and tallies cascade from the author
+    @AfterEach
+    void removeAuthor() {
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", authorId);
+    }
+
+    @Test
+    void completionThroughput() {
+        // Warm up
+        measure(50);
+
+        System.out.printf("%-12s %16s%n", "batch size", "completions/s");
+        for (int batchSize : BATCH_SIZES) {
+            System.out.printf("%-12d %16.0f%n", batchSize, measure(batchSize));
+        }
+    }
+
+    /**
+     * Creates a fresh backlog of dispatched jobs and completes all of them.
+     *
+     * @return completions per second
+     */
+    private double measure(int batchSize) {
+        List<Message<ModerationJobCompletedEvent>> messages = createBacklog();
+
+        long startedAt = System.nanoTime();
+        for (int from = 0; from < messages.size(); from += batchSize) {
+            listener.handleJobsCompleted(messages.subList(from, Math.min(from + batchSize, messages.size())));
+        }
+        double perSecond = messages.size() / ((System.nanoTime() - startedAt) / 1e9);
+
+        jdbcTemplate.update("DELETE FROM posts WHERE author_id = ?", authorId);
+        return perSecond;
+    }
+
+    private List<Message<ModerationJobCompletedEvent>> createBacklog() {
+        jdbcTemplate.update("""
+                INSERT INTO posts (author_id, title, content)
+                SELECT ?, 'benchmark title ' || n, 'benchmark content ' || n
+                FROM generate_series(1, ?) AS n
+                """, authorId, POSTS);
+        jdbcTemplate.update("""
+                INSERT INTO moderation_job_tallies (post_id, post_version, total, pending)
+                SELECT id, version, 2, 2 FROM posts WHERE author_id = ?
+                """, authorId);
+        List<Long> jobIds = jdbcTemplate.queryForList("""
+                INSERT INTO moderation_jobs (post_id, post_version, source_field, content_type, payload, dispatched_at)
+                SELECT p.id, p.version, f.source_field, 'text', 'benchmark', CURRENT_TIMESTAMP
+                FROM posts p CROSS JOIN (VALUES ('title'), ('content')) AS f(source_field)
+                WHERE p.author_id = ?
+                ORDER BY p.id, f.source_field
+                RETURNING id
+                """, Long.class, authorId);
+
+        List<Message<ModerationJobCompletedEvent>> messages = new ArrayList<>(jobIds.size());
+        for (Long jobId : jobIds) {
+            messages.add(MessageBuilder.withPayload(new ModerationJobCompletedEvent(
+                    jobId, null, null, null, null, ModerationStatus.approved, null, null, null)).build());
+        }
+        return messages;
+    }
+}
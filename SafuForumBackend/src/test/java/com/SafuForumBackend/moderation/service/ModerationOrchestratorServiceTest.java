@@ -0,0 +1,228 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationAmqpProperties;
+import com.SafuForumBackend.moderation.config.ModerationOrchestratorProperties;
+import com.SafuForumBackend.moderation.entity.ModerationJob;
+import com.SafuForumBackend.moderation.entity.ModerationJobSpec;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.event.ModerationJobsCancelledEvent;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import com.SafuForumBackend.post.entity.Post;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationOrchestratorServiceTest {
+
+    private static final long POST_ID = 7L;
+    private static final int PREVIOUS_VERSION = 1;
+    private static final int POST_VERSION = 2;
+    private static final String MODEL_VERSION = "toxicornot-1";
+
+    @Mock
+    private ModerationJobRepository moderationJobRepository;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Spy
+    private ModerationAmqpProperties amqpProperties = new ModerationAmqpProperties();
+
+    @Spy
+    private ModerationOrchestratorProperties orchestratorProperties = new ModerationOrchestratorProperties();
+
+    @Mock
+    private PostModerationJobFactory postModerationJobFactory;
+
+    // Runs callbacks straight away, as no transaction is active
+    @Spy
+    private AfterCommitExecutor afterCommitExecutor = new AfterCommitExecutor();
+
+    @Mock
+    private ModerationVerdictCache verdictCache;
+
+    @Mock
+    private PostModerationStatusService postModerationStatusService;
+
+    @Mock
+    private ModerationDeadlineTracker deadlineTracker;
+
+    @Mock
+    private ModerationDispatcher moderationDispatcher;
+
+    @Mock
+    private ModerationAdmissionGate admissionGate;
+
+    @Mock
+    private ModerationPrefilter moderationPrefilter;
+
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    @Mock
+    private InlineTextClassifier inlineTextClassifier;
+
+    @InjectMocks
+    private ModerationOrchestratorService moderationOrchestratorService;
+
+    @Test
+    void unchangedFieldKeepsItsVerdictAndScores() {
+        ModerationJob previousTitle = previousJob(11L, "title", "title-hash", MODEL_VERSION);
+        ModerationJob previousContent = previousJob(12L, PostModerationJobFactory.CONTENT_FIELD, "old-content-hash",
+                MODEL_VERSION);
+        Post post = editPost(List.of(previousTitle, previousContent));
+
+        moderationOrchestratorService.enqueueModerationForPost(post, PREVIOUS_VERSION);
+
+        List<ModerationJob> saved = savedJobs();
+        assertThat(saved)
+                .extracting(ModerationJob::getSourceField, ModerationJob::getStatus, ModerationJob::getErrorMessage)
+                .containsExactly(
+                        tuple("title", ModerationStatus.approved, "looks fine"),
+                        tuple(PostModerationJobFactory.CONTENT_FIELD, ModerationStatus.pending, null));
+        verify(moderationJobRepository).copyScores(new Long[] { null }, new Long[] { 11L });
+        verify(moderationDispatcher).schedule(eq(POST_ID), any(), eq(Set.of(JobContentType.text)));
+    }
+
+    @Test
+    void verdictOfAnOlderModelIsNotCarriedForward() {
+        Post post = editPost(List.of(previousJob(11L, "title", "title-hash", "toxicornot-0")));
+
+        moderationOrchestratorService.enqueueModerationForPost(post, PREVIOUS_VERSION);
+
+        assertThat(savedJobs()).extracting(ModerationJob::getStatus)
+                .containsOnly(ModerationStatus.pending);
+        verify(moderationJobRepository, never()).copyScores(any(), any());
+    }
+
+    @Test
+    void unhashedFieldIsComparedByPayload() {
+        ModerationJob previousTitle = previousJob(11L, "title", null, MODEL_VERSION);
+        previousTitle.setPayload("Same title");
+        Post post = editPost(List.of(previousTitle));
+
+        moderationOrchestratorService.enqueueModerationForPost(post, PREVIOUS_VERSION);
+
+        assertThat(savedJobs()).extracting(ModerationJob::getStatus)
+                .containsExactly(ModerationStatus.approved, ModerationStatus.pending);
+    }
+
+    @Test
+    void rejectionCancelsThePendingSiblingsOfItsVersionOnly() {
+        ModerationJobRepository.CancelledJobView cancelled = mock(ModerationJobRepository.CancelledJobView.class);
+        when(cancelled.getJobId()).thenReturn(100L);
+        when(moderationJobRepository.cancelPendingJobs(eq(new Long[] { 5L, 9L }), eq(new Integer[] { 1, 3 }), any()))
+                .thenReturn(List.of(cancelled));
+
+        List<ModerationJobRepository.CancelledJobView> result = moderationOrchestratorService.cancelPendingSiblings(
+                List.of(
+                        completed(9L, 3, null, ModerationStatus.rejected),
+                        completed(5L, 1, null, ModerationStatus.rejected),
+                        completed(6L, 2, null, ModerationStatus.approved),
+                        completed(null, null, 40L, ModerationStatus.rejected)));
+
+        assertThat(result).containsExactly(cancelled);
+        verify(deadlineTracker).untrack(List.of(100L));
+        verify(rabbitTemplate).convertAndSend(amqpProperties.getIngressExchange(),
+                amqpProperties.getRouting().getJobCancel(), new ModerationJobsCancelledEvent(List.of(100L)));
+    }
+
+    @Test
+    void approvalsCancelNothing() {
+        List<ModerationJobRepository.CancelledJobView> result = moderationOrchestratorService.cancelPendingSiblings(
+                List.of(completed(6L, 2, null, ModerationStatus.approved)));
+
+        assertThat(result).isEmpty();
+        verify(moderationJobRepository, never()).cancelPendingJobs(any(), any(), any());
+    }
+
+    @Test
+    void siblingsAreKeptWhenCancellationIsDisabled() {
+        orchestratorProperties.setCancelSiblingsOnRejection(false);
+
+        List<ModerationJobRepository.CancelledJobView> result = moderationOrchestratorService.cancelPendingSiblings(
+                List.of(completed(9L, 3, null, ModerationStatus.rejected)));
+
+        assertThat(result).isEmpty();
+        verify(moderationJobRepository, never()).cancelPendingJobs(any(), any(), any());
+    }
+
+    @Test
+    void nothingIsPublishedWhenNoSiblingWasPending() {
+        List<ModerationJobRepository.CancelledJobView> result = moderationOrchestratorService.cancelPendingSiblings(
+                List.of(completed(9L, 3, null, ModerationStatus.rejected)));
+
+        assertThat(result).isEmpty();
+        verify(deadlineTracker, never()).untrack(any());
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    private Post editPost(List<ModerationJob> previousJobs) {
+        Post post = Post.builder().id(POST_ID).version(POST_VERSION).build();
+        when(nearDuplicateDetector.checkPost(post)).thenReturn(NearDuplicateDetector.PostCheck.NONE);
+        when(postModerationJobFactory.buildJobs(post)).thenReturn(List.of(
+                new ModerationJobSpec("title", JobContentType.text, "Same title", "title-hash"),
+                new ModerationJobSpec(PostModerationJobFactory.CONTENT_FIELD, JobContentType.text, "New content",
+                        "new-content-hash")));
+        when(postModerationJobFactory.findPreModeratedImages(post))
+                .thenReturn(PostModerationJobFactory.PreModeratedImages.NONE);
+        when(moderationJobRepository.findByPostIdAndPostVersion(POST_ID, POST_VERSION)).thenReturn(List.of());
+        when(moderationJobRepository.findByPostIdAndPostVersion(POST_ID, PREVIOUS_VERSION)).thenReturn(previousJobs);
+        when(verdictCache.modelVersionFor(JobContentType.text)).thenReturn(MODEL_VERSION);
+        when(moderationJobRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        return post;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ModerationJob> savedJobs() {
+        ArgumentCaptor<List<ModerationJob>> saved = ArgumentCaptor.forClass(List.class);
+        verify(moderationJobRepository).saveAll(saved.capture());
+        return saved.getValue();
+    }
+
+    private static ModerationJobRepository.CompletedJobView completed(Long postId, Integer postVersion,
+            Long commentId, ModerationStatus status) {
+        ModerationJobRepository.CompletedJobView job = mock(ModerationJobRepository.CompletedJobView.class);
+        lenient().when(job.getPostId()).thenReturn(postId);
+        lenient().when(job.getPostVersion()).thenReturn(postVersion);
+        lenient().when(job.getCommentId()).thenReturn(commentId);
+        lenient().when(job.getStatus()).thenReturn(status.name());
+        return job;
+    }
+
+    private static ModerationJob previousJob(Long id, String sourceField, String contentSha256, String modelVersion) {
+        return ModerationJob.builder()
+                .id(id)
+                .postVersion(PREVIOUS_VERSION)
+                .sourceField(sourceField)
+                .contentType(JobContentType.text)
+                .payload("Old payload")
+                .contentSha256(contentSha256)
+                .modelVersion(modelVersion)
+                .status(ModerationStatus.approved)
+                .errorMessage("looks fine")
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationPrefilterProperties;
+import com.SafuForumBackend.moderation.entity.ModerationFilterRule;
+import com.SafuForumBackend.moderation.entity.ModerationJobSpec;
+import com.SafuForumBackend.moderation.enums.FilterRuleAction;
+import com.SafuForumBackend.moderation.enums.FilterRuleMatchType;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.repository.ModerationFilterRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationPrefilterTest {
+
+    // Exponential on a run of 'a's that does not end the text
+    private static final String BACKTRACKING_REGEX = "(a+)+$";
+
+    @Mock
+    private ModerationFilterRuleRepository filterRuleRepository;
+
+    private ModerationPrefilter prefilter;
+
+    @BeforeEach
+    void setUp() {
+        prefilter = new ModerationPrefilter(filterRuleRepository, new ModerationPrefilterProperties());
+    }
+
+    @Test
+    void validateRejectsInvalidRegex() {
+        assertThatThrownBy(() -> prefilter.validate(FilterRuleMatchType.regex, "buy (cheap"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Invalid regex");
+    }
+
+    @Test
+    @Timeout(5)
+    void validateRejectsBacktrackingRegex() {
+        assertThatThrownBy(() -> prefilter.validate(FilterRuleMatchType.regex, BACKTRACKING_REGEX))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("simplify its quantifiers");
+    }
+
+    @Test
+    @Timeout(5)
+    void validateRejectsDeeplyRecursiveRegex() {
+        assertThatThrownBy(() -> prefilter.validate(FilterRuleMatchType.regex, "(a|aa)+$"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void validateAcceptsLinearRegexAndPhrases() {
+        assertThatCode(() -> prefilter.validate(FilterRuleMatchType.regex, "buy\\s+cheap\\s+\\w+ now"))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> prefilter.validate(FilterRuleMatchType.phrase, "free money"))
+                .doesNotThrowAnyException();
+        assertThatThrownBy(() -> prefilter.validate(FilterRuleMatchType.phrase, "   "))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Timeout(5)
+    void backtrackingRuleLeavesPayloadToClassifiers() {
+        // Loaded from the table, e.g. saved before validation existed
+        load(rule(1L, FilterRuleAction.block, FilterRuleMatchType.regex, BACKTRACKING_REGEX));
+        ModerationJobSpec spec = textSpec("a".repeat(5_000) + "!");
+
+        assertThat(prefilter.evaluateAll(List.of(spec))).isEmpty();
+    }
+
+    @Test
+    void deeplyRecursiveRuleLeavesPayloadToClassifiers() {
+        load(rule(1L, FilterRuleAction.block, FilterRuleMatchType.regex, "(a|aa)+$"));
+        ModerationJobSpec spec = textSpec("a".repeat(20_000) + "!");
+
+        assertThat(prefilter.evaluateAll(List.of(spec))).isEmpty();
+    }
+
+    @Test
+    void blockRegexStillRejectsWithinBudget() {
+        load(rule(1L, FilterRuleAction.block, FilterRuleMatchType.regex, "buy\\s+cheap"));
+        ModerationJobSpec spec = textSpec("Please BUY   cheap watches");
+
+        assertThat(prefilter.evaluateAll(List.of(spec)).get(spec).status()).isEqualTo(ModerationStatus.rejected);
+    }
+
+    private void load(ModerationFilterRule... rules) {
+        ModerationFilterRuleRepository.RuleSetVersion version = mock(ModerationFilterRuleRepository.RuleSetVersion.class);
+        when(version.getRuleCount()).thenReturn((long) rules.length);
+        when(version.getLastUpdatedAt()).thenReturn(LocalDateTime.now());
+        when(filterRuleRepository.findRuleSetVersion()).thenReturn(version);
+        when(filterRuleRepository.findByEnabledTrueOrderById()).thenReturn(List.of(rules));
+        prefilter.reload();
+    }
+
+    private static ModerationFilterRule rule(Long id, FilterRuleAction action, FilterRuleMatchType matchType,
+            String pattern) {
+        return ModerationFilterRule.builder().id(id).action(action).matchType(matchType).pattern(pattern).build();
+    }
+
+    private static ModerationJobSpec textSpec(String payload) {
+        return new ModerationJobSpec("content", JobContentType.text, payload, null);
+    }
+}
@@ -0,0 +1,136 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.config.ModerationVerdictCacheProperties;
+import com.SafuForumBackend.moderation.entity.ModerationJobSpec;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import com.SafuForumBackend.moderation.repository.ModerationVerdictCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ModerationVerdictCacheTest {
+
+    private static final String HASH = "a".repeat(64);
+    private static final String TEXT_MODEL_VERSION = "toxicornot-2";
+    private static final String IMAGE_MODEL_VERSION = "catornot-3";
+
+    @Mock
+    private ModerationVerdictCacheRepository verdictCacheRepository;
+
+    private final ModerationVerdictCacheProperties properties = new ModerationVerdictCacheProperties();
+
+    private ModerationVerdictCache verdictCache;
+
+    @BeforeEach
+    void setUp() {
+        properties.setTtl(Duration.ofDays(7));
+        properties.setTextModelVersion(TEXT_MODEL_VERSION);
+        properties.setImageModelVersion(IMAGE_MODEL_VERSION);
+        verdictCache = new ModerationVerdictCache(verdictCacheRepository, properties);
+    }
+
+    @Test
+    void recordedVerdictsExpireAfterTheTtl() {
+        LocalDateTime before = LocalDateTime.now();
+
+        verdictCache.recordAll(List.of(completed(ModerationStatus.rejected, TEXT_MODEL_VERSION)));
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        ArgumentCaptor<LocalDateTime> expiresAt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(verdictCacheRepository).upsertAll(eq(new String[] { "text" }), eq(new String[] { HASH }),
+                eq(new String[] { TEXT_MODEL_VERSION }), eq(new String[] { "rejected" }), any(),
+                now.capture(), expiresAt.capture());
+        assertThat(now.getValue()).isBetween(before, LocalDateTime.now());
+        assertThat(expiresAt.getValue()).isEqualTo(now.getValue().plus(properties.getTtl()));
+    }
+
+    @Test
+    void verdictsOfAnOlderModelVersionAreNotCached() {
+        verdictCache.recordAll(List.of(completed(ModerationStatus.approved, "toxicornot-1")));
+
+        verify(verdictCacheRepository, never()).upsertAll(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void failuresAreNotCached() {
+        ModerationJobRepository.CompletedJobView failed = mock(ModerationJobRepository.CompletedJobView.class);
+        when(failed.getContentType()).thenReturn("text");
+        when(failed.getStatus()).thenReturn("failed");
+        when(failed.getContentSha256()).thenReturn(HASH);
+
+        verdictCache.recordAll(List.of(failed));
+
+        verify(verdictCacheRepository, never()).upsertAll(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void lookupOnlyMatchesLiveEntriesOfTheCurrentModelVersion() {
+        ModerationVerdictCacheRepository.VerdictView view = mock(ModerationVerdictCacheRepository.VerdictView.class);
+        when(view.getContentSha256()).thenReturn(HASH);
+        when(view.getStatus()).thenReturn("approved");
+        when(verdictCacheRepository.findLiveVerdicts(eq("text"), eq(TEXT_MODEL_VERSION), eq(Set.of(HASH)), any()))
+                .thenReturn(List.of(view));
+        LocalDateTime before = LocalDateTime.now();
+
+        Map<ModerationVerdictCache.VerdictKey, ModerationVerdictCache.CachedVerdict> verdicts =
+                verdictCache.lookup(List.of(new ModerationJobSpec("content", JobContentType.text, "hello", HASH)));
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(verdictCacheRepository).findLiveVerdicts(any(), any(), any(), now.capture());
+        assertThat(now.getValue()).isBetween(before, LocalDateTime.now());
+        assertThat(verdicts).containsOnlyKeys(new ModerationVerdictCache.VerdictKey(JobContentType.text, HASH));
+        assertThat(verdictCache.getStats().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void purgeDropsExpiredEntriesAndThoseOfOtherModelVersions() {
+        LocalDateTime before = LocalDateTime.now();
+
+        verdictCache.purgeStaleEntries();
+
+        ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(verdictCacheRepository).purgeStale(now.capture(), eq(TEXT_MODEL_VERSION), eq(IMAGE_MODEL_VERSION));
+        assertThat(now.getValue()).isBetween(before, LocalDateTime.now());
+    }
+
+    @Test
+    void disabledCacheNeitherReadsNorWrites() {
+        properties.setEnabled(false);
+
+        assertThat(verdictCache.lookup(List.of(
+                new ModerationJobSpec("content", JobContentType.text, "hello", HASH)))).isEmpty();
+        verdictCache.recordAll(List.of(mock(ModerationJobRepository.CompletedJobView.class)));
+
+        verifyNoInteractions(verdictCacheRepository);
+    }
+
+    private static ModerationJobRepository.CompletedJobView completed(ModerationStatus status, String modelVersion) {
+        ModerationJobRepository.CompletedJobView job = mock(ModerationJobRepository.CompletedJobView.class);
+        when(job.getContentType()).thenReturn("text");
+        when(job.getStatus()).thenReturn(status.name());
+        when(job.getContentSha256()).thenReturn(HASH);
+        when(job.getModelVersion()).thenReturn(modelVersion);
+        return job;
+    }
+}
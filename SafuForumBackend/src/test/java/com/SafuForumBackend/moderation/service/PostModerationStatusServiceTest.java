@@ -0,0 +1,208 @@
+package com.SafuForumBackend.moderation.service;
+
+import com.SafuForumBackend.moderation.entity.ModerationJob;
+import com.SafuForumBackend.moderation.enums.JobContentType;
+import com.SafuForumBackend.moderation.enums.ModerationStatus;
+import com.SafuForumBackend.moderation.repository.ModerationJobRepository;
+import com.SafuForumBackend.moderation.repository.ModerationJobTallyRepository;
+import com.SafuForumBackend.post.entity.Post;
+import com.SafuForumBackend.post.repository.PostRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PostModerationStatusServiceTest {
+
+    private static final long POST_ID = 42L;
+    private static final int POST_VERSION = 3;
+
+    @Mock
+    private ModerationJobTallyRepository moderationJobTallyRepository;
+
+    @Mock
+    private ModerationJobRepository moderationJobRepository;
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private NearDuplicateDetector nearDuplicateDetector;
+
+    @InjectMocks
+    private PostModerationStatusService postModerationStatusService;
+
+    @Test
+    void titleOnlyRejectionDoesNotPoisonTheBody() {
+        Post post = Post.builder().id(POST_ID).version(POST_VERSION).status(ModerationStatus.pending).build();
+        ModerationJobTallyRepository.TallyView tally = tally(0, 1, 0);
+        when(moderationJobTallyRepository.addJobs(POST_ID, POST_VERSION, 2, 0, 1, 0, 0)).thenReturn(tally);
+        when(moderationJobRepository.findVersionsWithRejectedField(
+                new Long[] { POST_ID }, new Integer[] { POST_VERSION }, PostModerationJobFactory.CONTENT_FIELD))
+                .thenReturn(List.of());
+
+        postModerationStatusService.registerJobs(post, List.of(
+                job("title", ModerationStatus.rejected),
+                job(PostModerationJobFactory.CONTENT_FIELD, ModerationStatus.approved)));
+
+        assertThat(post.getStatus()).isEqualTo(ModerationStatus.rejected);
+        verify(nearDuplicateDetector).recordRejectedPostVersions(List.of(), List.of());
+    }
+
+    @Test
+    void contentRejectionPoisonsTheBody() {
+        ModerationJobTallyRepository.SettledPostView settled = settled(ModerationStatus.rejected);
+        when(moderationJobTallyRepository.recordCompletionsAndSettle(any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(settled));
+        ModerationJobRepository.PostVersionView version = mock(ModerationJobRepository.PostVersionView.class);
+        when(version.getPostId()).thenReturn(POST_ID);
+        when(version.getPostVersion()).thenReturn(POST_VERSION);
+        when(moderationJobRepository.findVersionsWithRejectedField(
+                new Long[] { POST_ID }, new Integer[] { POST_VERSION }, PostModerationJobFactory.CONTENT_FIELD))
+                .thenReturn(List.of(version));
+
+        postModerationStatusService.recordCompletions(List.of(completed(ModerationStatus.rejected)), List.of());
+
+        verify(nearDuplicateDetector).recordRejectedPostVersions(List.of(POST_ID), List.of(POST_VERSION));
+    }
+
+    @Test
+    void approvedPostsAreNotLookedUp() {
+        ModerationJobTallyRepository.SettledPostView settled = settled(ModerationStatus.approved);
+        when(moderationJobTallyRepository.recordCompletionsAndSettle(any(), any(), any(), any(), any(), any()))
+                .thenReturn(List.of(settled));
+
+        postModerationStatusService.recordCompletions(List.of(completed(ModerationStatus.approved)), List.of());
+
+        verify(moderationJobRepository, never()).findVersionsWithRejectedField(any(), any(), any());
+        verify(nearDuplicateDetector, never()).recordRejectedPostVersions(any(), any());
+    }
+
+    @Test
+    void completionsAreTalliedPerVersionInLockOrder() {
+        ModerationJobRepository.CancelledJobView cancelled = mock(ModerationJobRepository.CancelledJobView.class);
+        when(cancelled.getPostId()).thenReturn(5L);
+        when(cancelled.getPostVersion()).thenReturn(2);
+
+        postModerationStatusService.recordCompletions(List.of(
+                completed(9L, 1, ModerationStatus.approved),
+                completed(5L, 2, ModerationStatus.rejected),
+                commentJob(),
+                completed(5L, 1, ModerationStatus.failed),
+                completed(5L, 2, ModerationStatus.approved)), List.of(cancelled));
+
+        // {completed, rejected, failed, cancelled} per (post, version), sorted
+        verify(moderationJobTallyRepository).recordCompletionsAndSettle(
+                new Long[] { 5L, 5L, 9L },
+                new Integer[] { 1, 2, 1 },
+                new Integer[] { 1, 3, 1 },
+                new Integer[] { 0, 1, 0 },
+                new Integer[] { 1, 0, 0 },
+                new Integer[] { 0, 1, 0 });
+    }
+
+    @Test
+    void postWithPendingJobsIsNotSettled() {
+        Post post = Post.builder().id(POST_ID).version(POST_VERSION).status(ModerationStatus.pending).build();
+        ModerationJobTallyRepository.TallyView tally = mock(ModerationJobTallyRepository.TallyView.class);
+        when(tally.getPending()).thenReturn(1);
+        when(moderationJobTallyRepository.addJobs(POST_ID, POST_VERSION, 2, 1, 0, 0, 0)).thenReturn(tally);
+
+        postModerationStatusService.registerJobs(post, List.of(
+                job("title", ModerationStatus.approved),
+                job(PostModerationJobFactory.CONTENT_FIELD, ModerationStatus.pending)));
+
+        assertThat(post.getStatus()).isEqualTo(ModerationStatus.pending);
+        verify(postRepository, never()).updateStatusIfCurrent(any(), any(), any(), any());
+    }
+
+    @Test
+    void failureOutranksRejection() {
+        ModerationJobTallyRepository.TallyView tally = mock(ModerationJobTallyRepository.TallyView.class);
+        when(tally.getFailed()).thenReturn(1);
+
+        assertThat(postModerationStatusService.aggregateStatus(tally)).isEqualTo(ModerationStatus.failed);
+    }
+
+    @Test
+    void timeoutsFailOnlyCurrentVersionsStraightAway() {
+        ModerationJobRepository.TimedOutJobView current = timedOut(POST_VERSION, true);
+        ModerationJobRepository.TimedOutJobView superseded = timedOut(POST_VERSION - 1, false);
+
+        postModerationStatusService.recordTimeouts(List.of(current, superseded));
+
+        verify(moderationJobTallyRepository).recordCompletionsAndSettle(
+                new Long[] { POST_ID, POST_ID },
+                new Integer[] { POST_VERSION - 1, POST_VERSION },
+                new Integer[] { 1, 1 },
+                new Integer[] { 0, 0 },
+                new Integer[] { 1, 1 },
+                new Integer[] { 0, 0 });
+        verify(postRepository).failPendingVersions(eq(new Long[] { POST_ID }), eq(new Integer[] { POST_VERSION }),
+                any());
+    }
+
+    private static ModerationJob job(String sourceField, ModerationStatus status) {
+        return ModerationJob.builder()
+                .postVersion(POST_VERSION)
+                .sourceField(sourceField)
+                .contentType(JobContentType.text)
+                .status(status)
+                .build();
+    }
+
+    private static ModerationJobTallyRepository.TallyView tally(int pending, int rejected, int failed) {
+        ModerationJobTallyRepository.TallyView tally = mock(ModerationJobTallyRepository.TallyView.class);
+        when(tally.getPending()).thenReturn(pending);
+        when(tally.getRejected()).thenReturn(rejected);
+        when(tally.getFailed()).thenReturn(failed);
+        return tally;
+    }
+
+    private static ModerationJobTallyRepository.SettledPostView settled(ModerationStatus status) {
+        ModerationJobTallyRepository.SettledPostView settled = mock(ModerationJobTallyRepository.SettledPostView.class);
+        when(settled.getPostId()).thenReturn(POST_ID);
+        when(settled.getPostVersion()).thenReturn(POST_VERSION);
+        when(settled.getStatus()).thenReturn(status.name());
+        return settled;
+    }
+
+    private static ModerationJobRepository.CompletedJobView completed(ModerationStatus status) {
+        return completed(POST_ID, POST_VERSION, status);
+    }
+
+    private static ModerationJobRepository.CompletedJobView completed(Long postId, Integer postVersion,
+            ModerationStatus status) {
+        ModerationJobRepository.CompletedJobView job = mock(ModerationJobRepository.CompletedJobView.class);
+        when(job.getPostId()).thenReturn(postId);
+        when(job.getPostVersion()).thenReturn(postVersion);
+        when(job.getStatus()).thenReturn(status.name());
+        return job;
+    }
+
+    private static ModerationJobRepository.CompletedJobView commentJob() {
+        ModerationJobRepository.CompletedJobView job = mock(ModerationJobRepository.CompletedJobView.class);
+        when(job.getPostId()).thenReturn(null);
+        return job;
+    }
+
+    private static ModerationJobRepository.TimedOutJobView timedOut(int postVersion, boolean currentVersion) {
+        ModerationJobRepository.TimedOutJobView job = mock(ModerationJobRepository.TimedOutJobView.class);
+        when(job.getPostId()).thenReturn(POST_ID);
+        when(job.getPostVersion()).thenReturn(postVersion);
+        when(job.getCurrentVersion()).thenReturn(currentVersion);
+        return job;
+    }
+}
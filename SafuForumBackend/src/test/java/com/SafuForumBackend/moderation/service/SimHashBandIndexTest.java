@@ -0,0 +1,124 @@
+package com.SafuForumBackend.moderation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SimHashBandIndexTest {
+
+    @Test
+    void findsHashesDifferingInEveryBandButOne() {
+        // 4 bands of 16 bits; one flipped bit in each of the first three
+        SimHashBandIndex<String> index = new SimHashBandIndex<>(3, 10);
+        long hash = 0x0123_4567_89AB_CDEFL;
+        long neighbour = hash ^ (1L << 5) ^ (1L << 21) ^ (1L << 37);
+        index.put(1, neighbour, "neighbour");
+
+        List<SimHashBandIndex.Match<String>> matches = index.findWithin(hash);
+
+        assertThat(matches).hasSize(1);
+        assertThat(matches.getFirst().distance()).isEqualTo(3);
+        assertThat(matches.getFirst().value()).isEqualTo("neighbour");
+    }
+
+    @Test
+    void ignoresHashesBeyondMaxDistanceEvenWhenSharingABand() {
+        SimHashBandIndex<String> index = new SimHashBandIndex<>(3, 10);
+        long hash = 0x0123_4567_89AB_CDEFL;
+        // Bits 0-3 all sit in the first band, so the other three bands still match
+        index.put(1, hash ^ 0xFL, "too far");
+
+        assertThat(index.findWithin(hash)).isEmpty();
+    }
+
+    @Test
+    void findsEveryHashWithinMaxDistanceOfRandomQueries() {
+        Random random = new Random(47);
+        for (int maxDistance = 1; maxDistance <= 15; maxDistance += 2) {
+            SimHashBandIndex<Long> index = new SimHashBandIndex<>(maxDistance, 1_000);
+            long query = random.nextLong();
+            List<Long> expected = new ArrayList<>();
+            for (long id = 0; id < 200; id++) {
+                // Mostly at exactly maxDistance, the worst case for the band split
+                int flips = id % 4 == 0 ? random.nextInt(maxDistance + 1) : maxDistance;
+                long hash = flipRandomBits(query, flips, random);
+                index.put(id, hash, id);
+                expected.add(id);
+            }
+            for (long id = 200; id < 400; id++) {
+                index.put(id, flipRandomBits(query, maxDistance + 1 + random.nextInt(8), random), id);
+            }
+
+            List<Long> found = index.findWithin(query).stream()
+                    .map(SimHashBandIndex.Match::value)
+                    .sorted()
+                    .toList();
+
+            assertThat(found).as("maxDistance %d", maxDistance).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void returnsClosestMatchesFirst() {
+        SimHashBandIndex<String> index = new SimHashBandIndex<>(3, 10);
+        index.put(1, 0b111L, "three");
+        index.put(2, 0b1L, "one");
+        index.put(3, 0L, "same");
+
+        assertThat(index.findWithin(0L)).extracting(SimHashBandIndex.Match::value)
+                .containsExactly("same", "one", "three");
+    }
+
+    @Test
+    void evictsTheEarliestInsertedOverCapacity() {
+        SimHashBandIndex<String> index = new SimHashBandIndex<>(3, 2);
+        index.put(1, 0L, "first");
+        index.put(2, 0L, "second");
+        index.put(3, 0L, "third");
+
+        assertThat(index.size()).isEqualTo(2);
+        assertThat(index.findWithin(0L)).extracting(SimHashBandIndex.Match::value)
+                .containsExactlyInAnyOrder("second", "third");
+    }
+
+    @Test
+    void replacingAnEntryDropsItsOldBuckets() {
+        SimHashBandIndex<String> index = new SimHashBandIndex<>(3, 10);
+        index.put(1, 0L, "old");
+        index.put(1, -1L, "new");
+
+        assertThat(index.findWithin(0L)).isEmpty();
+        assertThat(index.findWithin(-1L)).extracting(SimHashBandIndex.Match::value).containsExactly("new");
+    }
+
+    @Test
+    void removeIfDropsMatchingEntries() {
+        SimHashBandIndex<String> index = new SimHashBandIndex<>(3, 10);
+        index.put(1, 0L, "keep");
+        index.put(2, 0L, "drop");
+
+        index.removeIf("drop"::equals);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.findWithin(0L)).extracting(SimHashBandIndex.Match::value).containsExactly("keep");
+    }
+
+    @Test
+    void rejectsMaxDistanceOutsideTheBandRange() {
+        assertThatThrownBy(() -> new SimHashBandIndex<>(0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SimHashBandIndex<>(16, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static long flipRandomBits(long hash, int count, Random random) {
+        long flipped = hash;
+        while (Long.bitCount(flipped ^ hash) < count) {
+            flipped ^= 1L << random.nextInt(Long.SIZE);
+        }
+        return flipped;
+    }
+}
@@ -0,0 +1,55 @@
+package com.SafuForumBackend.moderation.service;
+
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the Java port against gensim's preprocessing. The fixture is written
+ * by ai/toxicornot_textclassifier/export_tokenizer_fixture.py; regenerate it
+ * rather than editing it.
+ */
+class ToxicOrNotTokenizerTest {
+
+    private static final String FIXTURE = "/moderation/toxicornot-tokenizer-parity.json";
+
+    @Test
+    void matchesGensimPreprocessing() throws IOException {
+        Fixture fixture = readFixture();
+        ToxicOrNotTokenizer tokenizer = new ToxicOrNotTokenizer(fixture.stopwords(), fixture.vocabulary());
+
+        assertThat(fixture.cases()).isNotEmpty();
+        for (Case parityCase : fixture.cases()) {
+            assertThat(tokenizer.tokenize(parityCase.text())).as("tokens of %s", parityCase.text())
+                    .isEqualTo(parityCase.tokens());
+            assertThat(tokenizer.tokenIds(parityCase.text())).as("ids of %s", parityCase.text())
+                    .containsExactly(parityCase.ids());
+        }
+    }
+
+    @Test
+    void keepsTheFirstRowOfADuplicatedToken() {
+        ToxicOrNotTokenizer tokenizer = new ToxicOrNotTokenizer(List.of(), List.of("spam", "eggs", "spam"));
+
+        assertThat(tokenizer.vocabularySize()).isEqualTo(2);
+        assertThat(tokenizer.tokenIds("spam eggs")).containsExactly(1L, 2L);
+    }
+
+    private static Fixture readFixture() throws IOException {
+        try (InputStream in = ToxicOrNotTokenizerTest.class.getResourceAsStream(FIXTURE)) {
+            assertThat(in).as(FIXTURE).isNotNull();
+            return JsonMapper.builder().build().readValue(in, Fixture.class);
+        }
+    }
+
+    private record Fixture(List<String> stopwords, List<String> vocabulary, List<Case> cases) {
+    }
+
+    private record Case(String text, List<String> tokens, long[] ids) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.SafuForumBackend.reputation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReputationRankIndexTest {
+
+    private static final int CAP = 100;
+
+    @Test
+    void ranksAtTheBottomBucket() {
+        ReputationRankIndex index = new ReputationRankIndex(CAP);
+        index.put(1L, 0, 1);
+        index.put(2L, 0, 1);
+        index.put(3L, 5, 1);
+
+        assertThat(index.rankOf(0)).isEqualTo(2);
+        assertThat(index.rankOf(5)).isEqualTo(1);
+        assertThat(index.page(1, 10)).extracting(ReputationRankIndex.Entry::userId).containsExactly(1L, 2L);
+        assertThat(index.page(1, 10)).extracting(ReputationRankIndex.Entry::rank).containsOnly(2L);
+    }
+
+    @Test
+    void olderVersionDeliveredLateIsIgnored() {
+        ReputationRankIndex index = new ReputationRankIndex(CAP);
+        assertThat(index.put(1L, 12, 3)).isTrue();
+
+        assertThat(index.put(1L, 10, 2)).isFalse();
+        assertThat(index.put(1L, 11, 3)).isFalse();
+
+        assertThat(index.reputationOf(1L)).isEqualTo(12);
+        assertThat(index.rankOf(12)).isEqualTo(1);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void negativeReputationIsClampedToTheBottomBucket() {
+        ReputationRankIndex index = new ReputationRankIndex(CAP);
+        index.put(1L, -7, 1);
+        index.put(2L, 1, 1);
+
+        assertThat(index.reputationOf(1L)).isZero();
+        assertThat(index.rankOf(0)).isEqualTo(2);
+    }
+
+    @Test
+    void ranksAtAndAboveTheCapBucket() {
+        ReputationRankIndex index = new ReputationRankIndex(CAP);
+        index.put(1L, CAP - 1, 1);
+        index.put(2L, CAP, 1);
+        index.put(3L, CAP + 50, 1);
+        index.put(4L, CAP + 50, 1);
+        index.put(5L, CAP + 10, 1);
+
+        assertThat(index.rankOf(CAP + 50)).isEqualTo(1);
+        assertThat(index.rankOf(CAP + 10)).isEqualTo(3);
+        assertThat(index.rankOf(CAP)).isEqualTo(4);
+        assertThat(index.rankOf(CAP - 1)).isEqualTo(5);
+        assertThat(index.page(0, 10)).extracting(ReputationRankIndex.Entry::userId)
+                .containsExactly(3L, 4L, 5L, 2L, 1L);
+        // Offset landing inside the capped bucket
+        assertThat(index.page(3, 10)).extracting(ReputationRankIndex.Entry::userId).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void emptyIndexHasNoPages() {
+        ReputationRankIndex index = new ReputationRankIndex(CAP);
+
+        assertThat(index.page(0, 10)).isEmpty();
+        assertThat(index.rankOf(0)).isEqualTo(1);
+    }
+
+    @Test
+    void matchesSortedListAcrossUpdates() {
+        Random random = new Random(7);
+        ReputationRankIndex index = new ReputationRankIndex(CAP);
+        Map<Long, Integer> reputations = new HashMap<>();
+        for (int i = 0; i < 2_000; i++) {
+            long userId = random.nextInt(300);
+            // Include the bottom bucket, the cap bucket and values past the cap
+            int reputation = switch (random.nextInt(4)) {
+                case 0 -> 0;
+                case 1 -> CAP;
+                case 2 -> CAP + random.nextInt(20);
+                default -> random.nextInt(CAP);
+            };
+            index.put(userId, reputation, i);
+            reputations.put(userId, reputation);
+        }
+
+        List<Map.Entry<Long, Integer>> expected = new ArrayList<>(reputations.entrySet());
+        expected.sort(Comparator.<Map.Entry<Long, Integer>>comparingInt(Map.Entry::getValue).reversed()
+                .thenComparing(Map.Entry::getKey));
+
+        for (int offset = 0; offset <= expected.size(); offset += 7) {
+            List<ReputationRankIndex.Entry> page = index.page(offset, 13);
+            List<Map.Entry<Long, Integer>> slice = expected.subList(offset, Math.min(offset + 13, expected.size()));
+            assertThat(page).hasSameSizeAs(slice);
+            for (int i = 0; i < page.size(); i++) {
+                ReputationRankIndex.Entry entry = page.get(i);
+                assertThat(entry.userId()).isEqualTo(slice.get(i).getKey());
+                assertThat(entry.reputation()).isEqualTo(slice.get(i).getValue());
+                assertThat(entry.rank()).isEqualTo(expectedRank(expected, entry.reputation()));
+            }
+        }
+    }
+
+    private static long expectedRank(List<Map.Entry<Long, Integer>> sorted, int reputation) {
+        return sorted.stream().filter(e -> e.getValue() > reputation).count() + 1;
+    }
+}
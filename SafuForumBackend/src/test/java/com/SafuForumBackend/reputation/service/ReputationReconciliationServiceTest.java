@@ -0,0 +1,66 @@
+package com.SafuForumBackend.reputation.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReputationReconciliationServiceTest {
+
+    @Test
+    void reputationClampedAtZeroIsExpected() {
+        // -5 is clamped to 0, so the +3 leaves 3 rather than the sum's 0
+        ReputationReconciliationService.AuthorPoints points = replay(List.of(-5L, 3L));
+
+        assertThat(points.points()).isEqualTo(-2);
+        assertThat(points.reputation()).isEqualTo(3);
+    }
+
+    @Test
+    void unclampedReputationIsTheSum() {
+        assertThat(replay(List.of(10L, -2L, -2L)).reputation()).isEqualTo(6);
+        assertThat(ReputationReconciliationService.AuthorPoints.NONE.reputation()).isZero();
+    }
+
+    @Test
+    void combiningRangesMatchesReplayingEveryVote() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            long reputation = 0;
+            ReputationReconciliationService.AuthorPoints combined = ReputationReconciliationService.AuthorPoints.NONE;
+            for (int range = 0; range < 5; range++) {
+                List<Long> deltas = random.ints(random.nextInt(6), -10, 8).mapToObj(Long::valueOf).toList();
+                for (long delta : deltas) {
+                    reputation = Math.max(0, reputation + delta);
+                }
+                combined = combined.then(replay(deltas));
+            }
+
+            assertThat(combined.reputation()).isEqualTo(reputation);
+        }
+    }
+
+    @Test
+    void recentVoteInAnyRangeMarksTheAuthor() {
+        ReputationReconciliationService.AuthorPoints settled = new ReputationReconciliationService.AuthorPoints(
+                2, 0, false);
+        ReputationReconciliationService.AuthorPoints recent = new ReputationReconciliationService.AuthorPoints(
+                1, 0, true);
+
+        assertThat(settled.then(recent).recent()).isTrue();
+        assertThat(recent.then(settled).recent()).isTrue();
+    }
+
+    // What sumAuthorPointsInRange returns for one author's votes in a single range
+    private static ReputationReconciliationService.AuthorPoints replay(List<Long> deltas) {
+        long points = 0;
+        long lowestPoints = 0;
+        for (long delta : deltas) {
+            points += delta;
+            lowestPoints = Math.min(lowestPoints, points);
+        }
+        return new ReputationReconciliationService.AuthorPoints(points, lowestPoints, false);
+    }
+}
@@ -0,0 +1,135 @@
+package com.SafuForumBackend.reputation.service;
+
+import com.SafuForumBackend.user.entity.User;
+import com.SafuForumBackend.user.repository.UserRepository;
+import com.SafuForumBackend.vote.enums.EntityType;
+import com.SafuForumBackend.vote.event.VoteEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.support.AmqpHeaders;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Reputation throughput of the batched listener against the per-event
+ * listener it replaced, which loaded, updated and saved the author in one
+ * transaction per vote. Most votes go to one popular author, the case the
+ * batching targets. Both are driven directly, without the broker, on one
+ * thread like a single listener consumer.
+ *
+ * Needs the database from .env; run with ./gradlew benchmark.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class ReputationServiceBenchmark {
+
+    private static final String USERNAME_PREFIX = "bench-reputation-";
+    private static final int AUTHORS = 50;
+    private static final int EVENTS = 20_000;
+    // Share of votes for the first author
+    private static final double POPULAR_SHARE = 0.8;
+    private static final int[] BATCH_SIZES = { 1, 50, 200 };
+
+    @Autowired
+    private ReputationService reputationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> authorIds = new ArrayList<>();
+    private long messageSequence;
+
+    @BeforeEach
+    void createAuthors() {
+        for (int i = 0; i < AUTHORS; i++) {
+            authorIds.add(jdbcTemplate.queryForObject(
+                    "INSERT INTO users (username, email) VALUES (?, ?) RETURNING id", Long.class,
+                    USERNAME_PREFIX + i, USERNAME_PREFIX + i + "@benchmark.invalid"));
+        }
+    }
+
+    @AfterEach
+    void removeAuthors() {
+        jdbcTemplate.update("DELETE FROM users WHERE username LIKE ?", USERNAME_PREFIX + "%");
+        jdbcTemplate.update("DELETE FROM processed_outbox_messages WHERE message_id LIKE ?", USERNAME_PREFIX + "%");
+    }
+
+    @Test
+    void reputationThroughput() {
+        List<VoteEvent> events = generateEvents();
+        // Warm up both paths
+        perEventListener(events.subList(0, 1_000));
+        batchedListener(events.subList(0, 1_000), 200);
+
+        System.out.printf("%-24s %12s%n", "listener", "events/s");
+        System.out.printf("%-24s %12.0f%n", "per event (previous)", perEventListener(events));
+        for (int batchSize : BATCH_SIZES) {
+            System.out.printf("%-24s %12.0f%n", "batched, batch of " + batchSize, batchedListener(events, batchSize));
+        }
+    }
+
+    /**
+     * @return events per second
+     */
+    private double perEventListener(List<VoteEvent> events) {
+        long startedAt = System.nanoTime();
+        for (VoteEvent event : events) {
+            transactionTemplate.executeWithoutResult(status -> {
+                User author = userRepository.findById(event.authorId()).orElseThrow();
+                author.setReputation(Math.max(0, author.getReputation() + event.voteDelta()));
+                userRepository.save(author);
+            });
+        }
+        return events.size() / ((System.nanoTime() - startedAt) / 1e9);
+    }
+
+    /**
+     * Every message gets a fresh id so the consumer's redelivery check is
+     * part of the measured cost.
+     *
+     * @return events per second
+     */
+    private double batchedListener(List<VoteEvent> events, int batchSize) {
+        long startedAt = System.nanoTime();
+        for (int from = 0; from < events.size(); from += batchSize) {
+            List<Message<VoteEvent>> batch = new ArrayList<>(batchSize);
+            for (VoteEvent event : events.subList(from, Math.min(from + batchSize, events.size()))) {
+                batch.add(MessageBuilder.withPayload(event)
+                        .setHeader(AmqpHeaders.MESSAGE_ID, USERNAME_PREFIX + messageSequence++)
+                        .build());
+            }
+            reputationService.handleVoteEvents(batch);
+        }
+        return events.size() / ((System.nanoTime() - startedAt) / 1e9);
+    }
+
+    private List<VoteEvent> generateEvents() {
+        Random random = new Random(42);
+        List<VoteEvent> events = new ArrayList<>(EVENTS);
+        for (int i = 0; i < EVENTS; i++) {
+            Long authorId = random.nextDouble() < POPULAR_SHARE
+                    ? authorIds.getFirst()
+                    : authorIds.get(random.nextInt(AUTHORS));
+            events.add(new VoteEvent(authorId, (long) i, EntityType.POST, random.nextBoolean() ? 10 : -2,
+                    1, 0, (long) i, LocalDateTime.now()));
+        }
+        return events;
+    }
+}
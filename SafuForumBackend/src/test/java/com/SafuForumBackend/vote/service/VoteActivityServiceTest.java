@@ -0,0 +1,78 @@
+package com.SafuForumBackend.vote.service;
+
+import com.SafuForumBackend.vote.config.VoteActivityProperties;
+import com.SafuForumBackend.vote.enums.ActivityDimension;
+import com.SafuForumBackend.vote.enums.ActivityGranularity;
+import com.SafuForumBackend.vote.repository.VoteActivityRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class VoteActivityServiceTest {
+
+    @Mock
+    private VoteActivityRollupRepository rollupRepository;
+
+    private final VoteActivityProperties properties = new VoteActivityProperties();
+
+    private VoteActivityService voteActivityService;
+
+    @BeforeEach
+    void setUp() {
+        voteActivityService = new VoteActivityService(rollupRepository, properties);
+    }
+
+    @Test
+    void hourlyRangeBeforeTheHourlyRetentionIsRejected() {
+        LocalDateTime to = LocalDateTime.now();
+        LocalDateTime from = to.minus(properties.getHourlyRetention()).minusHours(1);
+
+        assertThatThrownBy(() -> voteActivityService.getActivity(ActivityDimension.POST, 1L,
+                ActivityGranularity.HOUR, from, to))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("HOUR buckets are only kept for 7 days");
+        verifyNoInteractions(rollupRepository);
+    }
+
+    @Test
+    void dailyRangeBeforeTheDailyRetentionIsRejected() {
+        LocalDateTime to = LocalDateTime.now().minus(properties.getDailyRetention());
+        LocalDateTime from = to.minusDays(1);
+
+        assertThatThrownBy(() -> voteActivityService.getActivity(ActivityDimension.TAG, 1L,
+                ActivityGranularity.DAY, from, to))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void weeklyRangeIsNeverPastRetention() {
+        LocalDateTime to = LocalDateTime.now().minusYears(2);
+
+        assertThat(voteActivityService.getActivity(ActivityDimension.AUTHOR, 1L, ActivityGranularity.WEEK,
+                to.minusWeeks(10), to)).isEmpty();
+    }
+
+    @Test
+    void hourlyRangeWithinRetentionIsRead() {
+        LocalDateTime to = LocalDateTime.now();
+
+        assertThat(voteActivityService.getActivity(ActivityDimension.POST, 1L, ActivityGranularity.HOUR,
+                to.minusHours(24), to)).isEmpty();
+        verify(rollupRepository).findActivity(anyString(), anyLong(), anyList(), anyString(),
+                any(), any());
+    }
+}
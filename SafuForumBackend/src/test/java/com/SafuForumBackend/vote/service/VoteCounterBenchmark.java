@@ -0,0 +1,94 @@
+package com.SafuForumBackend.vote.service;
+
+import com.SafuForumBackend.vote.config.VoteCounterProperties;
+import com.SafuForumBackend.vote.enums.EntityType;
+import com.SafuForumBackend.vote.repository.VoteCounterRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Vote throughput on a single hot post as writer threads increase, with every
+ * vote on one counter row (as when the score lived on the post row) against
+ * votes spread over the configured shards. Each vote is its own transaction,
+ * like a vote request.
+ *
+ * Needs the database from .env; run with ./gradlew benchmark. Thread counts
+ * stay within Hikari's default pool of 10 connections.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class VoteCounterBenchmark {
+
+    // Far above any real post id, and removed afterwards
+    private static final long HOT_POST_ID = Long.MAX_VALUE - 1;
+    private static final int[] WRITER_THREADS = { 1, 2, 4, 8 };
+    private static final Duration WARMUP = Duration.ofSeconds(2);
+    private static final Duration RUN = Duration.ofSeconds(5);
+
+    @Autowired
+    private VoteCounterRepository voteCounterRepository;
+
+    @Autowired
+    private VoteCounterProperties properties;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removeHotPost() {
+        jdbcTemplate.update("DELETE FROM vote_counter_shards WHERE entity_type = ? AND entity_id = ?",
+                EntityType.POST.name(), HOT_POST_ID);
+        jdbcTemplate.update("DELETE FROM vote_counters WHERE entity_type = ? AND entity_id = ?",
+                EntityType.POST.name(), HOT_POST_ID);
+    }
+
+    @Test
+    void hotPostVoteThroughput() throws InterruptedException {
+        int shards = properties.getShards();
+        measure(WRITER_THREADS[WRITER_THREADS.length - 1], shards, WARMUP);
+
+        System.out.printf("%-8s %14s %14s%n", "writers", "1 row votes/s", shards + " shards votes/s");
+        for (int threads : WRITER_THREADS) {
+            double singleRow = measure(threads, 1, RUN);
+            double sharded = measure(threads, shards, RUN);
+            System.out.printf("%-8d %14.0f %14.0f%n", threads, singleRow, sharded);
+        }
+    }
+
+    /**
+     * @return votes per second over the run
+     */
+    private double measure(int threads, int shards, Duration duration) throws InterruptedException {
+        LongAdder votes = new LongAdder();
+        long deadline = System.nanoTime() + duration.toNanos();
+        ExecutorService writers = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            writers.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    int shard = ThreadLocalRandom.current().nextInt(shards);
+                    transactionTemplate.executeWithoutResult(status -> voteCounterRepository.addToShard(
+                            EntityType.POST.name(), HOT_POST_ID, shard, 1));
+                    votes.increment();
+                }
+            });
+        }
+        writers.shutdown();
+        writers.awaitTermination(duration.toSeconds() + 30, TimeUnit.SECONDS);
+        return votes.sum() / (duration.toNanos() / 1e9);
+    }
+}
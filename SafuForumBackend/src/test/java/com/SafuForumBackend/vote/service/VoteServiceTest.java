@@ -0,0 +1,43 @@
+package com.SafuForumBackend.vote.service;
+
+import com.SafuForumBackend.vote.dto.BulkVoteScoreResponse;
+import com.SafuForumBackend.vote.enums.EntityType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteServiceTest {
+
+    @Mock
+    private VoteCounterService voteCounterService;
+
+    @InjectMocks
+    private VoteService voteService;
+
+    @Test
+    void bulkScoresKeepTheRequestedOrder() {
+        List<Long> postIds = List.of(907L, 3L, 512L, 64L, 3L, 1L);
+        Map<Long, Integer> scores = new HashMap<>();
+        postIds.forEach(id -> scores.put(id, id.intValue()));
+        when(voteCounterService.getScores(eq(EntityType.POST), any())).thenReturn(scores);
+        when(voteCounterService.getScores(eq(EntityType.COMMENT), any())).thenReturn(Map.of());
+
+        BulkVoteScoreResponse response = voteService.getBulkVoteScores(postIds, null, null);
+
+        assertThat(response.getPosts().keySet()).containsExactly(907L, 3L, 512L, 64L, 1L);
+        assertThat(response.getPosts().get(512L).getScore()).isEqualTo(512);
+        assertThat(response.getComments()).isEmpty();
+    }
+}
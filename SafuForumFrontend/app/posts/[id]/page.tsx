@@ -2,7 +2,7 @@
 
 import { useEffect, useState } from 'react';
 import { useParams, useRouter } from 'next/navigation';
-import { Post, Comment, VoteScore, User } from '@/lib/types';
+import { Post, Comment, VoteScore, User, PostLiveFrame } from '@/lib/types';
 import { postsApi, commentsApi, votesApi, usersApi } from '@/lib/api';
 import { formatDistanceToNow } from 'date-fns';
 import { ArrowUp, ArrowDown, MessageSquare, Edit, Trash2, X } from 'lucide-react';
@@ -42,11 +42,39 @@ export default function PostDetail() {
     if (params.id) {
       fetchPost();
       fetchComments();
-      fetchPostVoteScore();
       fetchCurrentUser();
     }
   }, [params.id]);
 
+  // Live score and comment updates; replaces polling while the page is open
+  useEffect(() => {
+    if (!params.id) return;
+
+    const source = new EventSource(postsApi.liveUrl(Number(params.id)));
+    source.addEventListener('update', (event) => {
+      const frame: PostLiveFrame = JSON.parse((event as MessageEvent).data);
+
+      if (frame.postScore !== null) {
+        setPostVoteScore(prev => ({ ...prev, score: frame.postScore as number }));
+      }
+      if (Object.keys(frame.commentScores).length > 0) {
+        setComments(prev => applyCommentScores(prev, frame.commentScores));
+      }
+      if (frame.resync || frame.newCommentIds.length > 0) {
+        fetchComments();
+      }
+    });
+
+    return () => source.close();
+  }, [params.id]);
+
+  const applyCommentScores = (list: Comment[], scores: Record<number, number>): Comment[] =>
+    list.map(comment => ({
+      ...comment,
+      voteScore: scores[comment.id] ?? comment.voteScore,
+      replies: comment.replies ? applyCommentScores(comment.replies, scores) : comment.replies,
+    }));
+
   const fetchCurrentUser = async () => {
     try {
       const response = await usersApi.getCurrentUser();
@@ -60,6 +88,7 @@ export default function PostDetail() {
     try {
       const response = await postsApi.getById(Number(params.id));
       setPost(response.data);
+      setPostVoteScore({ score: response.data.voteScore, userVote: response.data.userVote ?? null });
       setEditTitle(response.data.title);
       setEditContent(response.data.content);
       setEditTags(response.data.tags?.map(t => t.name).join(', ') || '');
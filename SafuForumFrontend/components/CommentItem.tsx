@@ -20,7 +20,7 @@ interface CommentItemProps {
 }
 
 export default function CommentItem({ comment, depth = 0, onReply, onUpdate, currentUser }: CommentItemProps) {
-  const [voteScore, setVoteScore] = useState({ score: 0, userVote: null as number | null });
+  const [voteScore, setVoteScore] = useState({ score: comment.voteScore ?? 0, userVote: comment.userVote ?? null });
   const [isReplying, setIsReplying] = useState(false);
   const [replyContent, setReplyContent] = useState('');
   const [replyImageIds, setReplyImageIds] = useState<number[]>([]);
@@ -39,8 +39,8 @@ export default function CommentItem({ comment, depth = 0, onReply, onUpdate, cur
   const [deleting, setDeleting] = useState(false);
 
   useEffect(() => {
-    fetchVoteScore();
-  }, [comment.id]);
+    setVoteScore({ score: comment.voteScore ?? 0, userVote: comment.userVote ?? null });
+  }, [comment.id, comment.voteScore, comment.userVote]);
 
   const fetchVoteScore = async () => {
     try {
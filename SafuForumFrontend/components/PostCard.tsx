@@ -15,12 +15,12 @@ interface PostCardProps {
 }
 
 export default function PostCard({ post }: PostCardProps) {
-  const [voteScore, setVoteScore] = useState({ score: 0, userVote: null as number | null });
+  const [voteScore, setVoteScore] = useState({ score: post.voteScore, userVote: post.userVote ?? null });
   const [loading, setLoading] = useState(false);
 
   useEffect(() => {
-    fetchVoteScore();
-  }, [post.id]);
+    setVoteScore({ score: post.voteScore, userVote: post.userVote ?? null });
+  }, [post.id, post.voteScore, post.userVote]);
 
   const fetchVoteScore = async () => {
     try {
@@ -4,6 +4,7 @@ import {
   Comment,
   User,
   VoteScore,
+  BulkVoteScore,
   CreatePostRequest,
   UpdatePostRequest,
   CreateCommentRequest,
@@ -37,6 +38,9 @@ export const postsApi = {
   getById: (id: number) =>
     apiClient.get<Post>(`/api/posts/${id}`),
 
+  liveUrl: (id: number) =>
+    `${apiClient.defaults.baseURL}/api/posts/${id}/live`,
+
   getByUser: (userId: number, page = 0, size = 20) =>
     apiClient.get<PaginatedResponse<Post>>(`/api/posts/user/${userId}`, { params: { page, size } }),
 
@@ -82,6 +86,14 @@ export const votesApi = {
 
   getCommentScore: (commentId: number) =>
     apiClient.get<VoteScore>(`/api/votes/comment/${commentId}`),
+
+  getBulkScores: (postIds: number[] = [], commentIds: number[] = []) =>
+    apiClient.get<BulkVoteScore>('/api/votes/bulk', {
+      params: {
+        postIds: postIds.length > 0 ? postIds.join(',') : undefined,
+        commentIds: commentIds.length > 0 ? commentIds.join(',') : undefined,
+      },
+    }),
 };
 
 // Users API
@@ -41,6 +41,7 @@ export interface Post {
   author: User;
   commentCount: number;
   voteScore: number;
+  userVote?: number | null;
   tags?: Tag[];
   images?: ImageResponse[];
   createdAt: string;
@@ -72,6 +73,8 @@ export interface Comment {
   parentCommentId?: number;
   replies?: Comment[];
   images?: ImageResponse[];
+  voteScore?: number;
+  userVote?: number | null;
   createdAt: string;
   updatedAt: string;
   editedAt?: string;
@@ -95,6 +98,19 @@ export interface VoteScore {
   userVote: number | null; // 1 for upvote, -1 for downvote, null for no vote
 }
 
+export interface BulkVoteScore {
+  posts: Record<number, VoteScore>;
+  comments: Record<number, VoteScore>;
+}
+
+export interface PostLiveFrame {
+  postId: number;
+  postScore: number | null;
+  commentScores: Record<number, number>;
+  newCommentIds: number[];
+  resync: boolean;
+}
+
 export interface VoteRequest {
   postId?: number;
   commentId?: number;
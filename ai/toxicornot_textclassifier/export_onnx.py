@@ -0,0 +1,118 @@
+#!/usr/bin/env python3
+"""
+Export the toxicornot classifier (averaged Word2Vec + logistic regression) to ONNX
+for the backend's inline text classifier.
+
+Writes three files next to --out:
+- <name>.onnx: token_ids (int64[N]) -> toxic_proba (float[1, 1])
+- <name>.vocab.txt: one token per line; line i is embedding row i + 1 (row 0 is zero padding)
+- <name>.stopwords.txt: gensim's stopword list, removed before tokenizing
+
+Tokenization (gensim remove_stopwords + simple_preprocess(deacc=True)) is done by the
+backend, so only unstemmed models can be exported.
+"""
+
+import argparse
+from pathlib import Path
+
+import joblib
+import numpy as np
+import onnx
+from gensim.models import KeyedVectors, Word2Vec
+from gensim.parsing.preprocessing import STOPWORDS
+from onnx import TensorProto, helper, numpy_helper
+
+
+def parse_args() -> argparse.Namespace:
+    parser = argparse.ArgumentParser(description="Export the toxicornot classifier to ONNX.")
+    parser.add_argument(
+        "--artifacts",
+        default="results/toxic_logreg.joblib",
+        help="Classifier artifacts written by newclassifier.py",
+    )
+    parser.add_argument(
+        "--w2v-model",
+        default=None,
+        help="Embeddings file; defaults to the path recorded in the artifacts.",
+    )
+    parser.add_argument("--out", default="results/toxicornot.onnx", help="Output ONNX model path")
+    parser.add_argument(
+        "--max-vocab",
+        type=int,
+        default=None,
+        help="Keep only the most frequent tokens, to shrink the model (rarer tokens are ignored).",
+    )
+    return parser.parse_args()
+
+
+def load_embeddings(path: Path) -> KeyedVectors:
+    try:
+        return KeyedVectors.load(str(path), mmap="r")
+    except Exception:
+        return Word2Vec.load(str(path), mmap="r").wv
+
+
+def build_model(embeddings: np.ndarray, coef: np.ndarray, intercept: float) -> onnx.ModelProto:
+    vector_size = embeddings.shape[1]
+    initializers = [
+        numpy_helper.from_array(embeddings.astype(np.float32), name="embeddings"),
+        numpy_helper.from_array(coef.reshape(vector_size, 1).astype(np.float32), name="coef"),
+        numpy_helper.from_array(np.array([intercept], dtype=np.float32), name="intercept"),
+    ]
+    nodes = [
+        helper.make_node("Gather", ["embeddings", "token_ids"], ["token_vectors"], axis=0),
+        helper.make_node("ReduceMean", ["token_vectors"], ["document_vector"], axes=[0], keepdims=1),
+        helper.make_node("MatMul", ["document_vector", "coef"], ["logit_raw"]),
+        helper.make_node("Add", ["logit_raw", "intercept"], ["logit"]),
+        helper.make_node("Sigmoid", ["logit"], ["toxic_proba"]),
+    ]
+    graph = helper.make_graph(
+        nodes,
+        "toxicornot",
+        inputs=[helper.make_tensor_value_info("token_ids", TensorProto.INT64, ["tokens"])],
+        outputs=[helper.make_tensor_value_info("toxic_proba", TensorProto.FLOAT, [1, 1])],
+        initializer=initializers,
+    )
+    # Opset 17 keeps ReduceMean's axes as an attribute
+    model = helper.make_model(graph, opset_imports=[helper.make_opsetid("", 17)])
+    onnx.checker.check_model(model)
+    return model
+
+
+def main() -> int:
+    args = parse_args()
+
+    artifacts = joblib.load(args.artifacts)
+    if not isinstance(artifacts, dict):
+        artifacts = {"classifier": artifacts}
+    if artifacts.get("stem"):
+        raise SystemExit("Stemmed models cannot be exported; retrain with --no-stem.")
+
+    classifier = artifacts["classifier"]
+    if not hasattr(classifier, "coef_") or classifier.coef_.shape[0] != 1:
+        raise SystemExit(f"Expected a binary linear classifier, got {type(classifier)!r}.")
+
+    w2v_path = Path(args.w2v_model or artifacts.get("w2v_model_path") or "")
+    if not w2v_path.exists():
+        w2v_path = Path(args.artifacts).parent / w2v_path.name
+    w2v = load_embeddings(w2v_path)
+
+    # index_to_key is ordered by frequency, so truncating keeps the most common tokens
+    vocab = list(w2v.index_to_key[: args.max_vocab] if args.max_vocab else w2v.index_to_key)
+    vectors = np.asarray(w2v.vectors[: len(vocab)], dtype=np.float32)
+    embeddings = np.vstack([np.zeros((1, w2v.vector_size), dtype=np.float32), vectors])
+
+    model = build_model(embeddings, classifier.coef_[0], float(classifier.intercept_[0]))
+
+    out = Path(args.out)
+    out.parent.mkdir(parents=True, exist_ok=True)
+    onnx.save(model, str(out))
+    out.with_suffix(".vocab.txt").write_text("\n".join(vocab) + "\n", encoding="utf-8")
+    out.with_suffix(".stopwords.txt").write_text("\n".join(sorted(STOPWORDS)) + "\n", encoding="utf-8")
+
+    print(f"Wrote {out} ({len(vocab)} tokens, {w2v.vector_size} dims)")
+    return 0
+
+
+if __name__ == "__main__":
+    raise SystemExit(main())
@@ -0,0 +1,94 @@
+#!/usr/bin/env python3
+"""
+Write the fixture the backend's ToxicOrNotTokenizerTest checks its Java port of the
+classifier's preprocessing against.
+
+The texts are run through the same gensim calls as newclassifier.py
+(remove_stopwords followed by simple_preprocess with deacc=True), and their tokens are
+mapped to embedding rows the way export_onnx.py lays them out: line i of the vocabulary
+is row i + 1, and text with no known tokens gets the zero padding row 0.
+
+The stopwords are a few of gensim's, passed explicitly; the backend reads the full list
+from the exported stopwords.txt, so only the matching needs checking. Re-run after
+upgrading gensim or changing the texts.
+"""
+
+import argparse
+import json
+from pathlib import Path
+
+from gensim.parsing.preprocessing import STOPWORDS, remove_stopwords
+from gensim.utils import simple_preprocess
+
+DEFAULT_OUT = (
+    Path(__file__).resolve().parents[2]
+    / "SafuForumBackend/src/test/resources/moderation/toxicornot-tokenizer-parity.json"
+)
+
+FIXTURE_STOPWORDS = ["a", "and", "are", "is", "not", "of", "the", "this", "with", "you"]
+
+# Left out of the vocabulary, so they exercise unknown tokens
+UNKNOWN_TOKENS = {"unknownword", "anotherunknown", "rocks"}
+
+TEXTS = [
+    "You are a complete idiot and nobody likes you",
+    "The THE the",
+    "Café naïve résumé",
+    "abc123def 42 x1y",
+    "foo_bar _private __init__ snake_case_",
+    "a I ok abcdefghijklmno abcdefghijklmnop supercalifragilistic",
+    "",
+    "   \t\n  ",
+    "unknownword anotherunknown",
+    "don't won't can't",
+    "x²y x½y Ⅻabc",
+    "नमस्ते दुनिया",
+    "a‿b ab\u200dcd",
+    "STRASSE Straße ΟΔΟΣ",
+    "hello\u001fthe world",
+    "emoji \U0001f600 rocks!!! http://example.com/path?q=1",
+    "Ünïcödé\u00a0with\u00a0nbsp",
+]
+
+
+def parse_args() -> argparse.Namespace:
+    parser = argparse.ArgumentParser(description="Write the tokenizer parity fixture.")
+    parser.add_argument("--out", default=str(DEFAULT_OUT), help="Output JSON path")
+    return parser.parse_args()
+
+
+def preprocess(text: str) -> list[str]:
+    return simple_preprocess(remove_stopwords(text, stopwords=frozenset(FIXTURE_STOPWORDS)), deacc=True)
+
+
+def main() -> int:
+    args = parse_args()
+
+    missing = set(FIXTURE_STOPWORDS) - set(STOPWORDS)
+    if missing:
+        raise SystemExit(f"Not gensim stopwords: {sorted(missing)}")
+
+    token_lists = [preprocess(text) for text in TEXTS]
+    vocabulary: list[str] = []
+    for tokens in token_lists:
+        for token in tokens:
+            if token not in UNKNOWN_TOKENS and token not in vocabulary:
+                vocabulary.append(token)
+
+    rows = {token: i + 1 for i, token in enumerate(vocabulary)}
+    cases = []
+    for text, tokens in zip(TEXTS, token_lists):
+        ids = [rows[token] for token in tokens if token in rows]
+        cases.append({"text": text, "tokens": tokens, "ids": ids or [0]})
+
+    fixture = {"stopwords": FIXTURE_STOPWORDS, "vocabulary": vocabulary, "cases": cases}
+    out = Path(args.out)
+    out.parent.mkdir(parents=True, exist_ok=True)
+    out.write_text(json.dumps(fixture, ensure_ascii=False, indent=2) + "\n", encoding="utf-8")
+
+    print(f"Wrote {out} ({len(cases)} cases, {len(vocabulary)} tokens)")
+    return 0
+
+
+if __name__ == "__main__":
+    raise SystemExit(main())
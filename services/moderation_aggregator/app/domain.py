@@ -28,8 +28,12 @@ class ResultEvent(BaseModel):
     moderation_job_id: str | int | None = Field(default=None, alias="moderationJobId")
     post_id: int | None = Field(default=None, alias="postId")
     post_version: int | None = Field(default=None, alias="postVersion")
+    comment_id: int | None = Field(default=None, alias="commentId")
+    comment_version: int | None = Field(default=None, alias="commentVersion")
     # Use Field with a default to make the validator's job easier
     status: Status = Field(default=Status.FAILED)
+    scores: dict[str, float] = Field(default_factory=dict)
+    model_version: str | None = Field(default=None, alias="modelVersion")
 
     @field_validator("service_name", mode="before")
     @classmethod
@@ -58,6 +62,11 @@ class JobCompletedEvent(BaseModel):
     moderation_job_id: str | int | None = Field(default=None, alias="moderationJobId")
     post_id: int | None = Field(default=None, alias="postId")
     post_version: int | None = Field(default=None, alias="postVersion")
+    comment_id: int | None = Field(default=None, alias="commentId")
+    comment_version: int | None = Field(default=None, alias="commentVersion")
     # Using 'Status' (the Enum) is safer than 'str' for consistency
     status: Status
     reason: str
+    # Per-label probabilities merged across workers, and the worker model versions that produced them
+    scores: dict[str, float] = Field(default_factory=dict)
+    model_version: str | None = Field(default=None, alias="modelVersion")
@@ -72,6 +72,7 @@ class EventService:
 
         count_key = f"agg:{correlation_id}:count"
         data_key = f"agg:{correlation_id}:data"
+        scores_key = f"agg:{correlation_id}:scores"
 
         # 1. Get the current snapshot of active workers from Docker API
         expected_workers = self.registry.current_count
@@ -84,6 +85,12 @@ class EventService:
         # We use a hash to keep track of individual statuses for final decision
         self.redis.hset(data_key, result.service_name, result.status)
         self.redis.expire(data_key, 3600)
+        self.redis.hset(
+            scores_key,
+            result.service_name,
+            json.dumps({"scores": result.scores, "modelVersion": result.model_version}),
+        )
+        self.redis.expire(scores_key, 3600)
 
         LOGGER.info("Job %s: %s services remaining", correlation_id, remaining)
 
@@ -98,6 +105,9 @@ class EventService:
         self.redis.delete(data_key)  # Cleanup results hash
         count_key = f"agg:{correlation_id}:count"
         self.redis.delete(count_key)  # Cleanup counter key
+        scores_key = f"agg:{correlation_id}:scores"
+        scores, model_version = self._merge_scores(self.redis.hgetall(scores_key))
+        self.redis.delete(scores_key)
 
         # Logic: If any worker rejected, the whole post is rejected
         statuses = set(all_results.values())
@@ -112,6 +122,27 @@ class EventService:
             moderation_job_id=last_result.moderation_job_id or correlation_id,
             post_id=last_result.post_id,
             post_version=last_result.post_version,
+            comment_id=last_result.comment_id,
+            comment_version=last_result.comment_version,
             status=final_status,
-            reason=f"Aggregated from {len(all_results)} workers."
+            reason=f"Aggregated from {len(all_results)} workers.",
+            scores=scores,
+            model_version=model_version,
         )
+
+    @staticmethod
+    def _merge_scores(raw_by_service: dict[str, str]) -> tuple[dict[str, float], str | None]:
+        # A label scored by several workers keeps its highest probability
+        scores: dict[str, float] = {}
+        versions: list[str] = []
+        for service_name in sorted(raw_by_service):
+            try:
+                entry = json.loads(raw_by_service[service_name])
+            except (TypeError, ValueError):
+                LOGGER.warning("Ignoring unreadable scores from %s", service_name)
+                continue
+            for label, score in (entry.get("scores") or {}).items():
+                scores[label] = max(float(score), scores.get(label, 0.0))
+            if entry.get("modelVersion"):
+                versions.append(f"{service_name}={entry['modelVersion']}")
+        return scores, ",".join(versions) or None
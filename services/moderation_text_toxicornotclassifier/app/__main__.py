@@ -36,7 +36,7 @@ def main() -> int:
         w2v_stem=settings.w2v_stem,
     )
 
-    event_service = ModerationEventService(inference_service)
+    event_service = ModerationEventService(inference_service, model_version=settings.model_version)
     return RabbitMQEventLoop(settings, event_service).run_forever()
 
 
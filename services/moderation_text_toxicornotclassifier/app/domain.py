@@ -9,10 +9,12 @@ class ModerationJob(BaseModel):
     moderation_job_id: int | None = Field(default=None, alias="moderationJobId")
     post_id: int | None = Field(default=None, alias="postId")
     post_version: int | None = Field(default=None, alias="postVersion")
+    comment_id: int | None = Field(default=None, alias="commentId")
+    comment_version: int | None = Field(default=None, alias="commentVersion")
     content_type: str | None = Field(default=None, alias="contentType")
     payload: str = ""
 
-    @field_validator("moderation_job_id", "post_id", "post_version", mode="before")
+    @field_validator("moderation_job_id", "post_id", "post_version", "comment_id", "comment_version", mode="before")
     @classmethod
     def _coerce_optional_int(cls, value: object) -> int | None:
         if value is None:
@@ -39,11 +41,21 @@ class ModerationJob(BaseModel):
         return str(value)
 
 
+class ModerationJobBatch(BaseModel):
+    """Several jobs delivered in one message, classified together."""
+
+    model_config = ConfigDict(frozen=True, populate_by_name=True, extra="ignore")
+
+    jobs: list[ModerationJob]
+
+
 class ModerationDecision(BaseModel):
     model_config = ConfigDict(frozen=True)
 
     status: str
     reason: str
+    # Per-label probabilities the status was derived from, so the backend can re-threshold them
+    scores: dict[str, float] = Field(default_factory=dict)
 
 
 class ModerationJobCompletedEvent(BaseModel):
@@ -52,5 +64,9 @@ class ModerationJobCompletedEvent(BaseModel):
     moderation_job_id: int | None = Field(default=None, alias="moderationJobId")
     post_id: int | None = Field(default=None, alias="postId")
     post_version: int | None = Field(default=None, alias="postVersion")
+    comment_id: int | None = Field(default=None, alias="commentId")
+    comment_version: int | None = Field(default=None, alias="commentVersion")
     status: str
     reason: str
+    scores: dict[str, float] = Field(default_factory=dict)
+    model_version: str | None = Field(default=None, alias="modelVersion")
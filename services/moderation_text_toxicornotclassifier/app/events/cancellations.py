@@ -0,0 +1,39 @@
+from __future__ import annotations
+
+import json
+from collections import OrderedDict
+
+
+class CancelledJobs:
+    """
+    Bounded set of moderation job ids the backend has cancelled.
+    Oldest ids are evicted first; a job cancelled long ago has already left the queue.
+    """
+    def __init__(self, max_size: int) -> None:
+        self._max_size = max_size
+        self._job_ids: OrderedDict[str, None] = OrderedDict()
+
+    def add_from_message(self, body: bytes) -> int:
+        """Record the ids in a cancellation event; returns how many were read."""
+        try:
+            value = json.loads(body.decode("utf-8"))
+        except (UnicodeDecodeError, json.JSONDecodeError):
+            return 0
+        job_ids = value.get("moderationJobIds") if isinstance(value, dict) else None
+        if not isinstance(job_ids, list):
+            return 0
+
+        for job_id in job_ids:
+            key = str(job_id)
+            self._job_ids[key] = None
+            self._job_ids.move_to_end(key)
+        while len(self._job_ids) > self._max_size:
+            self._job_ids.popitem(last=False)
+        return len(job_ids)
+
+    def pop(self, job_id: str | None) -> bool:
+        """True if the job was cancelled; it is forgotten once seen."""
+        if job_id is None or job_id not in self._job_ids:
+            return False
+        del self._job_ids[job_id]
+        return True
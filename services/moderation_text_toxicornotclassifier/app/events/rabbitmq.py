@@ -8,6 +8,7 @@ import uuid
 import pika
 
 from app.domain import ModerationJobCompletedEvent
+from app.events.cancellations import CancelledJobs
 from app.events.service import ModerationEventService, ProcessedEvent
 from app.settings import Settings
 
@@ -36,7 +37,9 @@ def setup_topology(channel: pika.adapters.blocking_connection.BlockingChannel, s
     )
     
     # Declare and bind the queue for incoming moderation jobs
-    channel.queue_declare(queue=settings.ingress_queue_name, durable=True)
+    # The backend sets a message priority per lane (0 low, 1 normal, 2 high)
+    arguments = {"x-max-priority": settings.ingress_queue_max_priority} if settings.ingress_queue_max_priority > 0 else None
+    channel.queue_declare(queue=settings.ingress_queue_name, durable=True, arguments=arguments)
     channel.queue_bind(
         queue=settings.ingress_queue_name,
         exchange=settings.ingress_exchange,
@@ -47,6 +50,21 @@ def setup_topology(channel: pika.adapters.blocking_connection.BlockingChannel, s
     channel.basic_qos(prefetch_count=settings.prefetch_count)
 
 
+def setup_cancel_queue(channel: pika.adapters.blocking_connection.BlockingChannel, settings: Settings) -> str:
+    """
+    Declare this worker's own queue for job cancellations.
+    Every worker instance needs every cancellation, so the queue is exclusive and server-named.
+    """
+    result = channel.queue_declare(queue="", exclusive=True, auto_delete=True)
+    queue_name = result.method.queue
+    channel.queue_bind(
+        queue=queue_name,
+        exchange=settings.ingress_exchange,
+        routing_key=settings.cancel_routing_key,
+    )
+    return queue_name
+
+
 def _build_message_id(settings: Settings, *, correlation_id: str | None) -> str:
     """Build a message ID based on the correlation ID (one-way encryption) or generate a new UUID."""
     if correlation_id:
@@ -91,6 +109,7 @@ class RabbitMQEventLoop:
     def __init__(self, settings: Settings, event_service: ModerationEventService) -> None:
         self._settings = settings
         self._event_service = event_service
+        self._cancelled_jobs = CancelledJobs(settings.cancelled_job_cache_size)
 
     def run_forever(self) -> int:
         """
@@ -120,12 +139,14 @@ class RabbitMQEventLoop:
         channel = connection.channel()
 
         setup_topology(channel, self._settings)
+        cancel_queue_name = setup_cancel_queue(channel, self._settings)
         
         # We want this publisher to also use publisher confirms
         # to ensure our messages are delivered
         channel.confirm_delivery()
 
         # Start consuming messages
+        channel.basic_consume(queue=cancel_queue_name, on_message_callback=self._on_cancel_callback, auto_ack=True)
         channel.basic_consume(queue=self._settings.ingress_queue_name, on_message_callback=self._on_message_callback, auto_ack=False)
         LOGGER.info(
             "Listening on queue=%s exchange=%s key=%s; publishing exchange=%s key=%s",
@@ -143,6 +164,20 @@ class RabbitMQEventLoop:
             finally:
                 connection.close()
 
+    def _on_cancel_callback(
+        self,
+        channel: pika.adapters.blocking_connection.BlockingChannel,
+        method: pika.spec.Basic.Deliver,
+        properties: pika.spec.BasicProperties,
+        body: bytes,
+    ) -> None:
+        """
+        Callback for job cancellations.
+        Remember the cancelled ids so their jobs are dropped when they are delivered.
+        """
+        count = self._cancelled_jobs.add_from_message(body)
+        LOGGER.debug("Received cancellation for %d moderation jobs", count)
+
     def _on_message_callback(
         self,
         channel: pika.adapters.blocking_connection.BlockingChannel,
@@ -154,10 +189,20 @@ class RabbitMQEventLoop:
         Callback for incoming messages.
         Process the message and publish the result.
         """
+        if properties is not None and properties.type == self._settings.batch_message_type:
+            self._on_batch_message(channel, method, body)
+            return
+
         incoming_correlation_id = None
         if properties is not None and properties.correlation_id:
             incoming_correlation_id = str(properties.correlation_id)
 
+        # The backend has already settled the post version; skip inference and publish nothing
+        if self._cancelled_jobs.pop(incoming_correlation_id):
+            LOGGER.info("Skipping cancelled moderation job; correlation_id=%s", incoming_correlation_id)
+            channel.basic_ack(delivery_tag=method.delivery_tag)
+            return
+
         try:
             processed = self._event_service.handle_message(
                 body=body,
@@ -194,3 +239,31 @@ class RabbitMQEventLoop:
             LOGGER.exception("Failed publishing moderation completion: %s", exc)
             # Avoid tight redelivery loops when publishing fails; let the outer loop reconnect with backoff.
             raise
+
+    def _on_batch_message(
+        self,
+        channel: pika.adapters.blocking_connection.BlockingChannel,
+        method: pika.spec.Basic.Deliver,
+        body: bytes,
+    ) -> None:
+        """
+        Handle a micro-batch of jobs (the backend batches comment jobs).
+        All jobs are classified in one inference call and each gets its own result, correlated by its job id,
+        so the aggregator and backend see them as ordinary jobs. The message is acked once every result is published.
+        """
+        processed_events = self._event_service.handle_batch(body=body, is_cancelled=self._cancelled_jobs.pop)
+        LOGGER.info("Processed moderation batch; results=%d", len(processed_events))
+
+        try:
+            for processed in processed_events:
+                _publish_result(
+                    channel,
+                    self._settings,
+                    completion=processed.completion,
+                    correlation_id=processed.correlation_id,
+                )
+            channel.basic_ack(delivery_tag=method.delivery_tag)
+        except Exception as exc:
+            LOGGER.exception("Failed publishing moderation batch completions: %s", exc)
+            # Redelivery republishes every result; the backend applies only the first completion per job
+            raise
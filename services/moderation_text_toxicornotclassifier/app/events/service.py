@@ -2,11 +2,11 @@ from __future__ import annotations
 
 import json
 from dataclasses import dataclass
-from typing import Any
+from typing import Any, Callable
 
 from pydantic import ValidationError
 
-from app.domain import ModerationDecision, ModerationJob, ModerationJobCompletedEvent
+from app.domain import ModerationDecision, ModerationJob, ModerationJobBatch, ModerationJobCompletedEvent
 from app.inference.service import TextInferenceService
 
 
@@ -39,8 +39,9 @@ def _resolve_correlation_id(incoming: str | None, job: ModerationJob) -> str | N
 
 
 class ModerationEventService:
-    def __init__(self, inference_service: TextInferenceService) -> None:
+    def __init__(self, inference_service: TextInferenceService, *, model_version: str) -> None:
         self._inference_service = inference_service
+        self._model_version = model_version
 
     def handle_message(self, *, body: bytes, correlation_id: str | None) -> ProcessedEvent:
         try:
@@ -73,11 +74,65 @@ class ModerationEventService:
             except Exception as exc:
                 decision = ModerationDecision(status="failed", reason=str(exc))
 
-        completion = ModerationJobCompletedEvent(
-            moderation_job_id=job.moderation_job_id,
-            post_id=job.post_id,
-            post_version=job.post_version,
-            status=decision.status,
-            reason=decision.reason,
+        return ProcessedEvent(
+            completion=_completion(job, decision, self._model_version),
+            correlation_id=resolved_correlation_id,
         )
-        return ProcessedEvent(completion=completion, correlation_id=resolved_correlation_id)
+
+    def handle_batch(self, *, body: bytes, is_cancelled: Callable[[str], bool]) -> list[ProcessedEvent]:
+        """
+        Classify every job of a batch message with one inference call.
+        Each job gets its own completion, correlated by its job id; cancelled jobs get none.
+        A batch that cannot be read at all yields a single failed completion with no correlation id.
+        """
+        try:
+            batch = ModerationJobBatch.model_validate(_decode_json(body))
+        except (ValueError, ValidationError) as exc:
+            completion = ModerationJobCompletedEvent(status="failed", reason=str(exc))
+            return [ProcessedEvent(completion=completion, correlation_id=None)]
+
+        jobs = [
+            job
+            for job in batch.jobs
+            if job.moderation_job_id is not None and not is_cancelled(str(job.moderation_job_id))
+        ]
+        decisions: dict[int, ModerationDecision] = {}
+        text_jobs: list[ModerationJob] = []
+        for job in jobs:
+            content_type = (job.content_type or "").lower()
+            if content_type and content_type != "text":
+                decisions[job.moderation_job_id] = ModerationDecision(
+                    status="failed", reason=f"unexpected_content_type:{content_type}"
+                )
+            else:
+                text_jobs.append(job)
+
+        if text_jobs:
+            try:
+                text_decisions = self._inference_service.classify_texts([job.payload for job in text_jobs])
+            except Exception as exc:
+                text_decisions = [ModerationDecision(status="failed", reason=str(exc))] * len(text_jobs)
+            for job, decision in zip(text_jobs, text_decisions):
+                decisions[job.moderation_job_id] = decision
+
+        return [
+            ProcessedEvent(
+                completion=_completion(job, decisions[job.moderation_job_id], self._model_version),
+                correlation_id=str(job.moderation_job_id),
+            )
+            for job in jobs
+        ]
+
+
+def _completion(job: ModerationJob, decision: ModerationDecision, model_version: str) -> ModerationJobCompletedEvent:
+    return ModerationJobCompletedEvent(
+        moderation_job_id=job.moderation_job_id,
+        post_id=job.post_id,
+        post_version=job.post_version,
+        comment_id=job.comment_id,
+        comment_version=job.comment_version,
+        status=decision.status,
+        reason=decision.reason,
+        scores=decision.scores,
+        model_version=model_version,
+    )
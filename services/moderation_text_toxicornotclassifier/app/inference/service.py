@@ -2,16 +2,22 @@ from __future__ import annotations
 
 from dataclasses import dataclass
 from pathlib import Path
-from typing import Protocol
+from typing import Protocol, Sequence
 
 from app.domain import ModerationDecision
 from app.inference.pipeline import load_text_classifier
 
+# Label of the toxic-class probability in the reported scores
+TOXIC_LABEL = "toxic"
+
 
 class TextInferenceService(Protocol):
     def classify_text(self, text: str) -> ModerationDecision:
         ...
 
+    def classify_texts(self, texts: Sequence[str]) -> list[ModerationDecision]:
+        ...
+
 
 @dataclass(frozen=True)
 class ToxicOrNotInferenceService(TextInferenceService):
@@ -42,11 +48,28 @@ class ToxicOrNotInferenceService(TextInferenceService):
             return ModerationDecision(status="approved", reason="empty_text")
 
         proba = float(self.model.predict_proba([normalized])[0][1])
-        toxic = proba >= self.threshold
-        status = "rejected" if toxic else "approved"
-        reason = f"toxicornot: toxic_proba={proba:.4f} threshold={self.threshold:.2f}"
+        decision = self._decide(proba)
         print(  # noqa: T201
             f"[ToxicOrNotInferenceService] classify_text: text={normalized!r} "
-            f"proba={proba:.4f} threshold={self.threshold:.2f} status={status}"
+            f"proba={proba:.4f} threshold={self.threshold:.2f} status={decision.status}"
         )
-        return ModerationDecision(status=status, reason=reason)
+        return decision
+
+    def classify_texts(self, texts: Sequence[str]) -> list[ModerationDecision]:
+        normalized = [str(text or "").strip() for text in texts]
+        decisions = [ModerationDecision(status="approved", reason="empty_text") for _ in normalized]
+        indices = [i for i, text in enumerate(normalized) if text]
+        if not indices:
+            return decisions
+
+        # One predict_proba call vectorizes and scores the whole batch as a single matrix
+        probas = self.model.predict_proba([normalized[i] for i in indices])[:, 1]
+        for i, proba in zip(indices, probas):
+            decisions[i] = self._decide(float(proba))
+        return decisions
+
+    def _decide(self, proba: float) -> ModerationDecision:
+        toxic = proba >= self.threshold
+        status = "rejected" if toxic else "approved"
+        reason = f"toxicornot: toxic_proba={proba:.4f} threshold={self.threshold:.2f}"
+        return ModerationDecision(status=status, reason=reason, scores={TOXIC_LABEL: proba})
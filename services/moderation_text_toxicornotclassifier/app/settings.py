@@ -16,6 +16,10 @@ class Settings(BaseModel):
     ingress_exchange_type: str
     ingress_routing_key: str
     ingress_queue_name: str
+    ingress_queue_max_priority: int = Field(ge=0, le=255)
+    cancel_routing_key: str
+    cancelled_job_cache_size: int = Field(ge=1)
+    batch_message_type: str = Field(min_length=1)
     result_exchange: str
     result_exchange_type: str
     result_routing_key: str
@@ -23,6 +27,7 @@ class Settings(BaseModel):
     message_id_namespace: uuid.UUID
     service_name: str
     toxic_threshold: float = Field(ge=0.0, le=1.0)
+    model_version: str = Field(min_length=1)
     model_artifacts_path: str
     w2v_model_path: str = Field(min_length=1)
     w2v_format: str
@@ -100,6 +105,10 @@ def load_settings() -> Settings:
             "ingress_exchange_type": _env("INGRESS_EXCHANGE_TYPE", "topic"),
             "ingress_routing_key": _env("INGRESS_ROUTING_KEY", "moderation.job.text"),
             "ingress_queue_name": _env("INGRESS_QUEUE_NAME", "q.moderation.job.text.toxicornotclassifier"),
+            "ingress_queue_max_priority": _env("INGRESS_QUEUE_MAX_PRIORITY", "2"),
+            "cancel_routing_key": _env("CANCEL_ROUTING_KEY", "moderation.job.cancel"),
+            "cancelled_job_cache_size": _env("CANCELLED_JOB_CACHE_SIZE", "10000"),
+            "batch_message_type": _env("BATCH_MESSAGE_TYPE", "moderation.job.batch"),
             "result_exchange": _env("RESULT_EXCHANGE", "x.moderation.result"),
             "result_exchange_type": _env("RESULT_EXCHANGE_TYPE", "direct"),
             "result_routing_key": _env("RESULT_ROUTING_KEY", "moderation.job.result"),
@@ -107,6 +116,7 @@ def load_settings() -> Settings:
             "message_id_namespace": _env("MESSAGE_ID_NAMESPACE", str(uuid.NAMESPACE_URL)),
             "service_name": _env("SERVICE_NAME", "toxicornotclassifier"),
             "toxic_threshold": _env("TOXIC_THRESHOLD", "0.5"),
+            "model_version": _env("MODEL_VERSION", "toxicornot-1"),
             "model_artifacts_path": model_artifacts_path,
             "w2v_model_path": w2v_model_path,
             "w2v_format": w2v_format,